@@ -0,0 +1,51 @@
+#!/usr/bin/env sh
+#
+# Compares the startup of the image with and without the class data sharing archive.
+#
+# Every variant is started RUNS times. A run measures the wall clock time from `docker run` until
+# the readiness probe answers UP and reads the time Spring Boot reports in "Started ... in".
+# The medians of both variants are printed as Markdown table rows for the README.
+#
+# usage: measure-startup.sh [image] [runs]
+
+set -eu
+
+IMAGE="${1:-notification-gateway:latest}"
+RUNS="${2:-5}"
+PORT=18080
+READINESS="http://localhost:${PORT}/actuator/health/readiness"
+
+now_ms() {
+  date +%s%3N
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+# prints "<ready ms> <spring boot seconds>"
+measure() {
+  start=$(now_ms)
+  container=$(docker run -d --rm -p "${PORT}:8080" -e MANAGEMENT_ENDPOINT_HEALTH_PROBES_ENABLED=true "$@")
+  until curl -fs "${READINESS}" >/dev/null 2>&1; do
+    sleep 0.1
+  done
+  ready=$(( $(now_ms) - start ))
+  started=$(docker logs "${container}" 2>&1 | sed -n 's/.*Started .* in \([0-9.]*\) seconds.*/\1/p' | head -n 1)
+  docker stop "${container}" >/dev/null
+  echo "${ready} ${started}"
+}
+
+run_variant() {
+  name="$1"
+  shift
+  results=$(for _ in $(seq "${RUNS}"); do measure "$@"; done)
+  ready=$(echo "${results}" | awk '{ print $1 }' | median)
+  started=$(echo "${results}" | awk '{ print $2 }' | median)
+  echo "| ${name} | ${ready} | ${started} |"
+}
+
+echo "| variant | readiness (ms, median of ${RUNS}) | Spring Boot started in (s, median) |"
+echo "|---|---|---|"
+run_variant "AppCDS archive" "${IMAGE}"
+run_variant "JDK default CDS only" --entrypoint java "${IMAGE}" -Xshare:auto -jar /app/notification-gateway.jar
@@ -0,0 +1,92 @@
+package de.gematik.demis.notificationgateway.benchmark;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.dto.DiseaseNotification;
+import de.gematik.demis.notificationgateway.common.enums.NotificationType;
+import de.gematik.demis.notificationgateway.common.exceptions.BadRequestException;
+import de.gematik.demis.notificationgateway.domain.disease.fhir.DiseaseNotificationBundleCreationService;
+import java.util.concurrent.TimeUnit;
+import org.hl7.fhir.r4.model.Bundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * CPU cost of {@link DiseaseNotificationBundleCreationService#createBundle} for the disease
+ * notification fixtures of the tests, with and without the strict disease profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiseaseBundleBenchmark {
+
+  @Param({
+    "notification-formly-input",
+    "notification-formly-rund-input",
+    "patient.address/current-address-is-other-facility-input"
+  })
+  private String fixture;
+
+  @Param({"false", "true"})
+  private boolean strict;
+
+  private AnnotationConfigApplicationContext context;
+  private DiseaseNotificationBundleCreationService service;
+  private DiseaseNotification notification;
+
+  @Setup
+  public void setup() {
+    context = DiseaseFixtures.createContext(strict);
+    service = context.getBean(DiseaseNotificationBundleCreationService.class);
+    notification = DiseaseFixtures.load(fixture);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Bundle createBundle() throws BadRequestException {
+    return service.createBundle(notification, NotificationType.NOMINAL);
+  }
+}
@@ -0,0 +1,132 @@
+package de.gematik.demis.notificationgateway.benchmark;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.gematik.demis.notificationgateway.FeatureFlags;
+import de.gematik.demis.notificationgateway.common.dto.DiseaseNotification;
+import de.gematik.demis.notificationgateway.common.services.fhir.FhirObjectCreationService;
+import de.gematik.demis.notificationgateway.domain.disease.fhir.DiseaseNotificationBundleCreationService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Disease notification inputs from the test fixtures and synthetic questionnaires, and the bundle
+ * creation service with its questionnaire components wired by component scan like in the
+ * application.
+ */
+final class DiseaseFixtures {
+
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper()
+          .findAndRegisterModules()
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  private DiseaseFixtures() {}
+
+  /**
+   * @param strict value of the feature flag {@code diseaseStrictProfile}
+   * @return started context, the caller closes it
+   */
+  static AnnotationConfigApplicationContext createContext(boolean strict) {
+    final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+    context.registerBean(
+        FeatureFlags.class, () -> FeatureFlags.builder().diseaseStrictProfile(strict).build());
+    context.register(FhirObjectCreationService.class);
+    context.scan(DiseaseNotificationBundleCreationService.class.getPackageName());
+    context.refresh();
+    return context;
+  }
+
+  /**
+   * @param fixture file name below {@code portal/disease}, without {@code .json}
+   */
+  static DiseaseNotification load(String fixture) {
+    return convert(read(fixture));
+  }
+
+  /**
+   * Adds a synthetic section to the disease questionnaire of the formly fixture: {@code depth}
+   * nested {@code repeat-section} items, the innermost one holding {@code answers} items with
+   * string, date, coding, boolean and integer answers.
+   */
+  static DiseaseNotification synthetic(int answers, int depth) {
+    final ObjectNode root = read("notification-formly-input");
+    ObjectNode section = root.objectNode().put("linkId", "repeat-section-" + depth);
+    final ArrayNode items = (ArrayNode) root.path("disease").path("item");
+    items.add(section);
+    for (int level = depth - 1; level > 0; level--) {
+      final ObjectNode nested = root.objectNode().put("linkId", "repeat-section-" + level);
+      section.putArray("item").add(nested);
+      section = nested;
+    }
+    final ArrayNode leaves = section.putArray("item");
+    for (int i = 0; i < answers; i++) {
+      final ObjectNode item = leaves.addObject().put("linkId", "syntheticItem" + i);
+      final ObjectNode answer = item.putArray("answer").addObject();
+      switch (i % 5) {
+        case 0 -> answer.put("valueString", "Freitext " + i);
+        case 1 -> answer.put("valueDate", "10.12.2023");
+        case 2 ->
+            answer
+                .putObject("valueCoding")
+                .put("system", "https://demis.rki.de/fhir/CodeSystem/yesOrNoAnswer")
+                .put("code", "yes")
+                .put("display", "Ja");
+        case 3 -> answer.put("valueBoolean", true);
+        default -> answer.put("valueInteger", i);
+      }
+    }
+    return convert(root);
+  }
+
+  private static DiseaseNotification convert(ObjectNode root) {
+    try {
+      return OBJECT_MAPPER.treeToValue(root, DiseaseNotification.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static ObjectNode read(String fixture) {
+    final String resource = "/portal/disease/" + fixture + ".json";
+    try (InputStream in = DiseaseFixtures.class.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing fixture " + resource);
+      }
+      return (ObjectNode) OBJECT_MAPPER.readTree(in);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package de.gematik.demis.notificationgateway.benchmark;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notification.builder.demis.fhir.notification.builder.infectious.laboratory.NotificationBundleLaboratoryDataBuilder;
+import de.gematik.demis.notification.builder.demis.fhir.notification.builder.infectious.laboratory.NotificationBundleLaboratoryNonNominalDataBuilder;
+import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
+import de.gematik.demis.notificationgateway.common.dto.SpecimenDTO;
+import de.gematik.demis.notificationgateway.common.enums.NotificationType;
+import de.gematik.demis.notificationgateway.domain.pathogen.creator.BundleCreator;
+import de.gematik.demis.notificationgateway.domain.pathogen.creator.CodeSystemVersions;
+import de.gematik.demis.notificationgateway.domain.pathogen.creator.CompositionCreator;
+import de.gematik.demis.notificationgateway.domain.pathogen.creator.LaboratoryReportCreator;
+import de.gematik.demis.notificationgateway.domain.pathogen.creator.ObservationCreator;
+import de.gematik.demis.notificationgateway.domain.pathogen.creator.PatientCreator;
+import de.gematik.demis.notificationgateway.domain.pathogen.creator.PractitionerOrganizationCreator;
+import de.gematik.demis.notificationgateway.domain.pathogen.creator.SpecimenCreator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Composition;
+import org.hl7.fhir.r4.model.DiagnosticReport;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.hl7.fhir.r4.model.PractitionerRole;
+import org.hl7.fhir.r4.model.Specimen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CPU cost of the laboratory notification pipeline {@link BundleCreator#createBundle} and of its
+ * single stages. The inputs are scaled from the test fixture by specimen, method, resistance gene
+ * and resistance count. Every stage gets the output of the previous stages prepared in the setup,
+ * so its numbers contain only its own work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathogenBundleBenchmark {
+
+  @Param({"1", "5"})
+  private int specimens;
+
+  @Param({"1", "3"})
+  private int methods;
+
+  @Param({"0", "10"})
+  private int resistanceGenes;
+
+  @Param({"0", "10"})
+  private int resistances;
+
+  @Param({"NOMINAL", "NON_NOMINAL"})
+  private NotificationType notificationType;
+
+  private PathogenTest pathogenTest;
+  private NotificationBundleLaboratoryDataBuilder bundleBuilder;
+  private PractitionerRole submittingRole;
+  private PractitionerRole notifierRole;
+  private Patient patient;
+  private List<Specimen> specimenList;
+  private List<Observation> observations;
+  private DiagnosticReport diagnosticReport;
+  private Specimen firstSpecimen;
+  private CodeSystemVersions versions;
+
+  @Setup
+  public void setup() {
+    pathogenTest = PathogenFixtures.create(specimens, methods, resistanceGenes, resistances);
+    versions = CodeSystemVersions.of(pathogenTest);
+    bundleBuilder =
+        notificationType == NotificationType.NON_NOMINAL
+            ? new NotificationBundleLaboratoryNonNominalDataBuilder().setDefaults()
+            : new NotificationBundleLaboratoryDataBuilder().setDefaults();
+    notifierRole =
+        PractitionerOrganizationCreator.createNotifierPractitionerRole(
+            pathogenTest.getNotifierFacility());
+    submittingRole =
+        PractitionerOrganizationCreator.createSubmitterPractitionerRole(
+            pathogenTest.getSubmittingFacility(), false, false);
+    patient = PatientCreator.createPatient(bundleBuilder, pathogenTest, submittingRole, true);
+    observations = new ArrayList<>();
+    specimenList = createSpecimen(observations);
+    firstSpecimen = specimenList.getFirst();
+    diagnosticReport = createDiagnosticReport();
+  }
+
+  @Benchmark
+  public Bundle createBundle() {
+    return BundleCreator.createBundle(pathogenTest, notificationType, true, false);
+  }
+
+  @Benchmark
+  public Patient createPatient() {
+    return PatientCreator.createPatient(bundleBuilder, pathogenTest, submittingRole, true);
+  }
+
+  /** Specimens including their pathogen detection, resistance gene and resistance observations. */
+  @Benchmark
+  public List<Specimen> createSpecimen() {
+    return createSpecimen(new ArrayList<>());
+  }
+
+  /** Pathogen detection observations of one specimen. */
+  @Benchmark
+  public List<Observation> createObservation() {
+    final SpecimenDTO specimenDTO = pathogenTest.getPathogenDTO().getSpecimenList().getFirst();
+    return ObservationCreator.createObservation(
+        pathogenTest.getPathogenDTO(),
+        specimenDTO.getMethodPathogenList(),
+        patient,
+        firstSpecimen,
+        pathogenTest.getNotificationCategory(),
+        versions);
+  }
+
+  /** Resistance observations of one specimen including their SNOMED CT value concepts. */
+  @Benchmark
+  public List<Observation> createObservationsForResistances() {
+    final SpecimenDTO specimenDTO = pathogenTest.getPathogenDTO().getSpecimenList().getFirst();
+    return ObservationCreator.createObservationsForResistances(
+        specimenDTO.getResistanceList(),
+        patient,
+        firstSpecimen,
+        pathogenTest.getPathogenDTO().getCodeDisplay().getCode(),
+        versions);
+  }
+
+  @Benchmark
+  public DiagnosticReport createDiagnosticReport() {
+    return LaboratoryReportCreator.createDiagnosticReport(
+        pathogenTest.getPathogenDTO(),
+        patient,
+        observations,
+        pathogenTest.getNotificationCategory(),
+        notificationType);
+  }
+
+  @Benchmark
+  public Composition createComposition() {
+    return CompositionCreator.createComposition(
+        patient,
+        notifierRole,
+        diagnosticReport,
+        pathogenTest.getNotificationCategory(),
+        notificationType);
+  }
+
+  private List<Specimen> createSpecimen(List<Observation> observationSink) {
+    return SpecimenCreator.createSpecimen(
+        pathogenTest.getPathogenDTO(),
+        patient,
+        submittingRole,
+        observationSink,
+        pathogenTest.getNotificationCategory(),
+        versions);
+  }
+}
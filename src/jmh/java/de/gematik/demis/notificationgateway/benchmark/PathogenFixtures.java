@@ -0,0 +1,97 @@
+package de.gematik.demis.notificationgateway.benchmark;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Builds {@link PathogenTest} inputs of a given size from the laboratory notification fixture of
+ * the tests. The fixture specimen with resistances serves as template, its first method, resistance
+ * gene and resistance are repeated to the requested counts.
+ */
+final class PathogenFixtures {
+
+  static final String FIXTURE = "/portal/pathogen/pathogen-test.json";
+
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper()
+          .findAndRegisterModules()
+          .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  private PathogenFixtures() {}
+
+  static PathogenTest create(int specimens, int methods, int resistanceGenes, int resistances) {
+    final ObjectNode root = load();
+    final ArrayNode specimenList = (ArrayNode) root.path("pathogenDTO").path("specimenList");
+    final ObjectNode template = (ObjectNode) specimenList.get(specimenList.size() - 1);
+    final ObjectNode specimen = template.deepCopy();
+    repeat(specimen, template, "methodPathogenList", methods);
+    repeat(specimen, template, "resistanceGeneList", resistanceGenes);
+    repeat(specimen, template, "resistanceList", resistances);
+    specimenList.removeAll();
+    for (int i = 0; i < specimens; i++) {
+      specimenList.add(specimen.deepCopy());
+    }
+    try {
+      return OBJECT_MAPPER.treeToValue(root, PathogenTest.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void repeat(ObjectNode specimen, ObjectNode template, String field, int count) {
+    final JsonNode element = template.path(field).path(0);
+    if (count == 0 || element.isMissingNode()) {
+      specimen.remove(field);
+      return;
+    }
+    final ArrayNode list = specimen.putArray(field);
+    for (int i = 0; i < count; i++) {
+      list.add(element.deepCopy());
+    }
+  }
+
+  private static ObjectNode load() {
+    try (InputStream in = PathogenFixtures.class.getResourceAsStream(FIXTURE)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing fixture " + FIXTURE);
+      }
+      return (ObjectNode) OBJECT_MAPPER.readTree(in);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package de.gematik.demis.notificationgateway.loadtest;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+/** The POST endpoints of the gateway with the test fixture sent as request body. */
+enum Endpoint {
+  PATHOGEN("/notification/pathogen", "/portal/pathogen/pathogen-test.json"),
+  PATHOGEN_NON_NOMINAL(
+      "/notification/pathogen/7.3/non_nominal", "/portal/pathogen/pathogen7_3DTO.json"),
+  PATHOGEN_ANONYMOUS("/notification/pathogen/7.3/anonymous", "/portal/FollowUpPathogen.json"),
+  DISEASE("/notification/disease", "/portal/disease/notification-formly-input.json"),
+  DISEASE_NON_NOMINAL(
+      "/notification/disease/7.3/non_nominal",
+      "/portal/disease/73.notifications/input/disease_1.json"),
+  DISEASE_ANONYMOUS(
+      "/notification/disease/7.3/anonymous",
+      "/portal/disease/notification-formly-input-followup.json"),
+  BED_OCCUPANCY("/reports/bedOccupancy", "/portal/bedoccupancy/report_content_max.json");
+
+  private final String path;
+  private final String fixture;
+
+  Endpoint(String path, String fixture) {
+    this.path = path;
+    this.fixture = fixture;
+  }
+
+  String path() {
+    return path;
+  }
+
+  String fixture() {
+    return fixture;
+  }
+}
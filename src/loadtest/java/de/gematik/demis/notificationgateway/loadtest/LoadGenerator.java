@@ -0,0 +1,173 @@
+package de.gematik.demis.notificationgateway.loadtest;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Drives one endpoint at a constant request rate (open model). Requests are started at their
+ * scheduled time no matter how many are still in flight, and the latency is measured from the
+ * scheduled start, so a stalling gateway is not hidden by coordinated omission.
+ */
+final class LoadGenerator implements AutoCloseable {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(130);
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final HttpClient client =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(5))
+          .executor(executor)
+          .build();
+  private final String baseUrl;
+
+  LoadGenerator(String baseUrl) {
+    this.baseUrl = baseUrl;
+  }
+
+  /**
+   * @param sampler started when the recorded part of the stage begins
+   */
+  StageResult run(
+      Endpoint endpoint,
+      int rate,
+      Duration warmup,
+      Duration duration,
+      ResourceSampler sampler) {
+    final byte[] body = load(endpoint.fixture());
+    final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+    final long start = System.nanoTime();
+    final long measureStart = start + warmup.toNanos();
+    final long end = measureStart + duration.toNanos();
+    final Recorder recorder = new Recorder(3);
+    final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    final List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+    boolean sampling = false;
+    for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+      waitUntil(scheduled);
+      final long intended = scheduled;
+      final boolean recorded = intended >= measureStart;
+      if (recorded && !sampling) {
+        sampler.start();
+        sampling = true;
+      }
+      inFlight.add(
+          client
+              .sendAsync(request(endpoint, body), HttpResponse.BodyHandlers.discarding())
+              .handle(
+                  (response, failure) -> {
+                    if (recorded) {
+                      recorder.recordValue(
+                          TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+                      final String status =
+                          failure == null ? String.valueOf(response.statusCode()) : "error";
+                      statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    }
+                    return null;
+                  }));
+    }
+    awaitCompletion(inFlight);
+
+    final Histogram histogram = recorder.getIntervalHistogram();
+    final Map<String, Long> statusCounts = new TreeMap<>();
+    statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+    return StageResult.of(endpoint, rate, duration, histogram, statusCounts);
+  }
+
+  private HttpRequest request(Endpoint endpoint, byte[] body) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path()))
+        .timeout(REQUEST_TIMEOUT)
+        .header("Content-Type", "application/json")
+        .header("Accept", "application/json")
+        .header("Authorization", "Bearer load-test")
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+        .build();
+  }
+
+  private static void waitUntil(long nanoTime) {
+    long remaining;
+    while ((remaining = nanoTime - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+    }
+  }
+
+  private static void awaitCompletion(List<CompletableFuture<?>> inFlight) {
+    try {
+      CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+          .get(REQUEST_TIMEOUT.toSeconds() + 10, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      throw new IllegalStateException("Requests still in flight after the request timeout", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static byte[] load(String fixture) {
+    try (InputStream in = LoadGenerator.class.getResourceAsStream(fixture)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing fixture " + fixture);
+      }
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    client.close();
+    executor.close();
+  }
+}
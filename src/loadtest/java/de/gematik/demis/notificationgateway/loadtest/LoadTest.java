@@ -0,0 +1,159 @@
+package de.gematik.demis.notificationgateway.loadtest;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.gematik.demis.notificationgateway.NotificationGatewayApplication;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Load test of the gateway. Boots the gateway against the {@link UpstreamStubs} (or drives the
+ * gateway at {@code loadtest.target.url}), drives every endpoint at every target rate and writes
+ * latency percentiles, throughput, CPU and heap per stage to a JSON report. The highest sustained
+ * rate per endpoint is the saturation point of one instance. If a baseline report exists, p99 and
+ * throughput are compared with it.
+ *
+ * <p>Run with {@code mvn verify -Ploadtest}, the settings are described in {@link
+ * LoadTestSettings}.
+ */
+public final class LoadTest {
+
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().findAndRegisterModules().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private LoadTest() {}
+
+  public static void main(String[] args) throws IOException {
+    final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    final List<StageResult> results;
+    if (settings.embedded()) {
+      try (UpstreamStubs stubs =
+              new UpstreamStubs(settings.upstreamLatency(), settings.upstreamErrorRate());
+          ConfigurableApplicationContext gateway = startGateway(stubs)) {
+        final String port = gateway.getEnvironment().getProperty("local.server.port");
+        results = run(settings, "http://localhost:" + port);
+      }
+    } else {
+      results = run(settings, settings.targetUrl());
+    }
+    final Map<String, Object> report = new LinkedHashMap<>();
+    report.put("commit", System.getProperty("loadtest.commit", "unknown"));
+    report.put("finishedAt", Instant.now().toString());
+    report.put("settings", settings);
+    report.put("saturation", saturation(results));
+    report.put("stages", results);
+    Files.createDirectories(settings.report().toAbsolutePath().getParent());
+    OBJECT_MAPPER.writeValue(settings.report().toFile(), report);
+    System.out.println("Wrote load test report " + settings.report());
+    if (Files.exists(settings.baseline())) {
+      compare(OBJECT_MAPPER.readTree(settings.baseline().toFile()), results);
+    }
+  }
+
+  private static ConfigurableApplicationContext startGateway(UpstreamStubs stubs) {
+    return new SpringApplicationBuilder(NotificationGatewayApplication.class)
+        .properties(
+            "server.port=0",
+            "notification.api.baseUrl=" + stubs.nesUrl(),
+            "rps.baseUrl=" + stubs.rpsUrl(),
+            // every request sends the same fixture, it has to reach the stand-in each time
+            "idempotency.enabled=false",
+            "logging.level.root=WARN")
+        .run();
+  }
+
+  private static List<StageResult> run(LoadTestSettings settings, String baseUrl) {
+    final List<StageResult> results = new ArrayList<>();
+    try (LoadGenerator generator = new LoadGenerator(baseUrl);
+        ResourceSampler sampler = new ResourceSampler()) {
+      for (Endpoint endpoint : settings.endpoints()) {
+        for (int rate : settings.rates()) {
+          final StageResult result =
+              generator.run(
+                  endpoint,
+                  rate,
+                  Duration.ofSeconds(settings.warmupSeconds()),
+                  Duration.ofSeconds(settings.durationSeconds()),
+                  sampler);
+          final ResourceSampler.Resources resources = sampler.stop();
+          results.add(settings.embedded() ? result.withResources(resources) : result);
+          System.out.printf(
+              "%-20s %4d/s: %7.1f/s ok, p50 %8.1f ms, p99 %8.1f ms, statuses %s%n",
+              endpoint,
+              rate,
+              result.throughput(),
+              result.latencyMillis().p50(),
+              result.latencyMillis().p99(),
+              result.statusCounts());
+        }
+      }
+    }
+    return results;
+  }
+
+  /** Highest target rate per endpoint the gateway sustained, 0 if it sustained none. */
+  private static Map<Endpoint, Integer> saturation(List<StageResult> results) {
+    final Map<Endpoint, Integer> saturation = new LinkedHashMap<>();
+    for (StageResult result : results) {
+      saturation.merge(
+          result.endpoint(), result.sustained() ? result.targetRate() : 0, Math::max);
+    }
+    return saturation;
+  }
+
+  private static void compare(JsonNode baseline, List<StageResult> results) {
+    System.out.println(
+        "Compared with baseline of commit " + baseline.path("commit").asText("unknown") + ":");
+    for (StageResult result : results) {
+      for (JsonNode stage : baseline.path("stages")) {
+        if (stage.path("endpoint").asText().equals(result.endpoint().name())
+            && stage.path("targetRate").asInt() == result.targetRate()) {
+          System.out.printf(
+              "%-20s %4d/s: p99 %8.1f -> %8.1f ms, throughput %7.1f -> %7.1f/s%n",
+              result.endpoint(),
+              result.targetRate(),
+              stage.path("latencyMillis").path("p99").asDouble(),
+              result.latencyMillis().p99(),
+              stage.path("throughput").asDouble(),
+              result.throughput());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package de.gematik.demis.notificationgateway.loadtest;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Settings of a load test run, read from system properties.
+ *
+ * @param targetUrl gateway to drive, blank to boot one against the local NES/RPS stand-in
+ * @param endpoints endpoints to drive, one after the other
+ * @param rates target request rates per second, every endpoint is driven at each of them
+ * @param warmupSeconds duration of the unrecorded warm-up of every stage
+ * @param durationSeconds duration of the recorded part of every stage
+ * @param upstreamLatency latency distribution of the stand-in, {@code fixed:<ms>}, {@code
+ *     uniform:<min ms>:<max ms>} or {@code lognormal:<median ms>:<sigma>}
+ * @param upstreamErrorRate share of stand-in responses answered with 503
+ * @param report JSON report to write
+ * @param baseline report of an earlier run to compare with, may not exist
+ */
+record LoadTestSettings(
+    String targetUrl,
+    List<Endpoint> endpoints,
+    List<Integer> rates,
+    int warmupSeconds,
+    int durationSeconds,
+    String upstreamLatency,
+    double upstreamErrorRate,
+    Path report,
+    Path baseline) {
+
+  static LoadTestSettings fromSystemProperties() {
+    return new LoadTestSettings(
+        System.getProperty("loadtest.target.url", ""),
+        Arrays.stream(System.getProperty("loadtest.endpoints", "ALL").split(","))
+            .map(String::trim)
+            .flatMap(
+                name ->
+                    "ALL".equalsIgnoreCase(name)
+                        ? Arrays.stream(Endpoint.values())
+                        : Stream.of(Endpoint.valueOf(name)))
+            .distinct()
+            .toList(),
+        Arrays.stream(System.getProperty("loadtest.rates", "10,25,50,100").split(","))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .toList(),
+        Integer.getInteger("loadtest.warmup.seconds", 10),
+        Integer.getInteger("loadtest.duration.seconds", 30),
+        System.getProperty("loadtest.upstream.latency", "lognormal:80:0.5"),
+        Double.parseDouble(System.getProperty("loadtest.upstream.error.rate", "0")),
+        Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json")),
+        Path.of(System.getProperty("loadtest.baseline", "target/loadtest-baseline.json")));
+  }
+
+  boolean embedded() {
+    return targetUrl.isBlank();
+  }
+}
@@ -0,0 +1,119 @@
+package de.gematik.demis.notificationgateway.loadtest;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples process CPU load and heap usage of this JVM while a stage runs. With the embedded
+ * gateway the numbers include the load generator and the NES/RPS stand-in.
+ */
+final class ResourceSampler implements AutoCloseable {
+
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("resource-sampler").daemon().factory());
+  private final com.sun.management.OperatingSystemMXBean os =
+      (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+  private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+  private ScheduledFuture<?> sampling;
+  private double cpuSum;
+  private double cpuMax;
+  private long heapMax;
+  private int samples;
+  private long gcCountStart;
+  private long gcTimeStart;
+
+  synchronized void start() {
+    cpuSum = 0;
+    cpuMax = 0;
+    heapMax = 0;
+    samples = 0;
+    gcCountStart = gcCount();
+    gcTimeStart = gcTime();
+    sampling = scheduler.scheduleAtFixedRate(this::sample, 500, 500, TimeUnit.MILLISECONDS);
+  }
+
+  synchronized Resources stop() {
+    if (sampling != null) {
+      sampling.cancel(false);
+    }
+    return new Resources(
+        samples == 0 ? 0 : cpuSum / samples * 100,
+        cpuMax * 100,
+        heapMax / (1024 * 1024),
+        gcCount() - gcCountStart,
+        gcTime() - gcTimeStart);
+  }
+
+  private synchronized void sample() {
+    final double cpu = Math.max(0, os.getProcessCpuLoad());
+    cpuSum += cpu;
+    cpuMax = Math.max(cpuMax, cpu);
+    heapMax = Math.max(heapMax, memory.getHeapMemoryUsage().getUsed());
+    samples++;
+  }
+
+  private static long gcCount() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+        .sum();
+  }
+
+  private static long gcTime() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+        .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+        .sum();
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * @param cpuMeanPercent mean process CPU load, percent of all cores
+   * @param cpuMaxPercent highest sampled process CPU load, percent of all cores
+   * @param heapMaxMegabytes highest sampled used heap
+   * @param gcCount garbage collections during the stage
+   * @param gcMillis time spent in garbage collection during the stage
+   */
+  record Resources(
+      double cpuMeanPercent,
+      double cpuMaxPercent,
+      long heapMaxMegabytes,
+      long gcCount,
+      long gcMillis) {}
+}
@@ -0,0 +1,102 @@
+package de.gematik.demis.notificationgateway.loadtest;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import java.time.Duration;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of driving one endpoint at one target rate, as written to the JSON report.
+ *
+ * @param endpoint driven endpoint
+ * @param targetRate requests started per second
+ * @param requests recorded requests
+ * @param throughput successful (2xx) responses per second
+ * @param statusCounts responses per HTTP status, {@code error} for failed exchanges
+ * @param latencyMillis latency percentiles measured from the scheduled start of the request
+ * @param resources CPU and heap of the process during the stage, {@code null} for an external
+ *     gateway
+ */
+record StageResult(
+    Endpoint endpoint,
+    int targetRate,
+    long requests,
+    double throughput,
+    Map<String, Long> statusCounts,
+    Latency latencyMillis,
+    ResourceSampler.Resources resources) {
+
+  static StageResult of(
+      Endpoint endpoint,
+      int targetRate,
+      Duration duration,
+      Histogram histogram,
+      Map<String, Long> statusCounts) {
+    final long successful =
+        statusCounts.entrySet().stream()
+            .filter(entry -> entry.getKey().startsWith("2"))
+            .mapToLong(Map.Entry::getValue)
+            .sum();
+    return new StageResult(
+        endpoint,
+        targetRate,
+        histogram.getTotalCount(),
+        (double) successful / duration.toSeconds(),
+        statusCounts,
+        Latency.of(histogram),
+        null);
+  }
+
+  StageResult withResources(ResourceSampler.Resources resources) {
+    return new StageResult(
+        endpoint, targetRate, requests, throughput, statusCounts, latencyMillis, resources);
+  }
+
+  /** The gateway keeps up if it answers nearly all requests successfully at the target rate. */
+  boolean sustained() {
+    return throughput >= targetRate * 0.95;
+  }
+
+  record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+
+    static Latency of(Histogram micros) {
+      return new Latency(
+          millis(micros.getValueAtPercentile(50)),
+          millis(micros.getValueAtPercentile(90)),
+          millis(micros.getValueAtPercentile(99)),
+          millis(micros.getValueAtPercentile(99.9)),
+          millis(micros.getMaxValue()),
+          millis(micros.getMean()));
+    }
+
+    private static double millis(double micros) {
+      return Math.round(micros / 10) / 100.0;
+    }
+  }
+}
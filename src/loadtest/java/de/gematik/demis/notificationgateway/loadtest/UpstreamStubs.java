@@ -0,0 +1,151 @@
+package de.gematik.demis.notificationgateway.loadtest;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for NES and RPS. Both answer every POST with the recorded OK response of the
+ * tests after a random delay of the configured distribution, the configured share of responses is
+ * replaced by 503.
+ */
+final class UpstreamStubs implements AutoCloseable {
+
+  private static final String NES_RESPONSE = "/nes/nes_response_OK.json";
+  private static final String RPS_RESPONSE = "/rps_response_with_valueIdentifier.json";
+  private static final String UNAVAILABLE =
+      """
+      {"resourceType":"OperationOutcome","issue":[{"severity":"error","code":"transient",\
+      "diagnostics":"load test stand-in unavailable"}]}""";
+
+  private final WireMockServer nes;
+  private final WireMockServer rps;
+
+  UpstreamStubs(String latency, double errorRate) {
+    nes = start(NES_RESPONSE, latency, errorRate);
+    rps = start(RPS_RESPONSE, latency, errorRate);
+  }
+
+  String nesUrl() {
+    return nes.baseUrl();
+  }
+
+  String rpsUrl() {
+    return rps.baseUrl();
+  }
+
+  private static WireMockServer start(String fixture, String latency, double errorRate) {
+    final WireMockServer server =
+        new WireMockServer(
+            wireMockConfig()
+                .dynamicPort()
+                .containerThreads(64)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(64)
+                .disableRequestJournal()
+                .extensions(new ErrorRate(errorRate)));
+    server.start();
+    server.stubFor(
+        any(anyUrl())
+            .willReturn(
+                withLatency(
+                    aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/fhir+json")
+                        .withBody(load(fixture)),
+                    latency)));
+    return server;
+  }
+
+  private static ResponseDefinitionBuilder withLatency(
+      ResponseDefinitionBuilder response, String latency) {
+    final String[] parts = latency.split(":");
+    return switch (parts[0]) {
+      case "fixed" -> response.withFixedDelay(Integer.parseInt(parts[1]));
+      case "uniform" ->
+          response.withUniformRandomDelay(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+      case "lognormal" ->
+          response.withLogNormalRandomDelay(
+              Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+      default -> throw new IllegalArgumentException("Unknown latency distribution " + latency);
+    };
+  }
+
+  private static String load(String fixture) {
+    try (InputStream in = UpstreamStubs.class.getResourceAsStream(fixture)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing fixture " + fixture);
+      }
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    nes.stop();
+    rps.stop();
+  }
+
+  /** Replaces the given share of responses by 503, keeping the delay of the stub. */
+  private record ErrorRate(double rate) implements ResponseDefinitionTransformerV2 {
+
+    @Override
+    public ResponseDefinition transform(ServeEvent serveEvent) {
+      final ResponseDefinition response = serveEvent.getResponseDefinition();
+      if (ThreadLocalRandom.current().nextDouble() >= rate) {
+        return response;
+      }
+      return ResponseDefinitionBuilder.like(response)
+          .but()
+          .withStatus(503)
+          .withBody(UNAVAILABLE)
+          .build();
+    }
+
+    @Override
+    public String getName() {
+      return "error-rate";
+    }
+  }
+}
@@ -41,4 +41,6 @@ public class FeatureFlags {
   boolean portalErrorDialogFiltering;
   boolean diseaseStrictProfile;
   boolean othPrivatLabSubmitterAssignmentDisabled;
+  boolean receiptPassThrough;
+  boolean receiptPdfResponse;
 }
@@ -36,6 +36,7 @@ import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
 import static org.springframework.http.HttpStatus.NOT_ACCEPTABLE;
 import static org.springframework.http.HttpStatus.NOT_IMPLEMENTED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 import static org.springframework.http.HttpStatus.UNSUPPORTED_MEDIA_TYPE;
@@ -64,6 +65,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.logging.log4j.util.Strings;
 import org.hl7.fhir.r4.model.OperationOutcome;
 import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -95,7 +97,54 @@ public class ErrorResponseController {
     }
   }
 
-  @ExceptionHandler({BaseServerResponseException.class, ServiceCallException.class})
+  /**
+   * Answers every exception thrown by a controller. The status and body are taken from {@link
+   * #toResponseEntity}, the one mapping shared with {@link #toErrorResponse}.
+   *
+   * @param exception failure of the request
+   * @param request inbound request
+   * @return error response
+   */
+  @ExceptionHandler(Exception.class)
+  public ResponseEntity<ErrorResponse> handleException(
+      final Exception exception, final HttpServletRequest request) {
+    return toResponseEntity(exception, request);
+  }
+
+  /**
+   * Maps an exception to the error response a controller would answer with, e.g. for the items of
+   * a batch which are answered together.
+   *
+   * @param exception failure of one item
+   * @param request inbound request
+   * @return error response, status code included
+   */
+  public ErrorResponse toErrorResponse(
+      final Exception exception, final HttpServletRequest request) {
+    return toResponseEntity(exception, request).getBody();
+  }
+
+  private ResponseEntity<ErrorResponse> toResponseEntity(
+      final Exception exception, final HttpServletRequest request) {
+    return switch (exception) {
+      case BaseServerResponseException e -> handleCoreException(e, request);
+      case ServiceCallException e -> handleCoreException(e, request);
+      case ConstraintViolationException e -> handleBadRequestException(e, request);
+      case MissingRequestHeaderException e -> handleBadRequestException(e, request);
+      case HttpMessageNotReadableException e -> handleBadRequestException(e, request);
+      case MethodArgumentNotValidException e -> handleBadRequestException(e, request);
+      case BadRequestException e -> handleBadRequestException(e, request);
+      case ConversionFailedException e -> handleBadRequestException(e, request);
+      case HttpRequestMethodNotSupportedException e -> handleMethodNotAllowedException(e, request);
+      case HoneypotException e -> handleHoneypotException(e, request);
+      case IdempotencyKeyReusedException e -> handleIdempotencyKeyReusedException(e, request);
+      case UpstreamUnavailableException e -> handleUpstreamUnavailableException(e, request);
+      case AuthException e -> handleAuthException(e, request);
+      case HttpMediaTypeNotSupportedException e -> handleUnsupportedMediaTypeException(e, request);
+      default -> handleInternalServerError(exception, request);
+    };
+  }
+
   public ResponseEntity<ErrorResponse> handleCoreException(
       final Exception exception, final HttpServletRequest request) {
     final ErrorResponse errorResponse =
@@ -112,15 +161,6 @@ public class ErrorResponseController {
         .body(errorResponse);
   }
 
-  @ExceptionHandler(
-      value = {
-        ConstraintViolationException.class,
-        MissingRequestHeaderException.class,
-        HttpMessageNotReadableException.class,
-        MethodArgumentNotValidException.class,
-        BadRequestException.class,
-        ConversionFailedException.class
-      })
   public ResponseEntity<ErrorResponse> handleBadRequestException(
       final Exception exception, final HttpServletRequest request) {
     String message = exception.getMessage();
@@ -149,7 +189,6 @@ public class ErrorResponseController {
         .body(errorResponse);
   }
 
-  @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
   public ResponseEntity<ErrorResponse> handleMethodNotAllowedException(
       final Exception exception, final HttpServletRequest request) {
     String message = exception.getMessage();
@@ -163,7 +202,6 @@ public class ErrorResponseController {
         .body(errorResponse);
   }
 
-  @ExceptionHandler(HoneypotException.class)
   public ResponseEntity<ErrorResponse> handleHoneypotException(
       final Exception exception, final HttpServletRequest request) {
     String message = exception.getMessage();
@@ -177,7 +215,33 @@ public class ErrorResponseController {
         .body(errorResponse);
   }
 
-  @ExceptionHandler(AuthException.class)
+  public ResponseEntity<ErrorResponse> handleIdempotencyKeyReusedException(
+      final Exception exception, final HttpServletRequest request) {
+    String message = exception.getMessage();
+    final int statusCode = UNPROCESSABLE_ENTITY.value();
+    final String path = request.getRequestURI();
+    logResponseStatusCodeAndErrorMessage(statusCode, exception);
+    final ErrorResponse errorResponse = createErrorResponse(path, statusCode, message);
+
+    return ResponseEntity.status(UNPROCESSABLE_ENTITY)
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(errorResponse);
+  }
+
+  public ResponseEntity<ErrorResponse> handleUpstreamUnavailableException(
+      final UpstreamUnavailableException exception, final HttpServletRequest request) {
+    final int statusCode = SERVICE_UNAVAILABLE.value();
+    final String path = request.getRequestURI();
+    logResponseStatusCodeAndErrorMessage(statusCode, exception);
+    final ErrorResponse errorResponse =
+        createErrorResponse(path, statusCode, InternalCoreError.NG_300_REQUEST.reason());
+
+    return ResponseEntity.status(SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfter().toSeconds()))
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(errorResponse);
+  }
+
   public ResponseEntity<ErrorResponse> handleAuthException(
       final Exception exception, final HttpServletRequest request) {
     String message = exception.getMessage();
@@ -192,7 +256,6 @@ public class ErrorResponseController {
         .body(errorResponse);
   }
 
-  @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
   public ResponseEntity<ErrorResponse> handleUnsupportedMediaTypeException(
       final Exception exception, final HttpServletRequest request) {
     String message = exception.getMessage();
@@ -206,7 +269,6 @@ public class ErrorResponseController {
         .body(errorResponse);
   }
 
-  @ExceptionHandler(value = {Exception.class, TokenException.class})
   public ResponseEntity<ErrorResponse> handleInternalServerError(
       final Exception exception, final HttpServletRequest request) {
     String message = exception.getMessage();
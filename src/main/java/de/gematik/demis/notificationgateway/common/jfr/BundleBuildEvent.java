@@ -0,0 +1,96 @@
+package de.gematik.demis.notificationgateway.common.jfr;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.enums.NotificationType;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.hl7.fhir.r4.model.Bundle;
+
+/** JFR event of the creation of the FHIR bundle of a notification or report. */
+@Name(BundleBuildEvent.NAME)
+@Label("Bundle Build")
+@Category({"DEMIS", "Notification Gateway"})
+@Description("Creation of the FHIR bundle of a notification or report")
+@StackTrace(false)
+public final class BundleBuildEvent extends Event {
+
+  static final String NAME = "de.gematik.demis.notificationgateway.BundleBuild";
+
+  @Label("Notification Type")
+  String notificationType;
+
+  @Label("Category")
+  @Description("Pathogen or disease code, report type for reports")
+  String category;
+
+  @Label("Resource Count")
+  int resourceCount;
+
+  @Label("Resource Types")
+  @Description("Number of bundle entries per resource type")
+  String resourceTypes;
+
+  /**
+   * Ends the event and commits it if it is enabled and exceeds its threshold. The resources are
+   * only counted if the event is committed.
+   *
+   * @param bundle created bundle
+   * @param notificationType type of the notification, {@code null} for reports
+   * @param category pathogen or disease code, report type for reports
+   */
+  public void complete(Bundle bundle, NotificationType notificationType, String category) {
+    end();
+    if (shouldCommit()) {
+      this.notificationType = notificationType == null ? null : notificationType.name();
+      this.category = category;
+      this.resourceCount = bundle.getEntry().size();
+      this.resourceTypes = countResourceTypes(bundle);
+      commit();
+    }
+  }
+
+  private static String countResourceTypes(Bundle bundle) {
+    final Map<String, Integer> counts = new TreeMap<>();
+    for (final Bundle.BundleEntryComponent entry : bundle.getEntry()) {
+      if (entry.hasResource()) {
+        counts.merge(entry.getResource().fhirType(), 1, Integer::sum);
+      }
+    }
+    return counts.entrySet().stream()
+        .map(count -> count.getKey() + "=" + count.getValue())
+        .collect(Collectors.joining(", "));
+  }
+}
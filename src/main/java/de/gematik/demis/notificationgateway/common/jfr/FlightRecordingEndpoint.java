@@ -0,0 +1,198 @@
+package de.gematik.demis.notificationgateway.common.jfr;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import jakarta.annotation.PreDestroy;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/flightrecording} for a bounded JDK Flight Recorder recording
+ * of the running gateway, no agent has to be attached. The recording uses the JDK settings {@code
+ * jfr.recording.settings} plus the gateway events enabled by {@value #SETTINGS_RESOURCE}.
+ *
+ * <ul>
+ *   <li>POST starts a recording, optionally with {@code durationSeconds}. Duration and size are
+ *       capped by the properties, only one recording runs at a time.
+ *   <li>GET dumps the running or last recording as {@code .jfr} file.
+ * </ul>
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "flightrecording")
+@RequiredArgsConstructor
+public class FlightRecordingEndpoint {
+
+  static final String SETTINGS_RESOURCE = "jfr/notification-gateway.jfc";
+
+  private static final String RECORDING_NAME = "notification-gateway";
+  private static final int STATUS_CONFLICT = 409;
+
+  private final ApplicationProperties applicationProperties;
+  private Recording recording;
+
+  /**
+   * @param durationSeconds duration of the recording, default and maximum are configured
+   * @return status of the started recording, 409 if a recording is running
+   */
+  @WriteOperation
+  public synchronized WebEndpointResponse<RecordingStatus> start(@Nullable Long durationSeconds)
+      throws IOException, ParseException {
+    if (recording != null && recording.getState() == RecordingState.RUNNING) {
+      return new WebEndpointResponse<>(RecordingStatus.of(recording), STATUS_CONFLICT);
+    }
+    closeRecording();
+    final Recording started = new Recording(settings());
+    started.setName(RECORDING_NAME);
+    started.setDuration(duration(durationSeconds));
+    started.setMaxSize(applicationProperties.getJfrRecordingMaxSizeBytes());
+    started.setToDisk(true);
+    started.start();
+    recording = started;
+    log.info(
+        "Started flight recording for {} with at most {} bytes",
+        started.getDuration(),
+        started.getMaxSize());
+    return new WebEndpointResponse<>(RecordingStatus.of(started));
+  }
+
+  /**
+   * @return {@code .jfr} file of the running or last recording, 404 without recording
+   */
+  @ReadOperation(produces = "application/octet-stream")
+  public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+    if (recording == null) {
+      return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+    final Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+    try {
+      recording.dump(file);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+    return new WebEndpointResponse<>(new TemporaryFileResource(file));
+  }
+
+  @PreDestroy
+  synchronized void closeRecording() {
+    if (recording != null) {
+      recording.close();
+      recording = null;
+    }
+  }
+
+  private Duration duration(Long durationSeconds) {
+    final long max = applicationProperties.getJfrRecordingMaxDurationSeconds();
+    final long requested =
+        durationSeconds == null || durationSeconds <= 0
+            ? applicationProperties.getJfrRecordingDurationSeconds()
+            : durationSeconds;
+    return Duration.ofSeconds(Math.min(requested, max));
+  }
+
+  private Map<String, String> settings() throws IOException, ParseException {
+    final Map<String, String> settings =
+        new HashMap<>(
+            Configuration.getConfiguration(applicationProperties.getJfrRecordingSettings())
+                .getSettings());
+    try (Reader reader =
+        new InputStreamReader(
+            new ClassPathResource(SETTINGS_RESOURCE).getInputStream(), StandardCharsets.UTF_8)) {
+      settings.putAll(Configuration.create(reader).getSettings());
+    }
+    return settings;
+  }
+
+  /** State of the recording as shown by the endpoint. */
+  public record RecordingStatus(
+      String name, RecordingState state, Instant startTime, Duration duration, long maxSizeBytes) {
+
+    static RecordingStatus of(Recording recording) {
+      return new RecordingStatus(
+          recording.getName(),
+          recording.getState(),
+          recording.getStartTime(),
+          recording.getDuration(),
+          recording.getMaxSize());
+    }
+  }
+
+  /** Dump file that is deleted once it has been sent. */
+  private static final class TemporaryFileResource extends FileSystemResource {
+
+    private TemporaryFileResource(Path file) {
+      super(file);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+      return new FilterInputStream(super.getInputStream()) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            Files.deleteIfExists(getFile().toPath());
+          }
+        }
+      };
+    }
+
+    @Override
+    public boolean isFile() {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package de.gematik.demis.notificationgateway.common.jfr;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of publishing a bundle to NES or RPS, from passing the resilience guards until the
+ * response is read. The HTTP exchanges are added by the client, a gzip request refused with 415 is
+ * one more exchange.
+ */
+@Name(OutboundPublishEvent.NAME)
+@Label("Outbound Publish")
+@Category({"DEMIS", "Notification Gateway"})
+@Description("Publishing a bundle to an upstream FHIR operation")
+@StackTrace(false)
+public final class OutboundPublishEvent extends Event {
+
+  static final String NAME = "de.gematik.demis.notificationgateway.OutboundPublish";
+
+  @Label("URL")
+  String url;
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Status")
+  @Description("HTTP status of the last response, 0 without response")
+  int status;
+
+  @Label("Bytes Sent")
+  @DataAmount
+  long bytesSent;
+
+  @Label("Bytes Received")
+  @DataAmount
+  long bytesReceived;
+
+  @Label("Outcome")
+  String outcome;
+
+  /**
+   * Begins the event.
+   *
+   * @param url upstream base URL
+   * @param operation FHIR operation name
+   */
+  public void begin(String url, String operation) {
+    this.url = url;
+    this.operation = operation;
+    begin();
+  }
+
+  /**
+   * Adds one HTTP exchange with the upstream.
+   *
+   * @param status response status, 0 without response
+   * @param sent request body bytes on the wire
+   * @param received response body bytes on the wire
+   */
+  public void addExchange(int status, long sent, long received) {
+    this.status = status;
+    this.bytesSent += sent;
+    this.bytesReceived += received;
+  }
+
+  /**
+   * Ends the event and commits it if it is enabled and exceeds its threshold.
+   *
+   * @param outcome e.g. success, upstream failure or rejection by a guard
+   */
+  public void complete(String outcome) {
+    end();
+    if (shouldCommit()) {
+      this.outcome = outcome;
+      commit();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package de.gematik.demis.notificationgateway.common.jfr;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event of reading the OK response from the body of the NES/RPS response. */
+@Name(ResponseParseEvent.NAME)
+@Label("Response Parse")
+@Category({"DEMIS", "Notification Gateway"})
+@Description("Reading the OK response from the upstream response body")
+@StackTrace(false)
+public final class ResponseParseEvent extends Event {
+
+  static final String NAME = "de.gematik.demis.notificationgateway.ResponseParse";
+
+  @Label("Bytes")
+  @DataAmount
+  long bytes;
+
+  @Label("Streamed")
+  @Description("Fields streamed from the body, false if the complete Parameters were parsed")
+  boolean streamed;
+
+  /**
+   * Ends the event and commits it if it is enabled and exceeds its threshold.
+   *
+   * @param bytes size of the response body
+   * @param streamed {@code true} if the fields were streamed from the body
+   */
+  public void complete(long bytes, boolean streamed) {
+    end();
+    if (shouldCommit()) {
+      this.bytes = bytes;
+      this.streamed = streamed;
+      commit();
+    }
+  }
+}
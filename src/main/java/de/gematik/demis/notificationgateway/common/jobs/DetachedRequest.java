@@ -0,0 +1,123 @@
+package de.gematik.demis.notificationgateway.common.jobs;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Copy of the headers, attributes and path of the inbound request for a job which runs after the
+ * request has been answered and recycled by the container. Everything else is delegated to the
+ * recycled request and fails.
+ */
+final class DetachedRequest extends HttpServletRequestWrapper {
+
+  private final String method;
+  private final String requestUri;
+  private final Map<String, List<String>> headers =
+      new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+  private final Map<String, Object> attributes = new HashMap<>();
+
+  private DetachedRequest(HttpServletRequest request) {
+    super(request);
+    this.method = request.getMethod();
+    this.requestUri = request.getRequestURI();
+    for (final String name : Collections.list(request.getHeaderNames())) {
+      headers.put(name, Collections.list(request.getHeaders(name)));
+    }
+    for (final String name : Collections.list(request.getAttributeNames())) {
+      attributes.put(name, request.getAttribute(name));
+    }
+  }
+
+  /**
+   * Must be called while the inbound request is still available.
+   *
+   * @param request inbound request
+   * @return detached copy
+   */
+  static DetachedRequest of(HttpServletRequest request) {
+    return new DetachedRequest(request);
+  }
+
+  @Override
+  public String getMethod() {
+    return method;
+  }
+
+  @Override
+  public String getRequestURI() {
+    return requestUri;
+  }
+
+  @Override
+  public String getHeader(String name) {
+    final List<String> values = headers.get(name);
+    return values == null || values.isEmpty() ? null : values.getFirst();
+  }
+
+  @Override
+  public Enumeration<String> getHeaders(String name) {
+    return Collections.enumeration(headers.getOrDefault(name, List.of()));
+  }
+
+  @Override
+  public Enumeration<String> getHeaderNames() {
+    return Collections.enumeration(headers.keySet());
+  }
+
+  @Override
+  public synchronized Object getAttribute(String name) {
+    return attributes.get(name);
+  }
+
+  @Override
+  public synchronized Enumeration<String> getAttributeNames() {
+    return Collections.enumeration(List.copyOf(attributes.keySet()));
+  }
+
+  @Override
+  public synchronized void setAttribute(String name, Object value) {
+    if (value == null) {
+      attributes.remove(name);
+    } else {
+      attributes.put(name, value);
+    }
+  }
+
+  @Override
+  public synchronized void removeAttribute(String name) {
+    attributes.remove(name);
+  }
+}
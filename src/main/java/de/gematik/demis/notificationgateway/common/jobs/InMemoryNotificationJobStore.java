@@ -0,0 +1,71 @@
+package de.gematik.demis.notificationgateway.common.jobs;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.gematik.demis.notificationgateway.common.services.OkResponseService;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Job store of this instance. Jobs expire a fixed time after their last update. The store is
+ * bounded by the approximate size of the kept receipts, beyond it the least used jobs are evicted
+ * first. Other replicas do not see these jobs, see {@code jobs.store.shared}.
+ */
+class InMemoryNotificationJobStore implements NotificationJobStore {
+
+  private static final int JOB_BASE_WEIGHT = 1024;
+
+  private final Cache<String, NotificationJob> jobs;
+
+  InMemoryNotificationJobStore(long maxBytes, Duration timeToLive) {
+    this.jobs =
+        Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String id, NotificationJob job) -> weigh(job))
+            .expireAfterWrite(timeToLive)
+            .build();
+  }
+
+  @Override
+  public void save(NotificationJob job) {
+    jobs.put(job.id(), job);
+  }
+
+  @Override
+  public Optional<NotificationJob> find(String id) {
+    return Optional.ofNullable(jobs.getIfPresent(id));
+  }
+
+  private static int weigh(NotificationJob job) {
+    return job.response() == null
+        ? JOB_BASE_WEIGHT
+        : JOB_BASE_WEIGHT + OkResponseService.retainedBytes(job.response());
+  }
+}
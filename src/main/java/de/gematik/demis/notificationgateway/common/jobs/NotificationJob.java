@@ -0,0 +1,103 @@
+package de.gematik.demis.notificationgateway.common.jobs;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import de.gematik.demis.notificationgateway.common.dto.ErrorResponse;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * State of a notification submitted with {@code Prefer: respond-async}, polled by the portal.
+ *
+ * @param id random job id
+ * @param owner SHA-256 of the token of the submission, only the same token may poll the job
+ * @param operation endpoint the notification was submitted to
+ * @param status state of the job
+ * @param submitted time the job was accepted
+ * @param completed time the upstream answered, {@code null} while pending
+ * @param response response of the upstream including the receipt, only if succeeded
+ * @param error error response, only if failed
+ */
+public record NotificationJob(
+    String id,
+    @JsonIgnore String owner,
+    String operation,
+    Status status,
+    Instant submitted,
+    Instant completed,
+    OkResponse response,
+    ErrorResponse error) {
+
+  public enum Status {
+    PENDING,
+    SUCCEEDED,
+    FAILED
+  }
+
+  static NotificationJob pending(String id, Token token, String operation) {
+    return new NotificationJob(
+        id, owner(token), operation, Status.PENDING, Instant.now(), null, null, null);
+  }
+
+  NotificationJob succeeded(OkResponse okResponse) {
+    return new NotificationJob(
+        id, owner, operation, Status.SUCCEEDED, submitted, Instant.now(), okResponse, null);
+  }
+
+  NotificationJob failed(ErrorResponse errorResponse) {
+    return new NotificationJob(
+        id, owner, operation, Status.FAILED, submitted, Instant.now(), null, errorResponse);
+  }
+
+  /**
+   * @param token token of a poll
+   * @return {@code true} if the job was submitted with the same token
+   */
+  boolean isOwnedBy(Token token) {
+    return MessageDigest.isEqual(
+        owner.getBytes(StandardCharsets.US_ASCII),
+        owner(token).getBytes(StandardCharsets.US_ASCII));
+  }
+
+  private static String owner(Token token) {
+    try {
+      return HexFormat.of()
+          .formatHex(
+              MessageDigest.getInstance("SHA-256")
+                  .digest(token.asText().getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
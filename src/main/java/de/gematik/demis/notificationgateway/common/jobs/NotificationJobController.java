@@ -0,0 +1,65 @@
+package de.gematik.demis.notificationgateway.common.jobs;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import jakarta.security.auth.message.AuthException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("${api.ng.notification.context-path}")
+class NotificationJobController {
+
+  private final NotificationJobStore store;
+
+  NotificationJobController(NotificationJobStore store) {
+    this.store = store;
+  }
+
+  /**
+   * Jobs of other tokens are answered with 404 like unknown ones, so ids can not be probed.
+   *
+   * @param id job id
+   * @param headers must contain the token the job was submitted with
+   * @return job state
+   * @throws AuthException if the request has no bearer token
+   */
+  @GetMapping(path = "jobs/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+  ResponseEntity<NotificationJob> getJob(
+      @PathVariable String id, @RequestHeader HttpHeaders headers) throws AuthException {
+    final Token token = Token.of(headers);
+    return ResponseEntity.of(store.find(id).filter(job -> job.isOwnedBy(token)));
+  }
+}
@@ -0,0 +1,191 @@
+package de.gematik.demis.notificationgateway.common.jobs;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.exceptions.ErrorResponseController;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamUnavailableException;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.services.OkResponseService;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+/**
+ * Asynchronous mode of the notification endpoints. A submission with the header {@code Prefer:
+ * respond-async} is answered with 202 and the location of its job right after validation. Bundle
+ * building and publishing run on a virtual thread afterwards, the portal polls the result with
+ * {@code GET jobs/{id}} and the token of the submission. At most {@code jobs.max.pending} jobs
+ * run at a time, further submissions are answered with 503.
+ *
+ * <p>The poll must reach the instance which stores the job. Unless {@code jobs.store.shared}
+ * declares this (a single replica, session affinity or a shared {@link NotificationJobStore}), the
+ * preference is ignored and submissions are answered synchronously.
+ */
+@Slf4j
+@Service
+public class NotificationJobService {
+
+  public static final String PREFER_HEADER = "Prefer";
+  public static final String RESPOND_ASYNC = "respond-async";
+  private static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+
+  private final NotificationJobStore store;
+  private final OkResponseService okResponseService;
+  private final ErrorResponseController errorResponses;
+  private final HttpServletRequest request;
+  private final boolean enabled;
+  private final String jobsPath;
+  private final Semaphore pending;
+  private final Duration retryAfter;
+  private final ExecutorService executor;
+
+  public NotificationJobService(
+      NotificationJobStore store,
+      OkResponseService okResponseService,
+      ErrorResponseController errorResponses,
+      HttpServletRequest request,
+      ApplicationProperties applicationProperties) {
+    this.store = store;
+    this.okResponseService = okResponseService;
+    this.errorResponses = errorResponses;
+    this.request = request;
+    this.enabled = applicationProperties.isJobsStoreShared();
+    this.jobsPath = applicationProperties.getJobsPath();
+    this.pending = new Semaphore(applicationProperties.getJobsMaxPending());
+    this.retryAfter = Duration.ofSeconds(applicationProperties.getJobsRetryAfterSeconds());
+    this.executor =
+        Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("notification-job-", 0).factory());
+  }
+
+  /**
+   * @return {@code true} if the inbound request prefers to be answered before it is processed and
+   *     the job store is reachable by its polls
+   */
+  public boolean isRequested() {
+    if (!enabled) {
+      return false;
+    }
+    final String prefer = request.getHeader(PREFER_HEADER);
+    if (prefer == null) {
+      return false;
+    }
+    for (final String preference : prefer.split(",")) {
+      if (preference.trim().equalsIgnoreCase(RESPOND_ASYNC)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Accepts the validated notification as a new job.
+   *
+   * @param operation endpoint of the submission
+   * @param token token of the submission, required to poll the job
+   * @param submission builds and sends the notification, gets a copy of the inbound request
+   * @return 202 Accepted with the location of the job
+   * @throws UpstreamUnavailableException if too many jobs are pending
+   */
+  public CompletableFuture<ResponseEntity<OkResponse>> submit(
+      String operation, Token token, Submission submission) {
+    if (!pending.tryAcquire()) {
+      throw new UpstreamUnavailableException("Too many pending notification jobs", retryAfter);
+    }
+    final NotificationJob job =
+        NotificationJob.pending(UUID.randomUUID().toString(), token, operation);
+    final DetachedRequest inboundRequest = DetachedRequest.of(request);
+    try {
+      store.save(job);
+      executor.execute(() -> run(job, submission, inboundRequest));
+    } catch (RuntimeException e) {
+      pending.release();
+      throw e;
+    }
+    log.info("Accepted {} notification as job {}", operation, job.id());
+    return CompletableFuture.completedFuture(
+        ResponseEntity.accepted()
+            .location(URI.create(request.getContextPath() + jobsPath + "/" + job.id()))
+            .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+            .body(okResponseService.acceptedJobOkResponse(job.id())));
+  }
+
+  @PreDestroy
+  void destroy() {
+    executor.shutdownNow();
+  }
+
+  private void run(NotificationJob job, Submission submission, HttpServletRequest inboundRequest) {
+    CompletableFuture<OkResponse> result;
+    try {
+      result = submission.submit(inboundRequest);
+    } catch (Exception e) {
+      result = CompletableFuture.failedFuture(e);
+    }
+    result.whenComplete(
+        (okResponse, failure) -> {
+          pending.release();
+          store.save(
+              failure == null
+                  ? job.succeeded(okResponse)
+                  : job.failed(errorResponses.toErrorResponse(unwrap(failure), inboundRequest)));
+        });
+  }
+
+  private static Exception unwrap(Throwable failure) {
+    final Throwable cause =
+        failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+    return cause instanceof Exception exception ? exception : new CompletionException(cause);
+  }
+
+  /** Builds and sends one notification. */
+  @FunctionalInterface
+  public interface Submission {
+
+    /**
+     * @param inboundRequest copy of the inbound request, the original is already answered
+     * @return future upstream response
+     * @throws Exception if the notification can not be built or sent
+     */
+    CompletableFuture<OkResponse> submit(HttpServletRequest inboundRequest) throws Exception;
+  }
+}
@@ -0,0 +1,51 @@
+package de.gematik.demis.notificationgateway.common.jobs;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import java.util.Optional;
+
+/**
+ * Keeps the state of asynchronous notification jobs until the portal has polled it. The default
+ * is the bounded {@link InMemoryNotificationJobStore}, a bean of this type replaces it, e.g. to
+ * share the jobs between replicas.
+ */
+public interface NotificationJobStore {
+
+  /**
+   * Saves a new job or replaces the state of an existing one.
+   *
+   * @param job job state
+   */
+  void save(NotificationJob job);
+
+  /**
+   * @param id job id
+   * @return job state, empty if unknown or expired
+   */
+  Optional<NotificationJob> find(String id);
+}
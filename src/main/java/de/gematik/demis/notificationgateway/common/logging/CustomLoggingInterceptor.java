@@ -33,6 +33,8 @@ import ca.uhn.fhir.interceptor.api.Pointcut;
 import ca.uhn.fhir.rest.client.api.IClientInterceptor;
 import ca.uhn.fhir.rest.client.api.IHttpRequest;
 import ca.uhn.fhir.rest.client.api.IHttpResponse;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -41,6 +43,9 @@ import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
 
 @Slf4j
 @Getter
@@ -74,6 +79,45 @@ public class CustomLoggingInterceptor implements IClientInterceptor {
     }
   }
 
+  /**
+   * Logs a request of the non-blocking HttpClient 5 clients like {@link
+   * #interceptRequest(IHttpRequest)} does for HAPI clients.
+   *
+   * @param httpRequest outbound request
+   */
+  public void interceptRequest(HttpRequest httpRequest) {
+    if (this.logRequestSummary) {
+      log.info("Client request: {}", httpRequest);
+    }
+
+    if (this.logRequestHeaders) {
+      final Map<String, List<String>> allHeaders = toMap(httpRequest.getHeaders());
+      log.info("Client request headers: {}\n{}", allHeaders.size(), headersToString(allHeaders));
+    }
+  }
+
+  /**
+   * Logs a response to the non-blocking HttpClient 5 clients like {@link
+   * #interceptResponse(IHttpResponse)} does for HAPI clients.
+   *
+   * @param httpResponse inbound response
+   */
+  public void interceptResponse(HttpResponse httpResponse) {
+    if (this.logResponseHeaders) {
+      final Map<String, List<String>> allHeaders = toMap(httpResponse.getHeaders());
+      log.info("Client response headers: {}\n{}", allHeaders.size(), headersToString(allHeaders));
+    }
+  }
+
+  private static Map<String, List<String>> toMap(Header[] headers) {
+    return Arrays.stream(headers)
+        .collect(
+            Collectors.groupingBy(
+                Header::getName,
+                LinkedHashMap::new,
+                Collectors.mapping(Header::getValue, Collectors.toList())));
+  }
+
   private String headersToString(Map<String, List<String>> headers) {
     return headers.entrySet().stream()
         .filter(CustomLoggingInterceptor::isAllowedRequestHeader)
@@ -0,0 +1,146 @@
+package de.gematik.demis.notificationgateway.common.metrics;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Stage timers of the requests of one {@link PipelineEndpoint}. The flow is stored as attribute of
+ * the inbound request when it is dispatched to the handler method and may be handed to other
+ * threads, e.g. to time the upstream call. Requests of handler methods without {@link
+ * PipelineEndpoint} get {@link #NONE}, which times nothing.
+ *
+ * <pre>{@code
+ * try (PipelineFlow.Sample ignored = PipelineFlow.of(request).start(BUNDLE_CREATION)) {
+ *   bundle = createBundle(...);
+ * }
+ * }</pre>
+ */
+public final class PipelineFlow {
+
+  /** flow without timers */
+  public static final PipelineFlow NONE = new PipelineFlow(null, Tags.empty());
+
+  static final String ATTRIBUTE = PipelineFlow.class.getName();
+
+  private final PipelineMetrics metrics;
+  private final Tags tags;
+  private final Map<PipelineStage, Meters> meters = new EnumMap<>(PipelineStage.class);
+
+  PipelineFlow(PipelineMetrics metrics, Tags tags) {
+    this.metrics = metrics;
+    this.tags = tags;
+  }
+
+  /**
+   * @param request inbound request, must still be available
+   * @return flow of the request
+   */
+  public static PipelineFlow of(HttpServletRequest request) {
+    return from(request.getAttribute(ATTRIBUTE));
+  }
+
+  /**
+   * @return flow of the request bound to the current thread, {@link #NONE} without request
+   */
+  public static PipelineFlow current() {
+    final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    return attributes == null
+        ? NONE
+        : from(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+  }
+
+  private static PipelineFlow from(Object attribute) {
+    return attribute instanceof PipelineFlow flow ? flow : NONE;
+  }
+
+  /**
+   * Starts timing a stage, the sample must be stopped exactly once.
+   *
+   * @param stage stage to time
+   * @return running sample
+   */
+  public Sample start(PipelineStage stage) {
+    if (metrics == null) {
+      return Sample.NONE;
+    }
+    final Meters stageMeters = meters(stage);
+    return new Sample(stageMeters.timer(), stageMeters.active().start(), System.nanoTime());
+  }
+
+  Tags tags() {
+    return tags;
+  }
+
+  private Meters meters(PipelineStage stage) {
+    synchronized (meters) {
+      return meters.computeIfAbsent(
+          stage,
+          s -> new Meters(metrics.timer(s, tags), metrics.activeTimer(s, tags)));
+    }
+  }
+
+  private record Meters(Timer timer, LongTaskTimer active) {}
+
+  /** Running timing of one stage. */
+  public static final class Sample implements AutoCloseable {
+
+    private static final Sample NONE = new Sample(null, null, 0L);
+
+    private final Timer timer;
+    private final LongTaskTimer.Sample active;
+    private final long startNanos;
+
+    private Sample(Timer timer, LongTaskTimer.Sample active, long startNanos) {
+      this.timer = timer;
+      this.active = active;
+      this.startNanos = startNanos;
+    }
+
+    /** Records the duration of the stage. */
+    public void stop() {
+      if (timer != null) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        active.stop();
+      }
+    }
+
+    @Override
+    public void close() {
+      stop();
+    }
+  }
+}
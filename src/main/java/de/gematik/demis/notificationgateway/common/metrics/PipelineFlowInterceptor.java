@@ -0,0 +1,57 @@
+package de.gematik.demis.notificationgateway.common.metrics;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Stores the {@link PipelineFlow} of handler methods annotated with {@link PipelineEndpoint} in
+ * the request before its body is read.
+ */
+@RequiredArgsConstructor
+class PipelineFlowInterceptor implements HandlerInterceptor {
+
+  private final PipelineMetrics pipelineMetrics;
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (handler instanceof HandlerMethod handlerMethod
+        && request.getAttribute(PipelineFlow.ATTRIBUTE) == null) {
+      final PipelineEndpoint endpoint = handlerMethod.getMethodAnnotation(PipelineEndpoint.class);
+      if (endpoint != null) {
+        request.setAttribute(PipelineFlow.ATTRIBUTE, pipelineMetrics.flow(endpoint));
+      }
+    }
+    return true;
+  }
+}
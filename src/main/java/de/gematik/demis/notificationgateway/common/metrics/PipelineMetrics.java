@@ -0,0 +1,106 @@
+package de.gematik.demis.notificationgateway.common.metrics;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.enums.NotificationType;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency of the stages of a portal submission, from reading the JSON request to writing the JSON
+ * response. Every stage has a timer {@value #TIMER} with the configured SLO buckets and a long task
+ * timer {@value #ACTIVE_TIMER} of the stages in progress, both tagged with stage, endpoint,
+ * notification type and upstream.
+ *
+ * @see PipelineFlow
+ */
+@Component
+class PipelineMetrics {
+
+  static final String TIMER = "ng.pipeline.stage";
+  static final String ACTIVE_TIMER = "ng.pipeline.stage.active";
+
+  private static final String NO_NOTIFICATION_TYPE = "none";
+
+  private final MeterRegistry meterRegistry;
+  private final Duration[] serviceLevelObjectives;
+  private final Map<PipelineEndpoint, PipelineFlow> flows = new ConcurrentHashMap<>();
+
+  PipelineMetrics(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.serviceLevelObjectives =
+        Arrays.stream(applicationProperties.getMetricsPipelineSloMilliseconds())
+            .sorted()
+            .mapToObj(Duration::ofMillis)
+            .toArray(Duration[]::new);
+  }
+
+  /**
+   * @param endpoint annotation of the handler method
+   * @return flow of the requests of the endpoint
+   */
+  PipelineFlow flow(PipelineEndpoint endpoint) {
+    return flows.computeIfAbsent(endpoint, e -> new PipelineFlow(this, tags(e)));
+  }
+
+  Timer timer(PipelineStage stage, Tags tags) {
+    return Timer.builder(TIMER)
+        .description("Duration of a stage of the portal request processing")
+        .tags(tags)
+        .tag("stage", stage.tag())
+        .serviceLevelObjectives(serviceLevelObjectives)
+        .register(meterRegistry);
+  }
+
+  LongTaskTimer activeTimer(PipelineStage stage, Tags tags) {
+    return LongTaskTimer.builder(ACTIVE_TIMER)
+        .description("Stages of the portal request processing in progress")
+        .tags(tags)
+        .tag("stage", stage.tag())
+        .register(meterRegistry);
+  }
+
+  private static Tags tags(PipelineEndpoint endpoint) {
+    final NotificationType[] notificationType = endpoint.notificationType();
+    return Tags.of(
+        "endpoint",
+        endpoint.value(),
+        "notification.type",
+        notificationType.length == 0 ? NO_NOTIFICATION_TYPE : notificationType[0].name(),
+        "upstream",
+        endpoint.upstream());
+  }
+}
@@ -0,0 +1,70 @@
+package de.gematik.demis.notificationgateway.common.metrics;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** Hooks the {@link PipelineMetrics} into Spring MVC. */
+@Configuration
+@RequiredArgsConstructor
+class PipelineMetricsConfiguration implements WebMvcConfigurer {
+
+  private final PipelineMetrics pipelineMetrics;
+  private final jakarta.validation.Validator validator;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new PipelineFlowInterceptor(pipelineMetrics));
+  }
+
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.replaceAll(
+        converter ->
+            converter.getClass() == MappingJackson2HttpMessageConverter.class
+                ? new PipelineTimingJsonConverter((MappingJackson2HttpMessageConverter) converter)
+                : converter);
+  }
+
+  @Override
+  public Validator getValidator() {
+    return new PipelineTimingValidator(
+        validator instanceof SmartValidator smartValidator
+            ? smartValidator
+            : new SpringValidatorAdapter(validator));
+  }
+}
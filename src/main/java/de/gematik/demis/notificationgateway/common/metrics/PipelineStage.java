@@ -0,0 +1,61 @@
+package de.gematik.demis.notificationgateway.common.metrics;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+/** Stages of a portal submission, timed by {@link PipelineMetrics}. */
+public enum PipelineStage {
+  /** JSON of the portal request to DTO */
+  DESERIALIZATION("deserialization"),
+  /** bean validation of the DTO */
+  VALIDATION("validation"),
+  /** check of the honeypot field */
+  HONEYPOT_CHECK("honeypot_check"),
+  /** DTO to FHIR bundle */
+  BUNDLE_CREATION("bundle_creation"),
+  /** FHIR parameters to JSON request body */
+  FHIR_ENCODING("fhir_encoding"),
+  /** upstream call from sending the request until the response is received */
+  UPSTREAM("upstream"),
+  /** response of the upstream to OkResponse */
+  RESPONSE_PARSING("response_parsing"),
+  /** response to the portal to JSON */
+  RESPONSE_SERIALIZATION("response_serialization");
+
+  private final String tag;
+
+  PipelineStage(String tag) {
+    this.tag = tag;
+  }
+
+  /**
+   * @return value of the stage tag
+   */
+  public String tag() {
+    return tag;
+  }
+}
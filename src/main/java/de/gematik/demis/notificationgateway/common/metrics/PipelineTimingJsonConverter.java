@@ -0,0 +1,68 @@
+package de.gematik.demis.notificationgateway.common.metrics;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Jackson converter timing {@link PipelineStage#DESERIALIZATION} of request bodies and {@link
+ * PipelineStage#RESPONSE_SERIALIZATION} of response bodies of the current {@link PipelineFlow}.
+ */
+class PipelineTimingJsonConverter extends MappingJackson2HttpMessageConverter {
+
+  /**
+   * @param converter converter to replace, its object mapper and media types are used
+   */
+  PipelineTimingJsonConverter(MappingJackson2HttpMessageConverter converter) {
+    super(converter.getObjectMapper());
+    setSupportedMediaTypes(converter.getSupportedMediaTypes());
+    setDefaultCharset(converter.getDefaultCharset());
+  }
+
+  @Override
+  public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+      throws IOException {
+    try (PipelineFlow.Sample ignored =
+        PipelineFlow.current().start(PipelineStage.DESERIALIZATION)) {
+      return super.read(type, contextClass, inputMessage);
+    }
+  }
+
+  @Override
+  protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+      throws IOException {
+    try (PipelineFlow.Sample ignored =
+        PipelineFlow.current().start(PipelineStage.RESPONSE_SERIALIZATION)) {
+      super.writeInternal(object, type, outputMessage);
+    }
+  }
+}
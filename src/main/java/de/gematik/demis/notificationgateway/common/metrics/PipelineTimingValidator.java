@@ -0,0 +1,69 @@
+package de.gematik.demis.notificationgateway.common.metrics;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/** MVC validator timing {@link PipelineStage#VALIDATION} of {@code @Valid} request bodies. */
+@RequiredArgsConstructor
+class PipelineTimingValidator implements SmartValidator {
+
+  private final SmartValidator delegate;
+
+  @Override
+  public boolean supports(Class<?> clazz) {
+    return delegate.supports(clazz);
+  }
+
+  @Override
+  public void validate(Object target, Errors errors) {
+    try (PipelineFlow.Sample ignored = PipelineFlow.current().start(PipelineStage.VALIDATION)) {
+      delegate.validate(target, errors);
+    }
+  }
+
+  @Override
+  public void validate(Object target, Errors errors, Object... validationHints) {
+    try (PipelineFlow.Sample ignored = PipelineFlow.current().start(PipelineStage.VALIDATION)) {
+      delegate.validate(target, errors, validationHints);
+    }
+  }
+
+  @Override
+  public void validateValue(
+      Class<?> targetType, String fieldName, Object value, Errors errors, Object... hints) {
+    delegate.validateValue(targetType, fieldName, value, errors, hints);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> type) {
+    return delegate.unwrap(type);
+  }
+}
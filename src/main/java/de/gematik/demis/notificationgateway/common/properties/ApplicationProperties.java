@@ -51,6 +51,177 @@ public class ApplicationProperties {
   @Value("${http.socket.timeout.ms:30000}")
   private int httpSocketTimeoutMilliseconds;
 
+  @Value("${http.connection.pool.max.total:100}")
+  private int httpConnectionPoolMaxTotal;
+
+  @Value("${http.connection.pool.max.per.route:50}")
+  private int httpConnectionPoolMaxPerRoute;
+
+  @Value("${http.connection.pool.idle.timeout.ms:30000}")
+  private int httpConnectionPoolIdleTimeoutMilliseconds;
+
+  @Value("${http.connection.ttl.ms:300000}")
+  private int httpConnectionTimeToLiveMilliseconds;
+
+  @Value("${http.request.body.buffer.pool.size:32}")
+  private int httpRequestBodyBufferPoolSize;
+
+  @Value("${http.request.body.buffer.max.retained.bytes:8388608}")
+  private int httpRequestBodyBufferMaxRetainedBytes;
+
+  @Value("${http.h2.enabled:false}")
+  private boolean httpH2Enabled;
+
+  @Value("${http.h2.max.concurrent.streams:100}")
+  private int httpH2MaxConcurrentStreams;
+
+  @Value("${http.compression.request.enabled:false}")
+  private boolean httpCompressionRequestEnabled;
+
+  @Value("${http.compression.request.min.bytes:2048}")
+  private int httpCompressionRequestMinBytes;
+
+  @Value("${http.compression.response.enabled:true}")
+  private boolean httpCompressionResponseEnabled;
+
+  @Value("${upstream.limit.enabled:true}")
+  private boolean upstreamLimitEnabled;
+
+  @Value("${upstream.limit.initial:20}")
+  private int upstreamLimitInitial;
+
+  @Value("${upstream.limit.min:5}")
+  private int upstreamLimitMin;
+
+  @Value("${upstream.limit.max:200}")
+  private int upstreamLimitMax;
+
+  @Value("${upstream.limit.backoff.ratio:0.9}")
+  private double upstreamLimitBackoffRatio;
+
+  @Value("${upstream.limit.latency.threshold.ms:10000}")
+  private int upstreamLimitLatencyThresholdMilliseconds;
+
+  @Value("${upstream.limit.retry.after.seconds:5}")
+  private int upstreamLimitRetryAfterSeconds;
+
+  @Value("${upstream.circuit.breaker.enabled:true}")
+  private boolean upstreamCircuitBreakerEnabled;
+
+  @Value("${upstream.circuit.breaker.window.size:50}")
+  private int upstreamCircuitBreakerWindowSize;
+
+  @Value("${upstream.circuit.breaker.minimum.calls:20}")
+  private int upstreamCircuitBreakerMinimumCalls;
+
+  @Value("${upstream.circuit.breaker.failure.rate.threshold:50}")
+  private int upstreamCircuitBreakerFailureRateThreshold;
+
+  @Value("${upstream.circuit.breaker.slow.call.rate.threshold:80}")
+  private int upstreamCircuitBreakerSlowCallRateThreshold;
+
+  @Value("${upstream.circuit.breaker.slow.call.duration.ms:10000}")
+  private int upstreamCircuitBreakerSlowCallDurationMilliseconds;
+
+  @Value("${upstream.circuit.breaker.open.duration.ms:30000}")
+  private int upstreamCircuitBreakerOpenDurationMilliseconds;
+
+  @Value("${upstream.circuit.breaker.half.open.calls:3}")
+  private int upstreamCircuitBreakerHalfOpenCalls;
+
+  @Value("${outbox.enabled:false}")
+  private boolean outboxEnabled;
+
+  @Value("${outbox.directory:/data/outbox}")
+  private String outboxDirectory;
+
+  @Value("${outbox.instance:${HOSTNAME:local}}")
+  private String outboxInstance;
+
+  @Value("${outbox.encryption.key:}")
+  private String outboxEncryptionKey;
+
+  @Value("${outbox.token.min.validity.seconds:300}")
+  private long outboxTokenMinValiditySeconds;
+
+  @Value("${outbox.max.entries:1000}")
+  private int outboxMaxEntries;
+
+  @Value("${outbox.replay.rate.per.second:5}")
+  private int outboxReplayRatePerSecond;
+
+  @Value("${outbox.replay.backoff.initial.ms:1000}")
+  private int outboxReplayBackoffInitialMilliseconds;
+
+  @Value("${outbox.replay.backoff.max.ms:60000}")
+  private int outboxReplayBackoffMaxMilliseconds;
+
+  @Value("${idempotency.enabled:true}")
+  private boolean idempotencyEnabled;
+
+  @Value("${idempotency.window.seconds:60}")
+  private int idempotencyWindowSeconds;
+
+  @Value("${idempotency.cache.max.bytes:67108864}")
+  private long idempotencyCacheMaxBytes;
+
+  @Value("${metrics.pipeline.slo.ms:5,10,25,50,100,250,500,1000,2500,5000}")
+  private long[] metricsPipelineSloMilliseconds;
+
+  @Value("${jfr.recording.settings:default}")
+  private String jfrRecordingSettings;
+
+  @Value("${jfr.recording.duration.seconds:60}")
+  private long jfrRecordingDurationSeconds;
+
+  @Value("${jfr.recording.max.duration.seconds:600}")
+  private long jfrRecordingMaxDurationSeconds;
+
+  @Value("${jfr.recording.max.size.bytes:104857600}")
+  private long jfrRecordingMaxSizeBytes;
+
+  @Value("${pathogen.batch.max.items:1000}")
+  private int pathogenBatchMaxItems;
+
+  @Value("${pathogen.batch.parallelism:8}")
+  private int pathogenBatchParallelism;
+
+  @Value("${pathogen.batch.timeout.seconds:3600}")
+  private long pathogenBatchTimeoutSeconds;
+
+  @Value("${bedoccupancy.bulk.max.reports:500}")
+  private int bedOccupancyBulkMaxReports;
+
+  @Value("${bedoccupancy.bulk.parallelism:4}")
+  private int bedOccupancyBulkParallelism;
+
+  @Value("${api.ng.notification.context-path}/jobs")
+  private String jobsPath;
+
+  @Value("${jobs.max.pending:1000}")
+  private int jobsMaxPending;
+
+  @Value("${jobs.retry.after.seconds:10}")
+  private long jobsRetryAfterSeconds;
+
+  @Value("${jobs.store.max.bytes:134217728}")
+  private long jobsStoreMaxBytes;
+
+  @Value("${jobs.store.shared:false}")
+  private boolean jobsStoreShared;
+
+  @Value("${jobs.ttl.seconds:3600}")
+  private long jobsTtlSeconds;
+
+  @Value("${warmup.iterations:10}")
+  private int warmupIterations;
+
+  @Value("${warmup.timeout.seconds:60}")
+  private long warmupTimeoutSeconds;
+
+  @Value("${warmup.exit:false}")
+  private boolean warmupExit;
+
   public String identifier() {
     return applicationName + applicationVersion;
   }
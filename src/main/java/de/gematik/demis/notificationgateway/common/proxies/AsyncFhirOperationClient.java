@@ -0,0 +1,407 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.DataFormatException;
+import ca.uhn.fhir.rest.api.Constants;
+import ca.uhn.fhir.rest.client.exceptions.FhirClientConnectionException;
+import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
+import ca.uhn.fhir.util.OperationOutcomeUtil;
+import de.gematik.demis.notificationgateway.common.exceptions.UnreadableUpstreamResponseException;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamDeliveryUnknownException;
+import de.gematik.demis.notificationgateway.common.logging.CustomLoggingInterceptor;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineFlow;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineStage;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.properties.LoggingProperties;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.message.BasicHttpRequest;
+import org.apache.hc.core5.http.nio.AsyncRequestProducer;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.OperationOutcome;
+import org.hl7.fhir.r4.model.Parameters;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executes FHIR operations with the non-blocking HttpClient 5 async client. No thread waits for the
+ * upstream response, the I/O reactor only hands over the raw response. Decompressing and parsing
+ * it run on a virtual thread, so a large response does not hold up the reactor and the other
+ * exchanges served by it. The request body is
+ * encoded by the {@link FhirBodyEncoder} and streamed from its pooled buffer, gzip compressed if
+ * the {@link UpstreamCompression} says so. Encoding, round trip and response parsing are timed as
+ * stages of the {@link PipelineFlow} of the inbound request.
+ *
+ * <p>Errors are reported like the HAPI FHIR clients do: connection problems as {@link
+ * FhirClientConnectionException}, error status codes as the matching {@link
+ * BaseServerResponseException} carrying the returned {@link OperationOutcome}. Outcomes after
+ * which the upstream may have processed the request get their own subtypes: a success response
+ * which can not be decompressed or parsed is an {@link UnreadableUpstreamResponseException}, a
+ * failure after the request body started to go out, e.g. a timeout or a reset connection, an
+ * {@link UpstreamDeliveryUnknownException}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class AsyncFhirOperationClient {
+
+  private static final ContentType FHIR_JSON =
+      ContentType.create(Constants.CT_FHIR_JSON_NEW, Constants.CHARSET_UTF8);
+
+  private final FhirClientRegistry clientRegistry;
+  private final ApplicationProperties applicationProperties;
+  private final FhirBodyEncoder bodyEncoder;
+  private final UpstreamCompression compression;
+  private final LoggingProperties loggingProperties;
+  private final CustomLoggingInterceptor loggingInterceptor = createLoggingInterceptor();
+  private final ExecutorService responseExecutor =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("upstream-response-", 0).factory());
+
+  private static CustomLoggingInterceptor createLoggingInterceptor() {
+    final CustomLoggingInterceptor loggingInterceptor = new CustomLoggingInterceptor();
+    loggingInterceptor.setLogRequestSummary(true);
+    loggingInterceptor.setLogRequestHeaders(true);
+    loggingInterceptor.setLogResponseHeaders(true);
+    return loggingInterceptor;
+  }
+
+  /**
+   * Posts the parameters to the server operation.
+   *
+   * @param url target base URL
+   * @param operationName operation name, with or without leading $
+   * @param parameters operation input
+   * @param context detached per-request data of the inbound request
+   * @return future of the operation output
+   */
+  CompletableFuture<Parameters> execute(
+      String url, String operationName, Parameters parameters, OutboundRequestContext context) {
+    return execute(url, operationName, parameters, context, this::parseParameters);
+  }
+
+  /**
+   * Posts the parameters to the server operation and hands the raw body of a successful response to
+   * the given reader. A {@link DataFormatException} thrown by the reader is reported as {@link
+   * UnreadableUpstreamResponseException}.
+   *
+   * @param url target base URL
+   * @param operationName operation name, with or without leading $
+   * @param parameters operation input
+   * @param context detached per-request data of the inbound request
+   * @param responseReader converts the UTF-8 JSON body of a successful response
+   * @return future of the converted operation output
+   */
+  <T> CompletableFuture<T> execute(
+      String url,
+      String operationName,
+      Parameters parameters,
+      OutboundRequestContext context,
+      Function<byte[], T> responseReader) {
+    final FhirBodyEncoder.EncodedBody body;
+    try (PipelineFlow.Sample ignored = context.pipelineFlow().start(PipelineStage.FHIR_ENCODING)) {
+      body = bodyEncoder.encode(parameters);
+    }
+    return send(url, operationName, body.content(), body::close, context, responseReader);
+  }
+
+  /**
+   * Posts already encoded parameters to the server operation, e.g. a notification replayed from
+   * the {@link NotificationOutbox}.
+   *
+   * @param url target base URL
+   * @param operationName operation name, with or without leading $
+   * @param encodedParameters UTF-8 JSON of the operation input
+   * @param context detached per-request data of the original inbound request
+   * @param responseReader converts the UTF-8 JSON body of a successful response
+   * @return future of the converted operation output
+   */
+  <T> CompletableFuture<T> execute(
+      String url,
+      String operationName,
+      byte[] encodedParameters,
+      OutboundRequestContext context,
+      Function<byte[], T> responseReader) {
+    return send(
+        url,
+        operationName,
+        ByteBuffer.wrap(encodedParameters).asReadOnlyBuffer(),
+        () -> {},
+        context,
+        responseReader);
+  }
+
+  private <T> CompletableFuture<T> send(
+      String url,
+      String operationName,
+      ByteBuffer content,
+      Runnable releaseContent,
+      OutboundRequestContext context,
+      Function<byte[], T> responseReader) {
+    final Exchange<T> exchange =
+        new Exchange<>(
+            url,
+            url + "/" + StringUtils.prependIfMissing(operationName, "$"),
+            content,
+            releaseContent,
+            context,
+            responseReader);
+    try {
+      exchange.send(compression.compressRequest(url, content.remaining()));
+    } catch (RuntimeException e) {
+      releaseContent.run();
+      throw e;
+    }
+    return exchange.response.thenApplyAsync(exchange::read, responseExecutor);
+  }
+
+  @PreDestroy
+  void destroy() {
+    responseExecutor.shutdownNow();
+  }
+
+  /**
+   * One call of a server operation. A compressed request refused with 415 is sent once more
+   * without compression, the content is released when the call ends. The future is completed with
+   * the raw response by the I/O reactor.
+   */
+  @RequiredArgsConstructor
+  private final class Exchange<T> {
+
+    private final String url;
+    private final String requestUri;
+    private final ByteBuffer content;
+    private final Runnable releaseContent;
+    private final OutboundRequestContext context;
+    private final Function<byte[], T> responseReader;
+    private final CompletableFuture<SimpleHttpResponse> response = new CompletableFuture<>();
+
+    void send(boolean compressed) {
+      final ByteBuffer body = compressed ? compression.compress(content) : content.duplicate();
+      final String contentEncoding = compressed ? UpstreamCompression.GZIP : null;
+      final int sent = body.remaining();
+      compression.recordSent(url, contentEncoding, sent);
+      final ByteBufferEntityProducer entity =
+          new ByteBufferEntityProducer(body, FHIR_JSON, contentEncoding);
+      final AsyncRequestProducer request = createRequest(requestUri, entity, context);
+      final PipelineFlow.Sample roundTrip =
+          context.pipelineFlow().start(PipelineStage.UPSTREAM);
+      clientRegistry
+          .getAsyncClient(url)
+          .execute(
+              request,
+              SimpleResponseConsumer.create(),
+              new FutureCallback<>() {
+                @Override
+                public void completed(SimpleHttpResponse httpResponse) {
+                  roundTrip.stop();
+                  if (loggingProperties.isUseLoggingInterceptor()) {
+                    loggingInterceptor.interceptResponse(httpResponse);
+                  }
+                  final int status = httpResponse.getCode();
+                  context.publishEvent().addExchange(status, sent, receivedBytes(httpResponse));
+                  if (compressed && status == HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE) {
+                    compression.refuseRequestCompression(url);
+                    resend();
+                    return;
+                  }
+                  releaseContent.run();
+                  response.complete(httpResponse);
+                }
+
+                @Override
+                public void failed(Exception e) {
+                  roundTrip.stop();
+                  context.publishEvent().addExchange(0, sent, 0);
+                  releaseContent.run();
+                  response.completeExceptionally(
+                      entity.isStarted()
+                          ? new UpstreamDeliveryUnknownException(
+                              "No response to POST " + requestUri, e)
+                          : new FhirClientConnectionException(
+                              "Failed to perform POST " + requestUri, e));
+                }
+
+                @Override
+                public void cancelled() {
+                  roundTrip.stop();
+                  releaseContent.run();
+                  response.cancel(false);
+                }
+              });
+    }
+
+    private void resend() {
+      try {
+        send(false);
+      } catch (RuntimeException e) {
+        releaseContent.run();
+        response.completeExceptionally(e);
+      }
+    }
+
+    T read(SimpleHttpResponse httpResponse) {
+      try (PipelineFlow.Sample ignored =
+          context.pipelineFlow().start(PipelineStage.RESPONSE_PARSING)) {
+        return readResponse(url, requestUri, httpResponse, responseReader);
+      }
+    }
+  }
+
+  private static int receivedBytes(SimpleHttpResponse response) {
+    final byte[] body = response.getBodyBytes();
+    return body == null ? 0 : body.length;
+  }
+
+  private AsyncRequestProducer createRequest(
+      String requestUri, ByteBufferEntityProducer entity, OutboundRequestContext context) {
+    final BasicHttpRequest request = new BasicHttpRequest(Method.POST, URI.create(requestUri));
+    request.setHeader(Constants.HEADER_USER_AGENT, applicationProperties.identifier());
+    request.setHeader(Constants.HEADER_ACCEPT, Constants.CT_FHIR_JSON_NEW);
+    if (compression.acceptCompressedResponse()) {
+      request.setHeader(Constants.HEADER_ACCEPT_ENCODING, Constants.ENCODING_GZIP);
+    }
+    context.writeHeaders(request::addHeader);
+    if (loggingProperties.isUseLoggingInterceptor()) {
+      loggingInterceptor.interceptRequest(request);
+    }
+    return new BasicRequestProducer(request, entity);
+  }
+
+  private <T> T readResponse(
+      String url,
+      String requestUri,
+      SimpleHttpResponse response,
+      Function<byte[], T> responseReader) {
+    final int status = response.getCode();
+    final boolean success = status >= 200 && status < 300;
+    byte[] body;
+    try {
+      body = readBody(url, response);
+    } catch (IOException e) {
+      if (success) {
+        throw new UnreadableUpstreamResponseException(
+            "Failed to decompress response from server when performing POST to URL " + requestUri,
+            e);
+      }
+      log.debug("Error response of {} can not be decompressed", requestUri, e);
+      body = ArrayUtils.EMPTY_BYTE_ARRAY;
+    }
+    if (success) {
+      try {
+        return responseReader.apply(body);
+      } catch (DataFormatException e) {
+        throw parseFailure(requestUri, e);
+      }
+    }
+    final OperationOutcome outcome = parseOperationOutcome(body, requestUri);
+    final StringBuilder message =
+        new StringBuilder("HTTP ").append(status).append(' ').append(response.getReasonPhrase());
+    if (outcome != null) {
+      final String diagnostics =
+          OperationOutcomeUtil.getFirstIssueDiagnostics(fhirContext(), outcome);
+      if (StringUtils.isNotBlank(diagnostics)) {
+        message.append(": ").append(diagnostics);
+      }
+    }
+    final BaseServerResponseException exception =
+        BaseServerResponseException.newInstance(status, message.toString());
+    exception.setOperationOutcome(outcome);
+    final Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+    if (retryAfter != null) {
+      exception.addResponseHeader(HttpHeaders.RETRY_AFTER, retryAfter.getValue());
+    }
+    throw exception;
+  }
+
+  private byte[] readBody(String url, SimpleHttpResponse response) throws IOException {
+    final byte[] body = ArrayUtils.nullToEmpty(response.getBodyBytes());
+    final Header contentEncodingHeader = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+    final String contentEncoding =
+        contentEncodingHeader == null ? null : contentEncodingHeader.getValue();
+    compression.recordReceived(url, contentEncoding, body.length);
+    return compression.decompress(body, contentEncoding);
+  }
+
+  private OperationOutcome parseOperationOutcome(byte[] body, String requestUri) {
+    if (body.length == 0) {
+      return null;
+    }
+    try {
+      return parse(OperationOutcome.class, body, requestUri);
+    } catch (UnreadableUpstreamResponseException e) {
+      log.debug("Error response of {} is no OperationOutcome", requestUri, e);
+      return null;
+    }
+  }
+
+  private <T extends IBaseResource> T parse(Class<T> type, byte[] body, String requestUri) {
+    try {
+      return fhirContext().newJsonParser().parseResource(type, new ByteArrayInputStream(body));
+    } catch (DataFormatException e) {
+      throw parseFailure(requestUri, e);
+    }
+  }
+
+  private Parameters parseParameters(byte[] body) {
+    return fhirContext()
+        .newJsonParser()
+        .parseResource(Parameters.class, new ByteArrayInputStream(body));
+  }
+
+  private static UnreadableUpstreamResponseException parseFailure(
+      String requestUri, DataFormatException cause) {
+    return new UnreadableUpstreamResponseException(
+        "Failed to parse response from server when performing POST to URL " + requestUri, cause);
+  }
+
+  private FhirContext fhirContext() {
+    return clientRegistry.fhirContext();
+  }
+}
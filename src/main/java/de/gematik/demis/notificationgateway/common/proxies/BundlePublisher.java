@@ -27,17 +27,14 @@ package de.gematik.demis.notificationgateway.common.proxies;
  * #L%
  */
 
-import ca.uhn.fhir.context.FhirContext;
-import ca.uhn.fhir.rest.client.api.IGenericClient;
-import ca.uhn.fhir.rest.client.api.ServerValidationModeEnum;
-import ca.uhn.fhir.rest.client.impl.RestfulClientFactory;
-import ca.uhn.fhir.rest.client.interceptor.BearerTokenAuthInterceptor;
-import de.gematik.demis.notificationgateway.common.logging.CustomLoggingInterceptor;
-import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
-import de.gematik.demis.notificationgateway.common.properties.LoggingProperties;
+import de.gematik.demis.notificationgateway.common.jfr.OutboundPublishEvent;
 import de.gematik.demis.notificationgateway.common.services.fhir.FhirObjectCreationService;
 import de.gematik.demis.notificationgateway.common.utils.Token;
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hl7.fhir.r4.model.Bundle;
@@ -50,65 +47,221 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class BundlePublisher {
 
-  private final FhirContext fhirContext = FhirContext.forR4();
-  private final LoggingProperties loggingProperties;
-  private final ApplicationProperties applicationProperties;
+  private final FhirClientRegistry clientRegistry;
+  private final AsyncFhirOperationClient asyncOperationClient;
+  private final UpstreamCircuitBreaker circuitBreaker;
+  private final UpstreamConcurrencyLimiter concurrencyLimiter;
+  private final NotificationOutbox outbox;
   private final FhirObjectCreationService fhirObjectCreationService;
 
-  public Parameters postRequest(
+  /**
+   * Posts the bundle to the upstream operation without blocking. Token and forwarded headers are
+   * read from the inbound request before this method returns, so the inbound request may be
+   * recycled while the upstream call is still in flight.
+   *
+   * @return future of the operation output, completed exceptionally with {@link
+   *     ca.uhn.fhir.rest.client.exceptions.FhirClientConnectionException} on connection problems
+   *     and the matching {@link ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException}
+   *     on error status codes
+   * @throws de.gematik.demis.notificationgateway.common.exceptions.UpstreamUnavailableException if
+   *     the concurrency limit of the upstream is exhausted or its circuit breaker is open
+   */
+  public CompletableFuture<Parameters> postRequestAsync(
       @NonNull Bundle bundle,
       @NonNull String url,
       @NonNull String operationName,
       @NonNull Token token,
       @NonNull HttpServletRequest request) {
-    Parameters parameters = fhirObjectCreationService.createParameters(bundle);
-    IGenericClient client = createClient(url, token, request);
-    return processParameters(client, parameters, operationName);
+    final OutboundRequestContext context = OutboundRequestContext.capture(token, request);
+    return publishAsync(
+        url,
+        operationName,
+        context,
+        () ->
+            logSuccess(
+                asyncOperationClient.execute(
+                    url,
+                    operationName,
+                    fhirObjectCreationService.createParameters(bundle),
+                    context),
+                operationName));
   }
 
-  private Parameters processParameters(
-      IGenericClient client, Parameters parameters, String operationName) {
-    final Parameters parametersResult =
-        client
-            .operation()
-            .onServer()
-            .named(operationName)
-            .withParameters(parameters)
-            .encodedJson()
-            .execute();
-    log.info("Processing operation {} successful.", operationName);
-    return parametersResult;
+  /**
+   * Like {@link #postRequestAsync(Bundle, String, String, Token, HttpServletRequest)}, but lets the
+   * caller read the raw JSON response body, e.g. to extract a few fields without building the
+   * complete {@link Parameters} resource.
+   *
+   * @param responseReader converts the body of a successful response, may throw {@link
+   *     ca.uhn.fhir.parser.DataFormatException} on malformed content
+   */
+  public <T> CompletableFuture<T> postRequestAsync(
+      @NonNull Bundle bundle,
+      @NonNull String url,
+      @NonNull String operationName,
+      @NonNull Token token,
+      @NonNull HttpServletRequest request,
+      @NonNull Function<byte[], T> responseReader) {
+    final OutboundRequestContext context = OutboundRequestContext.capture(token, request);
+    return publishAsync(
+        url,
+        operationName,
+        context,
+        () ->
+            logSuccess(
+                asyncOperationClient.execute(
+                    url,
+                    operationName,
+                    fhirObjectCreationService.createParameters(bundle),
+                    context,
+                    responseReader),
+                operationName));
+  }
+
+  /**
+   * Like {@link #postRequestAsync(Bundle, String, String, Token, HttpServletRequest, Function)},
+   * but stores the notification in the outbox if it provably did not reach the upstream: no
+   * connection, 503 with {@code Retry-After}, open circuit breaker or exhausted concurrency limit.
+   * The outbox forwards it once the upstream recovers. Without outbox, or if it is full, the
+   * original error is returned. Any other failure, e.g. a timeout or reset after the request was
+   * sent, 502 or 504 of a proxy or another 5xx, is returned as well, the upstream may have
+   * processed the notification and the replay could create a duplicate.
+   *
+   * @param pendingResponse creates the response for a notification stored in the outbox from its
+   *     outbox id
+   */
+  public <T> CompletableFuture<T> postRequestAsync(
+      @NonNull Bundle bundle,
+      @NonNull String url,
+      @NonNull String operationName,
+      @NonNull Token token,
+      @NonNull HttpServletRequest request,
+      @NonNull Function<byte[], T> responseReader,
+      @NonNull Function<String, T> pendingResponse) {
+    if (!outbox.isEnabled()) {
+      return postRequestAsync(bundle, url, operationName, token, request, responseReader);
+    }
+    final OutboundRequestContext context = OutboundRequestContext.capture(token, request);
+    CompletableFuture<T> result;
+    try {
+      result =
+          publishAsync(
+              url,
+              operationName,
+              context,
+              () ->
+                  logSuccess(
+                      asyncOperationClient.execute(
+                          url,
+                          operationName,
+                          fhirObjectCreationService.createParameters(bundle),
+                          context,
+                          responseReader),
+                      operationName));
+    } catch (RuntimeException e) {
+      result = CompletableFuture.failedFuture(e);
+    }
+    return result.exceptionallyCompose(
+        failure -> storeInOutbox(failure, bundle, url, operationName, context, pendingResponse));
+  }
+
+  /**
+   * Sends a synthetic bundle to a stand-in of an upstream at startup, so that the first real
+   * notifications do not pay for loading and compiling the encoding, HTTP and parsing code. Circuit
+   * breaker, concurrency limit and outbox are skipped, they belong to the real upstreams.
+   *
+   * @param url URL of the stand-in
+   * @param responseReader converts the body of the response like for a real upstream
+   * @return future converted response
+   */
+  public <T> CompletableFuture<T> warmUp(
+      @NonNull Bundle bundle,
+      @NonNull String url,
+      @NonNull String operationName,
+      @NonNull Function<byte[], T> responseReader) {
+    return asyncOperationClient.execute(
+        url,
+        operationName,
+        fhirObjectCreationService.createParameters(bundle),
+        OutboundRequestContext.of("warm-up", Map.of()),
+        responseReader);
   }
 
-  private IGenericClient createClient(String url, Token token, HttpServletRequest request) {
-    RestfulClientFactory clientFactory =
-        (RestfulClientFactory) fhirContext.getRestfulClientFactory();
-    // Override default, unchangeable properties from generic interface
-    log.debug("Setting HTTP Connection Timeouts from properties");
-    clientFactory.setConnectTimeout(applicationProperties.getHttpConnectionTimeoutMilliseconds());
-    clientFactory.setConnectionRequestTimeout(
-        applicationProperties.getHttpConnectionPoolTimeoutMilliseconds());
-    clientFactory.setSocketTimeout(applicationProperties.getHttpSocketTimeoutMilliseconds());
-    clientFactory.setServerValidationMode(ServerValidationModeEnum.NEVER);
-    final IGenericClient client = fhirContext.newRestfulGenericClient(url);
-    registerHeaders(client, request);
-    setLogging(client);
-    client.registerInterceptor(new BearerTokenAuthInterceptor(token.asText()));
-    return client;
+  /**
+   * Closes the clients of a stand-in used by {@link #warmUp} once it is gone.
+   *
+   * @param url URL of the stand-in
+   */
+  public void releaseWarmUp(@NonNull String url) {
+    clientRegistry.release(url);
   }
 
-  private void registerHeaders(IGenericClient notificationApiClient, HttpServletRequest request) {
-    notificationApiClient.registerInterceptor(
-        new FhirRequestInterceptor(applicationProperties.identifier(), request));
+  private <T> CompletableFuture<T> storeInOutbox(
+      Throwable failure,
+      Bundle bundle,
+      String url,
+      String operationName,
+      OutboundRequestContext context,
+      Function<String, T> pendingResponse) {
+    if (!UpstreamFailures.isNotDelivered(failure)) {
+      return CompletableFuture.failedFuture(failure);
+    }
+    return outbox
+        .store(url, operationName, fhirObjectCreationService.createParameters(bundle), context)
+        .thenCompose(
+            id ->
+                id.map(pendingResponse)
+                    .map(CompletableFuture::completedFuture)
+                    .orElseGet(() -> CompletableFuture.failedFuture(failure)));
+  }
+
+  /** Like {@link #guardedAsync}, recorded as {@link OutboundPublishEvent}. */
+  private <T> CompletableFuture<T> publishAsync(
+      String url,
+      String operationName,
+      OutboundRequestContext context,
+      Supplier<CompletableFuture<T>> call) {
+    final OutboundPublishEvent event = context.publishEvent();
+    event.begin(url, operationName);
+    final CompletableFuture<T> result;
+    try {
+      result = guardedAsync(url, operationName, call);
+    } catch (RuntimeException e) {
+      event.complete(outcome(e));
+      throw e;
+    }
+    result.whenComplete((value, failure) -> event.complete(outcome(failure)));
+    return result;
   }
 
-  private void setLogging(IGenericClient client) {
-    if (loggingProperties.isUseLoggingInterceptor()) {
-      CustomLoggingInterceptor loggingInterceptor = new CustomLoggingInterceptor();
-      loggingInterceptor.setLogRequestSummary(true);
-      loggingInterceptor.setLogRequestHeaders(true);
-      loggingInterceptor.setLogResponseHeaders(true);
-      client.registerInterceptor(loggingInterceptor);
+  private static String outcome(Throwable failure) {
+    if (failure == null) {
+      return "success";
     }
+    if (UpstreamFailures.isRejection(failure)) {
+      return "rejected";
+    }
+    if (UpstreamFailures.isOutcomeUnknown(failure)) {
+      return "outcome unknown";
+    }
+    if (UpstreamFailures.isUpstreamFailure(failure)) {
+      return "upstream failure";
+    }
+    return UpstreamFailures.isRefusal(failure) ? "refused" : "error";
+  }
+
+  private <T> CompletableFuture<T> guardedAsync(
+      String url, String operationName, Supplier<CompletableFuture<T>> call) {
+    return circuitBreaker.executeAsync(
+        url, () -> concurrencyLimiter.executeAsync(url, operationName, call));
+  }
+
+  private static <T> CompletableFuture<T> logSuccess(
+      CompletableFuture<T> result, String operationName) {
+    return result.thenApply(
+        operationResult -> {
+          log.info("Processing operation {} successful.", operationName);
+          return operationResult;
+        });
   }
 }
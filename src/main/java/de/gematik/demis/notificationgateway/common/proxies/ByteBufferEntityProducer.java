@@ -0,0 +1,127 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+
+/**
+ * Streams an already encoded request body to the async HTTP client. Unlike {@code
+ * BasicAsyncEntityProducer} it accepts a buffer view, so the body does not have to be copied into
+ * an exactly sized array first.
+ */
+final class ByteBufferEntityProducer implements AsyncEntityProducer {
+
+  private final ByteBuffer content;
+  private final ContentType contentType;
+  private final String contentEncoding;
+  private final long contentLength;
+  private volatile boolean started;
+
+  ByteBufferEntityProducer(ByteBuffer content, ContentType contentType) {
+    this(content, contentType, null);
+  }
+
+  /**
+   * @param contentEncoding {@code Content-Encoding} of the already encoded content, e.g. gzip
+   */
+  ByteBufferEntityProducer(ByteBuffer content, ContentType contentType, String contentEncoding) {
+    this.content = content;
+    this.contentType = contentType;
+    this.contentEncoding = contentEncoding;
+    this.contentLength = content.remaining();
+  }
+
+  /**
+   * @return {@code true} once the client started to send the body, from then on the upstream may
+   *     have received the request
+   */
+  boolean isStarted() {
+    return started;
+  }
+
+  @Override
+  public boolean isRepeatable() {
+    return false;
+  }
+
+  @Override
+  public void failed(Exception cause) {
+    // the owner of the buffer releases it when the exchange ends
+  }
+
+  @Override
+  public long getContentLength() {
+    return contentLength;
+  }
+
+  @Override
+  public String getContentType() {
+    return contentType.toString();
+  }
+
+  @Override
+  public String getContentEncoding() {
+    return contentEncoding;
+  }
+
+  @Override
+  public boolean isChunked() {
+    return false;
+  }
+
+  @Override
+  public Set<String> getTrailerNames() {
+    return Set.of();
+  }
+
+  @Override
+  public int available() {
+    return content.remaining();
+  }
+
+  @Override
+  public void produce(DataStreamChannel channel) throws IOException {
+    started = true;
+    if (content.hasRemaining()) {
+      channel.write(content);
+    }
+    if (!content.hasRemaining()) {
+      channel.endStream();
+    }
+  }
+
+  @Override
+  public void releaseResources() {
+    // nothing to release, the buffer is owned by the caller
+  }
+}
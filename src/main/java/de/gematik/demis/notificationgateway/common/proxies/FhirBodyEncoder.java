@@ -0,0 +1,148 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import ca.uhn.fhir.parser.IParser;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes outbound FHIR resources as JSON directly into a reusable byte buffer. The parser writes
+ * UTF-8 bytes while walking the resource, there is no intermediate {@link String} of the whole
+ * document and the buffer is handed to the HTTP client without copying.
+ *
+ * <p>Parser and buffer are pooled together instead of being held per thread, because requests run
+ * on virtual threads that are never reused. Buffers that grew beyond the configured limit are not
+ * returned to the pool, so a single huge notification does not pin its memory.
+ */
+@Component
+class FhirBodyEncoder {
+
+  private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+  private final FhirClientRegistry clientRegistry;
+  private final BlockingQueue<Slot> pool;
+  private final int maxRetainedBytes;
+
+  FhirBodyEncoder(FhirClientRegistry clientRegistry, ApplicationProperties applicationProperties) {
+    this.clientRegistry = clientRegistry;
+    this.pool =
+        new ArrayBlockingQueue<>(
+            Math.max(1, applicationProperties.getHttpRequestBodyBufferPoolSize()));
+    this.maxRetainedBytes = applicationProperties.getHttpRequestBodyBufferMaxRetainedBytes();
+  }
+
+  /**
+   * Encodes the resource as JSON. The returned body must be closed once the request has been sent,
+   * which returns its buffer to the pool.
+   *
+   * @param resource resource to encode
+   * @return encoded body backed by a pooled buffer
+   */
+  EncodedBody encode(IBaseResource resource) {
+    final Slot slot = acquire();
+    try {
+      final Writer writer = new OutputStreamWriter(slot.buffer, StandardCharsets.UTF_8);
+      slot.parser.encodeResourceToWriter(resource, writer);
+      writer.flush();
+      return new EncodedBody(slot);
+    } catch (IOException e) {
+      release(slot);
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException e) {
+      release(slot);
+      throw e;
+    }
+  }
+
+  private Slot acquire() {
+    final Slot slot = pool.poll();
+    return slot != null
+        ? slot
+        : new Slot(clientRegistry.fhirContext().newJsonParser(), new ReusableBuffer());
+  }
+
+  private void release(Slot slot) {
+    if (slot.buffer.capacity() <= maxRetainedBytes) {
+      slot.buffer.reset();
+      pool.offer(slot);
+    }
+  }
+
+  private record Slot(IParser parser, ReusableBuffer buffer) {}
+
+  /** Byte array stream that exposes its content without the copy made by {@code toByteArray}. */
+  private static final class ReusableBuffer extends ByteArrayOutputStream {
+
+    private ReusableBuffer() {
+      super(INITIAL_BUFFER_SIZE);
+    }
+
+    private ByteBuffer content() {
+      return ByteBuffer.wrap(buf, 0, count).asReadOnlyBuffer();
+    }
+
+    private int capacity() {
+      return buf.length;
+    }
+  }
+
+  /** Encoded request body, valid until {@link #close()} is called. */
+  final class EncodedBody implements AutoCloseable {
+
+    private final Slot slot;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private EncodedBody(Slot slot) {
+      this.slot = slot;
+    }
+
+    /** Returns a read-only view of the encoded bytes. */
+    ByteBuffer content() {
+      return slot.buffer.content();
+    }
+
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        release(slot);
+      }
+    }
+  }
+}
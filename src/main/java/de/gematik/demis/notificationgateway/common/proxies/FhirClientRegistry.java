@@ -0,0 +1,185 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import ca.uhn.fhir.context.FhirContext;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds one long-lived non-blocking HttpClient 5 async client per target URL (NES laboratory, NES
+ * hospitalization, RPS bed occupancy). Every client owns its own connection pool, so a slow
+ * upstream cannot exhaust the connections of another one. The pool statistics (leased, pending,
+ * available) are published as metrics tagged with the target URL.
+ *
+ * <p>The clients do not occupy a thread while waiting for the upstream. With {@code
+ * http.h2.enabled} they speak HTTP/2 to upstreams offering it and multiplex the requests as streams
+ * over the pooled connections.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class FhirClientRegistry implements DisposableBean {
+
+  private final FhirContext fhirContext = FhirContext.forR4Cached();
+  private final ApplicationProperties applicationProperties;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, CloseableHttpAsyncClient> asyncClients = new ConcurrentHashMap<>();
+
+  FhirContext fhirContext() {
+    return fhirContext;
+  }
+
+  /**
+   * Returns the started, shared non-blocking HTTP client of the given target URL and creates it on
+   * first use.
+   *
+   * @param url target URL
+   * @return thread-safe async HTTP client
+   */
+  CloseableHttpAsyncClient getAsyncClient(String url) {
+    return asyncClients.computeIfAbsent(url, this::createAsyncClient);
+  }
+
+  /**
+   * Closes and forgets the client of the given target URL together with its metrics, e.g. of a
+   * stand-in that is gone. A later call of {@link #getAsyncClient} creates a new client.
+   *
+   * @param url target URL
+   */
+  void release(String url) {
+    final CloseableHttpAsyncClient asyncClient = asyncClients.remove(url);
+    if (asyncClient != null) {
+      asyncClient.close(CloseMode.GRACEFUL);
+    }
+    meterRegistry.getMeters().stream()
+        .filter(meter -> isMeterOf(meter, url))
+        .toList()
+        .forEach(meterRegistry::remove);
+  }
+
+  private static boolean isMeterOf(Meter meter, String url) {
+    return url.equals(meter.getId().getTag("upstream"))
+        || url.equals(meter.getId().getTag("httpclient"));
+  }
+
+  private CloseableHttpAsyncClient createAsyncClient(String url) {
+    log.info("Creating pooled async HTTP client for {}", url);
+    final PoolingAsyncClientConnectionManager connectionManager =
+        PoolingAsyncClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(applicationProperties.getHttpConnectionPoolMaxTotal())
+            .setMaxConnPerRoute(applicationProperties.getHttpConnectionPoolMaxPerRoute())
+            .setDefaultConnectionConfig(createConnectionConfig())
+            .setDefaultTlsConfig(createTlsConfig())
+            .build();
+    final HttpAsyncClientBuilder builder =
+        HttpAsyncClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(createRequestConfig())
+            .evictExpiredConnections()
+            .evictIdleConnections(
+                TimeValue.ofMilliseconds(
+                    applicationProperties.getHttpConnectionPoolIdleTimeoutMilliseconds()));
+    if (applicationProperties.isHttpH2Enabled()) {
+      builder.setH2Config(
+          H2Config.custom()
+              .setMaxConcurrentStreams(applicationProperties.getHttpH2MaxConcurrentStreams())
+              .setPushEnabled(false)
+              .build());
+    }
+    final CloseableHttpAsyncClient httpClient = builder.build();
+    httpClient.start();
+
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, url)
+        .bindTo(meterRegistry);
+    return httpClient;
+  }
+
+  private ConnectionConfig createConnectionConfig() {
+    return ConnectionConfig.custom()
+        .setConnectTimeout(
+            Timeout.ofMilliseconds(applicationProperties.getHttpConnectionTimeoutMilliseconds()))
+        .setSocketTimeout(
+            Timeout.ofMilliseconds(applicationProperties.getHttpSocketTimeoutMilliseconds()))
+        .setTimeToLive(
+            TimeValue.ofMilliseconds(
+                applicationProperties.getHttpConnectionTimeToLiveMilliseconds()))
+        .build();
+  }
+
+  /**
+   * HTTP/2 is negotiated by ALPN, so an upstream without HTTP/2 support keeps getting HTTP/1.1 and
+   * plain http targets always stay on HTTP/1.1.
+   */
+  private TlsConfig createTlsConfig() {
+    return TlsConfig.custom()
+        .setVersionPolicy(
+            applicationProperties.isHttpH2Enabled()
+                ? HttpVersionPolicy.NEGOTIATE
+                : HttpVersionPolicy.FORCE_HTTP_1)
+        .build();
+  }
+
+  private RequestConfig createRequestConfig() {
+    return RequestConfig.custom()
+        .setConnectionRequestTimeout(
+            Timeout.ofMilliseconds(
+                applicationProperties.getHttpConnectionPoolTimeoutMilliseconds()))
+        .setResponseTimeout(
+            Timeout.ofMilliseconds(applicationProperties.getHttpSocketTimeoutMilliseconds()))
+        .build();
+  }
+
+  @Override
+  public void destroy() {
+    asyncClients.values().forEach(httpClient -> httpClient.close(CloseMode.GRACEFUL));
+    asyncClients.clear();
+  }
+}
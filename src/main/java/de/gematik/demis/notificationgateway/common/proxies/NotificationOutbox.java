@@ -0,0 +1,295 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.r4.model.Parameters;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Durable store for notifications that could not be forwarded because the upstream is
+ * unavailable. Notifications are written to the {@link OutboxJournal} by a single writer thread, so
+ * neither the I/O reactor nor request threads wait for the disk. The {@link OutboxReplayer}
+ * forwards them once the upstream recovers.
+ *
+ * <p>The outbox is disabled by default ({@code outbox.enabled}). The number of pending
+ * notifications is bounded by {@code outbox.max.entries}, beyond that the original error is
+ * returned to the portal. The same happens if the token of the request expires within {@code
+ * outbox.token.min.validity.seconds}, because the replay is sent with this token.
+ *
+ * <p>Every instance writes its own journal {@code outbox-<outbox.instance>.journal}, encrypted
+ * with {@code outbox.encryption.key}. The directory is meant to be a persistent volume shared by
+ * the replicas: on startup an instance takes over the journals no other instance holds, e.g. of
+ * pods replaced by a rollout. Notifications which can never be forwarded are moved to the
+ * {@value #DEAD_LETTER_DIRECTORY} directory, one journal file each, and counted by {@code
+ * ng.outbox.dead.lettered}. A dead letter moved back into the outbox directory as {@code
+ * outbox-*.journal} is taken over on the next startup.
+ */
+@Slf4j
+@Component
+class NotificationOutbox implements DisposableBean {
+
+  static final String JOURNAL_PREFIX = "outbox-";
+  static final String JOURNAL_SUFFIX = ".journal";
+  static final String DEAD_LETTER_DIRECTORY = "dead-letter";
+
+  private final ApplicationProperties applicationProperties;
+  private final FhirBodyEncoder bodyEncoder;
+  private final MeterRegistry meterRegistry;
+  private final OutboxJournal journal;
+  private final Path deadLetters;
+  private final AtomicInteger deadLetterCount = new AtomicInteger();
+  private final ExecutorService writer;
+  private final Counter stored;
+
+  NotificationOutbox(
+      ApplicationProperties applicationProperties,
+      FhirBodyEncoder bodyEncoder,
+      MeterRegistry meterRegistry)
+      throws IOException {
+    this.applicationProperties = applicationProperties;
+    this.bodyEncoder = bodyEncoder;
+    this.meterRegistry = meterRegistry;
+    if (applicationProperties.isOutboxEnabled()) {
+      final OutboxCipher cipher = OutboxCipher.of(applicationProperties.getOutboxEncryptionKey());
+      final Path directory = Path.of(applicationProperties.getOutboxDirectory());
+      final Path file =
+          directory.resolve(
+              JOURNAL_PREFIX + applicationProperties.getOutboxInstance() + JOURNAL_SUFFIX);
+      log.info("Notification outbox enabled, journal: {}", file);
+      this.journal = OutboxJournal.open(file, cipher);
+      this.deadLetters = directory.resolve(DEAD_LETTER_DIRECTORY);
+      takeOverOrphans(directory, file, cipher);
+      Files.createDirectories(deadLetters);
+      deadLetterCount.set(countJournals(deadLetters, "*" + JOURNAL_SUFFIX));
+      this.writer =
+          Executors.newSingleThreadExecutor(Thread.ofPlatform().name("outbox-writer").factory());
+      Gauge.builder("ng.outbox.pending", journal, OutboxJournal::size)
+          .description("Notifications waiting in the outbox")
+          .register(meterRegistry);
+      Gauge.builder("ng.outbox.dead.letters", deadLetterCount, AtomicInteger::get)
+          .description("Notifications in the outbox dead letters, waiting for an operator")
+          .register(meterRegistry);
+    } else {
+      this.journal = null;
+      this.deadLetters = null;
+      this.writer = null;
+    }
+    this.stored =
+        Counter.builder("ng.outbox.stored")
+            .description("Notifications stored in the outbox")
+            .register(meterRegistry);
+  }
+
+  boolean isEnabled() {
+    return journal != null;
+  }
+
+  /**
+   * Stores the notification for later forwarding.
+   *
+   * @param url target base URL
+   * @param operationName operation name
+   * @param parameters operation input
+   * @param context detached per-request data of the inbound request
+   * @return future of the outbox id, empty if the outbox is disabled, full or not writable
+   */
+  CompletableFuture<Optional<String>> store(
+      String url, String operationName, Parameters parameters, OutboundRequestContext context) {
+    if (!isEnabled()) {
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
+    return CompletableFuture.supplyAsync(
+        () -> append(url, operationName, parameters, context), writer);
+  }
+
+  /**
+   * @return oldest pending notification
+   */
+  Optional<OutboxEntry> next() {
+    return isEnabled() ? journal.first() : Optional.empty();
+  }
+
+  /**
+   * Removes a notification that was forwarded.
+   *
+   * @param entry pending notification
+   * @throws IOException if the journal can not be written
+   */
+  void acknowledge(OutboxEntry entry) throws IOException {
+    journal.acknowledge(entry.id());
+  }
+
+  /**
+   * Moves a notification that can never be forwarded, or may have been forwarded already, from
+   * the pending ones to the dead letters.
+   *
+   * @param entry pending notification
+   * @param reason short reason, tag of {@code ng.outbox.dead.lettered}
+   * @throws IOException if the dead letter or the journal can not be written
+   */
+  void deadLetter(OutboxEntry entry, String reason) throws IOException {
+    final Path file = deadLetters.resolve(entry.id() + JOURNAL_SUFFIX);
+    journal.export(entry, file);
+    journal.acknowledge(entry.id());
+    deadLetterCount.incrementAndGet();
+    Counter.builder("ng.outbox.dead.lettered")
+        .description("Notifications moved from the outbox to the dead letters")
+        .tag("reason", reason)
+        .register(meterRegistry)
+        .increment();
+    log.error(
+        "Notification {} for {} stored at {} was moved to the outbox dead letters ({}): {}",
+        entry.id(),
+        entry.url(),
+        entry.createdAt(),
+        reason,
+        file);
+  }
+
+  int size() {
+    return isEnabled() ? journal.size() : 0;
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    if (isEnabled()) {
+      writer.shutdown();
+      if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+        log.warn("Outbox writer did not finish within 10 seconds");
+      }
+      journal.close();
+    }
+  }
+
+  private Optional<String> append(
+      String url, String operationName, Parameters parameters, OutboundRequestContext context) {
+    if (journal.size() >= applicationProperties.getOutboxMaxEntries()) {
+      log.warn("Outbox is full, notification for {} is rejected", url);
+      return Optional.empty();
+    }
+    final OutboxEntry entry =
+        new OutboxEntry(
+            UUID.randomUUID().toString(),
+            url,
+            operationName,
+            context.bearerToken(),
+            context.forwardedHeaders(),
+            encode(parameters),
+            Instant.now());
+    final Duration minTokenValidity =
+        Duration.ofSeconds(applicationProperties.getOutboxTokenMinValiditySeconds());
+    if (entry
+        .tokenExpiresAt()
+        .filter(expiresAt -> expiresAt.isAfter(entry.createdAt().plus(minTokenValidity)))
+        .isEmpty()) {
+      log.warn("Token expires before the notification for {} could be forwarded, rejected", url);
+      return Optional.empty();
+    }
+    try {
+      journal.append(entry);
+    } catch (IOException e) {
+      log.error("Failed to store notification for {} in the outbox", url, e);
+      return Optional.empty();
+    }
+    stored.increment();
+    log.info("Stored notification {} for {} in the outbox", entry.id(), url);
+    return Optional.of(entry.id());
+  }
+
+  /** Takes over the journals of instances which are gone, e.g. replaced by a rollout. */
+  private void takeOverOrphans(Path directory, Path own, OutboxCipher cipher) throws IOException {
+    try (DirectoryStream<Path> journals =
+        Files.newDirectoryStream(directory, JOURNAL_PREFIX + "*" + JOURNAL_SUFFIX)) {
+      for (final Path file : journals) {
+        if (!file.equals(own)) {
+          final Optional<OutboxJournal> orphan = OutboxJournal.openIfUnused(file, cipher);
+          if (orphan.isPresent()) {
+            takeOver(orphan.get(), file);
+          }
+        }
+      }
+    }
+  }
+
+  private void takeOver(OutboxJournal orphan, Path file) throws IOException {
+    int count = 0;
+    try {
+      Optional<OutboxEntry> entry;
+      while ((entry = orphan.first()).isPresent()) {
+        journal.append(entry.get());
+        orphan.acknowledge(entry.get().id());
+        count++;
+      }
+      orphan.delete();
+    } finally {
+      orphan.close();
+    }
+    if (count > 0) {
+      log.info("Took over {} pending notifications from outbox journal {}", count, file);
+    }
+  }
+
+  private static int countJournals(Path directory, String glob) throws IOException {
+    int count = 0;
+    try (DirectoryStream<Path> journals = Files.newDirectoryStream(directory, glob)) {
+      for (final Path ignored : journals) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private byte[] encode(Parameters parameters) {
+    try (FhirBodyEncoder.EncodedBody body = bodyEncoder.encode(parameters)) {
+      final ByteBuffer content = body.content();
+      final byte[] bytes = new byte[content.remaining()];
+      content.get(bytes);
+      return bytes;
+    }
+  }
+}
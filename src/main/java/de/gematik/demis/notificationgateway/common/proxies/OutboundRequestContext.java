@@ -0,0 +1,137 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.jfr.OutboundPublishEvent;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineFlow;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import javax.annotation.Nonnull;
+
+/**
+ * Per-request data of an outbound FHIR call. The HTTP clients are long-lived and shared between
+ * requests, so the bearer token and the forwarded headers travel with the call in this context
+ * instead of being held by the client.
+ */
+final class OutboundRequestContext {
+
+  private static final String BEARER_PREFIX = "Bearer ";
+
+  private static final Set<String> HEADERS_TO_FORWARD =
+      Set.of(
+          "x-fhir-api-request-origin",
+          "x-fhir-api-submission-type",
+          "x-fhir-api-version",
+          "x-fhir-profile");
+
+  private final String bearerToken;
+  private final Map<String, String> forwardedHeaders;
+  private final PipelineFlow pipelineFlow;
+  private final OutboundPublishEvent publishEvent = new OutboundPublishEvent();
+
+  private OutboundRequestContext(
+      String bearerToken, Map<String, String> forwardedHeaders, PipelineFlow pipelineFlow) {
+    this.bearerToken = bearerToken;
+    this.forwardedHeaders = forwardedHeaders;
+    this.pipelineFlow = pipelineFlow;
+  }
+
+  /**
+   * Reads the token, the headers to forward and the stage timers. Must be called while the inbound
+   * request is still available.
+   *
+   * @param token inbound JWT
+   * @param request inbound request
+   * @return detached context
+   */
+  static OutboundRequestContext capture(@Nonnull Token token, @Nonnull HttpServletRequest request) {
+    return new OutboundRequestContext(
+        token.asText(), readHeadersToForward(request), PipelineFlow.of(request));
+  }
+
+  /**
+   * Restores a context that was stored earlier, e.g. by the {@link NotificationOutbox}.
+   *
+   * @param bearerToken inbound JWT
+   * @param forwardedHeaders headers to forward
+   * @return detached context
+   */
+  static OutboundRequestContext of(
+      @Nonnull String bearerToken, @Nonnull Map<String, String> forwardedHeaders) {
+    return new OutboundRequestContext(
+        bearerToken, Map.copyOf(forwardedHeaders), PipelineFlow.NONE);
+  }
+
+  @Nonnull
+  private static Map<String, String> readHeadersToForward(HttpServletRequest request) {
+    final Map<String, String> result = new HashMap<>();
+    for (final String header : HEADERS_TO_FORWARD) {
+      final String value = request.getHeader(header);
+      if (value != null) {
+        result.put(header, value);
+      }
+    }
+    return Map.copyOf(result);
+  }
+
+  /**
+   * Writes the authorization header and the forwarded headers to an outbound request.
+   *
+   * @param headerSink receives header name and value
+   */
+  void writeHeaders(BiConsumer<String, String> headerSink) {
+    headerSink.accept("Authorization", BEARER_PREFIX + bearerToken);
+    forwardedHeaders.forEach(headerSink);
+  }
+
+  String bearerToken() {
+    return bearerToken;
+  }
+
+  Map<String, String> forwardedHeaders() {
+    return forwardedHeaders;
+  }
+
+  /**
+   * @return stage timers of the inbound request, {@link PipelineFlow#NONE} for a restored context
+   */
+  PipelineFlow pipelineFlow() {
+    return pipelineFlow;
+  }
+
+  /**
+   * @return JFR event of the call, begun and committed by the {@link BundlePublisher}
+   */
+  OutboundPublishEvent publishEvent() {
+    return publishEvent;
+  }
+}
@@ -0,0 +1,105 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts the records of the {@link OutboxJournal} with AES-GCM, they contain the token and the
+ * patient data of the notification. Every record gets a random IV, which is stored in front of
+ * the cipher text.
+ */
+final class OutboxCipher {
+
+  private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+  private static final int IV_BYTES = 12;
+  private static final int TAG_BITS = 128;
+
+  private final SecretKey key;
+  private final SecureRandom random = new SecureRandom();
+
+  private OutboxCipher(SecretKey key) {
+    this.key = key;
+  }
+
+  /**
+   * @param base64Key AES key with 128, 192 or 256 bits, base64 encoded
+   * @return cipher with this key
+   * @throws IllegalArgumentException if the key is missing or has a wrong length
+   */
+  static OutboxCipher of(String base64Key) {
+    if (base64Key == null || base64Key.isBlank()) {
+      throw new IllegalArgumentException("outbox.encryption.key is required for the outbox");
+    }
+    final byte[] key = Base64.getDecoder().decode(base64Key.trim());
+    if (key.length != 16 && key.length != 24 && key.length != 32) {
+      throw new IllegalArgumentException("outbox.encryption.key must have 128, 192 or 256 bits");
+    }
+    return new OutboxCipher(new SecretKeySpec(key, "AES"));
+  }
+
+  byte[] encrypt(byte[] plain) {
+    final byte[] iv = new byte[IV_BYTES];
+    random.nextBytes(iv);
+    try {
+      final Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+      cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+      final byte[] encrypted = Arrays.copyOf(iv, IV_BYTES + cipher.getOutputSize(plain.length));
+      cipher.doFinal(plain, 0, plain.length, encrypted, IV_BYTES);
+      return encrypted;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to encrypt outbox record", e);
+    }
+  }
+
+  /**
+   * @throws IOException if the content was not encrypted with this key or was modified
+   */
+  byte[] decrypt(byte[] encrypted, int offset, int length) throws IOException {
+    if (length < IV_BYTES) {
+      throw new IOException("Outbox record is too short to be encrypted");
+    }
+    try {
+      final Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+      cipher.init(
+          Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, encrypted, offset, IV_BYTES));
+      return cipher.doFinal(encrypted, offset + IV_BYTES, length - IV_BYTES);
+    } catch (GeneralSecurityException e) {
+      throw new IOException(
+          "Outbox record can not be decrypted, is outbox.encryption.key right?", e);
+    }
+  }
+}
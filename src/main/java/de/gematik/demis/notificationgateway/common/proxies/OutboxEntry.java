@@ -0,0 +1,75 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.nimbusds.jwt.JWTParser;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Notification waiting in the {@link NotificationOutbox} to be forwarded.
+ *
+ * @param id outbox id, returned to the portal
+ * @param url target base URL
+ * @param operationName operation name
+ * @param bearerToken JWT of the original request
+ * @param forwardedHeaders forwarded headers of the original request
+ * @param body UTF-8 JSON of the operation input
+ * @param createdAt time the notification was stored
+ */
+record OutboxEntry(
+    String id,
+    String url,
+    String operationName,
+    String bearerToken,
+    Map<String, String> forwardedHeaders,
+    byte[] body,
+    Instant createdAt) {
+
+  OutboundRequestContext context() {
+    return OutboundRequestContext.of(bearerToken, forwardedHeaders);
+  }
+
+  /**
+   * Reads the expiry without checking the signature, which was done by the istio sidecar before
+   * the original request reached the gateway.
+   *
+   * @return expiry of the bearer token, empty if it is no JWT or does not expire
+   */
+  Optional<Instant> tokenExpiresAt() {
+    try {
+      return Optional.ofNullable(JWTParser.parse(bearerToken).getJWTClaimsSet().getExpirationTime())
+          .map(Date::toInstant);
+    } catch (ParseException e) {
+      return Optional.empty();
+    }
+  }
+}
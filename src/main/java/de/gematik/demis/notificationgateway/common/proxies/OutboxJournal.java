@@ -0,0 +1,367 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only file journal of the {@link NotificationOutbox}. Every stored notification and every
+ * acknowledgement is appended as a checksummed record and forced to disk before the call returns.
+ * On startup the journal is read again, a torn record at the end of the file is cut off and the
+ * notifications without acknowledgement are pending again. Notifications are encrypted by the
+ * {@link OutboxCipher}, acknowledgements contain the random outbox id only.
+ *
+ * <p>An open journal holds an exclusive lock on a {@code .lock} file next to it, so that instances
+ * sharing a volume never open the same journal.
+ *
+ * <p>The file is truncated as soon as nothing is pending and rewritten with the pending records
+ * only once it grows beyond {@link #COMPACTION_THRESHOLD_BYTES}.
+ */
+@Slf4j
+final class OutboxJournal implements Closeable {
+
+  static final long COMPACTION_THRESHOLD_BYTES = 64L * 1024 * 1024;
+
+  private static final byte ENTRY = 1;
+  private static final byte ACKNOWLEDGEMENT = 2;
+  private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+  private final Path file;
+  private final OutboxCipher cipher;
+  private final FileChannel lockChannel;
+  private final Map<String, OutboxEntry> pending = new LinkedHashMap<>();
+  private FileChannel channel;
+
+  private OutboxJournal(Path file, OutboxCipher cipher, FileChannel lockChannel) {
+    this.file = file;
+    this.cipher = cipher;
+    this.lockChannel = lockChannel;
+  }
+
+  /**
+   * Opens the journal file, creating it if necessary, and restores the pending notifications.
+   *
+   * @param file journal file
+   * @param cipher encrypts the notifications
+   * @return opened journal
+   * @throws IOException if the file can not be read or written, is encrypted with another key or
+   *     is used by another instance
+   */
+  static OutboxJournal open(Path file, OutboxCipher cipher) throws IOException {
+    return openIfUnused(file, cipher)
+        .orElseThrow(() -> new IOException("Outbox journal " + file + " is used already"));
+  }
+
+  /**
+   * Like {@link #open}, but returns empty if another instance holds the journal.
+   *
+   * @param file journal file
+   * @param cipher encrypts the notifications
+   * @return opened journal, empty if it is in use
+   * @throws IOException if the file can not be read or written or is encrypted with another key
+   */
+  static Optional<OutboxJournal> openIfUnused(Path file, OutboxCipher cipher) throws IOException {
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    final FileChannel lockChannel =
+        FileChannel.open(
+            file.resolveSibling(file.getFileName() + ".lock"),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+    try {
+      if (tryLock(lockChannel) == null) {
+        lockChannel.close();
+        return Optional.empty();
+      }
+      final OutboxJournal journal = new OutboxJournal(file, cipher, lockChannel);
+      journal.recover();
+      return Optional.of(journal);
+    } catch (IOException | RuntimeException e) {
+      lockChannel.close();
+      throw e;
+    }
+  }
+
+  private static FileLock tryLock(FileChannel lockChannel) throws IOException {
+    try {
+      return lockChannel.tryLock();
+    } catch (OverlappingFileLockException e) {
+      return null;
+    }
+  }
+
+  synchronized void append(OutboxEntry entry) throws IOException {
+    write(ENTRY, encode(entry));
+    pending.put(entry.id(), entry);
+  }
+
+  synchronized void acknowledge(String id) throws IOException {
+    if (pending.remove(id) == null) {
+      return;
+    }
+    if (pending.isEmpty()) {
+      channel.truncate(0);
+      channel.force(false);
+    } else if (channel.size() > COMPACTION_THRESHOLD_BYTES) {
+      rewrite();
+    } else {
+      write(ACKNOWLEDGEMENT, id.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  /**
+   * @return oldest pending notification
+   */
+  synchronized Optional<OutboxEntry> first() {
+    return pending.values().stream().findFirst();
+  }
+
+  synchronized int size() {
+    return pending.size();
+  }
+
+  /**
+   * Writes the notification as the only record of a new journal file, e.g. to keep it as dead
+   * letter. The file can be opened as journal again.
+   *
+   * @param entry notification
+   * @param target new journal file
+   * @throws IOException if the file can not be written
+   */
+  void export(OutboxEntry entry, Path target) throws IOException {
+    Files.createDirectories(target.toAbsolutePath().getParent());
+    final Path temporary = target.resolveSibling(target.getFileName() + ".writing");
+    try (FileChannel out =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      writeFully(out, record(ENTRY, encode(entry)));
+      out.force(true);
+    }
+    Files.move(
+        temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Deletes the journal file, only allowed once nothing is pending, e.g. after the notifications
+   * were taken over by another journal.
+   *
+   * @throws IOException if the file can not be deleted
+   */
+  synchronized void delete() throws IOException {
+    if (!pending.isEmpty()) {
+      throw new IllegalStateException("Outbox journal " + file + " is not empty");
+    }
+    close();
+    Files.deleteIfExists(file);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      channel.close();
+    } finally {
+      lockChannel.close();
+    }
+  }
+
+  private void recover() throws IOException {
+    long validBytes = 0;
+    if (Files.exists(file)) {
+      try (InputStream in = Files.newInputStream(file);
+          DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+        validBytes = readRecords(data);
+      }
+    }
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    if (channel.size() > validBytes) {
+      log.warn(
+          "Outbox journal {} ends with an incomplete record, cutting off {} bytes",
+          file,
+          channel.size() - validBytes);
+    }
+    if (!pending.isEmpty()) {
+      log.info("Outbox journal {} contains {} pending notifications", file, pending.size());
+    }
+    rewrite();
+  }
+
+  private long readRecords(DataInputStream data) throws IOException {
+    long validBytes = 0;
+    while (true) {
+      final int length;
+      final int checksum;
+      final byte[] content;
+      try {
+        length = data.readInt();
+        checksum = data.readInt();
+        if (length <= 0) {
+          return validBytes;
+        }
+        content = data.readNBytes(length);
+      } catch (EOFException e) {
+        return validBytes;
+      }
+      if (content.length < length || checksum(content) != checksum) {
+        return validBytes;
+      }
+      apply(content);
+      validBytes += RECORD_HEADER_BYTES + length;
+    }
+  }
+
+  private void apply(byte[] content) throws IOException {
+    if (content[0] == ENTRY) {
+      final OutboxEntry entry = decode(content);
+      pending.put(entry.id(), entry);
+    } else if (content[0] == ACKNOWLEDGEMENT) {
+      pending.remove(new String(content, 1, content.length - 1, StandardCharsets.UTF_8));
+    }
+  }
+
+  /** Replaces the file with one containing the pending notifications only. */
+  private void rewrite() throws IOException {
+    final Path compacted = file.resolveSibling(file.getFileName() + ".compacting");
+    try (FileChannel target =
+        FileChannel.open(
+            compacted,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      for (final OutboxEntry entry : pending.values()) {
+        writeFully(target, record(ENTRY, encode(entry)));
+      }
+      target.force(true);
+    }
+    channel.close();
+    Files.move(
+        compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  private void write(byte type, byte[] payload) throws IOException {
+    writeFully(channel, record(type, payload));
+    channel.force(false);
+  }
+
+  private static void writeFully(FileChannel target, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      target.write(buffer);
+    }
+  }
+
+  private static ByteBuffer record(byte type, byte[] payload) {
+    final byte[] content = new byte[payload.length + 1];
+    content[0] = type;
+    System.arraycopy(payload, 0, content, 1, payload.length);
+    return ByteBuffer.allocate(RECORD_HEADER_BYTES + content.length)
+        .putInt(content.length)
+        .putInt(checksum(content))
+        .put(content)
+        .flip();
+  }
+
+  private static int checksum(byte[] content) {
+    final CRC32 crc = new CRC32();
+    crc.update(content);
+    return (int) crc.getValue();
+  }
+
+  private byte[] encode(OutboxEntry entry) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(entry.body().length + 1024);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      writeString(out, entry.id());
+      writeString(out, entry.url());
+      writeString(out, entry.operationName());
+      writeString(out, entry.bearerToken());
+      out.writeInt(entry.forwardedHeaders().size());
+      for (final Map.Entry<String, String> header : entry.forwardedHeaders().entrySet()) {
+        writeString(out, header.getKey());
+        writeString(out, header.getValue());
+      }
+      out.writeLong(entry.createdAt().toEpochMilli());
+      out.writeInt(entry.body().length);
+      out.write(entry.body());
+    }
+    return cipher.encrypt(bytes.toByteArray());
+  }
+
+  private OutboxEntry decode(byte[] content) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(
+            new ByteArrayInputStream(cipher.decrypt(content, 1, content.length - 1)))) {
+      final String id = readString(in);
+      final String url = readString(in);
+      final String operationName = readString(in);
+      final String bearerToken = readString(in);
+      final int headerCount = in.readInt();
+      final Map<String, String> headers = new LinkedHashMap<>();
+      for (int i = 0; i < headerCount; i++) {
+        headers.put(readString(in), readString(in));
+      }
+      final Instant createdAt = Instant.ofEpochMilli(in.readLong());
+      final byte[] body = in.readNBytes(in.readInt());
+      return new OutboxEntry(
+          id, url, operationName, bearerToken, Map.copyOf(headers), body, createdAt);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    return new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+  }
+}
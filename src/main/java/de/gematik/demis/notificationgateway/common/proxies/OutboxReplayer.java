@@ -0,0 +1,248 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forwards the notifications of the {@link NotificationOutbox} one after another, oldest first, at
+ * most {@code outbox.replay.rate.per.second} per second. Calls go through the {@link
+ * UpstreamCircuitBreaker}, so replays are rejected without network traffic while it is open.
+ *
+ * <p>If the upstream is still unavailable the replayer waits with exponential backoff between
+ * {@code outbox.replay.backoff.initial.ms} and {@code outbox.replay.backoff.max.ms}, i.e. if the
+ * notification provably did not reach it or it answered 429. A success response which can not be
+ * read still counts as forwarded. Notifications are moved to the dead letters of the {@link
+ * NotificationOutbox} instead of being sent, or sent again, if
+ *
+ * <ul>
+ *   <li>the token of the original request has expired,
+ *   <li>the upstream refuses them with a 4xx status other than 429,
+ *   <li>the upstream may have processed them already, e.g. after a timeout, a reset connection,
+ *       502, 504 or another 5xx.
+ * </ul>
+ */
+@Slf4j
+@Component
+class OutboxReplayer implements InitializingBean, DisposableBean {
+
+  static final String TOKEN_EXPIRED = "token expired";
+  static final String REFUSED = "refused";
+  static final String DELIVERY_UNKNOWN = "delivery unknown";
+
+  private final NotificationOutbox outbox;
+  private final AsyncFhirOperationClient asyncOperationClient;
+  private final UpstreamCircuitBreaker circuitBreaker;
+  private final ApplicationProperties applicationProperties;
+  private final LongSupplier nanoClock;
+  private final Counter replayed;
+  private ScheduledExecutorService scheduler;
+  private int failedAttempts;
+  private long nextAttemptNanos;
+
+  @Autowired
+  OutboxReplayer(
+      NotificationOutbox outbox,
+      AsyncFhirOperationClient asyncOperationClient,
+      UpstreamCircuitBreaker circuitBreaker,
+      ApplicationProperties applicationProperties,
+      MeterRegistry meterRegistry) {
+    this(
+        outbox,
+        asyncOperationClient,
+        circuitBreaker,
+        applicationProperties,
+        meterRegistry,
+        System::nanoTime);
+  }
+
+  OutboxReplayer(
+      NotificationOutbox outbox,
+      AsyncFhirOperationClient asyncOperationClient,
+      UpstreamCircuitBreaker circuitBreaker,
+      ApplicationProperties applicationProperties,
+      MeterRegistry meterRegistry,
+      LongSupplier nanoClock) {
+    this.outbox = outbox;
+    this.asyncOperationClient = asyncOperationClient;
+    this.circuitBreaker = circuitBreaker;
+    this.applicationProperties = applicationProperties;
+    this.nanoClock = nanoClock;
+    this.nextAttemptNanos = nanoClock.getAsLong();
+    this.replayed =
+        Counter.builder("ng.outbox.replayed")
+            .description("Notifications forwarded from the outbox")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    if (!outbox.isEnabled()) {
+      return;
+    }
+    final long intervalMillis =
+        Math.max(1, 1000L / Math.max(1, applicationProperties.getOutboxReplayRatePerSecond()));
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("outbox-replayer").daemon().factory());
+    scheduler.scheduleWithFixedDelay(
+        this::replayNextSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void destroy() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Forwards the oldest pending notification unless the replayer is backing off.
+   *
+   * @return {@code true} if a notification was forwarded or moved to the dead letters
+   */
+  boolean replayNext() {
+    if (nanoClock.getAsLong() - nextAttemptNanos < 0) {
+      return false;
+    }
+    final Optional<OutboxEntry> next = outbox.next();
+    if (next.isEmpty()) {
+      return false;
+    }
+    final OutboxEntry entry = next.get();
+    if (entry.tokenExpiresAt().filter(expiresAt -> !expiresAt.isAfter(Instant.now())).isPresent()) {
+      return deadLetter(entry, TOKEN_EXPIRED);
+    }
+    try {
+      circuitBreaker
+          .executeAsync(
+              entry.url(),
+              () ->
+                  asyncOperationClient.execute(
+                      entry.url(),
+                      entry.operationName(),
+                      entry.body(),
+                      entry.context(),
+                      Function.identity()))
+          .join();
+    } catch (RuntimeException e) {
+      return onFailure(entry, e);
+    }
+    acknowledge(entry);
+    replayed.increment();
+    failedAttempts = 0;
+    log.info("Forwarded notification {} from the outbox to {}", entry.id(), entry.url());
+    return true;
+  }
+
+  private boolean onFailure(OutboxEntry entry, RuntimeException e) {
+    final Throwable failure = e instanceof CompletionException ? e.getCause() : e;
+    if (UpstreamFailures.isUnreadableResponse(failure)) {
+      log.warn(
+          "Notification {} from the outbox was accepted by {}, its response is unreadable",
+          entry.id(),
+          entry.url(),
+          failure);
+      acknowledge(entry);
+      replayed.increment();
+      failedAttempts = 0;
+      return true;
+    }
+    if (UpstreamFailures.isNotDelivered(failure) || UpstreamFailures.isThrottled(failure)) {
+      failedAttempts++;
+      final long backoffMillis = backoffMillis();
+      nextAttemptNanos = nanoClock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+      log.warn(
+          "Forwarding notification {} from the outbox failed, next attempt in {}ms: {}",
+          entry.id(),
+          backoffMillis,
+          failure.getMessage());
+      return false;
+    }
+    if (UpstreamFailures.isRefusal(failure)) {
+      log.warn(
+          "Notification {} from the outbox was refused by {}", entry.id(), entry.url(), failure);
+      return deadLetter(entry, REFUSED);
+    }
+    log.warn(
+        "Notification {} from the outbox may have been processed by {}",
+        entry.id(),
+        entry.url(),
+        failure);
+    return deadLetter(entry, DELIVERY_UNKNOWN);
+  }
+
+  private boolean deadLetter(OutboxEntry entry, String reason) {
+    try {
+      outbox.deadLetter(entry, reason);
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          "Failed to move outbox entry " + entry.id() + " to the dead letters", e);
+    }
+    return true;
+  }
+
+  private long backoffMillis() {
+    final long initial = applicationProperties.getOutboxReplayBackoffInitialMilliseconds();
+    final long max = applicationProperties.getOutboxReplayBackoffMaxMilliseconds();
+    final int exponent = Math.min(failedAttempts - 1, 20);
+    return Math.min(max, initial << exponent);
+  }
+
+  private void acknowledge(OutboxEntry entry) {
+    try {
+      outbox.acknowledge(entry);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to acknowledge outbox entry " + entry.id(), e);
+    }
+  }
+
+  private void replayNextSafely() {
+    try {
+      replayNext();
+    } catch (RuntimeException e) {
+      log.error("Replaying the outbox failed", e);
+    }
+  }
+}
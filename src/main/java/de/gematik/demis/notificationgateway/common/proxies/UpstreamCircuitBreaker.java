@@ -0,0 +1,313 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamUnavailableException;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker per upstream URL. It records the outcome of the last calls and opens when the
+ * rate of failed calls (connection problems, 5xx) or of slow calls reaches its threshold. While
+ * open every call fails fast with {@link UpstreamUnavailableException} instead of waiting for the
+ * socket timeout. After the open duration a limited number of probe calls is let through: if all
+ * of them succeed the breaker closes again, otherwise it reopens.
+ *
+ * <p>The state is published as metric {@code ng.upstream.circuitbreaker.state} (0 closed, 1 open,
+ * 2 half open) and via the {@code circuitbreakers} actuator endpoint.
+ */
+@Slf4j
+@Component
+class UpstreamCircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final ApplicationProperties applicationProperties;
+  private final MeterRegistry meterRegistry;
+  private final LongSupplier nanoClock;
+  private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+  @Autowired
+  UpstreamCircuitBreaker(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+    this(applicationProperties, meterRegistry, System::nanoTime);
+  }
+
+  UpstreamCircuitBreaker(
+      ApplicationProperties applicationProperties,
+      MeterRegistry meterRegistry,
+      LongSupplier nanoClock) {
+    this.applicationProperties = applicationProperties;
+    this.meterRegistry = meterRegistry;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Runs an upstream call if the breaker of the target lets it through. The outcome is
+   * recorded when the returned future completes.
+   *
+   * @throws UpstreamUnavailableException if the breaker is open
+   */
+  <T> CompletableFuture<T> executeAsync(String url, Supplier<CompletableFuture<T>> call) {
+    if (!applicationProperties.isUpstreamCircuitBreakerEnabled()) {
+      return call.get();
+    }
+    final Call permission = acquire(url);
+    final CompletableFuture<T> result;
+    try {
+      result = call.get();
+    } catch (RuntimeException e) {
+      permission.complete(e);
+      throw e;
+    }
+    return result.whenComplete((value, failure) -> permission.complete(failure));
+  }
+
+  /**
+   * @return current state of every upstream called so far, sorted by URL
+   */
+  Map<String, Snapshot> snapshots() {
+    final Map<String, Snapshot> snapshots = new TreeMap<>();
+    breakers.forEach((url, breaker) -> snapshots.put(url, breaker.snapshot()));
+    return snapshots;
+  }
+
+  private Call acquire(String url) {
+    final Breaker breaker = breakers.computeIfAbsent(url, this::createBreaker);
+    final Call permission = breaker.tryAcquire();
+    if (permission == null) {
+      breaker.rejected.increment();
+      throw new UpstreamUnavailableException(
+          "Circuit breaker of " + url + " is open", breaker.retryAfter());
+    }
+    return permission;
+  }
+
+  private Breaker createBreaker(String url) {
+    log.info("Creating circuit breaker for {}", url);
+    final Breaker breaker =
+        new Breaker(
+            url,
+            Counter.builder("ng.upstream.circuitbreaker.rejected")
+                .description("Upstream calls rejected by the open circuit breaker")
+                .tag("upstream", url)
+                .register(meterRegistry));
+    Gauge.builder("ng.upstream.circuitbreaker.state", breaker, b -> b.state.ordinal())
+        .description("Circuit breaker state of the upstream, 0 closed, 1 open, 2 half open")
+        .tag("upstream", url)
+        .register(meterRegistry);
+    return breaker;
+  }
+
+  /**
+   * State of one breaker as shown by the actuator endpoint.
+   *
+   * @param state current state
+   * @param bufferedCalls calls in the window of the closed breaker
+   * @param failureRate failed calls in the window in percent
+   * @param slowCallRate slow calls in the window in percent
+   * @param retryAfterSeconds time until probe calls are let through, 0 unless open
+   */
+  public record Snapshot(
+      State state,
+      int bufferedCalls,
+      double failureRate,
+      double slowCallRate,
+      long retryAfterSeconds) {}
+
+  private final class Breaker {
+
+    private final String url;
+    private final Counter rejected;
+    private final int windowSize =
+        Math.max(1, applicationProperties.getUpstreamCircuitBreakerWindowSize());
+    private final boolean[] failedCalls = new boolean[windowSize];
+    private final boolean[] slowCalls = new boolean[windowSize];
+    private final long slowCallNanos =
+        TimeUnit.MILLISECONDS.toNanos(
+            applicationProperties.getUpstreamCircuitBreakerSlowCallDurationMilliseconds());
+    private final long openNanos =
+        TimeUnit.MILLISECONDS.toNanos(
+            applicationProperties.getUpstreamCircuitBreakerOpenDurationMilliseconds());
+
+    private volatile State state = State.CLOSED;
+    private int bufferedCalls;
+    private int nextSlot;
+    private int failures;
+    private int slows;
+    private long openedAt;
+    private int probesLeft;
+    private int probesSucceeded;
+
+    private Breaker(String url, Counter rejected) {
+      this.url = url;
+      this.rejected = rejected;
+    }
+
+    private synchronized Call tryAcquire() {
+      if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+        transitionTo(State.HALF_OPEN);
+      }
+      return switch (state) {
+        case CLOSED -> new Call(this, State.CLOSED);
+        case HALF_OPEN -> {
+          if (probesLeft == 0) {
+            yield null;
+          }
+          probesLeft--;
+          yield new Call(this, State.HALF_OPEN);
+        }
+        case OPEN -> null;
+      };
+    }
+
+    private synchronized void onComplete(State acquiredIn, long durationNanos, Throwable failure) {
+      final boolean probe = acquiredIn == State.HALF_OPEN && state == State.HALF_OPEN;
+      if (UpstreamFailures.isRejection(failure)) {
+        if (probe) {
+          probesLeft++;
+        }
+        return;
+      }
+      final boolean failed = UpstreamFailures.isUpstreamFailure(failure);
+      final boolean slow = durationNanos > slowCallNanos;
+      if (probe) {
+        if (failed || slow) {
+          transitionTo(State.OPEN);
+        } else if (++probesSucceeded
+            >= applicationProperties.getUpstreamCircuitBreakerHalfOpenCalls()) {
+          transitionTo(State.CLOSED);
+        }
+      } else if (acquiredIn == State.CLOSED && state == State.CLOSED) {
+        record(failed, slow);
+        if (thresholdReached()) {
+          transitionTo(State.OPEN);
+        }
+      }
+    }
+
+    private void record(boolean failed, boolean slow) {
+      if (bufferedCalls == windowSize) {
+        failures -= failedCalls[nextSlot] ? 1 : 0;
+        slows -= slowCalls[nextSlot] ? 1 : 0;
+      } else {
+        bufferedCalls++;
+      }
+      failedCalls[nextSlot] = failed;
+      slowCalls[nextSlot] = slow;
+      failures += failed ? 1 : 0;
+      slows += slow ? 1 : 0;
+      nextSlot = (nextSlot + 1) % windowSize;
+    }
+
+    private boolean thresholdReached() {
+      if (bufferedCalls < applicationProperties.getUpstreamCircuitBreakerMinimumCalls()) {
+        return false;
+      }
+      return rate(failures) >= applicationProperties.getUpstreamCircuitBreakerFailureRateThreshold()
+          || rate(slows) >= applicationProperties.getUpstreamCircuitBreakerSlowCallRateThreshold();
+    }
+
+    private double rate(int calls) {
+      return bufferedCalls == 0 ? 0 : calls * 100.0 / bufferedCalls;
+    }
+
+    private void transitionTo(State newState) {
+      log.warn("Circuit breaker of {} changes from {} to {}", url, state, newState);
+      state = newState;
+      switch (newState) {
+        case OPEN -> openedAt = nanoClock.getAsLong();
+        case HALF_OPEN -> {
+          probesLeft = Math.max(1, applicationProperties.getUpstreamCircuitBreakerHalfOpenCalls());
+          probesSucceeded = 0;
+        }
+        case CLOSED -> {
+          bufferedCalls = 0;
+          nextSlot = 0;
+          failures = 0;
+          slows = 0;
+        }
+      }
+    }
+
+    private synchronized Duration retryAfter() {
+      if (state != State.OPEN) {
+        return Duration.ofSeconds(1);
+      }
+      final long remainingNanos = openNanos - (nanoClock.getAsLong() - openedAt);
+      final long remainingSeconds =
+          TimeUnit.NANOSECONDS.toSeconds(remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+      return Duration.ofSeconds(Math.max(1, remainingSeconds));
+    }
+
+    private synchronized Snapshot snapshot() {
+      return new Snapshot(
+          state,
+          bufferedCalls,
+          rate(failures),
+          rate(slows),
+          state == State.OPEN ? retryAfter().toSeconds() : 0);
+    }
+  }
+
+  private final class Call {
+
+    private final Breaker breaker;
+    private final State acquiredIn;
+    private final long startNanos = nanoClock.getAsLong();
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    private Call(Breaker breaker, State acquiredIn) {
+      this.breaker = breaker;
+      this.acquiredIn = acquiredIn;
+    }
+
+    private void complete(Throwable failure) {
+      if (completed.compareAndSet(false, true)) {
+        breaker.onComplete(acquiredIn, nanoClock.getAsLong() - startNanos, failure);
+      }
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * gzip compression of the non-blocking upstream calls and metrics of the bytes on the wire.
+ *
+ * <p>Responses are requested with {@code Accept-Encoding: gzip}, so every upstream decides itself
+ * whether it compresses. Request bodies are compressed once they reach a minimum size. An upstream
+ * answering a compressed request with 415 is remembered and gets uncompressed bodies from then on.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class UpstreamCompression {
+
+  static final String GZIP = "gzip";
+  static final String IDENTITY = "identity";
+
+  private final ApplicationProperties applicationProperties;
+  private final MeterRegistry meterRegistry;
+  private final Set<String> uncompressedUpstreams = ConcurrentHashMap.newKeySet();
+
+  /**
+   * @return {@code true} if the request body of the given size should be sent compressed
+   */
+  boolean compressRequest(String url, int contentLength) {
+    return applicationProperties.isHttpCompressionRequestEnabled()
+        && contentLength >= applicationProperties.getHttpCompressionRequestMinBytes()
+        && !uncompressedUpstreams.contains(url);
+  }
+
+  boolean acceptCompressedResponse() {
+    return applicationProperties.isHttpCompressionResponseEnabled();
+  }
+
+  /** Sends uncompressed request bodies to an upstream that refused a compressed one. */
+  void refuseRequestCompression(String url) {
+    if (uncompressedUpstreams.add(url)) {
+      log.warn("{} does not accept gzip request bodies, sending them uncompressed", url);
+    }
+  }
+
+  /**
+   * @param content uncompressed body, left untouched
+   * @return gzip compressed body, backed by the array it was compressed into
+   */
+  ByteBuffer compress(ByteBuffer content) {
+    final CompressedBuffer compressed = new CompressedBuffer(content.remaining() / 4);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, 8192)) {
+      Channels.newChannel(gzip).write(content.duplicate());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return compressed.content();
+  }
+
+  /**
+   * @param body response body
+   * @param contentEncoding {@code Content-Encoding} of the response, may be {@code null}
+   * @return decompressed body
+   * @throws IOException if the body is no valid gzip stream
+   */
+  byte[] decompress(byte[] body, String contentEncoding) throws IOException {
+    if (body.length == 0 || !GZIP.equalsIgnoreCase(contentEncoding)) {
+      return body;
+    }
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      return in.readAllBytes();
+    }
+  }
+
+  /**
+   * @param contentEncoding {@code Content-Encoding} of the request, {@code null} for identity
+   */
+  void recordSent(String url, String contentEncoding, long bytes) {
+    counter("ng.upstream.bytes.sent", "Request body bytes sent upstream", url, contentEncoding)
+        .increment(bytes);
+  }
+
+  /**
+   * @param contentEncoding {@code Content-Encoding} of the response, {@code null} for identity
+   */
+  void recordReceived(String url, String contentEncoding, long bytes) {
+    counter(
+            "ng.upstream.bytes.received",
+            "Response body bytes received from upstream",
+            url,
+            contentEncoding)
+        .increment(bytes);
+  }
+
+  private Counter counter(String name, String description, String url, String contentEncoding) {
+    return Counter.builder(name)
+        .description(description)
+        .baseUnit("bytes")
+        .tag("upstream", url)
+        .tag(
+            "encoding",
+            contentEncoding == null ? IDENTITY : contentEncoding.toLowerCase(Locale.ROOT))
+        .register(meterRegistry);
+  }
+
+  /** Compressed body of a single request, handed to the client as is. */
+  private static final class CompressedBuffer extends ByteArrayOutputStream {
+
+    private CompressedBuffer(int size) {
+      super(Math.max(32, size));
+    }
+
+    private ByteBuffer content() {
+      return ByteBuffer.wrap(buf, 0, count);
+    }
+  }
+}
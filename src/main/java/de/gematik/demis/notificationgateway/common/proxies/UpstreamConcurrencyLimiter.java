@@ -0,0 +1,207 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamUnavailableException;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulkhead in front of the upstream calls. Every target URL and operation has its own limit of
+ * concurrent calls, so a slow RPS cannot tie up the threads and sockets needed for NES. Calls
+ * beyond the limit are rejected at once with {@link UpstreamUnavailableException}.
+ *
+ * <p>The limit adapts with AIMD: it grows by one after a fast call while at least half of the
+ * limit was in use and shrinks by the backoff ratio after a call that failed with a connection
+ * problem or 5xx, or took longer than the latency threshold. Limit, calls in flight and rejections
+ * are published as metrics tagged with upstream and operation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class UpstreamConcurrencyLimiter {
+
+  private final ApplicationProperties applicationProperties;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<LimitKey, AimdLimit> limits = new ConcurrentHashMap<>();
+
+  /**
+   * Runs an upstream call within the limit of its target. The permit is held until
+   * the returned future completes.
+   *
+   * @throws UpstreamUnavailableException if the limit is exhausted
+   */
+  <T> CompletableFuture<T> executeAsync(
+      String url, String operationName, Supplier<CompletableFuture<T>> call) {
+    if (!applicationProperties.isUpstreamLimitEnabled()) {
+      return call.get();
+    }
+    final Permit permit = acquire(url, operationName);
+    final CompletableFuture<T> result;
+    try {
+      result = call.get();
+    } catch (RuntimeException e) {
+      permit.release(e);
+      throw e;
+    }
+    return result.whenComplete((value, failure) -> permit.release(failure));
+  }
+
+  private Permit acquire(String url, String operationName) {
+    final AimdLimit limit =
+        limits.computeIfAbsent(new LimitKey(url, operationName), this::createLimit);
+    final Permit permit = limit.tryAcquire();
+    if (permit == null) {
+      limit.rejected.increment();
+      throw new UpstreamUnavailableException(
+          "Concurrency limit "
+              + limit.limit
+              + " of "
+              + url
+              + " operation "
+              + operationName
+              + " exhausted",
+          Duration.ofSeconds(applicationProperties.getUpstreamLimitRetryAfterSeconds()));
+    }
+    return permit;
+  }
+
+  private AimdLimit createLimit(LimitKey key) {
+    log.info("Creating concurrency limit for {} operation {}", key.url(), key.operationName());
+    final AimdLimit limit =
+        new AimdLimit(
+            applicationProperties.getUpstreamLimitInitial(),
+            applicationProperties.getUpstreamLimitMin(),
+            applicationProperties.getUpstreamLimitMax(),
+            applicationProperties.getUpstreamLimitBackoffRatio(),
+            TimeUnit.MILLISECONDS.toNanos(
+                applicationProperties.getUpstreamLimitLatencyThresholdMilliseconds()),
+            Counter.builder("ng.upstream.concurrency.rejected")
+                .description("Upstream calls rejected because the concurrency limit was exhausted")
+                .tag("upstream", key.url())
+                .tag("operation", key.operationName())
+                .register(meterRegistry));
+    Gauge.builder("ng.upstream.concurrency.limit", limit, l -> l.limit)
+        .description("Current adaptive concurrency limit of the upstream")
+        .tag("upstream", key.url())
+        .tag("operation", key.operationName())
+        .register(meterRegistry);
+    Gauge.builder("ng.upstream.concurrency.inflight", limit, l -> l.inFlight.get())
+        .description("Upstream calls currently in flight")
+        .tag("upstream", key.url())
+        .tag("operation", key.operationName())
+        .register(meterRegistry);
+    return limit;
+  }
+
+  private record LimitKey(String url, String operationName) {}
+
+  private static final class AimdLimit {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final Counter rejected;
+    private volatile int limit;
+
+    private AimdLimit(
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double backoffRatio,
+        long latencyThresholdNanos,
+        Counter rejected) {
+      this.minLimit = Math.max(1, minLimit);
+      this.maxLimit = Math.max(this.minLimit, maxLimit);
+      this.limit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+      this.backoffRatio = backoffRatio;
+      this.latencyThresholdNanos = latencyThresholdNanos;
+      this.rejected = rejected;
+    }
+
+    private Permit tryAcquire() {
+      while (true) {
+        final int current = inFlight.get();
+        if (current >= limit) {
+          return null;
+        }
+        if (inFlight.compareAndSet(current, current + 1)) {
+          return new Permit(this, System.nanoTime(), current + 1);
+        }
+      }
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtStart, boolean dropped) {
+      if (dropped || latencyNanos > latencyThresholdNanos) {
+        limit = Math.max(minLimit, Math.min(limit - 1, (int) (limit * backoffRatio)));
+      } else if (inFlightAtStart * 2 >= limit) {
+        limit = Math.min(maxLimit, limit + 1);
+      }
+    }
+  }
+
+  private static final class Permit {
+
+    private final AimdLimit limit;
+    private final long startNanos;
+    private final int inFlightAtStart;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(AimdLimit limit, long startNanos, int inFlightAtStart) {
+      this.limit = limit;
+      this.startNanos = startNanos;
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    private void release(Throwable failure) {
+      if (released.compareAndSet(false, true)) {
+        limit.inFlight.decrementAndGet();
+        limit.onSample(
+            System.nanoTime() - startNanos,
+            inFlightAtStart,
+            UpstreamFailures.isUpstreamFailure(failure));
+      }
+    }
+  }
+}
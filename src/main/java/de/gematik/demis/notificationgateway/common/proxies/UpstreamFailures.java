@@ -0,0 +1,142 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import ca.uhn.fhir.rest.client.exceptions.FhirClientConnectionException;
+import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
+import de.gematik.demis.notificationgateway.common.exceptions.UnreadableUpstreamResponseException;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamDeliveryUnknownException;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamUnavailableException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletionException;
+import org.apache.hc.core5.http.HttpHeaders;
+
+/** Classifies the outcome of upstream calls for the resilience guards in front of them. */
+final class UpstreamFailures {
+
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final int BAD_GATEWAY = 502;
+  private static final int SERVICE_UNAVAILABLE = 503;
+  private static final int GATEWAY_TIMEOUT = 504;
+
+  private UpstreamFailures() {}
+
+  /**
+   * @return {@code true} if the upstream did not answer properly, i.e. connection problems and 5xx,
+   *     but not if the request was sent and no response or an unreadable one came back
+   */
+  static boolean isUpstreamFailure(Throwable failure) {
+    final Throwable cause = unwrap(failure);
+    if (cause instanceof UnreadableUpstreamResponseException
+        || cause instanceof UpstreamDeliveryUnknownException
+        || isSocketTimeout(cause)) {
+      return false;
+    }
+    return cause instanceof FhirClientConnectionException || statusOf(cause) >= 500;
+  }
+
+  /**
+   * @return {@code true} if the upstream may have processed the request, so sending it again could
+   *     create a duplicate: a success status which could not be read, no response after the
+   *     request was sent, or 502 and 504 of a proxy between gateway and upstream
+   */
+  static boolean isOutcomeUnknown(Throwable failure) {
+    final Throwable cause = unwrap(failure);
+    final int status = statusOf(cause);
+    return cause instanceof UnreadableUpstreamResponseException
+        || cause instanceof UpstreamDeliveryUnknownException
+        || isSocketTimeout(cause)
+        || status == BAD_GATEWAY
+        || status == GATEWAY_TIMEOUT;
+  }
+
+  /**
+   * @return {@code true} if the request provably did not reach the upstream, so it can be sent
+   *     again without creating a duplicate: no connection could be established, a guard rejected
+   *     the call, or the upstream answered 503 with {@code Retry-After}
+   */
+  static boolean isNotDelivered(Throwable failure) {
+    final Throwable cause = unwrap(failure);
+    if (isOutcomeUnknown(cause)) {
+      return false;
+    }
+    return cause instanceof UpstreamUnavailableException
+        || cause instanceof FhirClientConnectionException
+        || (statusOf(cause) == SERVICE_UNAVAILABLE
+            && ((BaseServerResponseException) cause)
+                .getResponseHeaders()
+                .containsKey(HttpHeaders.RETRY_AFTER));
+  }
+
+  /**
+   * @return {@code true} if the upstream answered with a success status which could not be read
+   */
+  static boolean isUnreadableResponse(Throwable failure) {
+    return unwrap(failure) instanceof UnreadableUpstreamResponseException;
+  }
+
+  /**
+   * @return {@code true} if the call was rejected by a guard without reaching the upstream
+   */
+  static boolean isRejection(Throwable failure) {
+    return unwrap(failure) instanceof UpstreamUnavailableException;
+  }
+
+  /**
+   * @return {@code true} if the upstream asked to slow down with 429
+   */
+  static boolean isThrottled(Throwable failure) {
+    return statusOf(unwrap(failure)) == TOO_MANY_REQUESTS;
+  }
+
+  /**
+   * @return {@code true} if the upstream refused the request itself, i.e. 4xx other than 429, so
+   *     sending it again can not succeed
+   */
+  static boolean isRefusal(Throwable failure) {
+    final int status = statusOf(unwrap(failure));
+    return status >= 400 && status < 500 && status != TOO_MANY_REQUESTS;
+  }
+
+  private static boolean isSocketTimeout(Throwable cause) {
+    return cause instanceof FhirClientConnectionException
+        && cause.getCause() instanceof SocketTimeoutException;
+  }
+
+  private static int statusOf(Throwable cause) {
+    return cause instanceof BaseServerResponseException serverResponseException
+        ? serverResponseException.getStatusCode()
+        : 0;
+  }
+
+  private static Throwable unwrap(Throwable failure) {
+    return failure instanceof CompletionException && failure.getCause() != null
+        ? failure.getCause()
+        : failure;
+  }
+}
@@ -0,0 +1,132 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Receipt as base64 text, a slice of the upstream response body. Holding on to the text avoids
+ * decoding the receipt and encoding it again for the JSON response to the portal. Only canonical
+ * base64, i.e. padded and without whitespace or escapes, is accepted, so the text can be written
+ * unchanged into a JSON string.
+ */
+final class Base64Receipt {
+
+  private final byte[] source;
+  private final int offset;
+  private final int length;
+
+  private Base64Receipt(byte[] source, int offset, int length) {
+    this.source = source;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Takes the JSON string starting at the given quote as receipt.
+   *
+   * @param source UTF-8 encoded JSON
+   * @param quoteOffset offset of the opening quote of the string
+   * @return the receipt, {@code null} if the string is no canonical base64 text
+   */
+  static Base64Receipt ofJsonString(byte[] source, long quoteOffset) {
+    if (quoteOffset < 0 || quoteOffset >= source.length || source[(int) quoteOffset] != '"') {
+      return null;
+    }
+    final int start = (int) quoteOffset + 1;
+    int end = start;
+    while (end < source.length && isBase64Digit(source[end])) {
+      end++;
+    }
+    int padding = 0;
+    while (end < source.length && source[end] == '=' && padding < 2) {
+      end++;
+      padding++;
+    }
+    if (end == source.length || source[end] != '"' || (end - start) % 4 != 0) {
+      return null;
+    }
+    return new Base64Receipt(source, start, end - start);
+  }
+
+  /** Decodes the complete receipt. */
+  byte[] decode() {
+    final ByteBuffer decoded =
+        Base64.getDecoder().decode(ByteBuffer.wrap(source, offset, length));
+    if (decoded.hasArray()
+        && decoded.arrayOffset() == 0
+        && decoded.position() == 0
+        && decoded.remaining() == decoded.array().length) {
+      return decoded.array();
+    }
+    final byte[] content = new byte[decoded.remaining()];
+    decoded.get(content);
+    return content;
+  }
+
+  /** Decodes the receipt while it is read. */
+  InputStream openDecodingStream() {
+    return Base64.getDecoder().wrap(new ByteArrayInputStream(source, offset, length));
+  }
+
+  /** Writes the base64 text as JSON string value without decoding it. */
+  void writeJsonString(JsonGenerator generator) throws IOException {
+    try {
+      generator.writeRawUTF8String(source, offset, length);
+    } catch (UnsupportedOperationException e) {
+      // character based generators can not take raw UTF-8, the text is plain ASCII anyway
+      generator.writeString(new String(source, offset, length, StandardCharsets.US_ASCII));
+    }
+  }
+
+  /**
+   * @return size of the response body this receipt keeps in memory
+   */
+  int retainedBytes() {
+    return source.length;
+  }
+
+  @Override
+  public String toString() {
+    return "Base64Receipt[length=" + length + "]";
+  }
+
+  private static boolean isBase64Digit(byte b) {
+    return (b >= 'A' && b <= 'Z')
+        || (b >= 'a' && b <= 'z')
+        || (b >= '0' && b <= '9')
+        || b == '+'
+        || b == '/';
+  }
+}
@@ -0,0 +1,90 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+
+/**
+ * {@link OkResponse} whose receipt is still the base64 text of the upstream response. The receipt
+ * is decoded on the first call of {@link #getContent()}. Until then {@link
+ * ReceiptPassThroughModule} writes the text unchanged into the JSON response and {@link
+ * PdfReceiptHttpMessageConverter} decodes it while streaming. Access to the receipt is
+ * synchronized, because a response may be shared by duplicate requests.
+ */
+final class Base64ReceiptOkResponse extends OkResponse {
+
+  private Base64Receipt receipt;
+
+  Base64ReceiptOkResponse(Base64Receipt receipt) {
+    this.receipt = receipt;
+  }
+
+  /**
+   * @return the undecoded receipt, {@code null} once the content was decoded or replaced
+   */
+  synchronized Base64Receipt base64Receipt() {
+    return receipt;
+  }
+
+  @Override
+  public synchronized byte[] getContent() {
+    if (receipt != null) {
+      super.setContent(receipt.decode());
+      receipt = null;
+    }
+    return super.getContent();
+  }
+
+  @Override
+  public synchronized void setContent(byte[] content) {
+    receipt = null;
+    super.setContent(content);
+  }
+
+  @Override
+  public OkResponse content(byte[] content) {
+    setContent(content);
+    return this;
+  }
+
+  /** Compares the decoded content, the generated implementation only looks at the fields. */
+  @Override
+  public boolean equals(Object o) {
+    getContent();
+    if (o instanceof Base64ReceiptOkResponse other) {
+      other.getContent();
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    getContent();
+    return super.hashCode();
+  }
+}
@@ -27,7 +27,10 @@ package de.gematik.demis.notificationgateway.common.services;
  * #L%
  */
 
+import ca.uhn.fhir.context.FhirContext;
 import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.jfr.ResponseParseEvent;
+import java.io.ByteArrayInputStream;
 import java.util.Objects;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
@@ -42,18 +45,102 @@ import org.hl7.fhir.r4.model.Organization;
 import org.hl7.fhir.r4.model.Parameters;
 import org.hl7.fhir.r4.model.Reference;
 import org.hl7.fhir.r4.model.Resource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
 public class OkResponseService {
 
-  private static final String HAPI_FHIR_BASE_URL = "https://demis.rki.de/fhir";
+  static final String HAPI_FHIR_BASE_URL = "https://demis.rki.de/fhir";
+  private static final String TIMESTAMP_PATTERN = "dd.MM.yyyy HH:mm:ss";
 
   public OkResponse buildOkResponse(Parameters result) {
     return addOperationOutcomeInformation(new OkResponse(), result);
   }
 
+  /**
+   * Builds the response from the raw JSON response body of the NES/RPS operation. The relevant
+   * fields are streamed from the body, the full {@link Parameters} resource is only parsed if the
+   * body does not have the expected layout.
+   *
+   * @param responseBody UTF-8 encoded JSON {@link Parameters}
+   * @return same result as {@link #buildOkResponse(Parameters)} of the parsed body
+   */
+  public OkResponse readOkResponse(byte[] responseBody) {
+    final ResponseParseEvent event = new ResponseParseEvent();
+    event.begin();
+    final Optional<OkResponse> streamed = OkResponseStreamingExtractor.extract(responseBody);
+    final OkResponse response =
+        streamed.orElseGet(() -> buildOkResponse(parseParameters(responseBody)));
+    event.complete(responseBody.length, streamed.isPresent());
+    return response;
+  }
+
+  /**
+   * Builds the response for a notification that waits in the outbox until the upstream is
+   * available again.
+   *
+   * @param outboxId id of the notification in the outbox
+   * @return response without notification id and receipt
+   */
+  public OkResponse pendingOkResponse(String outboxId) {
+    final OkResponse response = new PendingOkResponse();
+    response.setStatus(PendingOkResponse.STATUS);
+    response.setTitle(
+        "Notification accepted, it is forwarded as soon as the notification service is"
+            + " available again (outbox id "
+            + outboxId
+            + ")");
+    response.setTimestamp(DateFormatUtils.format(System.currentTimeMillis(), TIMESTAMP_PATTERN));
+    return response;
+  }
+
+  /**
+   * Builds the response for a notification that was accepted as asynchronous job.
+   *
+   * @param jobId id of the job, the result is polled with it
+   * @return response without notification id and receipt
+   */
+  public OkResponse acceptedJobOkResponse(String jobId) {
+    final OkResponse response = new PendingOkResponse();
+    response.setStatus(PendingOkResponse.STATUS);
+    response.setTitle("Notification accepted, the result is available as job " + jobId);
+    response.setTimestamp(DateFormatUtils.format(System.currentTimeMillis(), TIMESTAMP_PATTERN));
+    return response;
+  }
+
+  /**
+   * @return 202 Accepted for a notification waiting in the outbox or processed as job, 200 OK
+   *     otherwise
+   */
+  public static ResponseEntity<OkResponse> toResponseEntity(OkResponse response) {
+    return response instanceof PendingOkResponse
+        ? ResponseEntity.accepted().body(response)
+        : ResponseEntity.ok(response);
+  }
+
+  /**
+   * @return approximate size of the receipt a response keeps in memory, without decoding a base64
+   *     receipt
+   */
+  public static int retainedBytes(OkResponse response) {
+    if (response instanceof Base64ReceiptOkResponse base64Response) {
+      final Base64Receipt receipt = base64Response.base64Receipt();
+      if (receipt != null) {
+        return receipt.retainedBytes();
+      }
+    }
+    final byte[] content = response.getContent();
+    return content == null ? 0 : content.length;
+  }
+
+  private Parameters parseParameters(byte[] responseBody) {
+    return FhirContext.forR4Cached()
+        .newJsonParser()
+        .parseResource(Parameters.class, new ByteArrayInputStream(responseBody));
+  }
+
   public OkResponse addOperationOutcomeInformation(OkResponse response, Parameters result) {
     var operationOutcomeResource = findResource(result, "operationOutcome");
     var bundleResource = findResource(result, "bundle");
@@ -145,7 +232,7 @@ public class OkResponseService {
   }
 
   private String readTimeStamp(Composition composition) {
-    return DateFormatUtils.format(composition.getDate(), "dd.MM.yyyy HH:mm:ss");
+    return DateFormatUtils.format(composition.getDate(), TIMESTAMP_PATTERN);
   }
 
   private String readStatus(Optional<Resource> resource) {
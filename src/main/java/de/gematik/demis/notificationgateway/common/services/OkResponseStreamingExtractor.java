@@ -0,0 +1,501 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import ca.uhn.fhir.parser.DataFormatException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import java.io.IOException;
+import java.util.Date;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.hl7.fhir.r4.model.DateTimeType;
+
+/**
+ * Pulls the fields of an {@link OkResponse} out of the JSON encoded NES/RPS response {@link
+ * org.hl7.fhir.r4.model.Parameters} with the Jackson streaming API. Only the values read by {@link
+ * OkResponseService} are materialized, everything else is skipped token by token. A canonical
+ * base64 PDF receipt is not decoded but kept as {@link Base64Receipt} slice of the response body,
+ * see {@link Base64ReceiptOkResponse}.
+ *
+ * <p>The extraction mirrors {@link OkResponseService#buildOkResponse}. Whenever the response does
+ * not have the expected layout, e.g. a resource without leading {@code resourceType} or a bundle
+ * not starting with the composition, the result is empty and callers fall back to full parsing.
+ */
+@Slf4j
+final class OkResponseStreamingExtractor {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final String PDF_SECTION_TITLE = "PDF Quittung";
+  private static final String EMAIL_SYSTEM = "email";
+
+  private final byte[] body;
+  private final JsonParser parser;
+
+  private boolean operationOutcomeFound;
+  private String status;
+
+  private boolean bundleFound;
+  private boolean compositionFound;
+  private Date date;
+  private String title;
+  private String notificationId;
+  private String authorUrl;
+  private String binaryUrl;
+
+  private boolean authorFound;
+  private String authorName;
+  private String authorEmail;
+
+  private boolean receiptFound;
+  private String contentType;
+  private byte[] content;
+  private Base64Receipt base64Content;
+
+  private OkResponseStreamingExtractor(byte[] body, JsonParser parser) {
+    this.body = body;
+    this.parser = parser;
+  }
+
+  /**
+   * Extracts the response fields.
+   *
+   * @param responseBody UTF-8 encoded JSON response
+   * @return the response, empty if the body has to be parsed completely
+   */
+  static Optional<OkResponse> extract(byte[] responseBody) {
+    try (JsonParser parser = JSON_FACTORY.createParser(responseBody)) {
+      final OkResponseStreamingExtractor extractor = new OkResponseStreamingExtractor(responseBody, parser);
+      parser.nextToken();
+      extractor.readParameters();
+      return Optional.of(extractor.toOkResponse());
+    } catch (IOException | DataFormatException | UnexpectedStructureException e) {
+      log.debug("Response can not be streamed, falling back to full parsing: {}", e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  private OkResponse toOkResponse() {
+    final OkResponse response =
+        receiptFound && base64Content != null
+            ? new Base64ReceiptOkResponse(base64Content)
+            : new OkResponse();
+    if (operationOutcomeFound) {
+      response.setStatus(status);
+    }
+    if (bundleFound) {
+      response.setTimestamp(DateFormatUtils.format(date, "dd.MM.yyyy HH:mm:ss"));
+      response.setNotificationId(readId());
+      response.setTitle(title);
+      if (authorFound) {
+        response.setAuthorName(authorName);
+        response.setAuthorEmail(authorEmail);
+      }
+      if (receiptFound) {
+        response.setContentType(contentType);
+        if (base64Content == null) {
+          response.setContent(content);
+        }
+      }
+    }
+    return response;
+  }
+
+  private String readId() {
+    if (notificationId != null) {
+      return notificationId;
+    }
+    log.error("no notification id was found");
+    return "";
+  }
+
+  private void readParameters() throws IOException {
+    requireResourceType("Parameters");
+    while (nextField()) {
+      if ("parameter".equals(parser.currentName())) {
+        requireCurrent(JsonToken.START_ARRAY);
+        while (nextElement()) {
+          readParameter();
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readParameter() throws IOException {
+    requireCurrent(JsonToken.START_OBJECT);
+    String name = null;
+    while (nextField()) {
+      switch (parser.currentName()) {
+        case "name" -> name = readString();
+        case "resource" -> readParameterResource(name);
+        default -> parser.skipChildren();
+      }
+    }
+  }
+
+  private void readParameterResource(String name) throws IOException {
+    if (name == null) {
+      throw new UnexpectedStructureException("parameter resource precedes its name");
+    }
+    if ("operationOutcome".equals(name) && !operationOutcomeFound) {
+      operationOutcomeFound = true;
+      readOperationOutcome();
+    } else if ("bundle".equals(name) && !bundleFound) {
+      bundleFound = true;
+      readBundle();
+    } else {
+      parser.skipChildren();
+    }
+  }
+
+  private void readOperationOutcome() throws IOException {
+    requireResourceType("OperationOutcome");
+    status = "";
+    while (nextField()) {
+      if ("issue".equals(parser.currentName())) {
+        status = readFirstElement(() -> readString("details", "text"), "");
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readBundle() throws IOException {
+    requireResourceType("Bundle");
+    while (nextField()) {
+      if ("entry".equals(parser.currentName())) {
+        requireCurrent(JsonToken.START_ARRAY);
+        boolean first = true;
+        while (nextElement()) {
+          readEntry(first);
+          first = false;
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    if (!compositionFound) {
+      throw new UnexpectedStructureException("bundle without composition");
+    }
+  }
+
+  private void readEntry(boolean first) throws IOException {
+    requireCurrent(JsonToken.START_OBJECT);
+    String fullUrl = null;
+    EntryResource resource = null;
+    while (nextField()) {
+      switch (parser.currentName()) {
+        case "fullUrl" -> fullUrl = readString();
+        case "resource" -> resource = first ? readComposition() : readEntryResource(fullUrl);
+        default -> parser.skipChildren();
+      }
+    }
+    if (first) {
+      if (resource == null) {
+        throw new UnexpectedStructureException("first bundle entry without composition");
+      }
+      if (authorUrl.equals(fullUrl) || binaryUrl.equals(fullUrl)) {
+        throw new UnexpectedStructureException("composition referenced as author or receipt");
+      }
+      return;
+    }
+    if (!authorFound && authorUrl.equals(fullUrl)) {
+      requireEntryType(resource, "Organization");
+      authorFound = true;
+      authorName = resource.name();
+      authorEmail = resource.email();
+    }
+    if (!receiptFound && binaryUrl.equals(fullUrl)) {
+      requireEntryType(resource, "Binary");
+      receiptFound = true;
+      contentType = resource.contentType();
+      content = resource.data();
+      base64Content = resource.base64Data();
+    }
+  }
+
+  private EntryResource readComposition() throws IOException {
+    requireResourceType("Composition");
+    compositionFound = true;
+    String authorReference = "";
+    String binaryReference = null;
+    while (nextField()) {
+      switch (parser.currentName()) {
+        case "date" -> date = new DateTimeType(readString()).getValue();
+        case "title" -> title = readString();
+        case "author" -> authorReference = readFirstElement(() -> readString("reference"), "");
+        case "relatesTo" ->
+            notificationId =
+                readFirstElement(() -> readString("targetReference", "identifier", "value"), null);
+        case "section" -> binaryReference = readBinaryReference(binaryReference);
+        default -> parser.skipChildren();
+      }
+    }
+    if (date == null) {
+      throw new UnexpectedStructureException("composition without date");
+    }
+    authorUrl = OkResponseService.HAPI_FHIR_BASE_URL + "/" + authorReference;
+    binaryUrl =
+        OkResponseService.HAPI_FHIR_BASE_URL
+            + "/"
+            + (binaryReference == null ? "" : binaryReference);
+    return EntryResource.other("Composition");
+  }
+
+  private String readBinaryReference(String binaryReference) throws IOException {
+    requireCurrent(JsonToken.START_ARRAY);
+    String result = binaryReference;
+    while (nextElement()) {
+      requireCurrent(JsonToken.START_OBJECT);
+      String sectionTitle = null;
+      String reference = "";
+      while (nextField()) {
+        switch (parser.currentName()) {
+          case "title" -> sectionTitle = readString();
+          case "entry" -> reference = readFirstElement(() -> readString("reference"), "");
+          default -> parser.skipChildren();
+        }
+      }
+      if (result == null && PDF_SECTION_TITLE.equals(sectionTitle)) {
+        result = reference;
+      }
+    }
+    return result;
+  }
+
+  private EntryResource readEntryResource(String fullUrl) throws IOException {
+    final String resourceType = readResourceType();
+    return switch (resourceType) {
+      case "Organization" -> readOrganization();
+      case "Binary" -> readBinary(fullUrl == null || fullUrl.equals(binaryUrl));
+      default -> {
+        while (nextField()) {
+          parser.skipChildren();
+        }
+        yield EntryResource.other(resourceType);
+      }
+    };
+  }
+
+  private EntryResource readOrganization() throws IOException {
+    String name = null;
+    String email = "";
+    while (nextField()) {
+      switch (parser.currentName()) {
+        case "name" -> name = readString();
+        case "contact" -> email = readContactEmail();
+        default -> parser.skipChildren();
+      }
+    }
+    return new EntryResource("Organization", name, email, null, null, null);
+  }
+
+  /** First contact whose first telecom is an email address, like {@link OkResponseService}. */
+  private String readContactEmail() throws IOException {
+    requireCurrent(JsonToken.START_ARRAY);
+    String email = null;
+    while (nextElement()) {
+      if (email != null) {
+        parser.skipChildren();
+        continue;
+      }
+      requireCurrent(JsonToken.START_OBJECT);
+      while (nextField()) {
+        if ("telecom".equals(parser.currentName())) {
+          final ContactPoint contactPoint = readFirstElement(this::readContactPoint, null);
+          if (contactPoint != null && EMAIL_SYSTEM.equals(contactPoint.system())) {
+            email = contactPoint.value();
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    return email == null ? "" : email;
+  }
+
+  private ContactPoint readContactPoint() throws IOException {
+    requireCurrent(JsonToken.START_OBJECT);
+    String system = null;
+    String value = null;
+    while (nextField()) {
+      switch (parser.currentName()) {
+        case "system" -> system = readString();
+        case "value" -> value = readString();
+        default -> parser.skipChildren();
+      }
+    }
+    if (system == null || (EMAIL_SYSTEM.equals(system) && value == null)) {
+      throw new UnexpectedStructureException("incomplete contact point");
+    }
+    return new ContactPoint(system, value);
+  }
+
+  private EntryResource readBinary(boolean decodeData) throws IOException {
+    String binaryContentType = null;
+    byte[] data = null;
+    Base64Receipt base64Data = null;
+    while (nextField()) {
+      if ("contentType".equals(parser.currentName())) {
+        binaryContentType = readString();
+      } else if ("data".equals(parser.currentName()) && decodeData) {
+        requireCurrent(JsonToken.VALUE_STRING);
+        base64Data =
+            Base64Receipt.ofJsonString(body, parser.currentTokenLocation().getByteOffset());
+        if (base64Data == null) {
+          data = parser.getBinaryValue();
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return new EntryResource("Binary", null, null, binaryContentType, data, base64Data);
+  }
+
+  private <T> T readFirstElement(ValueReader<T> reader, T whenEmpty) throws IOException {
+    requireCurrent(JsonToken.START_ARRAY);
+    T result = whenEmpty;
+    boolean first = true;
+    while (nextElement()) {
+      if (first) {
+        result = reader.read();
+        first = false;
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return result;
+  }
+
+  /** Reads the string at the given path of nested objects, {@code null} if absent. */
+  private String readString(String... path) throws IOException {
+    return readString(path, 0);
+  }
+
+  private String readString(String[] path, int depth) throws IOException {
+    if (depth == path.length) {
+      requireCurrent(JsonToken.VALUE_STRING);
+      return parser.getText();
+    }
+    requireCurrent(JsonToken.START_OBJECT);
+    String result = null;
+    while (nextField()) {
+      if (path[depth].equals(parser.currentName())) {
+        result = readString(path, depth + 1);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return result;
+  }
+
+  private String readResourceType() throws IOException {
+    requireCurrent(JsonToken.START_OBJECT);
+    if (parser.nextToken() != JsonToken.FIELD_NAME
+        || !"resourceType".equals(parser.currentName())) {
+      throw new UnexpectedStructureException("resourceType is not the first property");
+    }
+    parser.nextToken();
+    return readString();
+  }
+
+  private void requireResourceType(String expected) throws IOException {
+    final String resourceType = readResourceType();
+    if (!expected.equals(resourceType)) {
+      throw new UnexpectedStructureException(
+          "expected " + expected + " but found " + resourceType);
+    }
+  }
+
+  private static void requireEntryType(EntryResource resource, String expected) {
+    if (resource == null || !expected.equals(resource.resourceType())) {
+      throw new UnexpectedStructureException("referenced entry is no " + expected);
+    }
+  }
+
+  private void requireCurrent(JsonToken expected) {
+    if (parser.currentToken() != expected) {
+      throw new UnexpectedStructureException(
+          "expected " + expected + " but found " + parser.currentToken());
+    }
+  }
+
+  /** Advances to the value of the next property, {@code false} at the end of the object. */
+  private boolean nextField() throws IOException {
+    final JsonToken token = parser.nextToken();
+    if (token == JsonToken.END_OBJECT) {
+      return false;
+    }
+    if (token != JsonToken.FIELD_NAME) {
+      throw new UnexpectedStructureException("expected property but found " + token);
+    }
+    parser.nextToken();
+    return true;
+  }
+
+  /** Advances to the next array element, {@code false} at the end of the array. */
+  private boolean nextElement() throws IOException {
+    final JsonToken token = parser.nextToken();
+    if (token == null) {
+      throw new UnexpectedStructureException("unexpected end of input");
+    }
+    return token != JsonToken.END_ARRAY;
+  }
+
+  @FunctionalInterface
+  private interface ValueReader<T> {
+    T read() throws IOException;
+  }
+
+  private record ContactPoint(String system, String value) {}
+
+  private record EntryResource(
+      String resourceType,
+      String name,
+      String email,
+      String contentType,
+      byte[] data,
+      Base64Receipt base64Data) {
+
+    static EntryResource other(String resourceType) {
+      return new EntryResource(resourceType, null, null, null, null, null);
+    }
+  }
+
+  private static final class UnexpectedStructureException extends RuntimeException {
+
+    UnexpectedStructureException(String message) {
+      super(message, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+/**
+ * Answers requests accepting {@code application/pdf} with the receipt of the {@link OkResponse}
+ * as body. A {@link Base64ReceiptOkResponse} receipt is decoded while it is written.
+ */
+class PdfReceiptHttpMessageConverter extends AbstractHttpMessageConverter<OkResponse> {
+
+  PdfReceiptHttpMessageConverter() {
+    super(MediaType.APPLICATION_PDF);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return OkResponse.class.isAssignableFrom(clazz)
+        && !PendingOkResponse.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected OkResponse readInternal(
+      Class<? extends OkResponse> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("Receipts can not be read", inputMessage);
+  }
+
+  @Override
+  protected void addDefaultHeaders(
+      HttpHeaders headers, OkResponse response, MediaType contentType) throws IOException {
+    super.addDefaultHeaders(headers, response, contentType);
+    final String name = StringUtils.defaultIfBlank(response.getNotificationId(), "receipt");
+    headers.setContentDisposition(ContentDisposition.inline().filename(name + ".pdf").build());
+  }
+
+  @Override
+  protected void writeInternal(OkResponse response, HttpOutputMessage outputMessage)
+      throws IOException {
+    final Base64Receipt base64Receipt =
+        response instanceof Base64ReceiptOkResponse base64Response
+            ? base64Response.base64Receipt()
+            : null;
+    if (base64Receipt != null) {
+      try (InputStream receipt = base64Receipt.openDecodingStream()) {
+        receipt.transferTo(outputMessage.getBody());
+      }
+      return;
+    }
+    final byte[] content = response.getContent();
+    if (content == null) {
+      throw new HttpMessageNotWritableException("The response contains no receipt");
+    }
+    outputMessage.getBody().write(content);
+  }
+}
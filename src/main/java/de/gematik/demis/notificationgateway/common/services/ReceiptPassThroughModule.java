@@ -0,0 +1,86 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import java.util.List;
+
+/**
+ * Writes the receipt of a {@link Base64ReceiptOkResponse} as the base64 text received from
+ * upstream into the {@code content} property, without decoding and encoding it again.
+ */
+class ReceiptPassThroughModule extends SimpleModule {
+
+  private static final String CONTENT_PROPERTY = "content";
+
+  ReceiptPassThroughModule() {
+    super(ReceiptPassThroughModule.class.getSimpleName());
+    setSerializerModifier(
+        new BeanSerializerModifier() {
+          @Override
+          public List<BeanPropertyWriter> changeProperties(
+              SerializationConfig config,
+              BeanDescription beanDesc,
+              List<BeanPropertyWriter> beanProperties) {
+            if (Base64ReceiptOkResponse.class.equals(beanDesc.getBeanClass())) {
+              beanProperties.replaceAll(
+                  writer ->
+                      CONTENT_PROPERTY.equals(writer.getName())
+                          ? new Base64ReceiptWriter(writer)
+                          : writer);
+            }
+            return beanProperties;
+          }
+        });
+  }
+
+  private static final class Base64ReceiptWriter extends BeanPropertyWriter {
+
+    private Base64ReceiptWriter(BeanPropertyWriter base) {
+      super(base);
+    }
+
+    @Override
+    public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov)
+        throws Exception {
+      final Base64Receipt receipt = ((Base64ReceiptOkResponse) bean).base64Receipt();
+      if (receipt == null) {
+        super.serializeAsField(bean, gen, prov);
+        return;
+      }
+      gen.writeFieldName(_name);
+      receipt.writeJsonString(gen);
+    }
+  }
+}
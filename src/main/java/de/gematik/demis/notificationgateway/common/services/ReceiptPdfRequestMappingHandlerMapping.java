@@ -0,0 +1,81 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Adds {@code application/pdf} to the media types produced by handlers that answer with an {@link
+ * OkResponse} and are restricted to {@code application/json}. Handlers without a {@code produces}
+ * restriction need no change, the {@link PdfReceiptHttpMessageConverter} takes part in their
+ * content negotiation as soon as it is registered.
+ */
+class ReceiptPdfRequestMappingHandlerMapping extends RequestMappingHandlerMapping {
+
+  @Override
+  protected RequestMappingInfo getMappingForMethod(Method method, Class<?> handlerType) {
+    final RequestMappingInfo info = super.getMappingForMethod(method, handlerType);
+    if (info == null || !answersWithOkResponse(method)) {
+      return info;
+    }
+    final Set<MediaType> produces = info.getProducesCondition().getProducibleMediaTypes();
+    if (!produces.contains(MediaType.APPLICATION_JSON)
+        || produces.contains(MediaType.APPLICATION_PDF)) {
+      return info;
+    }
+    final String[] widened =
+        produces.stream().map(MediaType::toString).toArray(size -> new String[size + 1]);
+    widened[widened.length - 1] = MediaType.APPLICATION_PDF_VALUE;
+    return info.mutate().produces(widened).build();
+  }
+
+  static boolean answersWithOkResponse(Method method) {
+    ResolvableType type = ResolvableType.forMethodReturnType(method);
+    while (isWrapper(type.resolve())) {
+      type = type.getGeneric(0);
+    }
+    final Class<?> body = type.resolve();
+    return body != null && OkResponse.class.isAssignableFrom(body);
+  }
+
+  private static boolean isWrapper(Class<?> type) {
+    return type != null
+        && (CompletionStage.class.isAssignableFrom(type)
+            || Future.class.isAssignableFrom(type)
+            || HttpEntity.class.isAssignableFrom(type));
+  }
+}
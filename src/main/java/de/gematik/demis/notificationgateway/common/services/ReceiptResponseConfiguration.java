@@ -0,0 +1,74 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.FeatureFlags;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+@Configuration
+@RequiredArgsConstructor
+class ReceiptResponseConfiguration implements WebMvcConfigurer {
+
+  private final FeatureFlags featureFlags;
+
+  @Bean
+  Jackson2ObjectMapperBuilderCustomizer receiptPassThroughCustomizer() {
+    return builder -> {
+      if (featureFlags.isReceiptPassThrough()) {
+        builder.postConfigurer(mapper -> mapper.registerModule(new ReceiptPassThroughModule()));
+      }
+    };
+  }
+
+  @Bean
+  WebMvcRegistrations receiptPdfMappingRegistrations() {
+    return new WebMvcRegistrations() {
+      @Override
+      public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+        return featureFlags.isReceiptPdfResponse()
+            ? new ReceiptPdfRequestMappingHandlerMapping()
+            : null;
+      }
+    };
+  }
+
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    if (featureFlags.isReceiptPdfResponse()) {
+      converters.add(new PdfReceiptHttpMessageConverter());
+    }
+  }
+}
@@ -0,0 +1,217 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.exceptions.IdempotencyKeyReusedException;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+
+/**
+ * Absorbs duplicate submissions of the portal, e.g. double clicks and client retries. Identical
+ * submissions of the same user share a single upstream call: concurrent duplicates wait for the
+ * call in flight, later ones get the cached {@link OkResponse} including its receipt until the
+ * window ({@code idempotency.window.seconds}) has passed.
+ *
+ * <p>Submissions are identified by the {@value #IDEMPOTENCY_KEY_HEADER} header, without header by
+ * a hash of the canonical JSON of the request. The key always includes operation and token, so
+ * users never get the response of somebody else. The body hash is kept with every entry: an
+ * idempotency key sent again with a different body is refused with {@link
+ * IdempotencyKeyReusedException} instead of being answered with the response of the first body.
+ * Failed submissions are not cached. The cache is bounded by the approximate size of the cached
+ * responses ({@code idempotency.cache.max.bytes}).
+ */
+@Slf4j
+@Service
+public class SubmissionIdempotencyService {
+
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+  private static final int RESPONSE_BASE_WEIGHT = 1024;
+
+  private final boolean enabled;
+  private final ObjectMapper canonicalMapper;
+  private final AsyncCache<String, OkResponse> responses;
+  private final MeterRegistry meterRegistry;
+
+  public SubmissionIdempotencyService(
+      ApplicationProperties applicationProperties,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
+    this.enabled = applicationProperties.isIdempotencyEnabled();
+    this.meterRegistry = meterRegistry;
+    final ObjectMapper canonical = objectMapper.copy();
+    canonical.setConfig(
+        canonical
+            .getSerializationConfig()
+            .with(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS));
+    this.canonicalMapper = canonical;
+    final Duration window = Duration.ofSeconds(applicationProperties.getIdempotencyWindowSeconds());
+    this.responses =
+        Caffeine.newBuilder()
+            .expireAfterWrite(window)
+            .maximumWeight(applicationProperties.getIdempotencyCacheMaxBytes())
+            .weigher((String key, OkResponse response) -> weigh(response))
+            .buildAsync();
+  }
+
+  /**
+   * Runs the submission unless an identical one is in flight or was answered within the window.
+   *
+   * @param operation name of the endpoint, part of the key
+   * @param token JWT of the user
+   * @param headers request headers, may contain {@value #IDEMPOTENCY_KEY_HEADER}
+   * @param request request body, hashed and compared with the body of an earlier submission
+   * @param submission sends the request upstream
+   * @return future response, shared with identical submissions
+   * @throws E thrown by the submission
+   * @throws IdempotencyKeyReusedException if the idempotency key was used for a different body
+   */
+  public <E extends Exception> CompletableFuture<OkResponse> submit(
+      String operation, Token token, HttpHeaders headers, Object request, Submission<E> submission)
+      throws E {
+    if (!enabled) {
+      return submission.submit();
+    }
+    final String bodyHash = bodyHash(request);
+    final String key = key(operation, token, headers.getFirst(IDEMPOTENCY_KEY_HEADER), bodyHash);
+    final Submitted pending = new Submitted(bodyHash);
+    final CompletableFuture<OkResponse> existing = responses.asMap().putIfAbsent(key, pending);
+    if (existing instanceof Submitted submitted && !submitted.bodyHash.equals(bodyHash)) {
+      throw new IdempotencyKeyReusedException(
+          "Idempotency-Key was already used for a different " + operation + " submission");
+    }
+    if (existing != null) {
+      log.info("Duplicate {} submission, answering with the response of the first one", operation);
+      Counter.builder("ng.idempotency.duplicates")
+          .description("Duplicate submissions answered without upstream call")
+          .tag("operation", operation)
+          .register(meterRegistry)
+          .increment();
+      return existing;
+    }
+    final CompletableFuture<OkResponse> result;
+    try {
+      result = submission.submit();
+    } catch (Exception e) {
+      responses.asMap().remove(key, pending);
+      pending.completeExceptionally(e);
+      throw e;
+    }
+    result.whenComplete(
+        (response, failure) -> {
+          if (failure != null) {
+            pending.completeExceptionally(failure);
+          } else {
+            pending.complete(response);
+          }
+        });
+    return pending;
+  }
+
+  private static String key(
+      String operation, Token token, String idempotencyKey, String bodyHash) {
+    final MessageDigest digest = sha256();
+    update(digest, operation);
+    update(digest, token.asText());
+    if (StringUtils.isNotBlank(idempotencyKey)) {
+      update(digest, "key");
+      update(digest, idempotencyKey);
+    } else {
+      update(digest, "body");
+      update(digest, bodyHash);
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private String bodyHash(Object request) {
+    final MessageDigest digest = sha256();
+    try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+      canonicalMapper.writeValue(out, request);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to hash the request", e);
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static int weigh(OkResponse response) {
+    return RESPONSE_BASE_WEIGHT + OkResponseService.retainedBytes(response);
+  }
+
+  /** Response of a submission together with the hash of its body. */
+  private static final class Submitted extends CompletableFuture<OkResponse> {
+
+    private final String bodyHash;
+
+    private Submitted(String bodyHash) {
+      this.bodyHash = bodyHash;
+    }
+  }
+
+  /** Sends a submission upstream. */
+  @FunctionalInterface
+  public interface Submission<E extends Exception> {
+
+    CompletableFuture<OkResponse> submit() throws E;
+  }
+}
@@ -0,0 +1,265 @@
+package de.gematik.demis.notificationgateway.common.utils;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import ca.uhn.fhir.model.api.TemporalPrecisionEnum;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import lombok.experimental.UtilityClass;
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.hl7.fhir.r4.model.DateType;
+
+/**
+ * Parses the date and time texts of the portal into FHIR types. The formatters are immutable and
+ * shared, the fixed-length ISO forms are parsed without a formatter. Dates are created in the
+ * default time zone with the same calendar as the formerly used {@link java.text.SimpleDateFormat},
+ * so values and {@link TemporalPrecisionEnum precisions} stay the same.
+ */
+@UtilityClass
+public class TemporalParser {
+
+  private static final String UNSUPPORTED_DATE_FORMAT = "Unsupported date format: ";
+  private static final String INVALID_DATE_TIME_FORMAT = "Invalid date time format: ";
+  private static final String INVALID_TIME_FORMAT = "Invalid time format: ";
+
+  private static final DateTimeFormatter DAY_OF_YEAR_GERMAN = strict("dd.MM.uuuu");
+  private static final DateTimeFormatter MONTH_OF_YEAR_GERMAN = strict("MM.uuuu");
+  private static final DateTimeFormatter DATE_TIME_GERMAN = strict("dd.MM.uuuu HH:mm");
+
+  /** HH:mm, HH:mm:ss or HH:mm:ss.SSS with one to three fraction digits */
+  private static final DateTimeFormatter TIME =
+      new DateTimeFormatterBuilder()
+          .appendPattern("HH:mm")
+          .optionalStart()
+          .appendLiteral(':')
+          .appendValue(ChronoField.SECOND_OF_MINUTE, 2)
+          .optionalStart()
+          .appendFraction(ChronoField.NANO_OF_SECOND, 1, 3, true)
+          .optionalEnd()
+          .optionalEnd()
+          .toFormatter()
+          .withResolverStyle(ResolverStyle.STRICT);
+
+  private static DateTimeFormatter strict(String pattern) {
+    return DateTimeFormatter.ofPattern(pattern).withResolverStyle(ResolverStyle.STRICT);
+  }
+
+  /**
+   * Parse a date of year (<code>yyyy</code>), month of year (<code>MM.yyyy</code>, <code>yyyy-MM
+   * </code>) or day of year (<code>dd.MM.yyyy</code>, <code>yyyy-MM-dd</code>).
+   *
+   * @param text date text
+   * @return date with precision year, month or day
+   * @throws IllegalArgumentException if the text is not a supported date
+   */
+  public static DateType parseDate(String text) {
+    try {
+      return switch (text.length()) {
+        case 4 -> yearOf(text);
+        case 7 -> monthOf(text);
+        case 10 -> dayOf(text);
+        default -> throw new IllegalArgumentException(UNSUPPORTED_DATE_FORMAT + text);
+      };
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException(UNSUPPORTED_DATE_FORMAT + text, e);
+    }
+  }
+
+  /**
+   * Parse a German date time <code>dd.MM.yyyy HH:mm</code>
+   *
+   * @param text date time text
+   * @return date time with precision second
+   * @throws IllegalArgumentException if the text is not a German date time
+   */
+  public static DateTimeType parseGermanDateTime(String text) {
+    final LocalDateTime dateTime;
+    try {
+      dateTime = LocalDateTime.parse(text, DATE_TIME_GERMAN);
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException(INVALID_DATE_TIME_FORMAT + text, e);
+    }
+    final Date value =
+        new GregorianCalendar(
+                dateTime.getYear(),
+                dateTime.getMonthValue() - 1,
+                dateTime.getDayOfMonth(),
+                dateTime.getHour(),
+                dateTime.getMinute())
+            .getTime();
+    final DateTimeType dateTimeType = new DateTimeType();
+    dateTimeType.setValue(value, TemporalPrecisionEnum.SECOND);
+    return dateTimeType;
+  }
+
+  /**
+   * Parse an ISO 8601 date with optional time part as FHIR date time of the date part.
+   * A valid <code>yyyy-MM-dd</code> is parsed directly, everything else by HAPI.
+   *
+   * @param text ISO 8601 date
+   * @return date time with the precision of the text
+   */
+  public static DateTimeType parseIsoDateTime(String text) {
+    if (isIsoDay(text)) {
+      try {
+        final LocalDate date = isoDay(text);
+        if (date != null) {
+          final DateTimeType dateTime = new DateTimeType();
+          dateTime.setValue(toDate(date), TemporalPrecisionEnum.DAY);
+          return dateTime;
+        }
+      } catch (DateTimeException e) {
+        // invalid day, HAPI decides like before
+      }
+    }
+    return new DateTimeType(text);
+  }
+
+  /**
+   * Convert a date to a date time of the same value and precision
+   *
+   * @param date date
+   * @return date time
+   */
+  public static DateTimeType toDateTime(DateType date) {
+    final DateTimeType dateTime = new DateTimeType();
+    dateTime.setValue(date.getValue(), date.getPrecision());
+    return dateTime;
+  }
+
+  /**
+   * Validate a time <code>HH:mm</code>, <code>HH:mm:ss</code> or <code>HH:mm:ss.SSS</code>
+   *
+   * @param text time text
+   * @return the given text
+   * @throws IllegalArgumentException if the text is not a valid time
+   */
+  public static String checkTime(String text) {
+    try {
+      TIME.parse(text);
+      return text;
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException(INVALID_TIME_FORMAT + text, e);
+    }
+  }
+
+  private static DateType yearOf(String text) {
+    final int year = digits(text, 0, 4);
+    if (year < 0) {
+      throw new IllegalArgumentException(UNSUPPORTED_DATE_FORMAT + text);
+    }
+    final DateType date = new DateType();
+    date.setValue(toDate(LocalDate.of(year, 1, 1)), TemporalPrecisionEnum.YEAR);
+    return date;
+  }
+
+  private static DateType monthOf(String text) {
+    final YearMonth month;
+    if (isGerman(text)) {
+      month = YearMonth.parse(text, MONTH_OF_YEAR_GERMAN);
+    } else if (isIsoMonth(text) && digits(text, 0, 4) >= 0 && digits(text, 5, 7) >= 0) {
+      month = YearMonth.of(digits(text, 0, 4), digits(text, 5, 7));
+    } else {
+      throw new IllegalArgumentException(UNSUPPORTED_DATE_FORMAT + text);
+    }
+    final DateType date = new DateType();
+    date.setValue(toDate(month.atDay(1)), TemporalPrecisionEnum.MONTH);
+    return date;
+  }
+
+  private static DateType dayOf(String text) {
+    final LocalDate day;
+    if (isGerman(text)) {
+      day = LocalDate.parse(text, DAY_OF_YEAR_GERMAN);
+    } else if (isIsoDay(text)) {
+      day = isoDay(text);
+      if (day == null) {
+        throw new IllegalArgumentException(UNSUPPORTED_DATE_FORMAT + text);
+      }
+    } else {
+      throw new IllegalArgumentException(UNSUPPORTED_DATE_FORMAT + text);
+    }
+    final DateType date = new DateType();
+    date.setValue(toDate(day), TemporalPrecisionEnum.DAY);
+    return date;
+  }
+
+  private static boolean isGerman(String text) {
+    return text.indexOf('.') > -1;
+  }
+
+  private static boolean isIsoMonth(String text) {
+    return text.length() == 7 && text.charAt(4) == '-';
+  }
+
+  private static boolean isIsoDay(String text) {
+    return text.length() == 10 && text.charAt(4) == '-' && text.charAt(7) == '-';
+  }
+
+  /**
+   * @return the day of the ISO text <code>yyyy-MM-dd</code>, <code>null</code> if the parts are not
+   *     all digits
+   * @throws DateTimeException if the parts are no valid day
+   */
+  private static LocalDate isoDay(String text) {
+    final int year = digits(text, 0, 4);
+    final int month = digits(text, 5, 7);
+    final int day = digits(text, 8, 10);
+    if (year < 0 || month < 0 || day < 0) {
+      return null;
+    }
+    return LocalDate.of(year, month, day);
+  }
+
+  /** Value of the ASCII digits from begin (inclusive) to end (exclusive), -1 for other chars */
+  private static int digits(String text, int begin, int end) {
+    int value = 0;
+    for (int i = begin; i < end; i++) {
+      final char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  /** Midnight in the default time zone, with the calendar of {@link java.text.SimpleDateFormat} */
+  private static Date toDate(LocalDate date) {
+    return new GregorianCalendar(date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth())
+        .getTime();
+  }
+}
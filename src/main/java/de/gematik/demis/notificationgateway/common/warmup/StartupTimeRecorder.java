@@ -0,0 +1,85 @@
+package de.gematik.demis.notificationgateway.common.warmup;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Records the time from the start of the JVM to the first successfully answered request as timer
+ * {@code ng.startup.first.success}. Actuator requests like the probes are not counted. Together
+ * with {@code application.ready.time} this shows how long a new pod takes to help with the load,
+ * e.g. to compare images with and without the class data sharing archive.
+ *
+ * <p>Spring MVC does not complete a request that started asynchronous processing in its first
+ * dispatch, the notification endpoints answer with a future of the upstream response. Their
+ * status is only known after the async dispatch, which is the one completing the request here.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class StartupTimeRecorder implements AsyncHandlerInterceptor, WebMvcConfigurer {
+
+  private final AtomicBoolean recorded = new AtomicBoolean();
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(this).excludePathPatterns("/actuator/**");
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (recorded.get()
+        || ex != null
+        || response.getStatus() >= 300
+        || !recorded.compareAndSet(false, true)) {
+      return;
+    }
+    final Duration sinceStart =
+        Duration.ofMillis(
+            System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime());
+    Timer.builder("ng.startup.first.success")
+        .description("Time from JVM start to the first successfully answered request")
+        .register(meterRegistry)
+        .record(sinceStart);
+    log.info("First successful request {} ms after JVM start", sinceStart.toMillis());
+  }
+}
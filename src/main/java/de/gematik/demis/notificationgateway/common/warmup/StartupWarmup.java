@@ -0,0 +1,223 @@
+package de.gematik.demis.notificationgateway.common.warmup;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.notificationgateway.common.enums.NotificationType.NOMINAL;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.gematik.demis.notificationgateway.FeatureFlags;
+import de.gematik.demis.notificationgateway.common.dto.BedOccupancy;
+import de.gematik.demis.notificationgateway.common.dto.DiseaseNotification;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.properties.NESProperties;
+import de.gematik.demis.notificationgateway.common.properties.RPSProperties;
+import de.gematik.demis.notificationgateway.common.proxies.BundlePublisher;
+import de.gematik.demis.notificationgateway.common.services.OkResponseService;
+import de.gematik.demis.notificationgateway.common.utils.ConfiguredCodeSystems;
+import de.gematik.demis.notificationgateway.common.utils.FileUtils;
+import de.gematik.demis.notificationgateway.domain.bedoccupancy.fhir.ReportBundleCreationService;
+import de.gematik.demis.notificationgateway.domain.disease.fhir.DiseaseNotificationBundleCreationService;
+import de.gematik.demis.notificationgateway.domain.pathogen.creator.BundleCreator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.r4.model.Bundle;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms up the notification pipeline before the readiness probe turns green. Application runners
+ * complete before Spring Boot reports the application as accepting traffic, so the first real
+ * notifications after a rollout do not pay for FHIR model scanning, class loading and the first JIT
+ * compilations. The warm-up loads the configured code systems and sends synthetic pathogen,
+ * disease and bed occupancy bundles through creation, encoding, a loopback NES stand-in and
+ * response parsing. Its duration is published as timer {@code ng.warmup}. A failed warm-up is
+ * logged and does not stop the application.
+ *
+ * <p>With {@code warmup.exit=true} the application shuts down after the warm-up. The image build
+ * uses this as training run for the class data sharing archive, which then contains the classes
+ * of the whole pipeline and not only those loaded up to the context refresh.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+class StartupWarmup implements ApplicationRunner {
+
+  private static final String FIXTURES = "/warmup/";
+
+  private final ApplicationProperties applicationProperties;
+  private final FeatureFlags featureFlags;
+  private final ObjectMapper objectMapper;
+  private final DiseaseNotificationBundleCreationService diseaseBundleCreationService;
+  private final ReportBundleCreationService reportBundleCreationService;
+  private final BundlePublisher bundlePublisher;
+  private final OkResponseService okResponseService;
+  private final MeterRegistry meterRegistry;
+  private final ConfigurableApplicationContext applicationContext;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    final long start = System.nanoTime();
+    String outcome = "success";
+    try {
+      warmUp(applicationProperties.getWarmupIterations());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      outcome = "failure";
+      log.warn("Startup warm-up interrupted");
+    } catch (Exception e) {
+      outcome = "failure";
+      log.warn("Startup warm-up failed, the first notifications may be slow", e);
+    }
+    final Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    Timer.builder("ng.warmup")
+        .description("Duration of the startup warm-up")
+        .tag("outcome", outcome)
+        .register(meterRegistry)
+        .record(duration);
+    log.info("Startup warm-up finished with {} in {} ms", outcome, duration.toMillis());
+    if (applicationProperties.isWarmupExit()) {
+      log.info("Training run finished, shutting down");
+      System.exit(SpringApplication.exit(applicationContext));
+    }
+  }
+
+  private void warmUp(int iterations) throws Exception {
+    ConfiguredCodeSystems.getInstance();
+    final PathogenTest pathogenTest = read("pathogen.json", PathogenTest.class);
+    final DiseaseNotification diseaseNotification =
+        read("disease.json", DiseaseNotification.class);
+    final BedOccupancy bedOccupancy = read("bed-occupancy.json", BedOccupancy.class);
+    try (UpstreamStandIn standIn = UpstreamStandIn.start(readBytes("nes-response.json"))) {
+      try {
+        sendAll(pathogenTest, diseaseNotification, bedOccupancy, standIn.url(), iterations);
+      } finally {
+        bundlePublisher.releaseWarmUp(standIn.url());
+      }
+    }
+  }
+
+  private void sendAll(
+      PathogenTest pathogenTest,
+      DiseaseNotification diseaseNotification,
+      BedOccupancy bedOccupancy,
+      String url,
+      int iterations)
+      throws Exception {
+    for (int i = 0; i < iterations; i++) {
+      send(
+          BundleCreator.createBundle(
+              pathogenTest,
+              NOMINAL,
+              featureFlags.isFollowUpNotificationActive(),
+              featureFlags.isOthPrivatLabSubmitterAssignmentDisabled()),
+          url,
+          NESProperties.OPERATION_NAME);
+      send(
+          diseaseBundleCreationService.createBundle(diseaseNotification, NOMINAL),
+          url,
+          NESProperties.OPERATION_NAME);
+      send(
+          reportBundleCreationService.createReportBundle(bedOccupancy),
+          url,
+          RPSProperties.OPERATION_NAME);
+    }
+  }
+
+  private void send(Bundle bundle, String url, String operationName) throws Exception {
+    final OkResponse response =
+        bundlePublisher
+            .warmUp(bundle, url, operationName, okResponseService::readOkResponse)
+            .get(applicationProperties.getWarmupTimeoutSeconds(), TimeUnit.SECONDS);
+    objectMapper.writeValueAsBytes(response);
+  }
+
+  private <T> T read(String fixture, Class<T> type) throws IOException {
+    return objectMapper.readValue(readBytes(fixture), type);
+  }
+
+  private static byte[] readBytes(String fixture) throws IOException {
+    try (InputStream in = FileUtils.loadFileFromClasspath(FIXTURES + fixture)) {
+      if (in == null) {
+        throw new IOException("Warm-up fixture not found: " + fixture);
+      }
+      return in.readAllBytes();
+    }
+  }
+
+  /** Loopback HTTP server answering every request with the same upstream response. */
+  private record UpstreamStandIn(HttpServer server) implements AutoCloseable {
+
+    static UpstreamStandIn start(byte[] response) throws IOException {
+      final HttpServer server =
+          HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+      server.createContext("/", exchange -> respond(exchange, response));
+      server.start();
+      return new UpstreamStandIn(server);
+    }
+
+    private static void respond(HttpExchange exchange, byte[] response) throws IOException {
+      try (exchange) {
+        exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+        exchange.getResponseHeaders().set("Content-Type", "application/fhir+json");
+        exchange.sendResponseHeaders(200, response.length);
+        exchange.getResponseBody().write(response);
+      }
+    }
+
+    String url() {
+      return "http://"
+          + server.getAddress().getHostString()
+          + ":"
+          + server.getAddress().getPort()
+          + "/fhir";
+    }
+
+    @Override
+    public void close() {
+      server.stop(0);
+    }
+  }
+}
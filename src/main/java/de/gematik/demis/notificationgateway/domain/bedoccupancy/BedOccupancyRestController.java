@@ -29,10 +29,19 @@ package de.gematik.demis.notificationgateway.domain.bedoccupancy;
 
 import de.gematik.demis.notificationgateway.common.dto.BedOccupancy;
 import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.exceptions.BadRequestException;
+import de.gematik.demis.notificationgateway.common.jobs.NotificationJobService;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineEndpoint;
+import de.gematik.demis.notificationgateway.common.services.SubmissionIdempotencyService;
 import de.gematik.demis.notificationgateway.common.utils.Token;
+import de.gematik.demis.notificationgateway.domain.bedoccupancy.service.BedOccupancyBulkResult;
+import de.gematik.demis.notificationgateway.domain.bedoccupancy.service.BedOccupancyBulkService;
 import de.gematik.demis.notificationgateway.domain.bedoccupancy.service.BedOccupancyService;
 import jakarta.security.auth.message.AuthException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -53,18 +62,67 @@ import org.springframework.web.bind.annotation.RestController;
 public class BedOccupancyRestController {
 
   private final BedOccupancyService bedOccupancyService;
+  private final SubmissionIdempotencyService idempotencyService;
+  private final BedOccupancyBulkService bulkService;
+  private final NotificationJobService jobService;
 
   @PostMapping(
       path = "bedOccupancy",
       produces = MediaType.APPLICATION_JSON_VALUE,
       consumes = "application/json")
-  public ResponseEntity<OkResponse> addBedOccupancyReport(
+  @PipelineEndpoint(value = "bedOccupancy", upstream = "RPS")
+  public CompletableFuture<ResponseEntity<OkResponse>> addBedOccupancyReport(
       @RequestBody final @Valid BedOccupancy content, @RequestHeader HttpHeaders headers)
       throws AuthException {
     log.debug("Received bed occupancy report.");
-    final OkResponse okResponse =
-        bedOccupancyService.handleBedOccupancy(content, Token.of(headers));
-    log.debug("Sending response to portal with status code: 200");
-    return ResponseEntity.ok(okResponse);
+    final Token token = Token.of(headers);
+    if (jobService.isRequested()) {
+      return jobService.submit(
+          "bedOccupancy",
+          token,
+          inboundRequest ->
+              idempotencyService.submit(
+                  "bedOccupancy",
+                  token,
+                  headers,
+                  content,
+                  () -> bedOccupancyService.handleBedOccupancy(content, token, inboundRequest)));
+    }
+    return idempotencyService
+        .submit(
+            "bedOccupancy",
+            token,
+            headers,
+            content,
+            () -> bedOccupancyService.handleBedOccupancy(content, token))
+        .thenApply(
+            okResponse -> {
+              log.debug("Sending response to portal with status code: 200");
+              return ResponseEntity.ok(okResponse);
+            });
+  }
+
+  @PostMapping(
+      path = "bedOccupancy/bulk",
+      produces = MediaType.APPLICATION_JSON_VALUE,
+      consumes = MediaType.APPLICATION_JSON_VALUE)
+  @PipelineEndpoint(value = "bedOccupancy/bulk", upstream = "RPS")
+  public CompletableFuture<ResponseEntity<BedOccupancyBulkResult>> addBedOccupancyReports(
+      @RequestBody final @Valid List<BedOccupancy> content,
+      @RequestHeader HttpHeaders headers,
+      HttpServletRequest request)
+      throws AuthException, BadRequestException {
+    log.debug("Received bulk bed occupancy report with {} locations.", content.size());
+    final Token token = Token.of(headers);
+    return bulkService
+        .handleBedOccupancies(content, token, request)
+        .thenApply(
+            result -> {
+              log.debug(
+                  "Sending response to portal, {} of {} reports failed",
+                  result.failed(),
+                  result.total());
+              return ResponseEntity.ok(result);
+            });
   }
 }
@@ -39,13 +39,18 @@ import de.gematik.demis.notificationgateway.common.creator.ContactPointCreator;
 import de.gematik.demis.notificationgateway.common.dto.BedOccupancy;
 import de.gematik.demis.notificationgateway.common.dto.BedOccupancyNotifierFacility;
 import de.gematik.demis.notificationgateway.common.dto.BedOccupancyQuestion;
+import de.gematik.demis.notificationgateway.common.dto.ContactPointInfo;
 import de.gematik.demis.notificationgateway.common.dto.FacilityAddressInfo;
 import de.gematik.demis.notificationgateway.common.dto.FacilityInfo;
 import de.gematik.demis.notificationgateway.common.dto.OccupiedBeds;
 import de.gematik.demis.notificationgateway.common.dto.OperableBeds;
 import de.gematik.demis.notificationgateway.common.dto.PractitionerInfo;
+import de.gematik.demis.notificationgateway.common.jfr.BundleBuildEvent;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Composition;
 import org.hl7.fhir.r4.model.ContactPoint;
@@ -58,6 +63,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class ReportBundleCreationService {
 
+  private static final String REPORT_CATEGORY = "bedOccupancy";
+
   private static QuestionnaireResponse createQuestionnaireResponse(BedOccupancy bedOccupancy) {
     final BedOccupancyQuestion bedOccupancyQuestion = bedOccupancy.getBedOccupancyQuestion();
     final OccupiedBeds occupiedBeds = bedOccupancyQuestion.getOccupiedBeds();
@@ -132,7 +139,16 @@ public class ReportBundleCreationService {
   }
 
   public Bundle createReportBundle(BedOccupancy bedOccupancy) {
-    final PractitionerRole notifierRole = createNotifierRole(bedOccupancy.getNotifierFacility());
+    return createReportBundle(bedOccupancy, createNotifierRole(bedOccupancy.getNotifierFacility()));
+  }
+
+  /**
+   * Creates the report with a notifier role built before, e.g. one of {@link #notifierRoles()}.
+   * The notifier role and its organization are only referenced, not modified.
+   */
+  public Bundle createReportBundle(BedOccupancy bedOccupancy, PractitionerRole notifierRole) {
+    final BundleBuildEvent event = new BundleBuildEvent();
+    event.begin();
     final QuestionnaireResponse questionnaireResponse = createQuestionnaireResponse(bedOccupancy);
     final Composition reportBedOccupancy =
         createComposition(
@@ -141,10 +157,40 @@ public class ReportBundleCreationService {
             questionnaireResponse);
     ReportBundleDataBuilder bundle = new ReportBundleDataBuilder();
     bundle.setDefaults().setLastUpdated(new Date());
-    return bundle
-        .setReportBedOccupancy(reportBedOccupancy)
-        .setNotifierRole(notifierRole)
-        .setStatisticInformationBedOccupancy(questionnaireResponse)
-        .build();
+    final Bundle report =
+        bundle
+            .setReportBedOccupancy(reportBedOccupancy)
+            .setNotifierRole(notifierRole)
+            .setStatisticInformationBedOccupancy(questionnaireResponse)
+            .build();
+    event.complete(report, null, REPORT_CATEGORY);
+    return report;
+  }
+
+  /**
+   * Returns the notifier roles of one bulk report. The role is built once per distinct notifier
+   * facility, facilities that only differ in the location are identical. Not thread-safe.
+   */
+  public Function<BedOccupancyNotifierFacility, PractitionerRole> notifierRoles() {
+    final Map<NotifierKey, PractitionerRole> roles = new HashMap<>();
+    return notifierFacility ->
+        roles.computeIfAbsent(
+            NotifierKey.of(notifierFacility), key -> createNotifierRole(notifierFacility));
+  }
+
+  /** The fields of the notifier facility which the notifier role is built from. */
+  private record NotifierKey(
+      FacilityAddressInfo address,
+      FacilityInfo facilityInfo,
+      PractitionerInfo contact,
+      List<ContactPointInfo> contacts) {
+
+    private static NotifierKey of(BedOccupancyNotifierFacility notifierFacility) {
+      return new NotifierKey(
+          notifierFacility.getAddress(),
+          notifierFacility.getFacilityInfo(),
+          notifierFacility.getContact(),
+          notifierFacility.getContacts());
+    }
   }
 }
@@ -0,0 +1,61 @@
+package de.gematik.demis.notificationgateway.domain.bedoccupancy.service;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.dto.ErrorResponse;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import java.util.List;
+
+/**
+ * Aggregated result of a bulk bed occupancy report.
+ *
+ * @param total number of reports
+ * @param succeeded number of reports accepted by RPS
+ * @param failed number of rejected or failed reports
+ * @param reports result per report in request order
+ */
+public record BedOccupancyBulkResult(int total, int succeeded, int failed, List<Report> reports) {
+
+  static BedOccupancyBulkResult of(List<Report> reports) {
+    final int succeeded = (int) reports.stream().filter(report -> report.error() == null).count();
+    return new BedOccupancyBulkResult(
+        reports.size(), succeeded, reports.size() - succeeded, reports);
+  }
+
+  /**
+   * Result of one report.
+   *
+   * @param index position of the report in the request, starting with 0
+   * @param locationID INEK location of the report
+   * @param statusCode HTTP status the single report would have been answered with
+   * @param response response of RPS, only for accepted reports
+   * @param error error response, only for failed reports
+   */
+  public record Report(
+      int index, String locationID, int statusCode, OkResponse response, ErrorResponse error) {}
+}
@@ -0,0 +1,173 @@
+package de.gematik.demis.notificationgateway.domain.bedoccupancy.service;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.dto.BedOccupancy;
+import de.gematik.demis.notificationgateway.common.dto.BedOccupancyNotifierFacility;
+import de.gematik.demis.notificationgateway.common.dto.ErrorResponse;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.exceptions.BadRequestException;
+import de.gematik.demis.notificationgateway.common.exceptions.ErrorResponseController;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import de.gematik.demis.notificationgateway.domain.bedoccupancy.fhir.ReportBundleCreationService;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.r4.model.PractitionerRole;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sends the bed occupancy reports of many INEK locations of one request to RPS. The notifier role
+ * is built once per distinct notifier facility and shared by the reports. The bundles are built
+ * one after another, at most {@code bedoccupancy.bulk.parallelism} reports are sent at a time. A
+ * failed report does not abort the others, the result is aggregated in request order.
+ */
+@Slf4j
+@Service
+public class BedOccupancyBulkService {
+
+  private final BedOccupancyService bedOccupancyService;
+  private final ReportBundleCreationService bundleCreationService;
+  private final ErrorResponseController errorResponses;
+  private final ApplicationProperties applicationProperties;
+  private final ExecutorService executor;
+
+  public BedOccupancyBulkService(
+      BedOccupancyService bedOccupancyService,
+      ReportBundleCreationService bundleCreationService,
+      ErrorResponseController errorResponses,
+      ApplicationProperties applicationProperties) {
+    this.bedOccupancyService = bedOccupancyService;
+    this.bundleCreationService = bundleCreationService;
+    this.errorResponses = errorResponses;
+    this.applicationProperties = applicationProperties;
+    this.executor =
+        Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("bed-occupancy-bulk-", 0).factory());
+  }
+
+  /**
+   * Sends the reports.
+   *
+   * @param bedOccupancies reports of one or more locations
+   * @param token inbound JWT, used for all reports
+   * @param request inbound request
+   * @return future aggregated result, completed when all reports are answered
+   * @throws BadRequestException if there is no report or more than {@code
+   *     bedoccupancy.bulk.max.reports}
+   */
+  public CompletableFuture<BedOccupancyBulkResult> handleBedOccupancies(
+      List<BedOccupancy> bedOccupancies, Token token, HttpServletRequest request)
+      throws BadRequestException {
+    final int maxReports = applicationProperties.getBedOccupancyBulkMaxReports();
+    if (bedOccupancies.isEmpty() || bedOccupancies.size() > maxReports) {
+      throw new BadRequestException(
+          "Bulk report must contain 1 to " + maxReports + " bed occupancies");
+    }
+    return CompletableFuture.supplyAsync(() -> send(bedOccupancies, token, request), executor)
+        .thenCompose(Function.identity());
+  }
+
+  @PreDestroy
+  void destroy() {
+    executor.shutdownNow();
+  }
+
+  private CompletableFuture<BedOccupancyBulkResult> send(
+      List<BedOccupancy> bedOccupancies, Token token, HttpServletRequest request) {
+    final Function<BedOccupancyNotifierFacility, PractitionerRole> notifierRoles =
+        bundleCreationService.notifierRoles();
+    final Semaphore permits = new Semaphore(applicationProperties.getBedOccupancyBulkParallelism());
+    final List<CompletableFuture<BedOccupancyBulkResult.Report>> reports = new ArrayList<>();
+    for (int index = 0; index < bedOccupancies.size(); index++) {
+      final BedOccupancy bedOccupancy = bedOccupancies.get(index);
+      permits.acquireUninterruptibly();
+      final CompletableFuture<BedOccupancyBulkResult.Report> report =
+          send(index, bedOccupancy, token, notifierRoles, request);
+      report.whenComplete((result, failure) -> permits.release());
+      reports.add(report);
+    }
+    log.info("Sent {} bed occupancy reports of bulk request", reports.size());
+    return CompletableFuture.allOf(reports.toArray(CompletableFuture[]::new))
+        .thenApply(
+            done ->
+                BedOccupancyBulkResult.of(
+                    reports.stream().map(CompletableFuture::join).toList()));
+  }
+
+  private CompletableFuture<BedOccupancyBulkResult.Report> send(
+      int index,
+      BedOccupancy bedOccupancy,
+      Token token,
+      Function<BedOccupancyNotifierFacility, PractitionerRole> notifierRoles,
+      HttpServletRequest request) {
+    final String locationID = bedOccupancy.getNotifierFacility().getLocationID();
+    try {
+      final PractitionerRole notifierRole = notifierRoles.apply(bedOccupancy.getNotifierFacility());
+      return bedOccupancyService
+          .handleBedOccupancy(bedOccupancy, token, notifierRole, request)
+          .handle(
+              (response, failure) ->
+                  failure == null
+                      ? accepted(index, locationID, response)
+                      : failed(index, locationID, unwrap(failure), request));
+    } catch (RuntimeException e) {
+      return CompletableFuture.completedFuture(failed(index, locationID, e, request));
+    }
+  }
+
+  private static BedOccupancyBulkResult.Report accepted(
+      int index, String locationID, OkResponse response) {
+    return new BedOccupancyBulkResult.Report(
+        index, locationID, HttpStatus.OK.value(), response, null);
+  }
+
+  private BedOccupancyBulkResult.Report failed(
+      int index, String locationID, Exception failure, HttpServletRequest request) {
+    final ErrorResponse error = errorResponses.toErrorResponse(failure, request);
+    return new BedOccupancyBulkResult.Report(index, locationID, error.getStatusCode(), null, error);
+  }
+
+  private static Exception unwrap(Throwable failure) {
+    final Throwable cause =
+        failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+    return cause instanceof Exception exception ? exception : new CompletionException(cause);
+  }
+}
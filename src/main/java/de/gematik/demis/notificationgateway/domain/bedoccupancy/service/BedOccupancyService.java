@@ -30,6 +30,8 @@ package de.gematik.demis.notificationgateway.domain.bedoccupancy.service;
 import de.gematik.demis.notificationgateway.common.dto.BedOccupancy;
 import de.gematik.demis.notificationgateway.common.dto.OkResponse;
 import de.gematik.demis.notificationgateway.common.exceptions.HoneypotException;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineFlow;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineStage;
 import de.gematik.demis.notificationgateway.common.properties.RPSProperties;
 import de.gematik.demis.notificationgateway.common.proxies.BundlePublisher;
 import de.gematik.demis.notificationgateway.common.services.OkResponseService;
@@ -37,11 +39,13 @@ import de.gematik.demis.notificationgateway.common.utils.Token;
 import de.gematik.demis.notificationgateway.domain.bedoccupancy.fhir.ReportBundleCreationService;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.r4.model.Bundle;
-import org.hl7.fhir.r4.model.Parameters;
+import org.hl7.fhir.r4.model.PractitionerRole;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -72,13 +76,62 @@ public class BedOccupancyService {
     return Arrays.stream(a).anyMatch(StringUtils::isNotBlank);
   }
 
-  public OkResponse handleBedOccupancy(BedOccupancy bedOccupancy, Token token) {
-    validateHoneypot(bedOccupancy);
-    final Bundle bundle = bundleCreationService.createReportBundle(bedOccupancy);
+  public CompletableFuture<OkResponse> handleBedOccupancy(BedOccupancy bedOccupancy, Token token) {
+    return handleBedOccupancy(bedOccupancy, token, request);
+  }
+
+  /**
+   * Like {@link #handleBedOccupancy(BedOccupancy, Token)}, for callers outside the request thread,
+   * e.g. asynchronous jobs.
+   *
+   * @param inboundRequest inbound request or a detached copy of it
+   */
+  public CompletableFuture<OkResponse> handleBedOccupancy(
+      BedOccupancy bedOccupancy, Token token, HttpServletRequest inboundRequest) {
+    return handleBedOccupancy(
+        bedOccupancy,
+        token,
+        () -> bundleCreationService.createReportBundle(bedOccupancy),
+        inboundRequest);
+  }
+
+  /**
+   * Like {@link #handleBedOccupancy(BedOccupancy, Token)} with a notifier role shared by the
+   * reports of a bulk request, for callers outside the request thread.
+   *
+   * @param notifierRole notifier role built before, see {@link
+   *     ReportBundleCreationService#notifierRoles()}
+   * @param inboundRequest inbound request, must not be completed before the returned future
+   */
+  public CompletableFuture<OkResponse> handleBedOccupancy(
+      BedOccupancy bedOccupancy,
+      Token token,
+      PractitionerRole notifierRole,
+      HttpServletRequest inboundRequest) {
+    return handleBedOccupancy(
+        bedOccupancy,
+        token,
+        () -> bundleCreationService.createReportBundle(bedOccupancy, notifierRole),
+        inboundRequest);
+  }
+
+  private CompletableFuture<OkResponse> handleBedOccupancy(
+      BedOccupancy bedOccupancy,
+      Token token,
+      Supplier<Bundle> bundleCreation,
+      HttpServletRequest inboundRequest) {
+    final PipelineFlow flow = PipelineFlow.of(inboundRequest);
+    try (PipelineFlow.Sample ignored = flow.start(PipelineStage.HONEYPOT_CHECK)) {
+      validateHoneypot(bedOccupancy);
+    }
+    final Bundle bundle;
+    try (PipelineFlow.Sample ignored = flow.start(PipelineStage.BUNDLE_CREATION)) {
+      bundle = bundleCreation.get();
+    }
     final String url = rpsProperties.bedOccupancyUrl();
     final String operation = RPSProperties.OPERATION_NAME;
     log.info("Sending request to {}, operation: {}", "RPS", operation);
-    Parameters result = bundlePublisher.postRequest(bundle, url, operation, token, request);
-    return okResponseService.buildOkResponse(result);
+    return bundlePublisher.postRequestAsync(
+        bundle, url, operation, token, inboundRequest, okResponseService::readOkResponse);
   }
 }
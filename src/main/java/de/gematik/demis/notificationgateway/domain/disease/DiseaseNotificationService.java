@@ -32,6 +32,8 @@ import de.gematik.demis.notificationgateway.common.dto.OkResponse;
 import de.gematik.demis.notificationgateway.common.enums.NotificationType;
 import de.gematik.demis.notificationgateway.common.exceptions.BadRequestException;
 import de.gematik.demis.notificationgateway.common.exceptions.HoneypotException;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineFlow;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineStage;
 import de.gematik.demis.notificationgateway.common.properties.NESProperties;
 import de.gematik.demis.notificationgateway.common.proxies.BundlePublisher;
 import de.gematik.demis.notificationgateway.common.services.OkResponseService;
@@ -39,11 +41,11 @@ import de.gematik.demis.notificationgateway.common.utils.Token;
 import de.gematik.demis.notificationgateway.domain.disease.fhir.DiseaseNotificationBundleCreationService;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.r4.model.Bundle;
-import org.hl7.fhir.r4.model.Parameters;
 import org.springframework.stereotype.Service;
 
 @RequiredArgsConstructor
@@ -82,18 +84,45 @@ class DiseaseNotificationService {
    *
    * @param notification disease notification
    * @param token inbound JWT
-   * @return response of DEMIS core
+   * @return future response of DEMIS core
    * @throws BadRequestException illegal disease notification structure or data
    */
-  OkResponse sendNotification(
+  CompletableFuture<OkResponse> sendNotification(
       DiseaseNotification notification, Token token, NotificationType notificationType)
       throws BadRequestException {
-    validateHoneypot(notification);
-    final Bundle bundle = this.bundleCreationService.createBundle(notification, notificationType);
+    return sendNotification(notification, token, notificationType, request);
+  }
+
+  /**
+   * Like {@link #sendNotification(DiseaseNotification, Token, NotificationType)}, for callers
+   * outside the request thread, e.g. asynchronous jobs.
+   *
+   * @param inboundRequest inbound request or a detached copy of it
+   */
+  CompletableFuture<OkResponse> sendNotification(
+      DiseaseNotification notification,
+      Token token,
+      NotificationType notificationType,
+      HttpServletRequest inboundRequest)
+      throws BadRequestException {
+    final PipelineFlow flow = PipelineFlow.of(inboundRequest);
+    try (PipelineFlow.Sample ignored = flow.start(PipelineStage.HONEYPOT_CHECK)) {
+      validateHoneypot(notification);
+    }
+    final Bundle bundle;
+    try (PipelineFlow.Sample ignored = flow.start(PipelineStage.BUNDLE_CREATION)) {
+      bundle = this.bundleCreationService.createBundle(notification, notificationType);
+    }
     final String url = this.nesProperties.hospitalizationUrl();
     final String operation = NESProperties.OPERATION_NAME;
     log.info(LOG_SEND);
-    Parameters result = this.bundlePublisher.postRequest(bundle, url, operation, token, request);
-    return this.okResponseService.buildOkResponse(result);
+    return this.bundlePublisher.postRequestAsync(
+        bundle,
+        url,
+        operation,
+        token,
+        inboundRequest,
+        this.okResponseService::readOkResponse,
+        this.okResponseService::pendingOkResponse);
   }
 }
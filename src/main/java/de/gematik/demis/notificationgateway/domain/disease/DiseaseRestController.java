@@ -35,12 +35,19 @@ import de.gematik.demis.notificationgateway.common.dto.DiseaseNotification;
 import de.gematik.demis.notificationgateway.common.dto.OkResponse;
 import de.gematik.demis.notificationgateway.common.enums.NotificationType;
 import de.gematik.demis.notificationgateway.common.exceptions.BadRequestException;
+import de.gematik.demis.notificationgateway.common.jobs.NotificationJobService;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineEndpoint;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineFlow;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineStage;
+import de.gematik.demis.notificationgateway.common.services.OkResponseService;
+import de.gematik.demis.notificationgateway.common.services.SubmissionIdempotencyService;
 import de.gematik.demis.notificationgateway.common.utils.Token;
 import jakarta.security.auth.message.AuthException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -58,63 +65,127 @@ class DiseaseRestController {
 
   private final Validator validator;
   private final DiseaseNotificationService notificationService;
+  private final SubmissionIdempotencyService idempotencyService;
+  private final NotificationJobService jobService;
 
   public DiseaseRestController(
-      Validator validator, DiseaseNotificationService notificationService) {
+      Validator validator,
+      DiseaseNotificationService notificationService,
+      SubmissionIdempotencyService idempotencyService,
+      NotificationJobService jobService) {
     this.validator = validator;
     this.notificationService = notificationService;
+    this.idempotencyService = idempotencyService;
+    this.jobService = jobService;
   }
 
   @PostMapping(
       path = {"disease", "disease/6.1"},
       produces = MediaType.APPLICATION_JSON_VALUE,
       consumes = "application/json")
-  public ResponseEntity<OkResponse> addDiseaseNotification(
+  @PipelineEndpoint(value = "disease", notificationType = NOMINAL, upstream = "NES")
+  public CompletableFuture<ResponseEntity<OkResponse>> addDiseaseNotification(
       @RequestBody DiseaseNotification notification, @RequestHeader HttpHeaders headers)
       throws BadRequestException, AuthException {
     final long startMillis = System.currentTimeMillis();
     log.debug("Received disease notification.");
     validate(notification);
-    OkResponse okResponse = send(notification, headers, NOMINAL);
-    log.info(
-        "Processed disease notification! Id: {} Duration: {}ms",
-        okResponse.getNotificationId(),
-        (System.currentTimeMillis() - startMillis));
-    log.debug("Sending response to portal with status code: 200");
-    return ResponseEntity.ok(okResponse);
+    if (jobService.isRequested()) {
+      return submitJob(notification, headers, NOMINAL, "disease");
+    }
+    return send(notification, headers, NOMINAL, "disease")
+        .thenApply(
+            okResponse -> {
+              log.info(
+                  "Processed disease notification! Id: {} Duration: {}ms",
+                  okResponse.getNotificationId(),
+                  (System.currentTimeMillis() - startMillis));
+              final ResponseEntity<OkResponse> response =
+                  OkResponseService.toResponseEntity(okResponse);
+              log.debug(
+                  "Sending response to portal with status code: {}",
+                  response.getStatusCode().value());
+              return response;
+            });
   }
 
   @PostMapping({"/disease/7.3/non_nominal"})
-  public ResponseEntity<OkResponse> send7_3_non_nominal(
+  @PipelineEndpoint(
+      value = "disease/7.3/non_nominal",
+      notificationType = NON_NOMINAL,
+      upstream = "NES")
+  public CompletableFuture<ResponseEntity<OkResponse>> send7_3_non_nominal(
       @RequestBody DiseaseNotification notification, @RequestHeader HttpHeaders headers)
       throws AuthException, BadRequestException {
-    OkResponse okResponse = send(notification, headers, NON_NOMINAL);
-    return ResponseEntity.ok(okResponse);
+    if (jobService.isRequested()) {
+      return submitJob(notification, headers, NON_NOMINAL, "disease/7.3/non_nominal");
+    }
+    return send(notification, headers, NON_NOMINAL, "disease/7.3/non_nominal")
+        .thenApply(OkResponseService::toResponseEntity);
   }
 
   @PostMapping({"/disease/7.3/anonymous"})
-  public ResponseEntity<OkResponse> send7_3_anonymous(
+  @PipelineEndpoint(
+      value = "disease/7.3/anonymous",
+      notificationType = ANONYMOUS,
+      upstream = "NES")
+  public CompletableFuture<ResponseEntity<OkResponse>> send7_3_anonymous(
       @RequestBody DiseaseNotification notification, @RequestHeader HttpHeaders headers)
       throws AuthException, BadRequestException {
-    OkResponse okResponse = send(notification, headers, ANONYMOUS);
-    return ResponseEntity.ok(okResponse);
+    if (jobService.isRequested()) {
+      return submitJob(notification, headers, ANONYMOUS, "disease/7.3/anonymous");
+    }
+    return send(notification, headers, ANONYMOUS, "disease/7.3/anonymous")
+        .thenApply(OkResponseService::toResponseEntity);
   }
 
   private void validate(DiseaseNotification notification) {
     Set<? extends ConstraintViolation<?>> violations;
-    if (notification.getNotifiedPerson() != null) {
-      violations = validator.validate(ValidationDiseaseNotification.of(notification));
-    } else {
-      violations = validator.validate(ValidationDiseaseAnonymousNotification.of(notification));
+    try (PipelineFlow.Sample ignored = PipelineFlow.current().start(PipelineStage.VALIDATION)) {
+      if (notification.getNotifiedPerson() != null) {
+        violations = validator.validate(ValidationDiseaseNotification.of(notification));
+      } else {
+        violations = validator.validate(ValidationDiseaseAnonymousNotification.of(notification));
+      }
     }
     if (!violations.isEmpty()) {
       throw new ConstraintViolationException(violations);
     }
   }
 
-  private OkResponse send(
-      DiseaseNotification content, HttpHeaders headers, NotificationType notificationType)
+  private CompletableFuture<OkResponse> send(
+      DiseaseNotification content,
+      HttpHeaders headers,
+      NotificationType notificationType,
+      String operation)
       throws AuthException, BadRequestException {
-    return this.notificationService.sendNotification(content, Token.of(headers), notificationType);
+    final Token token = Token.of(headers);
+    return this.idempotencyService.submit(
+        operation,
+        token,
+        headers,
+        content,
+        () -> this.notificationService.sendNotification(content, token, notificationType));
+  }
+
+  private CompletableFuture<ResponseEntity<OkResponse>> submitJob(
+      DiseaseNotification content,
+      HttpHeaders headers,
+      NotificationType notificationType,
+      String operation)
+      throws AuthException {
+    final Token token = Token.of(headers);
+    return jobService.submit(
+        operation,
+        token,
+        inboundRequest ->
+            this.idempotencyService.submit(
+                operation,
+                token,
+                headers,
+                content,
+                () ->
+                    this.notificationService.sendNotification(
+                        content, token, notificationType, inboundRequest)));
   }
 }
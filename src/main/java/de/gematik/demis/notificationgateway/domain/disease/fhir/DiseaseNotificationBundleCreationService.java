@@ -38,6 +38,7 @@ import de.gematik.demis.notificationgateway.common.dto.NotifierFacility;
 import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponse;
 import de.gematik.demis.notificationgateway.common.enums.NotificationType;
 import de.gematik.demis.notificationgateway.common.exceptions.BadRequestException;
+import de.gematik.demis.notificationgateway.common.jfr.BundleBuildEvent;
 import de.gematik.demis.notificationgateway.domain.disease.fhir.questionnaire.QuestionnaireResponses;
 import jakarta.annotation.Nullable;
 import java.util.Objects;
@@ -74,6 +75,8 @@ public class DiseaseNotificationBundleCreationService {
   public Bundle createBundle(
       DiseaseNotification diseaseNotification, NotificationType notificationType)
       throws BadRequestException {
+    final BundleBuildEvent event = new BundleBuildEvent();
+    event.begin();
     PractitionerRole notifier = createNotifier(diseaseNotification);
 
     Patient patient;
@@ -90,7 +93,9 @@ public class DiseaseNotificationBundleCreationService {
     createCommonQuestionnaireResponse(diseaseNotification, context);
     createDiseaseQuestionnaireResponse(diseaseNotification, context);
     createComposition(context);
-    return context.bundleBuilder().build();
+    final Bundle bundle = context.bundleBuilder().build();
+    event.complete(bundle, notificationType, context.category());
+    return bundle;
   }
 
   private PractitionerRole createNotifier(DiseaseNotification diseaseNotification)
@@ -32,6 +32,7 @@ import de.gematik.demis.notificationgateway.common.dto.CodeDisplay;
 import de.gematik.demis.notificationgateway.common.dto.Condition;
 import de.gematik.demis.notificationgateway.common.dto.DiseaseNotification;
 import de.gematik.demis.notificationgateway.common.dto.DiseaseStatus;
+import de.gematik.demis.notificationgateway.common.utils.TemporalParser;
 import java.util.List;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
@@ -53,7 +54,7 @@ class Diseases {
    */
   private static DateTimeType parseDate(String iso8601DateTime) {
     if (StringUtils.isNotBlank(iso8601DateTime)) {
-      return new DateTimeType(removeTimestamp(iso8601DateTime));
+      return TemporalParser.parseIsoDateTime(removeTimestamp(iso8601DateTime));
     }
     return null;
   }
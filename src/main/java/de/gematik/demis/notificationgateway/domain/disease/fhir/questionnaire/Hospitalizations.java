@@ -55,7 +55,7 @@ public class Hospitalizations implements ResourceFactory {
       DiseaseNotificationContext context, QuestionnaireResponseItem item) {
     QuestionnaireResponseItem hospitalizationItem =
         item.getAnswer().getFirst().getItem().getFirst();
-    Encounter hospitalization = createEncounter(context, hospitalizationItem);
+    Encounter hospitalization = createEncounter(context, ItemIndex.of(hospitalizationItem));
     context.bundleBuilder().addHospitalization(hospitalization);
     return createFhirResource(hospitalization, item.getLinkId());
   }
@@ -79,8 +79,7 @@ public class Hospitalizations implements ResourceFactory {
     hospitalization.setNotifiedPerson(context.notifiedPerson());
   }
 
-  private Encounter createEncounter(
-      DiseaseNotificationContext context, QuestionnaireResponseItem item) {
+  private Encounter createEncounter(DiseaseNotificationContext context, ItemIndex item) {
     final var hospitalization = new EncounterDataBuilder();
     hospitalization.setDefaults();
     setNotifiedPerson(context, hospitalization);
@@ -99,11 +98,13 @@ public class Hospitalizations implements ResourceFactory {
    * @param item the item
    * @param hospitalization hospitalization builder
    */
-  private void setStatus(QuestionnaireResponseItem item, EncounterDataBuilder hospitalization) {
+  private void setStatus(ItemIndex item, EncounterDataBuilder hospitalization) {
     Encounter.EncounterStatus status = Encounter.EncounterStatus.INPROGRESS;
-    Optional<QuestionnaireResponseItem> period = findSubItem(item, PERIOD_LINK_ID);
+    Optional<ItemIndex> period = item.findIndex(PERIOD_LINK_ID);
     if (period.isPresent()
-        && findSubItemAnswer(period.get(), PERIOD_END_LINK_ID)
+        && period
+            .get()
+            .findAnswer(PERIOD_END_LINK_ID)
             .filter(this.answers::containsValue)
             .isPresent()) {
       status = Encounter.EncounterStatus.FINISHED;
@@ -111,27 +112,26 @@ public class Hospitalizations implements ResourceFactory {
     hospitalization.setStatus(status.toCode());
   }
 
-  private void setServiceType(
-      QuestionnaireResponseItem item, EncounterDataBuilder hospitalization) {
-    findSubItemAnswer(item, "serviceType")
+  private void setServiceType(ItemIndex item, EncounterDataBuilder hospitalization) {
+    item.findAnswer("serviceType")
         .ifPresent(
             answer ->
                 hospitalization.setServiceType(
                     this.answers.createFhirAnswer(answer).value().toCoding()));
   }
 
-  private void setPeriod(QuestionnaireResponseItem item, EncounterDataBuilder hospitalization) {
-    findSubItem(item, PERIOD_LINK_ID).ifPresent(period -> setPeriodItem(period, hospitalization));
+  private void setPeriod(ItemIndex item, EncounterDataBuilder hospitalization) {
+    item.findIndex(PERIOD_LINK_ID).ifPresent(period -> setPeriodItem(period, hospitalization));
   }
 
-  private void setPeriodItem(QuestionnaireResponseItem item, EncounterDataBuilder hospitalization) {
-    findSubItemAnswer(item, PERIOD_START_LINK_ID)
+  private void setPeriodItem(ItemIndex item, EncounterDataBuilder hospitalization) {
+    item.findAnswer(PERIOD_START_LINK_ID)
         .filter(this.answers::containsValue)
         .ifPresent(
             answer ->
                 hospitalization.setPeriodStart(
                     this.answers.createFhirAnswer(answer).value().toDateTimeType()));
-    findSubItemAnswer(item, PERIOD_END_LINK_ID)
+    item.findAnswer(PERIOD_END_LINK_ID)
         .filter(this.answers::containsValue)
         .ifPresent(
             answer ->
@@ -139,8 +139,8 @@ public class Hospitalizations implements ResourceFactory {
                     this.answers.createFhirAnswer(answer).value().toDateTimeType()));
   }
 
-  private void setReason(QuestionnaireResponseItem item, EncounterDataBuilder hospitalization) {
-    findSubItemAnswer(item, REASON_LINK_ID)
+  private void setReason(ItemIndex item, EncounterDataBuilder hospitalization) {
+    item.findAnswer(REASON_LINK_ID)
         .ifPresent(
             reason ->
                 hospitalization.setReason(
@@ -148,10 +148,8 @@ public class Hospitalizations implements ResourceFactory {
   }
 
   private void setServiceProvider(
-      DiseaseNotificationContext context,
-      QuestionnaireResponseItem item,
-      EncounterDataBuilder hospitalization) {
-    findSubItem(item, "serviceProvider")
+      DiseaseNotificationContext context, ItemIndex item, EncounterDataBuilder hospitalization) {
+    item.find("serviceProvider")
         .ifPresent(
             serviceProvider ->
                 setServiceProviderOrganization(context, serviceProvider, hospitalization));
@@ -48,7 +48,7 @@ public class Immunizations implements ResourceFactory {
   public FhirResource createFhirResource(
       DiseaseNotificationContext context, QuestionnaireResponseItem item) {
     QuestionnaireResponseItem immunizationItem = item.getAnswer().getFirst().getItem().getFirst();
-    Immunization immunization = createImmunization(context, immunizationItem);
+    Immunization immunization = createImmunization(context, ItemIndex.of(immunizationItem));
     context.bundleBuilder().addImmunization(immunization);
     return createFhirResource(immunization, item.getLinkId());
   }
@@ -60,8 +60,7 @@ public class Immunizations implements ResourceFactory {
         || StringUtils.equals(linkId, "immunizationMotherRef");
   }
 
-  private Immunization createImmunization(
-      DiseaseNotificationContext context, QuestionnaireResponseItem item) {
+  private Immunization createImmunization(DiseaseNotificationContext context, ItemIndex item) {
     final var immunization = new ImmunizationDataBuilder();
     immunization.setDefaults();
     setProfileUrl(context, immunization);
@@ -82,22 +81,21 @@ public class Immunizations implements ResourceFactory {
     immunization.setNotifiedPerson(context.notifiedPerson());
   }
 
-  private void setVaccineCode(
-      QuestionnaireResponseItem item, ImmunizationDataBuilder immunization) {
-    var vaccineCode = getSubItemAnswer(item, "vaccineCode");
+  private void setVaccineCode(ItemIndex item, ImmunizationDataBuilder immunization) {
+    var vaccineCode = item.getAnswer("vaccineCode");
     immunization.setVaccineCode(this.answers.createFhirAnswer(vaccineCode).value().toCoding());
   }
 
-  private void setOccurrence(QuestionnaireResponseItem item, ImmunizationDataBuilder immunization) {
-    var occurrence = getSubItemAnswer(item, "occurrence");
+  private void setOccurrence(ItemIndex item, ImmunizationDataBuilder immunization) {
+    var occurrence = item.getAnswer("occurrence");
     if (answers.containsValue(occurrence)) {
       immunization.setOccurrence(
           this.answers.createFhirAnswer(occurrence).value().toDateTimeType());
     }
   }
 
-  private void setNote(QuestionnaireResponseItem item, ImmunizationDataBuilder immunization) {
-    findSubItemAnswer(item, "note")
+  private void setNote(ItemIndex item, ImmunizationDataBuilder immunization) {
+    item.findAnswer("note")
         .map(QuestionnaireResponseAnswer::getValueString)
         .map(StringUtils::trimToNull)
         .filter(Objects::nonNull)
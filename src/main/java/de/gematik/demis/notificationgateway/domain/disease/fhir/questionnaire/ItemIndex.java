@@ -0,0 +1,103 @@
+package de.gematik.demis.notificationgateway.domain.disease.fhir.questionnaire;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseAnswer;
+import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseItem;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Subitems of a questionnaire response item by linkId. Built once per item, so that the many field
+ * lookups of a resource factory do not scan the subitems again and again. A linkId is looked up
+ * exactly first. If there is no such subitem, the first subitem whose linkId contains the given
+ * one is returned, like the resource factories always did.
+ */
+final class ItemIndex {
+
+  private final QuestionnaireResponseItem item;
+  private final List<QuestionnaireResponseItem> subItems;
+  private final Map<String, QuestionnaireResponseItem> byLinkId;
+
+  private ItemIndex(QuestionnaireResponseItem item) {
+    this.item = item;
+    this.subItems = item.getItem() == null ? List.of() : item.getItem();
+    this.byLinkId = HashMap.newHashMap(this.subItems.size());
+    for (QuestionnaireResponseItem subItem : this.subItems) {
+      if (subItem.getLinkId() != null) {
+        this.byLinkId.putIfAbsent(subItem.getLinkId(), subItem);
+      }
+    }
+  }
+
+  static ItemIndex of(QuestionnaireResponseItem item) {
+    return new ItemIndex(item);
+  }
+
+  QuestionnaireResponseItem item() {
+    return item;
+  }
+
+  Optional<QuestionnaireResponseItem> find(String linkId) {
+    final QuestionnaireResponseItem subItem = byLinkId.get(linkId);
+    if (subItem != null) {
+      return Optional.of(subItem);
+    }
+    for (QuestionnaireResponseItem candidate : subItems) {
+      if (candidate.getLinkId() != null && candidate.getLinkId().contains(linkId)) {
+        return Optional.of(candidate);
+      }
+    }
+    return Optional.empty();
+  }
+
+  QuestionnaireResponseItem get(String linkId) {
+    return find(linkId)
+        .orElseThrow(() -> new IllegalArgumentException("Item not found: " + linkId));
+  }
+
+  /**
+   * Index of the subitem with the given linkId
+   *
+   * @param linkId linkId of the subitem
+   * @return index of the subitem, empty if there is no such subitem
+   */
+  Optional<ItemIndex> findIndex(String linkId) {
+    return find(linkId).map(ItemIndex::of);
+  }
+
+  Optional<QuestionnaireResponseAnswer> findAnswer(String linkId) {
+    return find(linkId).map(i -> i.getAnswer().getFirst());
+  }
+
+  QuestionnaireResponseAnswer getAnswer(String linkId) {
+    return get(linkId).getAnswer().getFirst();
+  }
+}
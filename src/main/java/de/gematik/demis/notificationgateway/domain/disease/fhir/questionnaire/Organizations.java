@@ -92,7 +92,7 @@ public class Organizations implements ResourceFactory {
   @Override
   public FhirResource createFhirResource(
       DiseaseNotificationContext context, QuestionnaireResponseItem item) {
-    QuestionnaireResponseItem organizationItem = item.getAnswer().getFirst().getItem().getFirst();
+    ItemIndex organizationItem = ItemIndex.of(item.getAnswer().getFirst().getItem().getFirst());
     Organization organization = createOrganization(context, organizationItem);
     setContactAndTelecom(context, organizationItem, organization);
     return createFhirResource(organization, item.getLinkId());
@@ -106,7 +106,7 @@ public class Organizations implements ResourceFactory {
    * @return organization
    */
   private Organization createOrganization(
-      DiseaseNotificationContext context, QuestionnaireResponseItem organizationItem) {
+      DiseaseNotificationContext context, ItemIndex organizationItem) {
     Organization organization = copyOrganizationIfRequested(context, organizationItem);
     if (organization == null) {
       organization = createOrganization(organizationItem);
@@ -117,7 +117,7 @@ public class Organizations implements ResourceFactory {
 
   @Nullable
   private Organization copyOrganizationIfRequested(
-      DiseaseNotificationContext context, QuestionnaireResponseItem organizationItem) {
+      DiseaseNotificationContext context, ItemIndex organizationItem) {
     Organization organization = null;
     if (shouldCopyNotifiedPersonCurrentAddress(organizationItem)) {
       log.debug("Organization definition is referencing current address of notified person");
@@ -137,8 +137,9 @@ public class Organizations implements ResourceFactory {
     return organization;
   }
 
-  private boolean shouldCopyNotifiedPersonCurrentAddress(QuestionnaireResponseItem organization) {
-    return findSubItemAnswer(organization, CHECKBOX_LINK_ID_COPY_CURRENT_ADDRESS)
+  private boolean shouldCopyNotifiedPersonCurrentAddress(ItemIndex organization) {
+    return organization
+        .findAnswer(CHECKBOX_LINK_ID_COPY_CURRENT_ADDRESS)
         .map(QuestionnaireResponseAnswer::getValueBoolean)
         .orElse(false);
   }
@@ -182,7 +183,7 @@ public class Organizations implements ResourceFactory {
     return null;
   }
 
-  private Organization createOrganization(QuestionnaireResponseItem item) {
+  private Organization createOrganization(ItemIndex item) {
     final var builder = new OrganizationBuilder();
     setMetaProfile(item, builder);
     setFacilityName(item, builder);
@@ -193,7 +194,7 @@ public class Organizations implements ResourceFactory {
     return builder.build();
   }
 
-  private void setBsnr(QuestionnaireResponseItem item, OrganizationBuilder builder) {
+  private void setBsnr(ItemIndex item, OrganizationBuilder builder) {
     if (this.featureFlags.isDiseaseStrictProfile()) {
       final String bsnr = getSubItemAnswerTextOrNull(item, "bsnr");
       if (bsnr != null) {
@@ -202,9 +203,9 @@ public class Organizations implements ResourceFactory {
     }
   }
 
-  private void setMetaProfile(QuestionnaireResponseItem item, OrganizationBuilder builder) {
+  private void setMetaProfile(ItemIndex item, OrganizationBuilder builder) {
     if (this.featureFlags.isDiseaseStrictProfile()) {
-      final String linkId = item.getLinkId();
+      final String linkId = item.item().getLinkId();
       if (LABORATORY_FACILITY_LINK_ID.equals(linkId)) {
         builder.asLaboratoryFacility();
       } else if (INFECT_PROTECT_FACILITY_LINK_ID.equals(linkId)) {
@@ -213,9 +214,9 @@ public class Organizations implements ResourceFactory {
     }
   }
 
-  private void setType(QuestionnaireResponseItem item, OrganizationBuilder organization) {
+  private void setType(ItemIndex item, OrganizationBuilder organization) {
     if (this.featureFlags.isDiseaseStrictProfile()) {
-      findSubItemAnswer(item, "type")
+      item.findAnswer("type")
           .map(this.answers::createFhirAnswer)
           .map(FhirAnswer::value)
           .map(FhirAnswer.Value::toCoding)
@@ -223,15 +224,15 @@ public class Organizations implements ResourceFactory {
     }
   }
 
-  private void setFacilityName(QuestionnaireResponseItem item, OrganizationBuilder organization) {
+  private void setFacilityName(ItemIndex item, OrganizationBuilder organization) {
     organization.setFacilityName(getSubItemAnswerTextOrNull(item, "name"));
   }
 
-  private void setAddress(QuestionnaireResponseItem item, OrganizationBuilder organization) {
-    findSubItem(item, "address").ifPresent(address -> setAddressItem(address, organization));
+  private void setAddress(ItemIndex item, OrganizationBuilder organization) {
+    item.findIndex("address").ifPresent(address -> setAddressItem(address, organization));
   }
 
-  private void setAddressItem(QuestionnaireResponseItem item, OrganizationBuilder organization) {
+  private void setAddressItem(ItemIndex item, OrganizationBuilder organization) {
     final String street = getSubItemAnswerTextOrNull(item, "street");
     final String houseNumber = getSubItemAnswerTextOrNull(item, "houseNumber");
     final String postalCode = getSubItemAnswerTextOrNull(item, "postalCode");
@@ -250,8 +251,8 @@ public class Organizations implements ResourceFactory {
   }
 
   @Nullable
-  private String getCountry(QuestionnaireResponseItem item) {
-    Optional<QuestionnaireResponseAnswer> countryAnswer = findSubItemAnswer(item, "country");
+  private String getCountry(ItemIndex item) {
+    Optional<QuestionnaireResponseAnswer> countryAnswer = item.findAnswer("country");
     if (countryAnswer.isPresent()) {
       QuestionnaireResponseAnswer answer = countryAnswer.get();
       CodeDisplay valueCoding = answer.getValueCoding();
@@ -264,13 +265,14 @@ public class Organizations implements ResourceFactory {
   }
 
   private void setContactAndTelecom(
-      DiseaseNotificationContext context,
-      QuestionnaireResponseItem input,
-      Organization organization) {
-    if (shouldCopyNotifierContacts(input)) {
+      DiseaseNotificationContext context, ItemIndex input, Organization organization) {
+    final ItemIndex contact = input.findIndex("contact").orElse(null);
+    if (shouldCopyNotifierContacts(contact)) {
       copyNotifierContacts(context, organization);
     } else {
-      addContact(input, organization);
+      if (contact != null) {
+        addContact(contact, organization);
+      }
       addPhoneAndMail(input, organization);
     }
   }
@@ -304,17 +306,11 @@ public class Organizations implements ResourceFactory {
     telecoms.stream().filter(this::isMail).findFirst().ifPresent(target::addTelecom);
   }
 
-  private void addContact(QuestionnaireResponseItem item, Organization organization) {
-    final Optional<QuestionnaireResponseItem> contact = findSubItem(item, "contact");
-    if (contact.isPresent()) {
-      final Optional<QuestionnaireResponseItem> name = findSubItem(contact.get(), "name");
-      if (name.isPresent()) {
-        addContactOfNameItem(name.get(), organization);
-      }
-    }
+  private void addContact(ItemIndex contact, Organization organization) {
+    contact.findIndex("name").ifPresent(name -> addContactOfNameItem(name, organization));
   }
 
-  private void addContactOfNameItem(QuestionnaireResponseItem name, Organization organization) {
+  private void addContactOfNameItem(ItemIndex name, Organization organization) {
     final String prefix = getSubItemAnswerTextOrNull(name, "prefix");
     final String given = getSubItemAnswerTextOrNull(name, "given");
     final String family = getSubItemAnswerTextOrNull(name, "family");
@@ -326,13 +322,12 @@ public class Organizations implements ResourceFactory {
     }
   }
 
-  private void addPhoneAndMail(QuestionnaireResponseItem item, Organization organization) {
-    findSubItem(item, "telecom")
+  private void addPhoneAndMail(ItemIndex item, Organization organization) {
+    item.findIndex("telecom")
         .ifPresent(telecom -> addPhoneAndMailOfTelecomItem(telecom, organization));
   }
 
-  private void addPhoneAndMailOfTelecomItem(
-      QuestionnaireResponseItem telecom, Organization organization) {
+  private void addPhoneAndMailOfTelecomItem(ItemIndex telecom, Organization organization) {
     final String phone = getSubItemAnswerTextOrNull(telecom, "phone");
     if (phone != null) {
       organization.addTelecom(new TelecomDataBuilder().setPhone(phone).build());
@@ -344,17 +339,17 @@ public class Organizations implements ResourceFactory {
   }
 
   @Nullable
-  private String getSubItemAnswerTextOrNull(QuestionnaireResponseItem item, String linkId) {
-    return findSubItemAnswer(item, linkId)
+  private String getSubItemAnswerTextOrNull(ItemIndex item, String linkId) {
+    return item.findAnswer(linkId)
         .map(QuestionnaireResponseAnswer::getValueString)
         .map(StringUtils::trimToNull)
         .orElse(null);
   }
 
-  private boolean shouldCopyNotifierContacts(QuestionnaireResponseItem organizationItem) {
-    final Optional<QuestionnaireResponseItem> contact = findSubItem(organizationItem, "contact");
-    if (contact.isPresent()) {
-      return findSubItemAnswer(contact.get(), CHECKBOX_LINK_ID_COPY_CONTACT)
+  private boolean shouldCopyNotifierContacts(@Nullable ItemIndex contact) {
+    if (contact != null) {
+      return contact
+          .findAnswer(CHECKBOX_LINK_ID_COPY_CONTACT)
           .map(QuestionnaireResponseAnswer::getValueBoolean)
           .orElse(false);
     }
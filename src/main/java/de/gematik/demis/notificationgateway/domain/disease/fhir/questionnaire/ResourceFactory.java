@@ -28,10 +28,8 @@ package de.gematik.demis.notificationgateway.domain.disease.fhir.questionnaire;
  */
 
 import de.gematik.demis.notification.builder.demis.fhir.notification.builder.infectious.disease.questionnaire.ItemDataBuilder;
-import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseAnswer;
 import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseItem;
 import de.gematik.demis.notificationgateway.domain.disease.fhir.DiseaseNotificationContext;
-import java.util.Optional;
 import java.util.function.Predicate;
 import org.hl7.fhir.r4.model.QuestionnaireResponse;
 import org.hl7.fhir.r4.model.Reference;
@@ -58,26 +56,6 @@ interface ResourceFactory extends Predicate<QuestionnaireResponseItem> {
   @Override
   boolean test(QuestionnaireResponseItem item);
 
-  default QuestionnaireResponseItem getSubItem(QuestionnaireResponseItem item, String linkId) {
-    return findSubItem(item, linkId)
-        .orElseThrow(() -> new IllegalArgumentException("Item not found: " + linkId));
-  }
-
-  default Optional<QuestionnaireResponseItem> findSubItem(
-      QuestionnaireResponseItem item, String linkId) {
-    return item.getItem().stream().filter(i -> i.getLinkId().contains(linkId)).findFirst();
-  }
-
-  default QuestionnaireResponseAnswer getSubItemAnswer(
-      QuestionnaireResponseItem item, String linkId) {
-    return getSubItem(item, linkId).getAnswer().getFirst();
-  }
-
-  default Optional<QuestionnaireResponseAnswer> findSubItemAnswer(
-      QuestionnaireResponseItem item, String linkId) {
-    return findSubItem(item, linkId).map(i -> i.getAnswer().getFirst());
-  }
-
   default FhirResource createFhirResource(Resource resource, String linkId) {
     ItemDataBuilder item = new ItemDataBuilder();
     item.setLinkId(linkId);
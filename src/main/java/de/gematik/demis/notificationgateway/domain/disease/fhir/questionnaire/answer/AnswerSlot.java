@@ -0,0 +1,90 @@
+package de.gematik.demis.notificationgateway.domain.disease.fhir.questionnaire.answer;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseAnswer;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The value field of a questionnaire response item answer which is used for the FHIR answer. An
+ * answer is classified once by checking its value fields one after the other, the first populated
+ * one wins. The order of the constants is that precedence. It puts frequent data types first and
+ * date before date time, so an answer with both a date and a date time value stays a date.
+ */
+enum AnswerSlot {
+  STRING,
+  DATE,
+  CODING,
+  REFERENCE,
+  DATE_TIME,
+  URI,
+  BOOLEAN,
+  QUANTITY,
+  DECIMAL,
+  INTEGER,
+  TIME,
+  /** No value at all, e.g. an answer that only carries subitems */
+  NONE;
+
+  static AnswerSlot of(QuestionnaireResponseAnswer answer) {
+    if (StringUtils.isNotBlank(answer.getValueString())) {
+      return STRING;
+    }
+    if (StringUtils.isNotBlank(answer.getValueDate())) {
+      return DATE;
+    }
+    if (answer.getValueCoding() != null) {
+      return CODING;
+    }
+    if (StringUtils.isNotBlank(answer.getValueReference())) {
+      return REFERENCE;
+    }
+    if (StringUtils.isNotBlank(answer.getValueDateTime())) {
+      return DATE_TIME;
+    }
+    if (StringUtils.isNotBlank(answer.getValueUri())) {
+      return URI;
+    }
+    if (answer.getValueBoolean() != null) {
+      return BOOLEAN;
+    }
+    if (answer.getValueQuantity() != null) {
+      return QUANTITY;
+    }
+    if (answer.getValueDecimal() != null) {
+      return DECIMAL;
+    }
+    if (answer.getValueInteger() != null) {
+      return INTEGER;
+    }
+    if (StringUtils.isNotBlank(answer.getValueTime())) {
+      return TIME;
+    }
+    return NONE;
+  }
+}
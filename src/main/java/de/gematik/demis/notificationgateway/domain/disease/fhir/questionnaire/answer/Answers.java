@@ -30,12 +30,9 @@ package de.gematik.demis.notificationgateway.domain.disease.fhir.questionnaire.a
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.gematik.demis.notificationgateway.FeatureFlags;
 import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseAnswer;
-import jakarta.annotation.PostConstruct;
-import java.util.List;
-import java.util.Objects;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.r4.model.BooleanType;
 import org.hl7.fhir.r4.model.Coding;
 import org.hl7.fhir.r4.model.DateTimeType;
@@ -47,6 +44,7 @@ import org.hl7.fhir.r4.model.QuestionnaireResponse;
 import org.hl7.fhir.r4.model.Reference;
 import org.hl7.fhir.r4.model.StringType;
 import org.hl7.fhir.r4.model.TimeType;
+import org.hl7.fhir.r4.model.Type;
 import org.hl7.fhir.r4.model.UriType;
 import org.springframework.stereotype.Service;
 
@@ -68,8 +66,6 @@ public final class Answers {
   private final ReferenceDataType references;
   private final StringDataType strings;
 
-  private List<DataType<?>> dataTypes;
-
   Answers(FeatureFlags featureFlags) {
     this.featureFlags = featureFlags;
     // Initialize all data types
@@ -86,28 +82,6 @@ public final class Answers {
     this.strings = new StringDataType();
   }
 
-  @PostConstruct
-  void createDataTypesList() {
-    /*
-     * The order of the data types is important, because the first matching data type is used.
-     * The order contains statistics of the data types in the questionnaire response items.
-     * The order also covers tricky cases like date and date time. The date processor must be placed before the date time processor.
-     */
-    this.dataTypes =
-        List.of(
-            this.strings,
-            this.dates,
-            this.codings,
-            this.references,
-            this.dateTimes,
-            this.uris,
-            this.booleans,
-            this.quantities,
-            this.decimals,
-            this.integers,
-            this.times);
-  }
-
   /**
    * Create a FHIR answer from a source answer.
    *
@@ -115,7 +89,7 @@ public final class Answers {
    * @return FHIR answer
    */
   public FhirAnswer createFhirAnswer(QuestionnaireResponseAnswer answer) {
-    return new FhirAnswerImpl(answer);
+    return new FhirAnswerImpl(answer, AnswerSlot.of(answer));
   }
 
   /**
@@ -125,31 +99,39 @@ public final class Answers {
    * @return <code>true</code> if the answer contains a value, <code>false</code> if not
    */
   public boolean containsValue(QuestionnaireResponseAnswer answer) {
-    return isPrimitiveSet(answer)
-        || isDateTimeSet(answer)
-        || Objects.nonNull(answer.getValueCoding())
-        || Objects.nonNull(answer.getValueQuantity())
-        || StringUtils.isNotBlank(answer.getValueReference())
-        || StringUtils.isNotBlank(answer.getValueUri());
-  }
-
-  private boolean isDateTimeSet(QuestionnaireResponseAnswer answer) {
-    return StringUtils.isNotBlank(answer.getValueDate())
-        || StringUtils.isNotBlank(answer.getValueDateTime())
-        || StringUtils.isNotBlank(answer.getValueTime());
+    return AnswerSlot.of(answer) != AnswerSlot.NONE;
   }
 
-  private boolean isPrimitiveSet(QuestionnaireResponseAnswer answer) {
-    return Objects.nonNull(answer.getValueBoolean())
-        || Objects.nonNull(answer.getValueDecimal())
-        || Objects.nonNull(answer.getValueInteger())
-        || StringUtils.isNotBlank(answer.getValueString());
+  /**
+   * Convert the value of the given slot to FHIR
+   *
+   * @param slot populated value field of the answer
+   * @param answer source answer
+   * @return FHIR value, <code>null</code> for {@link AnswerSlot#NONE}
+   */
+  @Nullable
+  private Type toFhir(AnswerSlot slot, QuestionnaireResponseAnswer answer) {
+    return switch (slot) {
+      case STRING -> this.strings.toFhir(answer);
+      case DATE -> this.dates.toFhir(answer);
+      case CODING -> this.codings.toFhir(answer);
+      case REFERENCE -> this.references.toFhir(answer);
+      case DATE_TIME -> this.dateTimes.toFhir(answer);
+      case URI -> this.uris.toFhir(answer);
+      case BOOLEAN -> this.booleans.toFhir(answer);
+      case QUANTITY -> this.quantities.toFhir(answer);
+      case DECIMAL -> this.decimals.toFhir(answer);
+      case INTEGER -> this.integers.toFhir(answer);
+      case TIME -> this.times.toFhir(answer);
+      case NONE -> null;
+    };
   }
 
   @RequiredArgsConstructor
   final class FhirAnswerImpl implements FhirAnswer, FhirAnswer.Value {
 
     private final QuestionnaireResponseAnswer answer;
+    private final AnswerSlot slot;
 
     @Override
     public Quantity toQuantity() {
@@ -208,7 +190,7 @@ public final class Answers {
 
     @Override
     public QuestionnaireResponse.QuestionnaireResponseItemAnswerComponent object() {
-      return parse(this.answer);
+      return parse(this.answer, this.slot);
     }
 
     @Override
@@ -220,17 +202,17 @@ public final class Answers {
      * Create a FHIR answer from a source answer.
      *
      * @param answer source answer
+     * @param slot populated value field of the answer
      * @return FHIR answer
      */
     private QuestionnaireResponse.QuestionnaireResponseItemAnswerComponent parse(
-        QuestionnaireResponseAnswer answer) {
+        QuestionnaireResponseAnswer answer, AnswerSlot slot) {
       final var target = new QuestionnaireResponse.QuestionnaireResponseItemAnswerComponent();
-      Answers.this.dataTypes.stream()
-          .filter(dt -> dt.test(answer))
-          .map(dt -> dt.toFhir(answer))
-          .findFirst()
-          .ifPresent(target::setValue);
-      if ((target.getValue() == null) && containsValue(answer)) {
+      final Type value = toFhir(slot, answer);
+      if (value != null) {
+        target.setValue(value);
+      }
+      if ((target.getValue() == null) && (slot != AnswerSlot.NONE)) {
         throw new IllegalArgumentException(
             "Unsupported data type at questionnaire response item answer: "
                 + printExceptionDataInfo(answer));
@@ -27,36 +27,17 @@ package de.gematik.demis.notificationgateway.domain.disease.fhir.questionnaire.a
  * #L%
  */
 
-import ca.uhn.fhir.model.api.TemporalPrecisionEnum;
 import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseAnswer;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import de.gematik.demis.notificationgateway.common.utils.TemporalParser;
 import java.util.Objects;
 import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.r4.model.DateType;
 
 final class DateDataType implements DataType<DateType> {
 
-  private static final String MONTH_OF_YEAR_GERMAN = "MM.yyyy";
-  private static final String DAY_OF_YEAR_GERMAN = "dd.MM.yyyy";
-  private static final String MONTH_OF_YEAR_ISO = "yyyy-MM";
-  private static final String DAY_OF_YEAR_ISO = "yyyy-MM-dd";
-  private static final String UNSUPPORTED_DATE_FORMAT = "Unsupported date format: ";
-
-  private static Date parse(String text, String pattern) {
-    try {
-      final SimpleDateFormat parser = new SimpleDateFormat(pattern);
-      parser.setLenient(false);
-      return parser.parse(text);
-    } catch (ParseException e) {
-      throw new IllegalArgumentException(UNSUPPORTED_DATE_FORMAT + text, e);
-    }
-  }
-
   @Override
   public DateType toFhir(QuestionnaireResponseAnswer answer) {
-    return createDateType(getValue(answer));
+    return TemporalParser.parseDate(getValue(answer));
   }
 
   @Override
@@ -64,68 +45,6 @@ final class DateDataType implements DataType<DateType> {
     return StringUtils.isNotBlank(answer.getValueDate());
   }
 
-  private DateType createDateType(String date) {
-    switch (date.length()) {
-      case 4:
-        return createYearFrom4Chars(date);
-      case 7:
-        return createMonthOfYearFrom7Chars(date);
-      case 10:
-        return createDateFrom10Chars(date);
-      default:
-        throw new IllegalArgumentException(UNSUPPORTED_DATE_FORMAT + date);
-    }
-  }
-
-  private DateType createMonthOfYearFrom7Chars(String text) {
-    final String pattern = getMonthOfYearPattern(text);
-    final DateType value = new DateType();
-    value.setValue(parse(text, pattern), TemporalPrecisionEnum.MONTH);
-    return value;
-  }
-
-  private DateType createYearFrom4Chars(String text) {
-    DateType date = new DateType();
-    date.setPrecision(TemporalPrecisionEnum.YEAR);
-    date.setYear(Integer.parseInt(text));
-    return date;
-  }
-
-  private DateType createDateFrom10Chars(String text) {
-    final String pattern = getDayOfYearPattern(text);
-    final DateType date = new DateType();
-    date.setValue(parse(text, pattern), TemporalPrecisionEnum.DAY);
-    return date;
-  }
-
-  private boolean isGerman(String text) {
-    return text.indexOf('.') > -1;
-  }
-
-  private boolean isIso(String text) {
-    return text.indexOf('-') > -1;
-  }
-
-  private String getDayOfYearPattern(String text) {
-    if (isGerman(text)) {
-      return DAY_OF_YEAR_GERMAN;
-    }
-    if (isIso(text)) {
-      return DAY_OF_YEAR_ISO;
-    }
-    throw new IllegalArgumentException(UNSUPPORTED_DATE_FORMAT + text);
-  }
-
-  private String getMonthOfYearPattern(String text) {
-    if (isGerman(text)) {
-      return MONTH_OF_YEAR_GERMAN;
-    }
-    if (isIso(text)) {
-      return MONTH_OF_YEAR_ISO;
-    }
-    throw new IllegalArgumentException(UNSUPPORTED_DATE_FORMAT + text);
-  }
-
   private String getValue(QuestionnaireResponseAnswer answer) {
     return Objects.requireNonNull(answer.getValueDate(), "date value not set");
   }
@@ -27,30 +27,24 @@ package de.gematik.demis.notificationgateway.domain.disease.fhir.questionnaire.a
  * #L%
  */
 
-import ca.uhn.fhir.model.api.TemporalPrecisionEnum;
 import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseAnswer;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import de.gematik.demis.notificationgateway.common.utils.TemporalParser;
 import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.r4.model.DateTimeType;
-import org.hl7.fhir.r4.model.DateType;
 
 final class DateTimeDataType implements DataType<DateTimeType> {
 
-  private static final String DATE_TIME_PATTERN_GERMAN = "dd.MM.yyyy HH:mm";
-
   private final DateDataType dateType = new DateDataType();
 
   @Override
   public DateTimeType toFhir(QuestionnaireResponseAnswer answer) {
     final String dateTime = answer.getValueDateTime();
     if (StringUtils.isNotBlank(dateTime)) {
-      return parseDateTime(dateTime);
+      return TemporalParser.parseGermanDateTime(dateTime);
     }
     final String date = answer.getValueDate();
     if (StringUtils.isNotBlank(date)) {
-      return createFromDate(answer);
+      return TemporalParser.toDateTime(this.dateType.toFhir(answer));
     }
     throw new IllegalArgumentException("Invalid date time answer without value");
   }
@@ -60,28 +54,4 @@ final class DateTimeDataType implements DataType<DateTimeType> {
     return StringUtils.isNotBlank(answer.getValueDateTime())
         || StringUtils.isNotBlank(answer.getValueDate());
   }
-
-  private DateTimeType parseDateTime(String text) {
-    DateTimeType dateTimeType = new DateTimeType();
-    dateTimeType.setValue(parseGermanDateTime(text), TemporalPrecisionEnum.SECOND);
-    return dateTimeType;
-  }
-
-  private Date parseGermanDateTime(String text) {
-    try {
-      final SimpleDateFormat parser = new SimpleDateFormat(DATE_TIME_PATTERN_GERMAN);
-      parser.setLenient(false);
-      return parser.parse(text);
-    } catch (ParseException e) {
-      throw new IllegalArgumentException("Invalid date time format: " + text, e);
-    }
-  }
-
-  private DateTimeType createFromDate(QuestionnaireResponseAnswer answer) {
-    DateType date = this.dateType.toFhir(answer);
-    DateTimeType dateTime = new DateTimeType();
-    dateTime.setPrecision(date.getPrecision());
-    dateTime.setValueAsString(date.getValueAsString());
-    return dateTime;
-  }
 }
@@ -33,12 +33,22 @@ import static de.gematik.demis.notificationgateway.common.enums.NotificationType
 
 import de.gematik.demis.notificationgateway.common.dto.OkResponse;
 import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
+import de.gematik.demis.notificationgateway.common.enums.NotificationType;
+import de.gematik.demis.notificationgateway.common.jobs.NotificationJobService;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineEndpoint;
+import de.gematik.demis.notificationgateway.common.services.OkResponseService;
+import de.gematik.demis.notificationgateway.common.services.SubmissionIdempotencyService;
 import de.gematik.demis.notificationgateway.common.utils.Token;
+import de.gematik.demis.notificationgateway.domain.pathogen.services.PathogenBatchService;
 import de.gematik.demis.notificationgateway.domain.pathogen.services.PathogenSendService;
 import jakarta.security.auth.message.AuthException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -46,6 +56,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 @RestController
 @Validated
@@ -54,31 +65,113 @@ import org.springframework.web.bind.annotation.RestController;
 public class PathogenRestController {
 
   private final PathogenSendService sendService;
+  private final SubmissionIdempotencyService idempotencyService;
+  private final PathogenBatchService batchService;
+  private final NotificationJobService jobService;
 
   @PostMapping({"/pathogen", "/pathogen/7.1"})
-  ResponseEntity<OkResponse> send(
+  @PipelineEndpoint(value = "pathogen", notificationType = NOMINAL, upstream = "NES")
+  CompletableFuture<ResponseEntity<OkResponse>> send(
       @RequestBody @Valid PathogenTest pathogenTest, @RequestHeader HttpHeaders headers)
       throws AuthException {
-
-    return ResponseEntity.ok(
-        sendService.processPortalNotificationData(pathogenTest, Token.of(headers), NOMINAL));
+    return send(pathogenTest, headers, NOMINAL, "pathogen");
   }
 
   @PostMapping("/pathogen/7.3/non_nominal")
-  ResponseEntity<OkResponse> send7_3_non_nominal(
+  @PipelineEndpoint(
+      value = "pathogen/7.3/non_nominal",
+      notificationType = NON_NOMINAL,
+      upstream = "NES")
+  CompletableFuture<ResponseEntity<OkResponse>> send7_3_non_nominal(
       @RequestBody @Valid PathogenTest pathogenTest, @RequestHeader HttpHeaders headers)
       throws AuthException {
-
-    return ResponseEntity.ok(
-        sendService.processPortalNotificationData(pathogenTest, Token.of(headers), NON_NOMINAL));
+    return send(pathogenTest, headers, NON_NOMINAL, "pathogen/7.3/non_nominal");
   }
 
   @PostMapping("/pathogen/7.3/anonymous")
-  ResponseEntity<OkResponse> send7_3_anonymous(
+  @PipelineEndpoint(
+      value = "pathogen/7.3/anonymous",
+      notificationType = ANONYMOUS,
+      upstream = "NES")
+  CompletableFuture<ResponseEntity<OkResponse>> send7_3_anonymous(
       @RequestBody @Valid PathogenTest pathogenTest, @RequestHeader HttpHeaders headers)
       throws AuthException {
+    return send(pathogenTest, headers, ANONYMOUS, "pathogen/7.3/anonymous");
+  }
+
+  @PostMapping(
+      path = "/pathogen/batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @PipelineEndpoint(value = "pathogen/batch", notificationType = NOMINAL, upstream = "NES")
+  ResponseBodyEmitter sendBatch(@RequestHeader HttpHeaders headers, HttpServletRequest request)
+      throws AuthException, IOException {
+    return sendBatch(headers, request, NOMINAL);
+  }
+
+  @PostMapping(
+      path = "/pathogen/7.3/non_nominal/batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @PipelineEndpoint(
+      value = "pathogen/7.3/non_nominal/batch",
+      notificationType = NON_NOMINAL,
+      upstream = "NES")
+  ResponseBodyEmitter sendBatch7_3_non_nominal(
+      @RequestHeader HttpHeaders headers, HttpServletRequest request)
+      throws AuthException, IOException {
+    return sendBatch(headers, request, NON_NOMINAL);
+  }
+
+  @PostMapping(
+      path = "/pathogen/7.3/anonymous/batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @PipelineEndpoint(
+      value = "pathogen/7.3/anonymous/batch",
+      notificationType = ANONYMOUS,
+      upstream = "NES")
+  ResponseBodyEmitter sendBatch7_3_anonymous(
+      @RequestHeader HttpHeaders headers, HttpServletRequest request)
+      throws AuthException, IOException {
+    return sendBatch(headers, request, ANONYMOUS);
+  }
 
-    return ResponseEntity.ok(
-        sendService.processPortalNotificationData(pathogenTest, Token.of(headers), ANONYMOUS));
+  private ResponseBodyEmitter sendBatch(
+      HttpHeaders headers, HttpServletRequest request, NotificationType notificationType)
+      throws AuthException, IOException {
+    final Token token = Token.of(headers);
+    return batchService.submit(request.getInputStream(), token, notificationType, request);
+  }
+
+  private CompletableFuture<ResponseEntity<OkResponse>> send(
+      PathogenTest pathogenTest,
+      HttpHeaders headers,
+      NotificationType notificationType,
+      String operation)
+      throws AuthException {
+    final Token token = Token.of(headers);
+    if (jobService.isRequested()) {
+      return jobService.submit(
+          operation,
+          token,
+          inboundRequest ->
+              idempotencyService.submit(
+                  operation,
+                  token,
+                  headers,
+                  pathogenTest,
+                  () ->
+                      sendService.processPortalNotificationData(
+                          pathogenTest, token, notificationType, inboundRequest)));
+    }
+    return idempotencyService
+        .submit(
+            operation,
+            token,
+            headers,
+            pathogenTest,
+            () -> sendService.processPortalNotificationData(pathogenTest, token, notificationType))
+        .thenApply(OkResponseService::toResponseEntity);
   }
 }
@@ -44,11 +44,9 @@ import de.gematik.demis.notificationgateway.common.dto.NotifierFacility;
 import de.gematik.demis.notificationgateway.common.dto.PathogenDTO;
 import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
 import de.gematik.demis.notificationgateway.common.enums.NotificationType;
+import de.gematik.demis.notificationgateway.common.jfr.BundleBuildEvent;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Coding;
 import org.hl7.fhir.r4.model.DiagnosticReport;
@@ -56,7 +54,6 @@ import org.hl7.fhir.r4.model.Observation;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.PractitionerRole;
 import org.hl7.fhir.r4.model.Specimen;
-import org.jspecify.annotations.NonNull;
 
 /**
  * Utility class for creating FHIR {@link Bundle} objects.
@@ -85,6 +82,8 @@ public class BundleCreator {
       NotificationType notificationType,
       boolean featureFlagFollowUpActive,
       boolean isOthPrivatLabSubmitterAssignmentDisabled) {
+    final BundleBuildEvent event = new BundleBuildEvent();
+    event.begin();
 
     // DTOs
 
@@ -144,37 +143,30 @@ public class BundleCreator {
                 submittingRole,
                 observation,
                 notificationLaboratoryCategory,
-                extractVersionMap(pathogenTest)));
+                CodeSystemVersions.of(pathogenTest)));
 
     final DiagnosticReport diagnosticReport =
         createDiagnosticReport(
             pathogenDTO, patient, observation, notificationLaboratoryCategory, notificationType);
 
-    return bundleBuilder
-        .setPathogenDetection(observation)
-        .setSubmitterRole(submittingRole)
-        .setNotifierRole(notifierRole)
-        .setNotifiedPerson(patient)
-        .setSpecimen(specimenList)
-        .setNotificationLaboratory(
-            createComposition(
-                patient,
-                notifierRole,
-                diagnosticReport,
-                notificationLaboratoryCategory,
-                notificationType))
-        .setLaboratoryReport(diagnosticReport)
-        .build();
-  }
-
-  private static @NonNull Map<String, String> extractVersionMap(PathogenTest pathogenTest) {
-    Map<String, String> versionMap = new HashMap<>();
-    if (pathogenTest.getStaticSystemVersions() == null) {
-      return Collections.emptyMap();
-    }
-    for (var codeSystemVersion : pathogenTest.getStaticSystemVersions()) {
-      versionMap.put(codeSystemVersion.getSystem(), codeSystemVersion.getVersion());
-    }
-    return versionMap;
+    final Bundle bundle =
+        bundleBuilder
+            .setPathogenDetection(observation)
+            .setSubmitterRole(submittingRole)
+            .setNotifierRole(notifierRole)
+            .setNotifiedPerson(patient)
+            .setSpecimen(specimenList)
+            .setNotificationLaboratory(
+                createComposition(
+                    patient,
+                    notifierRole,
+                    diagnosticReport,
+                    notificationLaboratoryCategory,
+                    notificationType))
+            .setLaboratoryReport(diagnosticReport)
+            .build();
+    event.complete(
+        bundle, notificationType, notificationLaboratoryCategory.getPathogen().getCode());
+    return bundle;
   }
 }
@@ -0,0 +1,87 @@
+package de.gematik.demis.notificationgateway.domain.pathogen.creator;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.notificationgateway.domain.pathogen.creator.ObservationCreator.SNOMED_CT_URL;
+import static de.gematik.demis.notificationgateway.domain.pathogen.creator.ObservationCreator.SNOMED_CT_VERSION_FALLBACK;
+
+import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
+import jakarta.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Code system versions of one laboratory notification, resolved once per request from the static
+ * system versions of the {@link PathogenTest}. Without any versions the SNOMED CT version falls
+ * back to {@link ObservationCreator#SNOMED_CT_VERSION_FALLBACK}.
+ *
+ * @param versions versions by code system
+ * @param snomedVersion version of SNOMED CT, may be <code>null</code> if other systems are given
+ */
+public record CodeSystemVersions(Map<String, String> versions, String snomedVersion) {
+
+  /** No versions given, SNOMED CT uses the fallback version */
+  public static final CodeSystemVersions NONE =
+      new CodeSystemVersions(Map.of(), SNOMED_CT_VERSION_FALLBACK);
+
+  /**
+   * Resolve the versions of the static system versions of the laboratory notification
+   *
+   * @param pathogenTest laboratory notification
+   * @return code system versions
+   */
+  public static CodeSystemVersions of(PathogenTest pathogenTest) {
+    if (pathogenTest.getStaticSystemVersions() == null) {
+      return NONE;
+    }
+    final Map<String, String> versions = new HashMap<>();
+    for (var codeSystemVersion : pathogenTest.getStaticSystemVersions()) {
+      versions.put(codeSystemVersion.getSystem(), codeSystemVersion.getVersion());
+    }
+    return of(versions);
+  }
+
+  /**
+   * Resolve the versions of a version map
+   *
+   * @param versions versions by code system, may be <code>null</code>
+   * @return code system versions
+   */
+  public static CodeSystemVersions of(@Nullable Map<String, String> versions) {
+    if (versions == null || versions.isEmpty()) {
+      return NONE;
+    }
+    return new CodeSystemVersions(
+        Collections.unmodifiableMap(new HashMap<>(versions)), versions.get(SNOMED_CT_URL));
+  }
+
+  static CodeSystemVersions orNone(@Nullable CodeSystemVersions versions) {
+    return versions != null ? versions : NONE;
+  }
+}
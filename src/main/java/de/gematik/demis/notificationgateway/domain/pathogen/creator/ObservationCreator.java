@@ -41,7 +41,6 @@ import de.gematik.demis.notificationgateway.domain.pathogen.mapper.RkiCodeUtil;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import org.hl7.fhir.r4.model.CodeableConcept;
 import org.hl7.fhir.r4.model.Coding;
 import org.hl7.fhir.r4.model.DiagnosticReport;
@@ -80,6 +79,7 @@ public class ObservationCreator {
    * @param specimen The {@link Specimen} object representing the specimen used for testing.
    * @param notificationCategory The {@link NotificationLaboratoryCategory} object containing
    *     notification details.
+   * @param versions The {@link CodeSystemVersions} of the notification.
    * @return A list of {@link Observation} objects populated with the provided data.
    */
   public static List<Observation> createObservation(
@@ -88,8 +88,9 @@ public class ObservationCreator {
       Patient patient,
       Specimen specimen,
       NotificationLaboratoryCategory notificationCategory,
-      Map<String, String> versionMap) {
+      CodeSystemVersions versions) {
     final List<Observation> collect = new ArrayList<>();
+    final String snomedVersion = CodeSystemVersions.orNone(versions).snomedVersion();
     final String pathogenCode = notificationCategory.getPathogen().getCode();
     final String pathogenDisplay = notificationCategory.getPathogen().getDisplay();
 
@@ -104,7 +105,7 @@ public class ObservationCreator {
             patient,
             specimen,
             pathogenShortCode,
-            versionMap));
+            snomedVersion));
 
     // Observation 2 - only if analyt is not null
     if (firstMethodPathogenDTO.getAnalyt() != null
@@ -120,7 +121,7 @@ public class ObservationCreator {
               patient,
               specimen,
               pathogenShortCode,
-              versionMap));
+              snomedVersion));
     }
 
     // Observations for all other diagnostik input
@@ -137,7 +138,7 @@ public class ObservationCreator {
       }
       collect.add(
           createSingleObservation(
-              pdto, code, display, patient, specimen, pathogenShortCode, versionMap));
+              pdto, code, display, patient, specimen, pathogenShortCode, snomedVersion));
     }
 
     return collect;
@@ -151,6 +152,7 @@ public class ObservationCreator {
    * @param patient The {@link Patient} object representing the notified person.
    * @param specimen The {@link Specimen} object representing the specimen used for testing.
    * @param pathogenCode The code of the pathogen being tested.
+   * @param versions The {@link CodeSystemVersions} of the notification.
    * @return A list of {@link Observation} objects populated with resistance gene data.
    */
   public static List<Observation> createObservationsForResistanceGenes(
@@ -158,10 +160,11 @@ public class ObservationCreator {
       Patient patient,
       Specimen specimen,
       String pathogenCode,
-      Map<String, String> versionMap) {
+      CodeSystemVersions versions) {
     if (resistanceGenes == null || resistanceGenes.isEmpty()) {
       return Collections.emptyList();
     }
+    final String snomedVersion = CodeSystemVersions.orNone(versions).snomedVersion();
     List<Observation> observations = new ArrayList<>();
     for (ResistanceGeneDTO resistanceGene : resistanceGenes) {
       CodeDisplay gene = resistanceGene.getResistanceGene();
@@ -173,11 +176,9 @@ public class ObservationCreator {
       if (gene != null) {
         String systemWithVersion = gene.getSystem();
         if (systemWithVersion != null) {
-          String[] splitSystem = systemWithVersion.split("\\|");
-          obsercationSystem = splitSystem[0];
-          if (splitSystem.length > 1) {
-            observationVersion = splitSystem[1];
-          }
+          SystemVersion systemVersion = SystemVersion.parse(systemWithVersion);
+          obsercationSystem = systemVersion.system();
+          observationVersion = systemVersion.version();
         }
       }
 
@@ -189,10 +190,6 @@ public class ObservationCreator {
 
       String methodCode = "708068002";
       String methodDisplay = "Molecular genetics technique (qualifier value)";
-      String snomedVersion =
-          versionMap == null || versionMap.isEmpty()
-              ? SNOMED_CT_VERSION_FALLBACK
-              : versionMap.get(SNOMED_CT_URL);
       Observation observation =
           new PathogenDetectionDataBuilder()
               .setDefaultData()
@@ -225,6 +222,7 @@ public class ObservationCreator {
    * @param patient The {@link Patient} object representing the notified person.
    * @param specimen The {@link Specimen} object representing the specimen used for testing.
    * @param pathogenCode The code of the pathogen being tested.
+   * @param versions The {@link CodeSystemVersions} of the notification.
    * @return A list of {@link Observation} objects populated with resistance data.
    */
   public static List<Observation> createObservationsForResistances(
@@ -232,10 +230,11 @@ public class ObservationCreator {
       Patient patient,
       Specimen specimen,
       String pathogenCode,
-      Map<String, String> versionMap) {
+      CodeSystemVersions versions) {
     if (resistances == null || resistances.isEmpty()) {
       return Collections.emptyList();
     }
+    final String snomedVersion = CodeSystemVersions.orNone(versions).snomedVersion();
     List<Observation> observations = new ArrayList<>();
     for (ResistanceDTO resistance : resistances) {
       CodeDisplay resistanceCodeDisplay = resistance.getResistance();
@@ -255,17 +254,11 @@ public class ObservationCreator {
       if (resistanceCodeDisplay != null) {
         String systemWithVersion = resistanceCodeDisplay.getSystem();
         if (systemWithVersion != null) {
-          String[] splitSystem = systemWithVersion.split("\\|");
-          obsercationSystem = splitSystem[0];
-          if (splitSystem.length > 1) {
-            observationVersion = splitSystem[1];
-          }
+          SystemVersion systemVersion = SystemVersion.parse(systemWithVersion);
+          obsercationSystem = systemVersion.system();
+          observationVersion = systemVersion.version();
         }
       }
-      String snomedVersion =
-          versionMap == null || versionMap.isEmpty()
-              ? SNOMED_CT_VERSION_FALLBACK
-              : versionMap.get(SNOMED_CT_URL);
       Observation observation =
           new PathogenDetectionDataBuilder()
               .setDefaultData()
@@ -310,23 +303,17 @@ public class ObservationCreator {
       Patient patient,
       Specimen specimen,
       String pathogenCode,
-      Map<String, String> versionMap) {
+      String snomedVersion) {
 
     String methodSystem = null;
     String methodVersion = null;
     CodeDisplay method = methodPathogenDTO.getMethod();
     // TODO remove when with feature_flag_notifications_7_3 as it should be given every time
     if (method.getSystem() != null) {
-      String[] splitSystem = method.getSystem().split("\\|");
-      methodSystem = splitSystem[0];
-      if (splitSystem.length > 1) {
-        methodVersion = splitSystem[1];
-      }
+      SystemVersion systemVersion = SystemVersion.parse(method.getSystem());
+      methodSystem = systemVersion.system();
+      methodVersion = systemVersion.version();
     }
-    String snomedVersion =
-        versionMap == null || versionMap.isEmpty()
-            ? SNOMED_CT_VERSION_FALLBACK
-            : versionMap.get(SNOMED_CT_URL);
     return new PathogenDetectionDataBuilder()
         .setDefaultData()
         .setInterpretationCode(methodPathogenDTO.getResult().getValue())
@@ -38,7 +38,6 @@ import de.gematik.demis.notificationgateway.common.dto.PathogenDTO;
 import de.gematik.demis.notificationgateway.common.dto.SpecimenDTO;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import org.hl7.fhir.r4.model.Observation;
 import org.hl7.fhir.r4.model.Patient;
 import org.hl7.fhir.r4.model.PractitionerRole;
@@ -70,6 +69,7 @@ public class SpecimenCreator {
    *     added.
    * @param notificationLaboratoryCategory The {@link NotificationLaboratoryCategory} object
    *     containing details about the notification category.
+   * @param versions The {@link CodeSystemVersions} of the notification.
    * @return A {@link Specimen} object populated with the provided data, or null if no specimen data
    *     is available.
    */
@@ -79,7 +79,7 @@ public class SpecimenCreator {
       PractitionerRole submittingRole,
       List<Observation> observation,
       NotificationLaboratoryCategory notificationLaboratoryCategory,
-      Map<String, String> versionMap) {
+      CodeSystemVersions versions) {
     List<Specimen> returnList = new ArrayList<>();
 
     // Retrieve the pathogen short code and the list of specimen data transfer objects (DTOs).
@@ -95,11 +95,9 @@ public class SpecimenCreator {
       String version = null;
       String systemWithVersion = specimenDTO.getMaterial().getSystem();
       if (systemWithVersion != null) {
-        String[] split = systemWithVersion.split("\\|");
-        system = split[0];
-        if (split.length > 1) {
-          version = split[1];
-        }
+        SystemVersion systemVersion = SystemVersion.parse(systemWithVersion);
+        system = systemVersion.system();
+        version = systemVersion.version();
       }
 
       Specimen specimen = null;
@@ -130,7 +128,7 @@ public class SpecimenCreator {
               patient,
               specimen,
               notificationLaboratoryCategory,
-              versionMap));
+              versions));
 
       // Add observations for resistance genes.
       observation.addAll(
@@ -139,12 +137,12 @@ public class SpecimenCreator {
               patient,
               specimen,
               pathogenShortCode,
-              versionMap));
+              versions));
 
       // Add observations for resistances.
       observation.addAll(
           createObservationsForResistances(
-              specimenDTO.getResistanceList(), patient, specimen, pathogenShortCode, versionMap));
+              specimenDTO.getResistanceList(), patient, specimen, pathogenShortCode, versions));
       returnList.add(specimen);
     }
     return returnList;
@@ -0,0 +1,55 @@
+package de.gematik.demis.notificationgateway.domain.pathogen.creator;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+/**
+ * Code system and version of a coding system given as <code>system|version</code>.
+ *
+ * @param system code system
+ * @param version code system version, <code>null</code> if not given
+ */
+record SystemVersion(String system, String version) {
+
+  /**
+   * Parse a coding system with optional version
+   *
+   * @param systemWithVersion <code>system</code> or <code>system|version</code>
+   * @return system and version
+   */
+  static SystemVersion parse(String systemWithVersion) {
+    final int separator = systemWithVersion.indexOf('|');
+    if (separator < 0) {
+      return new SystemVersion(systemWithVersion, null);
+    }
+    final int end = systemWithVersion.indexOf('|', separator + 1);
+    final String version =
+        systemWithVersion.substring(separator + 1, end < 0 ? systemWithVersion.length() : end);
+    return new SystemVersion(
+        systemWithVersion.substring(0, separator), version.isEmpty() ? null : version);
+  }
+}
@@ -0,0 +1,51 @@
+package de.gematik.demis.notificationgateway.domain.pathogen.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import de.gematik.demis.notificationgateway.common.dto.ErrorResponse;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+
+/**
+ * Result of one item of a pathogen batch, written as one line of the NDJSON response.
+ *
+ * @param index position of the item in the batch, starting with 0
+ * @param statusCode HTTP status the single submission would have been answered with
+ * @param response response of NES, only for 200 and 202
+ * @param error error response, only for failed items
+ */
+public record PathogenBatchResult(
+    int index, int statusCode, OkResponse response, ErrorResponse error) {
+
+  static PathogenBatchResult ok(int index, int statusCode, OkResponse response) {
+    return new PathogenBatchResult(index, statusCode, response, null);
+  }
+
+  static PathogenBatchResult failed(int index, ErrorResponse error) {
+    return new PathogenBatchResult(index, error.getStatusCode(), null, error);
+  }
+}
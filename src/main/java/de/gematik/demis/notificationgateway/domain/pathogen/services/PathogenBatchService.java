@@ -0,0 +1,268 @@
+package de.gematik.demis.notificationgateway.domain.pathogen.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
+import de.gematik.demis.notificationgateway.common.enums.NotificationType;
+import de.gematik.demis.notificationgateway.common.exceptions.BadRequestException;
+import de.gematik.demis.notificationgateway.common.exceptions.ErrorResponseController;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.services.OkResponseService;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+/**
+ * Sends many pathogen tests of one request to NES. The items are read one by one from a JSON array
+ * or NDJSON, validated, converted and sent like single submissions by the {@link
+ * PathogenSendService}, at most {@code pathogen.batch.parallelism} at a time. One {@link
+ * PathogenBatchResult} per item is streamed back as NDJSON in input order, a failed item does not
+ * abort the batch. Only malformed JSON, after which no further item can be read, ends it early.
+ */
+@Slf4j
+@Service
+public class PathogenBatchService {
+
+  private static final byte[] NEWLINE = {'\n'};
+
+  private final PathogenSendService sendService;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final ErrorResponseController errorResponses;
+  private final ApplicationProperties applicationProperties;
+  private final ExecutorService executor;
+
+  public PathogenBatchService(
+      PathogenSendService sendService,
+      Validator validator,
+      ObjectMapper objectMapper,
+      ErrorResponseController errorResponses,
+      ApplicationProperties applicationProperties) {
+    this.sendService = sendService;
+    this.validator = validator;
+    this.objectMapper = objectMapper;
+    this.errorResponses = errorResponses;
+    this.applicationProperties = applicationProperties;
+    this.executor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pathogen-batch-", 0).factory());
+  }
+
+  /**
+   * Starts processing the batch, the results are written to the returned emitter.
+   *
+   * @param body JSON array or NDJSON of pathogen tests
+   * @param token inbound JWT, used for all items
+   * @param notificationType type of all items
+   * @param request inbound request
+   * @return emitter of the NDJSON results
+   */
+  public ResponseBodyEmitter submit(
+      InputStream body,
+      Token token,
+      NotificationType notificationType,
+      HttpServletRequest request) {
+    final ResponseBodyEmitter emitter =
+        new ResponseBodyEmitter(
+            TimeUnit.SECONDS.toMillis(applicationProperties.getPathogenBatchTimeoutSeconds()));
+    final Batch batch = new Batch(token, notificationType, request, emitter);
+    executor.execute(() -> batch.run(body));
+    return emitter;
+  }
+
+  @PreDestroy
+  void destroy() {
+    executor.shutdownNow();
+  }
+
+  /** One batch request, run by a virtual thread which reads the items and writes the results. */
+  private final class Batch {
+
+    private final Token token;
+    private final NotificationType notificationType;
+    private final HttpServletRequest request;
+    private final ResponseBodyEmitter emitter;
+    private final Deque<CompletableFuture<PathogenBatchResult>> window = new ArrayDeque<>();
+
+    private Batch(
+        Token token,
+        NotificationType notificationType,
+        HttpServletRequest request,
+        ResponseBodyEmitter emitter) {
+      this.token = token;
+      this.notificationType = notificationType;
+      this.request = request;
+      this.emitter = emitter;
+    }
+
+    void run(InputStream body) {
+      int index = 0;
+      try (MappingIterator<JsonNode> items =
+          objectMapper.readerFor(JsonNode.class).readValues(body)) {
+        while (hasNextItem(items, index)) {
+          if (index == applicationProperties.getPathogenBatchMaxItems()) {
+            writeCompleted(0);
+            final String message = "Batch exceeds the maximum of " + index + " items";
+            write(failed(index, new BadRequestException(message)));
+            break;
+          }
+          final JsonNode item = nextItem(items, index);
+          final int itemIndex = index++;
+          window.add(
+              CompletableFuture.supplyAsync(() -> send(itemIndex, item), executor)
+                  .thenCompose(result -> result));
+          writeCompleted(applicationProperties.getPathogenBatchParallelism());
+        }
+        writeCompleted(0);
+        emitter.complete();
+      } catch (MalformedBatchException e) {
+        writeRemaining(failed(e.index, new BadRequestException(e.getMessage(), e.getCause())));
+      } catch (IOException e) {
+        log.warn("Pathogen batch aborted after {} items", index, e);
+        window.forEach(result -> result.cancel(false));
+        emitter.completeWithError(e);
+      }
+    }
+
+    private boolean hasNextItem(MappingIterator<JsonNode> items, int index)
+        throws MalformedBatchException {
+      try {
+        return items.hasNextValue();
+      } catch (IOException e) {
+        throw new MalformedBatchException(index, e);
+      }
+    }
+
+    private JsonNode nextItem(MappingIterator<JsonNode> items, int index)
+        throws MalformedBatchException {
+      try {
+        return items.nextValue();
+      } catch (IOException e) {
+        throw new MalformedBatchException(index, e);
+      }
+    }
+
+    private CompletableFuture<PathogenBatchResult> send(int index, JsonNode item) {
+      try {
+        final PathogenTest pathogenTest = objectMapper.treeToValue(item, PathogenTest.class);
+        validate(pathogenTest);
+        return sendService
+            .processPortalNotificationData(pathogenTest, token, notificationType, request)
+            .handle(
+                (response, failure) ->
+                    failure == null ? ok(index, response) : failed(index, unwrap(failure)));
+      } catch (JsonProcessingException | IllegalArgumentException e) {
+        return CompletableFuture.completedFuture(
+            failed(index, new BadRequestException(e.getMessage(), e)));
+      } catch (Exception e) {
+        return CompletableFuture.completedFuture(failed(index, e));
+      }
+    }
+
+    private void validate(PathogenTest pathogenTest) {
+      final Set<ConstraintViolation<PathogenTest>> violations = validator.validate(pathogenTest);
+      if (!violations.isEmpty()) {
+        throw new ConstraintViolationException(violations);
+      }
+    }
+
+    /** Writes the completed results at the head of the window and waits while it is full. */
+    private void writeCompleted(int maxPending) throws IOException {
+      while (!window.isEmpty() && (window.size() > maxPending || window.peek().isDone())) {
+        write(window.poll().join());
+      }
+    }
+
+    private void writeRemaining(PathogenBatchResult last) {
+      try {
+        writeCompleted(0);
+        write(last);
+        emitter.complete();
+      } catch (IOException e) {
+        emitter.completeWithError(e);
+      }
+    }
+
+    private void write(PathogenBatchResult result) throws IOException {
+      final byte[] line = objectMapper.writeValueAsBytes(result);
+      emitter.send(line, MediaType.APPLICATION_NDJSON);
+      emitter.send(NEWLINE, MediaType.APPLICATION_NDJSON);
+    }
+
+    private PathogenBatchResult ok(int index, OkResponse response) {
+      return PathogenBatchResult.ok(
+          index,
+          OkResponseService.toResponseEntity(response).getStatusCode().value(),
+          response);
+    }
+
+    private PathogenBatchResult failed(int index, Exception failure) {
+      return PathogenBatchResult.failed(index, errorResponses.toErrorResponse(failure, request));
+    }
+  }
+
+  private static Exception unwrap(Throwable failure) {
+    final Throwable cause =
+        failure instanceof CompletionException && failure.getCause() != null
+            ? failure.getCause()
+            : failure;
+    return cause instanceof Exception exception ? exception : new CompletionException(cause);
+  }
+
+  /** The input is no valid JSON array or NDJSON from the given item on. */
+  private static final class MalformedBatchException extends Exception {
+
+    private final int index;
+
+    private MalformedBatchException(int index, IOException cause) {
+      super("Malformed JSON at batch item " + index + ": " + cause.getMessage(), cause);
+      this.index = index;
+    }
+  }
+}
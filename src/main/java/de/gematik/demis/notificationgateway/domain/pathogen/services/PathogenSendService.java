@@ -34,17 +34,19 @@ import de.gematik.demis.notificationgateway.common.dto.OkResponse;
 import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
 import de.gematik.demis.notificationgateway.common.enums.NotificationType;
 import de.gematik.demis.notificationgateway.common.exceptions.HoneypotException;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineFlow;
+import de.gematik.demis.notificationgateway.common.metrics.PipelineStage;
 import de.gematik.demis.notificationgateway.common.properties.NESProperties;
 import de.gematik.demis.notificationgateway.common.proxies.BundlePublisher;
 import de.gematik.demis.notificationgateway.common.services.OkResponseService;
 import de.gematik.demis.notificationgateway.common.utils.Token;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.hl7.fhir.r4.model.Bundle;
-import org.hl7.fhir.r4.model.Parameters;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -74,20 +76,46 @@ public class PathogenSendService {
     return Arrays.stream(a).anyMatch(StringUtils::isNotBlank);
   }
 
-  public OkResponse processPortalNotificationData(
+  public CompletableFuture<OkResponse> processPortalNotificationData(
       PathogenTest pathogenTest, Token token, NotificationType notificationType) {
-    verifyHoneypot(pathogenTest);
+    return processPortalNotificationData(pathogenTest, token, notificationType, request);
+  }
+
+  /**
+   * Like {@link #processPortalNotificationData(PathogenTest, Token, NotificationType)}, for callers
+   * outside the request thread, e.g. the items of a batch.
+   *
+   * @param inboundRequest inbound request, must not be completed before the returned future
+   */
+  public CompletableFuture<OkResponse> processPortalNotificationData(
+      PathogenTest pathogenTest,
+      Token token,
+      NotificationType notificationType,
+      HttpServletRequest inboundRequest) {
+    final PipelineFlow flow = PipelineFlow.of(inboundRequest);
+    try (PipelineFlow.Sample ignored = flow.start(PipelineStage.HONEYPOT_CHECK)) {
+      verifyHoneypot(pathogenTest);
+    }
 
-    final Bundle bundle =
-        createBundle(
-            pathogenTest,
-            notificationType,
-            featureFlags.isFollowUpNotificationActive(),
-            featureFlags.isOthPrivatLabSubmitterAssignmentDisabled());
+    final Bundle bundle;
+    try (PipelineFlow.Sample ignored = flow.start(PipelineStage.BUNDLE_CREATION)) {
+      bundle =
+          createBundle(
+              pathogenTest,
+              notificationType,
+              featureFlags.isFollowUpNotificationActive(),
+              featureFlags.isOthPrivatLabSubmitterAssignmentDisabled());
+    }
     final String url = nesProperties.laboratoryUrl();
     final String operation = NESProperties.OPERATION_NAME;
     log.info("Sending request to {}, operation: {}", "NES", operation);
-    Parameters result = bundlePublisher.postRequest(bundle, url, operation, token, request);
-    return okResponseService.buildOkResponse(result);
+    return bundlePublisher.postRequestAsync(
+        bundle,
+        url,
+        operation,
+        token,
+        inboundRequest,
+        okResponseService::readOkResponse,
+        okResponseService::pendingOkResponse);
   }
 }
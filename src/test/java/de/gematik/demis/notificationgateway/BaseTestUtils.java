@@ -27,6 +27,8 @@ package de.gematik.demis.notificationgateway;
  * #L%
  */
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 import ca.uhn.fhir.context.FhirContext;
 import de.gematik.demis.notificationgateway.common.dto.LocationDTO;
 import de.gematik.demis.notificationgateway.utils.FileUtils;
@@ -34,14 +36,18 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.hl7.fhir.r4.model.Parameters;
+import org.mockito.stubbing.Answer;
 
 public interface BaseTestUtils {
   String EXPIRED_IBM_TOKEN =
@@ -142,4 +148,16 @@ public interface BaseTestUtils {
   default Parameters createJsonOkParameters(String path) throws URISyntaxException, IOException {
     return (Parameters) FhirContext.forR4().newJsonParser().parseResource(getJsonContent(path));
   }
+
+  /**
+   * Answers {@code BundlePublisher.postRequestAsync} with a response reader by passing the content
+   * of the given file to that reader.
+   */
+  default <T> Answer<CompletableFuture<T>> respondWithJsonFile(String path) {
+    return invocation -> {
+      final Function<byte[], T> responseReader = invocation.getArgument(5);
+      return completedFuture(
+          responseReader.apply(getJsonContent(path).getBytes(StandardCharsets.UTF_8)));
+    };
+  }
 }
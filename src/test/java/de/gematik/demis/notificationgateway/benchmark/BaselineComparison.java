@@ -0,0 +1,188 @@
+package de.gematik.demis.notificationgateway.benchmark;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with the checked-in baseline, or merges the result into the baseline.
+ *
+ * <p>Usage: {@code BaselineComparison <result.json> <baseline.json> <tolerance percent>
+ * [compare|update]}. A benchmark regressed if its throughput dropped, its average time rose or
+ * its normalized allocation rate ({@code -prof gc}) rose by more than the tolerance. Benchmarks
+ * missing on one side are skipped. Exits with 1 if any benchmark regressed or if there is no
+ * baseline to compare with, so a missing baseline can not pass unnoticed.
+ *
+ * <p>The class lives in the test sources instead of {@code src/jmh/java}, so that its unit test
+ * runs with every build and not only with the {@code benchmark} profile.
+ */
+public final class BaselineComparison {
+
+  private static final String ALLOCATION = "·gc.alloc.rate.norm";
+  private static final ObjectMapper OBJECT_MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private BaselineComparison() {}
+
+  public static void main(String[] args) throws IOException {
+    final int status = run(args);
+    if (status != 0) {
+      System.exit(status);
+    }
+  }
+
+  /**
+   * @return 0 if the result is within the tolerance or the baseline was updated, 1 if a benchmark
+   *     regressed or there is no baseline to compare with, 2 for wrong arguments
+   */
+  static int run(String... args) throws IOException {
+    if (args.length < 3) {
+      System.err.println(
+          "Usage: BaselineComparison <result.json> <baseline.json> <tolerance percent>"
+              + " [compare|update]");
+      return 2;
+    }
+    final Path result = Path.of(args[0]);
+    final Path baseline = Path.of(args[1]);
+    final double tolerance = Double.parseDouble(args[2]) / 100;
+    final boolean update = args.length > 3 && "update".equalsIgnoreCase(args[3]);
+    if (!Files.exists(result)) {
+      System.out.println("No benchmark result " + result + ", nothing to compare");
+      return 0;
+    }
+    if (update) {
+      update(result, baseline);
+      return 0;
+    }
+    if (!Files.exists(baseline)) {
+      System.err.println(
+          "No baseline "
+              + baseline
+              + ", record one with -Djmh.mode=update on the base commit and commit it");
+      return 1;
+    }
+    return compare(read(result), read(baseline), tolerance).isEmpty() ? 0 : 1;
+  }
+
+  static List<String> compare(
+      Map<String, JsonNode> results, Map<String, JsonNode> baseline, double tolerance) {
+    final List<String> regressions = new ArrayList<>();
+    results.forEach(
+        (key, current) -> {
+          final JsonNode reference = baseline.get(key);
+          if (reference == null) {
+            return;
+          }
+          final boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+          check(
+              key,
+              current.path("primaryMetric"),
+              reference.path("primaryMetric"),
+              higherIsBetter,
+              tolerance,
+              regressions);
+          check(
+              key + " alloc",
+              current.path("secondaryMetrics").path(ALLOCATION),
+              reference.path("secondaryMetrics").path(ALLOCATION),
+              false,
+              tolerance,
+              regressions);
+        });
+    if (regressions.isEmpty()) {
+      System.out.println("No regression against the baseline");
+    } else {
+      System.out.println("Regressions against the baseline:");
+      regressions.forEach(regression -> System.out.println("  " + regression));
+    }
+    return regressions;
+  }
+
+  private static void check(
+      String key,
+      JsonNode current,
+      JsonNode reference,
+      boolean higherIsBetter,
+      double tolerance,
+      List<String> regressions) {
+    if (current.isMissingNode() || reference.isMissingNode()) {
+      return;
+    }
+    final double score = current.path("score").asDouble();
+    final double referenceScore = reference.path("score").asDouble();
+    final double change = referenceScore == 0 ? 0 : (score - referenceScore) / referenceScore;
+    final String line =
+        String.format(
+            "%s: %.3f -> %.3f %s (%+.1f%%)",
+            key, referenceScore, score, current.path("scoreUnit").asText(), change * 100);
+    System.out.println(line);
+    if (higherIsBetter ? change < -tolerance : change > tolerance) {
+      regressions.add(line);
+    }
+  }
+
+  private static void update(Path result, Path baseline) throws IOException {
+    final Map<String, JsonNode> merged =
+        Files.exists(baseline) ? read(baseline) : new LinkedHashMap<>();
+    merged.putAll(read(result));
+    final ArrayNode entries = OBJECT_MAPPER.createArrayNode();
+    merged.values().forEach(entries::add);
+    Files.createDirectories(baseline.toAbsolutePath().getParent());
+    OBJECT_MAPPER.writeValue(baseline.toFile(), entries);
+    System.out.println("Wrote " + merged.size() + " benchmarks to baseline " + baseline);
+  }
+
+  private static Map<String, JsonNode> read(Path path) throws IOException {
+    final Map<String, JsonNode> entries = new LinkedHashMap<>();
+    for (JsonNode entry : OBJECT_MAPPER.readTree(path.toFile())) {
+      entries.put(key(entry), entry);
+    }
+    return entries;
+  }
+
+  /** Benchmark method, mode and parameters, e.g. {@code ...createBundle thrpt {specimens=5}}. */
+  private static String key(JsonNode entry) {
+    final Map<String, String> params = new TreeMap<>();
+    entry
+        .path("params")
+        .fields()
+        .forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+    return entry.path("benchmark").asText() + " " + entry.path("mode").asText() + " " + params;
+  }
+}
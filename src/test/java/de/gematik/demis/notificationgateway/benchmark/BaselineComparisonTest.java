@@ -0,0 +1,134 @@
+package de.gematik.demis.notificationgateway.benchmark;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class BaselineComparisonTest {
+
+  private static final String KEY = "PathogenBundleBenchmark.createBundle";
+  private static final double TOLERANCE = 0.1;
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static ObjectNode entry(String mode, double score, Double allocation) {
+    final ObjectNode entry = OBJECT_MAPPER.createObjectNode();
+    entry.put("benchmark", KEY).put("mode", mode);
+    entry.putObject("params");
+    entry.putObject("primaryMetric").put("score", score).put("scoreUnit", "ops/s");
+    if (allocation != null) {
+      entry
+          .putObject("secondaryMetrics")
+          .putObject("·gc.alloc.rate.norm")
+          .put("score", allocation)
+          .put("scoreUnit", "B/op");
+    }
+    return entry;
+  }
+
+  private static List<String> compare(JsonNode current, JsonNode reference) {
+    return BaselineComparison.compare(Map.of(KEY, current), Map.of(KEY, reference), TOLERANCE);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "thrpt, 100, 91, false",
+    "thrpt, 100, 89, true",
+    "thrpt, 100, 150, false",
+    "avgt, 100, 109, false",
+    "avgt, 100, 111, true",
+    "avgt, 100, 50, false"
+  })
+  void givenPrimaryScoreWhenCompareThenDirectionOfModeAndToleranceDecide(
+      String mode, double baseline, double result, boolean regressed) {
+    assertThat(compare(entry(mode, result, null), entry(mode, baseline, null)))
+        .hasSize(regressed ? 1 : 0);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"thrpt, 1090, false", "thrpt, 1110, true", "avgt, 1110, true", "avgt, 500, false"})
+  void givenAllocationWhenCompareThenMoreBytesPerOperationRegressInEveryMode(
+      String mode, double allocation, boolean regressed) {
+    assertThat(compare(entry(mode, 100, allocation), entry(mode, 100, 1000.0)))
+        .hasSize(regressed ? 1 : 0)
+        .allSatisfy(regression -> assertThat(regression).startsWith(KEY + " alloc"));
+  }
+
+  @Test
+  void givenAllocationMissingOnOneSideWhenCompareThenOnlyPrimaryMetricIsChecked() {
+    assertThat(compare(entry("thrpt", 100, 5000.0), entry("thrpt", 100, null))).isEmpty();
+  }
+
+  @Test
+  void givenBenchmarkMissingInBaselineWhenCompareThenItIsSkipped() {
+    assertThat(
+            BaselineComparison.compare(
+                Map.of(KEY, entry("thrpt", 1, null)),
+                Map.of("other", entry("thrpt", 100, null)),
+                TOLERANCE))
+        .isEmpty();
+  }
+
+  @Test
+  void givenNoBaselineWhenRunInCompareModeThenFails(@TempDir Path directory) throws IOException {
+    final Path result = write(directory.resolve("result.json"), entry("thrpt", 100, null));
+
+    assertThat(
+            BaselineComparison.run(
+                result.toString(), directory.resolve("baseline.json").toString(), "10", "compare"))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void givenUpdatedBaselineWhenRunInCompareModeThenPasses(@TempDir Path directory)
+      throws IOException {
+    final Path result = write(directory.resolve("result.json"), entry("thrpt", 100, 1000.0));
+    final String baseline = directory.resolve("baseline.json").toString();
+
+    assertThat(BaselineComparison.run(result.toString(), baseline, "10", "update")).isZero();
+    assertThat(BaselineComparison.run(result.toString(), baseline, "10", "compare")).isZero();
+  }
+
+  private static Path write(Path path, JsonNode entry) throws IOException {
+    Files.writeString(
+        path, OBJECT_MAPPER.writeValueAsString(OBJECT_MAPPER.createArrayNode().add(entry)));
+    return path;
+  }
+}
@@ -50,6 +50,7 @@ import de.gematik.demis.service.base.error.ServiceCallException;
 import jakarta.security.auth.message.AuthException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -64,6 +65,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -102,6 +104,41 @@ class ErrorResponseControllerTest {
         .isCloseTo(OffsetDateTime.now(), within(3, ChronoUnit.SECONDS));
   }
 
+  @Test
+  void givenUpstreamUnavailableExceptionWhenHandleThen503WithRetryAfter() {
+    UpstreamUnavailableException exception =
+        new UpstreamUnavailableException(random.nextAlphabetic(10), Duration.ofSeconds(7));
+    MockHttpServletRequest request = new MockHttpServletRequest(GET.name(), REQUEST_URI);
+
+    final ResponseEntity<ErrorResponse> responseEntity =
+        responseController.handleUpstreamUnavailableException(exception, request);
+
+    assertThat(responseEntity.getStatusCode()).isEqualTo(SERVICE_UNAVAILABLE);
+    assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+    assertThat(responseEntity.getBody())
+        .isNotNull()
+        .hasFieldOrPropertyWithValue("statusCode", SERVICE_UNAVAILABLE.value())
+        .hasFieldOrPropertyWithValue("message", NG_300_REQUEST.reason())
+        .hasFieldOrPropertyWithValue("path", REQUEST_URI);
+  }
+
+  @Test
+  void givenIdempotencyKeyReusedExceptionWhenHandleThen422() {
+    IdempotencyKeyReusedException exception =
+        new IdempotencyKeyReusedException(random.nextAlphabetic(10));
+    MockHttpServletRequest request = new MockHttpServletRequest(GET.name(), REQUEST_URI);
+
+    final ResponseEntity<ErrorResponse> responseEntity =
+        responseController.handleIdempotencyKeyReusedException(exception, request);
+
+    assertThat(responseEntity.getStatusCode()).isEqualTo(UNPROCESSABLE_ENTITY);
+    assertThat(responseEntity.getBody())
+        .isNotNull()
+        .hasFieldOrPropertyWithValue("statusCode", UNPROCESSABLE_ENTITY.value())
+        .hasFieldOrPropertyWithValue("message", exception.getMessage())
+        .hasFieldOrPropertyWithValue("path", REQUEST_URI);
+  }
+
   @Test
   void givenMethodArgumentNotValidExceptionWhenHandleBadRequestExceptionThen400() {
     final FieldError fieldError =
@@ -414,4 +451,37 @@ class ErrorResponseControllerTest {
         .hasFieldOrPropertyWithValue("message", diagnostics)
         .hasFieldOrPropertyWithValue("severity", expectedSeverity);
   }
+
+  private static Stream<Arguments> mappedExceptions() {
+    return Stream.of(
+        Arguments.of(new BadRequestException("invalid"), BAD_REQUEST),
+        Arguments.of(new HoneypotException("honeypot"), NOT_ACCEPTABLE),
+        Arguments.of(new IdempotencyKeyReusedException("reused"), UNPROCESSABLE_ENTITY),
+        Arguments.of(
+            new UpstreamUnavailableException("open", Duration.ofSeconds(7)), SERVICE_UNAVAILABLE),
+        Arguments.of(new AuthException("auth"), UNAUTHORIZED),
+        Arguments.of(new HttpRequestMethodNotSupportedException("PUT"), METHOD_NOT_ALLOWED),
+        Arguments.of(new HttpMediaTypeNotSupportedException("text/plain"), UNSUPPORTED_MEDIA_TYPE),
+        Arguments.of(
+            BaseServerResponseException.newInstance(422, "unprocessable"), UNPROCESSABLE_ENTITY),
+        Arguments.of(new TokenException("token"), INTERNAL_SERVER_ERROR),
+        Arguments.of(new IllegalStateException("unexpected"), INTERNAL_SERVER_ERROR));
+  }
+
+  @ParameterizedTest
+  @MethodSource("mappedExceptions")
+  void givenExceptionWhenHandledOrMappedThenSameErrorResponse(
+      Exception exception, HttpStatus expectedStatus) {
+    MockHttpServletRequest request = new MockHttpServletRequest(GET.name(), REQUEST_URI);
+
+    final ResponseEntity<ErrorResponse> responseEntity =
+        responseController.handleException(exception, request);
+    final ErrorResponse mapped = responseController.toErrorResponse(exception, request);
+
+    assertThat(responseEntity.getStatusCode()).isEqualTo(expectedStatus);
+    assertThat(mapped)
+        .usingRecursiveComparison()
+        .ignoringFields("timestamp")
+        .isEqualTo(responseEntity.getBody());
+  }
 }
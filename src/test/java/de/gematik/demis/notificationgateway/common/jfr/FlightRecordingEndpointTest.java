@@ -0,0 +1,122 @@
+package de.gematik.demis.notificationgateway.common.jfr;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.demis.notificationgateway.common.enums.NotificationType;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+class FlightRecordingEndpointTest {
+
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private FlightRecordingEndpoint endpoint;
+
+  @BeforeEach
+  void init() {
+    applicationProperties.setJfrRecordingSettings("default");
+    applicationProperties.setJfrRecordingDurationSeconds(60);
+    applicationProperties.setJfrRecordingMaxDurationSeconds(120);
+    applicationProperties.setJfrRecordingMaxSizeBytes(10 * 1024 * 1024);
+    endpoint = new FlightRecordingEndpoint(applicationProperties);
+  }
+
+  @AfterEach
+  void close() {
+    endpoint.closeRecording();
+  }
+
+  @Test
+  void givenNoRecordingWhenDumpThenNotFound() throws Exception {
+    assertThat(endpoint.dump().getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+  }
+
+  @Test
+  void givenDurationAboveMaximumWhenStartThenCapped() throws Exception {
+    final WebEndpointResponse<FlightRecordingEndpoint.RecordingStatus> response =
+        endpoint.start(3600L);
+
+    assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+    assertThat(response.getBody().state()).isEqualTo(RecordingState.RUNNING);
+    assertThat(response.getBody().duration()).isEqualTo(Duration.ofSeconds(120));
+  }
+
+  @Test
+  void givenRunningRecordingWhenStartThenConflict() throws Exception {
+    endpoint.start(null);
+
+    assertThat(endpoint.start(null).getStatus()).isEqualTo(409);
+  }
+
+  @Test
+  void givenBundleBuiltWhenDumpThenGatewayEventRecorded(@TempDir Path dir) throws Exception {
+    endpoint.start(null);
+    final Bundle bundle = new Bundle();
+    bundle.addEntry().setResource(new Patient());
+    bundle.addEntry().setResource(new Observation());
+    bundle.addEntry().setResource(new Observation());
+    final BundleBuildEvent event = new BundleBuildEvent();
+    event.begin();
+    Thread.sleep(5);
+    event.complete(bundle, NotificationType.NOMINAL, "cvdp");
+
+    final Resource dump = endpoint.dump().getBody();
+    final Path file = dir.resolve("dump.jfr");
+    try (InputStream in = dump.getInputStream()) {
+      Files.copy(in, file);
+    }
+
+    final List<RecordedEvent> events =
+        RecordingFile.readAllEvents(file).stream()
+            .filter(e -> e.getEventType().getName().equals(BundleBuildEvent.NAME))
+            .toList();
+    assertThat(events).hasSize(1);
+    assertThat(events.getFirst().getString("notificationType")).isEqualTo("NOMINAL");
+    assertThat(events.getFirst().getString("category")).isEqualTo("cvdp");
+    assertThat(events.getFirst().getInt("resourceCount")).isEqualTo(3);
+    assertThat(events.getFirst().getString("resourceTypes")).isEqualTo("Observation=2, Patient=1");
+    assertThat(dump.getFile()).as("temporary dump deleted after sending").doesNotExist();
+  }
+}
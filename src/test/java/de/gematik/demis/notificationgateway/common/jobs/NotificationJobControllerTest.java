@@ -0,0 +1,78 @@
+package de.gematik.demis.notificationgateway.common.jobs;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+class NotificationJobControllerTest {
+
+  private final NotificationJobStore store =
+      new InMemoryNotificationJobStore(1024 * 1024, Duration.ofMinutes(1));
+  private final NotificationJobController controller = new NotificationJobController(store);
+
+  @Test
+  void givenSubmittingTokenWhenGetJobThenJob() throws Exception {
+    store.save(NotificationJob.pending("job-1", Token.of(headers("submitter")), "pathogen"));
+
+    assertThat(controller.getJob("job-1", headers("submitter")).getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void givenOtherTokenWhenGetJobThenNotFound() throws Exception {
+    store.save(NotificationJob.pending("job-1", Token.of(headers("submitter")), "pathogen"));
+
+    assertThat(controller.getJob("job-1", headers("somebody-else")).getStatusCode())
+        .isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @Test
+  void givenJobWhenSerializedThenOwnerNotIncluded() throws Exception {
+    final NotificationJob job =
+        NotificationJob.pending("job-1", Token.of(headers("submitter")), "pathogen");
+
+    final String json =
+        new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsString(job);
+
+    assertThat(json).contains("\"id\":\"job-1\"").doesNotContain("owner");
+  }
+
+  private static HttpHeaders headers(String token) {
+    final HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(token);
+    return headers;
+  }
+}
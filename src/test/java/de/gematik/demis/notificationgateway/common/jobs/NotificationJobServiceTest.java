@@ -0,0 +1,220 @@
+package de.gematik.demis.notificationgateway.common.jobs;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.gematik.demis.notificationgateway.FeatureFlags;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.exceptions.ErrorResponseController;
+import de.gematik.demis.notificationgateway.common.exceptions.HoneypotException;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamUnavailableException;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.services.OkResponseService;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class NotificationJobServiceTest {
+
+  private final MockHttpServletRequest request =
+      new MockHttpServletRequest("POST", "/notification/pathogen");
+  private final NotificationJobStore store =
+      new InMemoryNotificationJobStore(1024 * 1024, Duration.ofMinutes(1));
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private NotificationJobService jobService;
+  private Token token;
+
+  @BeforeEach
+  void init() throws Exception {
+    token = token("submitter");
+    applicationProperties.setJobsPath("/notification/jobs");
+    applicationProperties.setJobsStoreShared(true);
+    applicationProperties.setJobsMaxPending(1);
+    applicationProperties.setJobsRetryAfterSeconds(5);
+    request.addHeader(NotificationJobService.PREFER_HEADER, "wait=10, respond-async");
+    request.addHeader("x-fhir-profile", "fhir-profile-snapshots");
+    jobService = newJobService();
+  }
+
+  private NotificationJobService newJobService() {
+    return new NotificationJobService(
+        store,
+        new OkResponseService(),
+        new ErrorResponseController(new ObjectMapper(), mock(FeatureFlags.class)),
+        request,
+        applicationProperties);
+  }
+
+  private static Token token(String text) throws Exception {
+    final HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(text);
+    return Token.of(headers);
+  }
+
+  @AfterEach
+  void close() {
+    jobService.destroy();
+  }
+
+  @Test
+  void givenPreferHeaderWhenIsRequestedThenTrue() {
+    assertThat(jobService.isRequested()).isTrue();
+  }
+
+  @Test
+  void givenNoPreferHeaderWhenIsRequestedThenFalse() {
+    request.removeHeader(NotificationJobService.PREFER_HEADER);
+
+    assertThat(jobService.isRequested()).isFalse();
+  }
+
+  @Test
+  void givenStoreNotSharedWhenIsRequestedThenFalse() {
+    applicationProperties.setJobsStoreShared(false);
+    jobService.destroy();
+    jobService = newJobService();
+
+    assertThat(jobService.isRequested()).isFalse();
+  }
+
+  @Test
+  void givenJobWhenIsOwnedByThenOnlySubmittingToken() throws Exception {
+    final String location =
+        jobService
+            .submit("pathogen", token, detached -> new CompletableFuture<>())
+            .join()
+            .getHeaders()
+            .getLocation()
+            .toString();
+    final NotificationJob job =
+        store.find(location.substring(location.lastIndexOf('/') + 1)).orElseThrow();
+
+    assertThat(job.isOwnedBy(token("submitter"))).isTrue();
+    assertThat(job.isOwnedBy(token("somebody-else"))).isFalse();
+  }
+
+  @Test
+  void givenSubmissionWhenCompletedThenJobSucceededWithResponse() throws Exception {
+    final CompletableFuture<OkResponse> upstream = new CompletableFuture<>();
+    final CompletableFuture<HttpServletRequest> inboundRequest = new CompletableFuture<>();
+
+    final ResponseEntity<OkResponse> accepted =
+        jobService
+            .submit(
+                "pathogen",
+                token,
+                detached -> {
+                  inboundRequest.complete(detached);
+                  return upstream;
+                })
+            .join();
+
+    assertThat(accepted.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+    assertThat(accepted.getHeaders().getLocation()).isNotNull();
+    final String location = accepted.getHeaders().getLocation().toString();
+    assertThat(location).startsWith("/notification/jobs/");
+    final String id = location.substring(location.lastIndexOf('/') + 1);
+    assertThat(accepted.getBody().getTitle()).contains(id);
+    assertThat(store.find(id).orElseThrow().status()).isEqualTo(NotificationJob.Status.PENDING);
+
+    final HttpServletRequest detached = inboundRequest.get(5, TimeUnit.SECONDS);
+    assertThat(detached).isNotSameAs(request);
+    assertThat(detached.getHeader("X-FHIR-Profile")).isEqualTo("fhir-profile-snapshots");
+    final OkResponse okResponse = new OkResponse();
+    okResponse.setNotificationId("notification-id");
+    upstream.complete(okResponse);
+
+    final NotificationJob job = awaitJob(id, NotificationJob.Status.SUCCEEDED);
+    assertThat(job.response().getNotificationId()).isEqualTo("notification-id");
+    assertThat(job.completed()).isNotNull();
+  }
+
+  @Test
+  void givenFailingSubmissionWhenSubmitThenJobFailedWithErrorResponse() throws Exception {
+    final ResponseEntity<OkResponse> accepted =
+        jobService
+            .submit(
+                "pathogen",
+                token,
+                detached -> {
+                  throw new HoneypotException();
+                })
+            .join();
+    final String location = accepted.getHeaders().getLocation().toString();
+    final String id = location.substring(location.lastIndexOf('/') + 1);
+
+    final NotificationJob job = awaitJob(id, NotificationJob.Status.FAILED);
+    assertThat(job.error().getStatusCode()).isEqualTo(HttpStatus.NOT_ACCEPTABLE.value());
+    assertThat(job.error().getPath()).isEqualTo("/notification/pathogen");
+  }
+
+  @Test
+  void givenMaximumPendingJobsWhenSubmitThenUnavailable() throws Exception {
+    final CompletableFuture<OkResponse> upstream = new CompletableFuture<>();
+    final String location =
+        jobService
+            .submit("pathogen", token, detached -> upstream)
+            .join()
+            .getHeaders()
+            .getLocation()
+            .toString();
+
+    assertThatThrownBy(() -> jobService.submit("pathogen", token, detached -> upstream))
+        .isInstanceOf(UpstreamUnavailableException.class);
+
+    upstream.complete(new OkResponse());
+    awaitJob(location.substring(location.lastIndexOf('/') + 1), NotificationJob.Status.SUCCEEDED);
+    assertThat(jobService.submit("pathogen", token, detached -> upstream).join().getStatusCode())
+        .isEqualTo(HttpStatus.ACCEPTED);
+  }
+
+  private NotificationJob awaitJob(String id, NotificationJob.Status status)
+      throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    NotificationJob job = store.find(id).orElseThrow();
+    while (job.status() != status && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      job = store.find(id).orElseThrow();
+    }
+    assertThat(job.status()).isEqualTo(status);
+    return job;
+  }
+}
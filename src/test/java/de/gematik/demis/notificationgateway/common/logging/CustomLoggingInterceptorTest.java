@@ -45,6 +45,8 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
 import java.nio.charset.StandardCharsets;
 import org.apache.commons.io.IOUtils;
+import org.apache.hc.core5.http.message.BasicHttpRequest;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpGet;
@@ -157,4 +159,53 @@ class CustomLoggingInterceptorTest {
 
     assertThat(listAppender.list).isEmpty();
   }
+
+  @Test
+  void onlyAllowedHeadersShouldBeLoggedForAsyncClientRequests() {
+    final BasicHttpRequest asyncRequest = new BasicHttpRequest("POST", "/$process-notification");
+    asyncRequest.addHeader(AUTHORIZATION, "some sensitive token");
+    asyncRequest.addHeader(USER_AGENT, "user agent");
+    asyncRequest.addHeader("fhir-profile", "rki.demis.r4.core");
+
+    loggingInterceptor.setLogRequestHeaders(true);
+    loggingInterceptor.interceptRequest(asyncRequest);
+
+    assertThat(listAppender.list)
+        .hasSize(1)
+        .extracting(ILoggingEvent::getFormattedMessage, ILoggingEvent::getLevel)
+        .containsExactlyInAnyOrder(
+            Tuple.tuple(
+                """
+                            Client request headers: 3
+                            User-Agent:[user agent]
+                            fhir-profile:[rki.demis.r4.core]""",
+                INFO));
+  }
+
+  @Test
+  void onlyAllowedHeadersShouldBeLoggedForAsyncClientResponses() {
+    final BasicHttpResponse asyncResponse = new BasicHttpResponse(200);
+    asyncResponse.addHeader(CONTENT_TYPE, "some content-type");
+    asyncResponse.addHeader("fhir-profile-version", "1.24.0");
+
+    loggingInterceptor.setLogResponseHeaders(true);
+    loggingInterceptor.interceptResponse(asyncResponse);
+
+    assertThat(listAppender.list)
+        .hasSize(1)
+        .extracting(ILoggingEvent::getFormattedMessage, ILoggingEvent::getLevel)
+        .containsExactlyInAnyOrder(
+            Tuple.tuple(
+                """
+                            Client response headers: 2
+                            fhir-profile-version:[1.24.0]""",
+                INFO));
+  }
+
+  @Test
+  void dontLogAsyncClientRequestIfDisabled() {
+    loggingInterceptor.interceptRequest(new BasicHttpRequest("POST", "/$process-notification"));
+
+    assertThat(listAppender.list).isEmpty();
+  }
 }
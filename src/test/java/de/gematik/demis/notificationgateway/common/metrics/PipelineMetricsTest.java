@@ -0,0 +1,152 @@
+package de.gematik.demis.notificationgateway.common.metrics;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.notificationgateway.common.enums.NotificationType.NON_NOMINAL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+
+class PipelineMetricsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private final MockHttpServletRequest request = new MockHttpServletRequest();
+  private PipelineFlowInterceptor interceptor;
+
+  @BeforeEach
+  void init() {
+    applicationProperties.setMetricsPipelineSloMilliseconds(new long[] {100, 10});
+    interceptor =
+        new PipelineFlowInterceptor(new PipelineMetrics(applicationProperties, meterRegistry));
+  }
+
+  @AfterEach
+  void reset() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void givenAnnotatedHandlerWhenStageStoppedThenTimerTaggedByEndpoint() throws Exception {
+    interceptor.preHandle(request, new MockHttpServletResponse(), handler("annotated"));
+
+    final PipelineFlow.Sample sample = PipelineFlow.of(request).start(PipelineStage.UPSTREAM);
+    assertThat(activeTimer(PipelineStage.UPSTREAM).activeTasks()).isOne();
+    sample.stop();
+
+    final Timer timer = timer(PipelineStage.UPSTREAM);
+    assertThat(timer.count()).isOne();
+    assertThat(activeTimer(PipelineStage.UPSTREAM).activeTasks()).isZero();
+    assertThat(Arrays.stream(timer.takeSnapshot().histogramCounts()).map(CountAtBucket::bucket))
+        .containsExactly(10_000_000.0, 100_000_000.0);
+  }
+
+  @Test
+  void givenHandlerWithoutAnnotationWhenStartThenNothingRecorded() throws Exception {
+    interceptor.preHandle(request, new MockHttpServletResponse(), handler("notAnnotated"));
+
+    assertThat(PipelineFlow.of(request)).isSameAs(PipelineFlow.NONE);
+    PipelineFlow.of(request).start(PipelineStage.UPSTREAM).stop();
+
+    assertThat(meterRegistry.getMeters()).isEmpty();
+  }
+
+  @Test
+  void givenAsyncDispatchWhenPreHandleThenFlowKept() throws Exception {
+    interceptor.preHandle(request, new MockHttpServletResponse(), handler("annotated"));
+    final PipelineFlow flow = PipelineFlow.of(request);
+
+    interceptor.preHandle(request, new MockHttpServletResponse(), handler("annotated"));
+
+    assertThat(PipelineFlow.of(request)).isSameAs(flow);
+  }
+
+  @Test
+  void givenRequestBoundToThreadWhenValidateThenValidationTimed() throws Exception {
+    interceptor.preHandle(request, new MockHttpServletResponse(), handler("annotated"));
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    final SmartValidator delegate = mock(SmartValidator.class);
+    final Errors errors = new BeanPropertyBindingResult("body", "body");
+
+    new PipelineTimingValidator(delegate).validate("body", errors);
+
+    verify(delegate).validate("body", errors);
+    assertThat(timer(PipelineStage.VALIDATION).count()).isOne();
+  }
+
+  private Timer timer(PipelineStage stage) {
+    return meterRegistry
+        .get(PipelineMetrics.TIMER)
+        .tag("stage", stage.tag())
+        .tag("endpoint", "pathogen/7.3/non_nominal")
+        .tag("notification.type", "NON_NOMINAL")
+        .tag("upstream", "NES")
+        .timer();
+  }
+
+  private LongTaskTimer activeTimer(PipelineStage stage) {
+    return meterRegistry
+        .get(PipelineMetrics.ACTIVE_TIMER)
+        .tag("stage", stage.tag())
+        .tag("endpoint", "pathogen/7.3/non_nominal")
+        .longTaskTimer();
+  }
+
+  private static HandlerMethod handler(String method) throws NoSuchMethodException {
+    return new HandlerMethod(new Handlers(), Handlers.class.getDeclaredMethod(method));
+  }
+
+  static class Handlers {
+
+    @PipelineEndpoint(
+        value = "pathogen/7.3/non_nominal",
+        notificationType = NON_NOMINAL,
+        upstream = "NES")
+    void annotated() {}
+
+    void notAnnotated() {}
+  }
+}
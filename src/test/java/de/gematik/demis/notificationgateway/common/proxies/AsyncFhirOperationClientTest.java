@@ -0,0 +1,446 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ca.uhn.fhir.rest.client.exceptions.FhirClientConnectionException;
+import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.github.tomakehurst.wiremock.http.Fault;
+import de.gematik.demis.notificationgateway.common.exceptions.UnreadableUpstreamResponseException;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamDeliveryUnknownException;
+import de.gematik.demis.notificationgateway.common.logging.CustomLoggingInterceptor;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.properties.LoggingProperties;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
+import org.hl7.fhir.r4.model.Parameters;
+import org.hl7.fhir.r4.model.StringType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.LoggerFactory;
+
+class AsyncFhirOperationClientTest {
+
+  private static final String OPERATION_PATH = "/$process-notification";
+  private static final String RESPONSE =
+      """
+      {"resourceType":"Parameters","parameter":[{"name":"receipt","valueString":"ok"}]}""";
+
+  private final WireMockServer server = new WireMockServer(wireMockConfig().dynamicPort());
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private final LoggingProperties loggingProperties = new LoggingProperties();
+  private FhirClientRegistry clientRegistry;
+  private AsyncFhirOperationClient client;
+  private String url;
+
+  private static byte[] gzip(String content) throws IOException {
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+      out.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+    return compressed.toByteArray();
+  }
+
+  private static Parameters createParameters() {
+    final Parameters parameters = new Parameters();
+    parameters.addParameter("content", new StringType("notification ".repeat(100)));
+    return parameters;
+  }
+
+  @BeforeEach
+  void init() {
+    server.start();
+    url = server.baseUrl();
+    applicationProperties.setHttpConnectionTimeoutMilliseconds(1000);
+    applicationProperties.setHttpConnectionPoolTimeoutMilliseconds(1000);
+    applicationProperties.setHttpSocketTimeoutMilliseconds(5000);
+    applicationProperties.setHttpConnectionPoolMaxTotal(10);
+    applicationProperties.setHttpConnectionPoolMaxPerRoute(5);
+    applicationProperties.setHttpConnectionPoolIdleTimeoutMilliseconds(1000);
+    applicationProperties.setHttpConnectionTimeToLiveMilliseconds(10000);
+    applicationProperties.setHttpRequestBodyBufferPoolSize(1);
+    applicationProperties.setHttpRequestBodyBufferMaxRetainedBytes(1024 * 1024);
+    applicationProperties.setHttpCompressionRequestEnabled(true);
+    applicationProperties.setHttpCompressionRequestMinBytes(256);
+    applicationProperties.setHttpCompressionResponseEnabled(true);
+    clientRegistry = new FhirClientRegistry(applicationProperties, meterRegistry);
+    client =
+        new AsyncFhirOperationClient(
+            clientRegistry,
+            applicationProperties,
+            new FhirBodyEncoder(clientRegistry, applicationProperties),
+            new UpstreamCompression(applicationProperties, meterRegistry),
+            loggingProperties);
+  }
+
+  @AfterEach
+  void close() {
+    client.destroy();
+    clientRegistry.destroy();
+    server.stop();
+  }
+
+  @Test
+  void givenLargeBodyWhenExecuteThenGzipRequestAndDecompressedResponse() throws IOException {
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/fhir+json")
+                    .withHeader("Content-Encoding", "gzip")
+                    .withBody(gzip(RESPONSE))));
+
+    final Parameters result = execute();
+
+    assertThat(result.getParameter("receipt").getValue()).hasToString("ok");
+    server.verify(
+        postRequestedFor(urlEqualTo(OPERATION_PATH))
+            .withHeader("Content-Encoding", equalTo("gzip"))
+            .withHeader("Accept-Encoding", equalTo("gzip")));
+    assertThat(
+            meterRegistry
+                .get("ng.upstream.bytes.received")
+                .tag("upstream", url)
+                .tag("encoding", "gzip")
+                .counter()
+                .count())
+        .isPositive();
+  }
+
+  @Test
+  void givenUpstreamRefusingGzipWhenExecuteThenResendsAndRemembersUncompressed() {
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .withHeader("Content-Encoding", equalTo("gzip"))
+            .willReturn(aResponse().withStatus(415)));
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .withHeader("Content-Encoding", absent())
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/fhir+json")
+                    .withBody(RESPONSE)));
+
+    final Parameters first = execute();
+    final Parameters second = execute();
+
+    assertThat(first.getParameter("receipt").getValue()).hasToString("ok");
+    assertThat(second.getParameter("receipt").getValue()).hasToString("ok");
+    server.verify(
+        1,
+        postRequestedFor(urlEqualTo(OPERATION_PATH))
+            .withHeader("Content-Encoding", equalTo("gzip")));
+    server.verify(
+        2,
+        postRequestedFor(urlEqualTo(OPERATION_PATH)).withHeader("Content-Encoding", absent()));
+  }
+
+  @Test
+  void givenSuccessWithCorruptBodyWhenExecuteThenUnreadableAndOutcomeUnknown() {
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/fhir+json")
+                    .withHeader("Content-Encoding", "gzip")
+                    .withBody("no gzip")));
+
+    assertThatThrownBy(this::execute)
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(UnreadableUpstreamResponseException.class)
+        .satisfies(
+            failure -> {
+              assertThat(UpstreamFailures.isOutcomeUnknown(failure)).isTrue();
+              assertThat(UpstreamFailures.isUpstreamFailure(failure)).isFalse();
+            });
+  }
+
+  @Test
+  void givenSuccessWithMalformedJsonWhenExecuteThenUnreadable() {
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/fhir+json")
+                    .withBody("{\"resourceType\":")));
+
+    assertThatThrownBy(this::execute)
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(UnreadableUpstreamResponseException.class);
+  }
+
+  @Test
+  void givenServerErrorWithCorruptBodyWhenExecuteThenStatusIsReported() {
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .willReturn(
+                aResponse()
+                    .withStatus(503)
+                    .withHeader("Content-Encoding", "gzip")
+                    .withBody("no gzip")));
+
+    assertThatThrownBy(this::execute)
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(BaseServerResponseException.class)
+        .isNotInstanceOf(UnreadableUpstreamResponseException.class)
+        .satisfies(failure -> assertThat(UpstreamFailures.isUpstreamFailure(failure)).isTrue());
+  }
+
+  @Test
+  void givenNoResponseInTimeWhenExecuteThenDeliveryUnknown() {
+    applicationProperties.setHttpSocketTimeoutMilliseconds(200);
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .willReturn(aResponse().withStatus(200).withBody(RESPONSE).withFixedDelay(2000)));
+
+    assertThatThrownBy(this::execute)
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(UpstreamDeliveryUnknownException.class)
+        .satisfies(
+            failure -> {
+              assertThat(UpstreamFailures.isOutcomeUnknown(failure)).isTrue();
+              assertThat(UpstreamFailures.isUpstreamFailure(failure)).isFalse();
+            });
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {502, 504})
+  void givenGatewayErrorWhenExecuteThenOutcomeUnknown(int status) {
+    server.stubFor(post(urlEqualTo(OPERATION_PATH)).willReturn(aResponse().withStatus(status)));
+
+    assertThatThrownBy(this::execute)
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(BaseServerResponseException.class)
+        .satisfies(
+            failure -> {
+              assertThat(UpstreamFailures.isOutcomeUnknown(failure)).isTrue();
+              assertThat(UpstreamFailures.isNotDelivered(failure)).isFalse();
+              assertThat(UpstreamFailures.isUpstreamFailure(failure)).isTrue();
+            });
+  }
+
+  @Test
+  void givenServiceUnavailableWithRetryAfterWhenExecuteThenNotDelivered() {
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .willReturn(aResponse().withStatus(503).withHeader("Retry-After", "5")));
+
+    assertThatThrownBy(this::execute)
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .satisfies(failure -> assertThat(UpstreamFailures.isNotDelivered(failure)).isTrue());
+  }
+
+  @Test
+  void givenServiceUnavailableWithoutRetryAfterWhenExecuteThenMayBeDelivered() {
+    server.stubFor(post(urlEqualTo(OPERATION_PATH)).willReturn(aResponse().withStatus(503)));
+
+    assertThatThrownBy(this::execute)
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .satisfies(failure -> assertThat(UpstreamFailures.isNotDelivered(failure)).isFalse());
+  }
+
+  @Test
+  void givenConnectionResetAfterRequestWhenExecuteThenDeliveryUnknown() {
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+    assertThatThrownBy(this::execute)
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isInstanceOf(UpstreamDeliveryUnknownException.class)
+        .satisfies(
+            failure -> {
+              assertThat(UpstreamFailures.isOutcomeUnknown(failure)).isTrue();
+              assertThat(UpstreamFailures.isNotDelivered(failure)).isFalse();
+            });
+  }
+
+  @Test
+  void givenNoConnectionWhenExecuteThenNotDelivered() {
+    server.stop();
+
+    assertThatThrownBy(this::execute)
+        .isInstanceOf(CompletionException.class)
+        .cause()
+        .isExactlyInstanceOf(FhirClientConnectionException.class)
+        .satisfies(
+            failure -> {
+              assertThat(UpstreamFailures.isNotDelivered(failure)).isTrue();
+              assertThat(UpstreamFailures.isOutcomeUnknown(failure)).isFalse();
+            });
+  }
+
+  @Test
+  void givenInboundRequestWhenExecuteThenUserAgentTokenAndForwardedHeadersAreSent() {
+    applicationProperties.setApplicationName("TestClient");
+    applicationProperties.setApplicationVersion("1.0");
+    final Token token = mock(Token.class);
+    when(token.asText()).thenReturn("token");
+    final HttpServletRequest request = mock(HttpServletRequest.class);
+    when(request.getHeader("x-fhir-profile")).thenReturn("http://example.com/profile");
+    when(request.getHeader("x-fhir-api-version")).thenReturn("v6");
+    when(request.getHeader("x-fhir-api-submission-type")).thenReturn("pathogen");
+    when(request.getHeader("x-fhir-api-request-origin")).thenReturn("internal");
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/fhir+json")
+                    .withBody(RESPONSE)));
+
+    client
+        .execute(
+            url,
+            "process-notification",
+            createParameters(),
+            OutboundRequestContext.capture(token, request))
+        .join();
+
+    server.verify(
+        postRequestedFor(urlEqualTo(OPERATION_PATH))
+            .withHeader("User-Agent", equalTo("TestClient1.0"))
+            .withHeader("Authorization", equalTo("Bearer token"))
+            .withHeader("x-fhir-profile", equalTo("http://example.com/profile"))
+            .withHeader("x-fhir-api-version", equalTo("v6"))
+            .withHeader("x-fhir-api-submission-type", equalTo("pathogen"))
+            .withHeader("x-fhir-api-request-origin", equalTo("internal")));
+  }
+
+  @Test
+  void givenResponseWhenExecuteThenItIsReadOffTheReactorThread() {
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/fhir+json")
+                    .withBody(RESPONSE)));
+
+    final Thread reader =
+        client
+            .execute(
+                url,
+                "process-notification",
+                createParameters(),
+                OutboundRequestContext.of("token", Map.of()),
+                body -> Thread.currentThread())
+            .join();
+
+    assertThat(reader.isVirtual()).isTrue();
+    assertThat(reader.getName()).startsWith("upstream-response-");
+  }
+
+  @Test
+  void givenRequestLoggingEnabledWhenExecuteThenRequestAndResponseAreLogged() {
+    loggingProperties.setUseLoggingInterceptor(true);
+    applicationProperties.setApplicationName("TestClient");
+    applicationProperties.setApplicationVersion("1.0");
+    final ListAppender<ILoggingEvent> listAppender = new ListAppender<>();
+    listAppender.start();
+    final Logger logger = (Logger) LoggerFactory.getLogger(CustomLoggingInterceptor.class);
+    logger.addAppender(listAppender);
+    server.stubFor(
+        post(urlEqualTo(OPERATION_PATH))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/fhir+json")
+                    .withHeader("fhir-profile-version", "1.24.0")
+                    .withBody(RESPONSE)));
+
+    try {
+      execute();
+    } finally {
+      logger.detachAppender(listAppender);
+    }
+
+    assertThat(listAppender.list)
+        .extracting(ILoggingEvent::getFormattedMessage)
+        .hasSize(3)
+        .anySatisfy(message -> assertThat(message).startsWith("Client request: POST"))
+        .anySatisfy(
+            message ->
+                assertThat(message)
+                    .startsWith("Client request headers:")
+                    .contains("User-Agent:[TestClient1.0]")
+                    .doesNotContain("Bearer"))
+        .anySatisfy(
+            message ->
+                assertThat(message)
+                    .startsWith("Client response headers:")
+                    .contains("fhir-profile-version:[1.24.0]"));
+  }
+
+  private Parameters execute() {
+    return client
+        .execute(
+            url,
+            "process-notification",
+            createParameters(),
+            OutboundRequestContext.of("token", Map.of()))
+        .join();
+  }
+}
@@ -40,6 +40,7 @@ import de.gematik.demis.notificationgateway.utils.FileUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assumptions;
 import org.assertj.core.api.ThrowableAssert;
@@ -83,12 +84,14 @@ class BundlePublisherE2ETest implements BaseTestUtils {
         FileUtils.createParametersFromFile("parameters_laboratorybundle_v2_testuser.json");
 
     final Parameters parameters =
-        bundlePublisher.postRequest(
-            (Bundle) input.getParameter().getFirst().getResource(),
-            nesProperties.laboratoryUrl(),
-            NESProperties.OPERATION_NAME,
-            token,
-            request);
+        bundlePublisher
+            .postRequestAsync(
+                (Bundle) input.getParameter().getFirst().getResource(),
+                nesProperties.laboratoryUrl(),
+                NESProperties.OPERATION_NAME,
+                token,
+                request)
+            .join();
 
     assertNotNull(parameters);
 
@@ -115,14 +118,18 @@ class BundlePublisherE2ETest implements BaseTestUtils {
             "parameters_laboratorybundle_v2_unsupported_postal_code.json");
     final ThrowableAssert.ThrowingCallable throwingCallable =
         () ->
-            bundlePublisher.postRequest(
-                (Bundle) input.getParameter().getFirst().getResource(),
-                nesProperties.laboratoryUrl(),
-                NESProperties.OPERATION_NAME,
-                token,
-                request);
+            bundlePublisher
+                .postRequestAsync(
+                    (Bundle) input.getParameter().getFirst().getResource(),
+                    nesProperties.laboratoryUrl(),
+                    NESProperties.OPERATION_NAME,
+                    token,
+                    request)
+                .join();
 
     assertThatThrownBy(throwingCallable)
+        .isInstanceOf(CompletionException.class)
+        .cause()
         .isInstanceOf(UnprocessableEntityException.class)
         .hasMessage("HTTP 422 Unprocessable Entity: Notifier and notifier facility not available");
   }
@@ -133,12 +140,14 @@ class BundlePublisherE2ETest implements BaseTestUtils {
         FileUtils.createParametersFromFile("parameters_diseasebundle_v2_testuser.json");
 
     final Parameters parameters =
-        bundlePublisher.postRequest(
-            (Bundle) input.getParameter().getFirst().getResource(),
-            nesProperties.hospitalizationUrl(),
-            NESProperties.OPERATION_NAME,
-            token,
-            request);
+        bundlePublisher
+            .postRequestAsync(
+                (Bundle) input.getParameter().getFirst().getResource(),
+                nesProperties.hospitalizationUrl(),
+                NESProperties.OPERATION_NAME,
+                token,
+                request)
+            .join();
 
     assertNotNull(parameters);
 
@@ -163,12 +172,14 @@ class BundlePublisherE2ETest implements BaseTestUtils {
     final Parameters input =
         FileUtils.createParametersFromFile("parameters_report_bedoccupancy.json");
     final Parameters parameters =
-        bundlePublisher.postRequest(
-            (Bundle) input.getParameter().getFirst().getResource(),
-            rpsProperties.bedOccupancyUrl(),
-            RPSProperties.OPERATION_NAME,
-            token,
-            request);
+        bundlePublisher
+            .postRequestAsync(
+                (Bundle) input.getParameter().getFirst().getResource(),
+                rpsProperties.bedOccupancyUrl(),
+                RPSProperties.OPERATION_NAME,
+                token,
+                request)
+            .join();
 
     assertNotNull(parameters);
 
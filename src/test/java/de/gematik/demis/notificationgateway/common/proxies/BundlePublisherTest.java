@@ -27,23 +27,47 @@ package de.gematik.demis.notificationgateway.common.proxies;
  * #L%
  */
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import ca.uhn.fhir.parser.DataFormatException;
 import ca.uhn.fhir.rest.client.exceptions.FhirClientConnectionException;
+import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import de.gematik.demis.notificationgateway.common.exceptions.UnreadableUpstreamResponseException;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamDeliveryUnknownException;
 import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
 import de.gematik.demis.notificationgateway.common.properties.LoggingProperties;
 import de.gematik.demis.notificationgateway.common.services.fhir.FhirObjectCreationService;
 import de.gematik.demis.notificationgateway.common.utils.Token;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Parameters;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -51,34 +75,252 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class BundlePublisherTest {
   private static final RandomStringUtils random = RandomStringUtils.secure();
 
-  @Mock
-  private FhirObjectCreationService fhirObjectCreationService =
-      mock(FhirObjectCreationService.class);
-
-  @Mock private LoggingProperties loggingProperties;
+  @Mock private FhirObjectCreationService fhirObjectCreationService;
   @Mock private ApplicationProperties applicationProperties;
   @Mock private Token token;
   @Mock private HttpServletRequest httpServletRequest;
-  @InjectMocks private BundlePublisher bundlePublisher;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private FhirClientRegistry clientRegistry;
+  private NotificationOutbox outbox;
+  private BundlePublisher bundlePublisher;
 
   @BeforeEach
-  void init() {
+  void init() throws IOException {
+    when(applicationProperties.getHttpConnectionTimeoutMilliseconds()).thenReturn(1000);
+    when(applicationProperties.getHttpConnectionPoolTimeoutMilliseconds()).thenReturn(1000);
+    when(applicationProperties.getHttpSocketTimeoutMilliseconds()).thenReturn(1000);
+    when(applicationProperties.getHttpConnectionPoolMaxTotal()).thenReturn(10);
+    when(applicationProperties.getHttpConnectionPoolMaxPerRoute()).thenReturn(5);
+    when(applicationProperties.getHttpConnectionPoolIdleTimeoutMilliseconds()).thenReturn(1000);
+    when(applicationProperties.getHttpConnectionTimeToLiveMilliseconds()).thenReturn(1000);
+    when(applicationProperties.identifier()).thenReturn("test-agent");
+    clientRegistry = new FhirClientRegistry(applicationProperties, meterRegistry);
+    bundlePublisher = createBundlePublisher();
+  }
+
+  private void enableOutbox(Path outboxDirectory) throws Exception {
+    when(applicationProperties.isOutboxEnabled()).thenReturn(true);
+    when(applicationProperties.getOutboxDirectory()).thenReturn(outboxDirectory.toString());
+    when(applicationProperties.getOutboxInstance()).thenReturn("test");
+    when(applicationProperties.getOutboxEncryptionKey())
+        .thenReturn("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+    outbox.destroy();
+    bundlePublisher = createBundlePublisher();
+  }
+
+  private static String jwt(Instant expiresAt) {
+    return new PlainJWT(new JWTClaimsSet.Builder().expirationTime(Date.from(expiresAt)).build())
+        .serialize();
+  }
+
+  private BundlePublisher createBundlePublisher() throws IOException {
+    final FhirBodyEncoder bodyEncoder = new FhirBodyEncoder(clientRegistry, applicationProperties);
+    outbox = new NotificationOutbox(applicationProperties, bodyEncoder, meterRegistry);
+    return new BundlePublisher(
+        clientRegistry,
+        new AsyncFhirOperationClient(
+            clientRegistry,
+            applicationProperties,
+            bodyEncoder,
+            new UpstreamCompression(applicationProperties, meterRegistry),
+            new LoggingProperties()),
+        new UpstreamCircuitBreaker(applicationProperties, meterRegistry),
+        new UpstreamConcurrencyLimiter(applicationProperties, meterRegistry),
+        outbox,
+        fhirObjectCreationService);
+  }
+
+  @AfterEach
+  void close() throws Exception {
+    outbox.destroy();
+    clientRegistry.destroy();
+  }
+
+  @Test
+  void givenUnreachableServerWhenPostRequestAsyncThenCompletesWithConnectionException() {
     when(fhirObjectCreationService.createParameters(any())).thenReturn(new Parameters());
+    when(token.asText()).thenReturn(random.nextAlphanumeric(15));
+
+    final CompletableFuture<Parameters> result =
+        bundlePublisher.postRequestAsync(
+            new Bundle(),
+            "http://localhost:1/" + random.nextAlphabetic(5),
+            random.nextAlphabetic(5),
+            token,
+            httpServletRequest);
+
+    assertThat(result)
+        .failsWithin(Duration.ofSeconds(5))
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(FhirClientConnectionException.class);
   }
 
   @Test
-  void testWrongServerURL() {
+  void givenUnreachableServerAndOutboxWhenPostRequestAsyncThenCompletesWithPendingResponse(
+      @TempDir Path outboxDirectory) throws Exception {
+    when(fhirObjectCreationService.createParameters(any())).thenReturn(new Parameters());
+    when(token.asText()).thenReturn(jwt(Instant.now().plus(Duration.ofHours(1))));
+    when(applicationProperties.getOutboxMaxEntries()).thenReturn(10);
+    when(applicationProperties.getOutboxTokenMinValiditySeconds()).thenReturn(300L);
+    enableOutbox(outboxDirectory);
+
+    final CompletableFuture<String> result =
+        bundlePublisher.postRequestAsync(
+            new Bundle(),
+            "http://localhost:1/" + random.nextAlphabetic(5),
+            random.nextAlphabetic(5),
+            token,
+            httpServletRequest,
+            body -> "forwarded",
+            outboxId -> "pending " + outboxId);
+
+    assertThat(result).succeedsWithin(Duration.ofSeconds(5)).asString().startsWith("pending ");
+    assertThat(outbox.size()).isEqualTo(1);
+    assertThat(outbox.next())
+        .get()
+        .extracting(OutboxEntry::bearerToken)
+        .isEqualTo(token.asText());
+  }
+
+  @Test
+  void givenUnreadableSuccessResponseAndOutboxWhenPostRequestAsyncThenFailsWithoutStoring(
+      @TempDir Path outboxDirectory) throws Exception {
+    when(fhirObjectCreationService.createParameters(any())).thenReturn(new Parameters());
     when(token.asText()).thenReturn(random.nextAlphanumeric(15));
-    when(loggingProperties.isUseLoggingInterceptor()).thenReturn(true);
-    assertThatThrownBy(
-            () ->
-                bundlePublisher.postRequest(
-                    new Bundle(),
-                    random.nextAlphabetic(5),
-                    random.nextAlphabetic(5),
-                    token,
-                    httpServletRequest))
-        .isInstanceOf(FhirClientConnectionException.class)
-        .hasMessageContaining("Failed to parse response from server when performing POST");
+    enableOutbox(outboxDirectory);
+    final WireMockServer server = new WireMockServer(wireMockConfig().dynamicPort());
+    server.start();
+    try {
+      server.stubFor(post(anyUrl()).willReturn(aResponse().withStatus(200).withBody("{}")));
+
+      final CompletableFuture<String> result =
+          bundlePublisher.postRequestAsync(
+              new Bundle(),
+              server.baseUrl(),
+              random.nextAlphabetic(5),
+              token,
+              httpServletRequest,
+              body -> {
+                throw new DataFormatException("unexpected response");
+              },
+              outboxId -> "pending " + outboxId);
+
+      assertThat(result)
+          .failsWithin(Duration.ofSeconds(5))
+          .withThrowableOfType(ExecutionException.class)
+          .withCauseInstanceOf(UnreadableUpstreamResponseException.class);
+      assertThat(outbox.size()).isZero();
+    } finally {
+      server.stop();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {502, 504})
+  void givenGatewayErrorAndOutboxWhenPostRequestAsyncThenFailsWithoutStoring(
+      int status, @TempDir Path outboxDirectory) throws Exception {
+    assertFailsWithoutStoring(
+        outboxDirectory, aResponse().withStatus(status), BaseServerResponseException.class);
+  }
+
+  @Test
+  void givenConnectionResetAfterRequestAndOutboxWhenPostRequestAsyncThenFailsWithoutStoring(
+      @TempDir Path outboxDirectory) throws Exception {
+    assertFailsWithoutStoring(
+        outboxDirectory,
+        aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER),
+        UpstreamDeliveryUnknownException.class);
+  }
+
+  private void assertFailsWithoutStoring(
+      Path outboxDirectory, ResponseDefinitionBuilder response, Class<?> expectedFailure)
+      throws Exception {
+    when(fhirObjectCreationService.createParameters(any())).thenReturn(new Parameters());
+    when(token.asText()).thenReturn(random.nextAlphanumeric(15));
+    enableOutbox(outboxDirectory);
+    final WireMockServer server = new WireMockServer(wireMockConfig().dynamicPort());
+    server.start();
+    try {
+      server.stubFor(post(anyUrl()).willReturn(response));
+
+      final CompletableFuture<String> result =
+          bundlePublisher.postRequestAsync(
+              new Bundle(),
+              server.baseUrl(),
+              random.nextAlphabetic(5),
+              token,
+              httpServletRequest,
+              body -> "forwarded",
+              outboxId -> "pending " + outboxId);
+
+      assertThat(result)
+          .failsWithin(Duration.ofSeconds(5))
+          .withThrowableOfType(ExecutionException.class)
+          .withCauseInstanceOf(expectedFailure);
+      assertThat(outbox.size()).isZero();
+    } finally {
+      server.stop();
+    }
+  }
+
+  @Test
+  void givenShortLivedTokenAndOutboxWhenPostRequestAsyncThenFailsWithoutStoring(
+      @TempDir Path outboxDirectory) throws Exception {
+    when(fhirObjectCreationService.createParameters(any())).thenReturn(new Parameters());
+    when(token.asText()).thenReturn(jwt(Instant.now().plus(Duration.ofMinutes(1))));
+    when(applicationProperties.getOutboxMaxEntries()).thenReturn(10);
+    when(applicationProperties.getOutboxTokenMinValiditySeconds()).thenReturn(300L);
+    enableOutbox(outboxDirectory);
+
+    final CompletableFuture<String> result =
+        bundlePublisher.postRequestAsync(
+            new Bundle(),
+            "http://localhost:1/" + random.nextAlphabetic(5),
+            random.nextAlphabetic(5),
+            token,
+            httpServletRequest,
+            body -> "forwarded",
+            outboxId -> "pending " + outboxId);
+
+    assertThat(result)
+        .failsWithin(Duration.ofSeconds(5))
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(FhirClientConnectionException.class);
+    assertThat(outbox.size()).isZero();
+  }
+
+  @Test
+  void givenUnreachableServerWithoutOutboxWhenPostRequestAsyncThenFails() {
+    when(fhirObjectCreationService.createParameters(any())).thenReturn(new Parameters());
+    when(token.asText()).thenReturn(random.nextAlphanumeric(15));
+
+    final CompletableFuture<String> result =
+        bundlePublisher.postRequestAsync(
+            new Bundle(),
+            "http://localhost:1/" + random.nextAlphabetic(5),
+            random.nextAlphabetic(5),
+            token,
+            httpServletRequest,
+            body -> "forwarded",
+            outboxId -> "pending " + outboxId);
+
+    assertThat(result)
+        .failsWithin(Duration.ofSeconds(5))
+        .withThrowableOfType(ExecutionException.class)
+        .withCauseInstanceOf(FhirClientConnectionException.class);
+  }
+
+  @Test
+  void givenSameUrlWhenGetClientThenClientIsReusedAndPoolMetricsAreRegistered() {
+    final String url = "http://localhost:1/" + random.nextAlphabetic(5);
+
+    assertThat(clientRegistry.getAsyncClient(url)).isSameAs(clientRegistry.getAsyncClient(url));
+    assertThat(
+            meterRegistry
+                .find("httpcomponents.httpclient.pool.total.pending")
+                .tag("httpclient", url)
+                .gauge())
+        .isNotNull();
   }
 }
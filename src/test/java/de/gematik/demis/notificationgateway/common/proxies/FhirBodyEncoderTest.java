@@ -0,0 +1,105 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import ca.uhn.fhir.context.FhirContext;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.HumanName;
+import org.hl7.fhir.r4.model.Parameters;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FhirBodyEncoderTest {
+
+  @Mock private ApplicationProperties applicationProperties;
+
+  private FhirBodyEncoder encoder;
+
+  private static String asString(ByteBuffer content) {
+    final byte[] bytes = new byte[content.remaining()];
+    content.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static Parameters createParameters(int patients) {
+    final Bundle bundle = new Bundle();
+    for (int i = 0; i < patients; i++) {
+      bundle.addEntry().setResource(new Patient().addName(new HumanName().setFamily("Müller-" + i)));
+    }
+    final Parameters parameters = new Parameters();
+    parameters.addParameter().setName("content").setResource(bundle);
+    return parameters;
+  }
+
+  @BeforeEach
+  void init() {
+    when(applicationProperties.getHttpRequestBodyBufferPoolSize()).thenReturn(1);
+    when(applicationProperties.getHttpRequestBodyBufferMaxRetainedBytes())
+        .thenReturn(16 * 1024 * 1024);
+    encoder =
+        new FhirBodyEncoder(
+            new FhirClientRegistry(applicationProperties, new SimpleMeterRegistry()),
+            applicationProperties);
+  }
+
+  @Test
+  void givenParametersWhenEncodeThenSameJsonAsStringEncoding() {
+    final Parameters parameters = createParameters(3);
+    final String expected =
+        FhirContext.forR4Cached().newJsonParser().encodeResourceToString(parameters);
+
+    try (FhirBodyEncoder.EncodedBody body = encoder.encode(parameters)) {
+      assertThat(asString(body.content())).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void givenReusedBufferWhenEncodeSmallerResourceThenNoStaleBytes() {
+    try (FhirBodyEncoder.EncodedBody large = encoder.encode(createParameters(500))) {
+      assertThat(large.content().remaining()).isPositive();
+    }
+    final Parameters small = createParameters(1);
+    final String expected = FhirContext.forR4Cached().newJsonParser().encodeResourceToString(small);
+
+    try (FhirBodyEncoder.EncodedBody body = encoder.encode(small)) {
+      assertThat(asString(body.content())).isEqualTo(expected);
+    }
+  }
+}
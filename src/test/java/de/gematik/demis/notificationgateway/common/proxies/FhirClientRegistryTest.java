@@ -0,0 +1,86 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.reactor.IOReactorStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FhirClientRegistryTest {
+
+  private static final String STAND_IN = "http://127.0.0.1:1/fhir";
+  private static final String UPSTREAM = "http://127.0.0.1:2/fhir";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private FhirClientRegistry clientRegistry;
+
+  @BeforeEach
+  void init() {
+    final ApplicationProperties applicationProperties = new ApplicationProperties();
+    applicationProperties.setHttpConnectionTimeoutMilliseconds(1000);
+    applicationProperties.setHttpConnectionPoolTimeoutMilliseconds(1000);
+    applicationProperties.setHttpSocketTimeoutMilliseconds(1000);
+    applicationProperties.setHttpConnectionPoolMaxTotal(2);
+    applicationProperties.setHttpConnectionPoolMaxPerRoute(2);
+    applicationProperties.setHttpConnectionPoolIdleTimeoutMilliseconds(1000);
+    applicationProperties.setHttpConnectionTimeToLiveMilliseconds(1000);
+    clientRegistry = new FhirClientRegistry(applicationProperties, meterRegistry);
+  }
+
+  @AfterEach
+  void close() {
+    clientRegistry.destroy();
+  }
+
+  @Test
+  void givenReleasedUrlWhenReleaseThenClientsAndMetricsAreGone() {
+    final CloseableHttpAsyncClient asyncClient = clientRegistry.getAsyncClient(STAND_IN);
+    Counter.builder("ng.upstream.bytes.sent").tag("upstream", STAND_IN).register(meterRegistry);
+    clientRegistry.getAsyncClient(UPSTREAM);
+
+    clientRegistry.release(STAND_IN);
+
+    assertThat(asyncClient.getStatus()).isNotEqualTo(IOReactorStatus.ACTIVE);
+    assertThat(meterRegistry.getMeters())
+        .isNotEmpty()
+        .noneMatch(meter -> STAND_IN.equals(meter.getId().getTag("upstream")))
+        .noneMatch(
+            meter -> {
+              final String pool = meter.getId().getTag("httpclient");
+              return pool != null && pool.startsWith(STAND_IN);
+            });
+    assertThat(clientRegistry.getAsyncClient(STAND_IN)).isNotSameAs(asyncClient);
+  }
+}
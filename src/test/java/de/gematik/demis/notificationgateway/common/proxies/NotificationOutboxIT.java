@@ -0,0 +1,142 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.moreThanOrExactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.okForContentType;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static de.gematik.demis.notificationgateway.common.constants.WebConstants.PATHOGEN_PATH;
+import static de.gematik.demis.notificationgateway.utils.FileUtils.loadJsonFromFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/** Uses WireMock as stand-in for NES, which is unavailable first and recovers later. */
+@ActiveProfiles("test")
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "notification.api.baseUrl=http://localhost:${wiremock.server.port}",
+      "outbox.enabled=true",
+      "outbox.directory=${java.io.tmpdir}/ng-outbox-it/${random.uuid}",
+      "outbox.encryption.key=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=",
+      "outbox.replay.rate.per.second=50",
+      "outbox.replay.backoff.initial.ms=50",
+      "outbox.replay.backoff.max.ms=100"
+    })
+@AutoConfigureWireMock(port = 0)
+class NotificationOutboxIT {
+
+  private static final String NES_OPERATION = ".*/\\$process-notification";
+
+  @Autowired private NotificationOutbox outbox;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void init(WebApplicationContext context) {
+    mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+  }
+
+  @Test
+  void givenNesUnavailableWhenSendPathogenThenAcceptedAndForwardedOnceNesRecovers()
+      throws Exception {
+    stubFor(WireMock.post(urlPathMatching(NES_OPERATION)).willReturn(aResponse().withStatus(503)));
+    final String token =
+        new PlainJWT(
+                new JWTClaimsSet.Builder()
+                    .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                    .build())
+            .serialize();
+    final HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(token);
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.set("x-fhir-profile", "fhir-profile-snapshots");
+
+    final MvcResult asyncResult =
+        mockMvc
+            .perform(
+                post(PATHOGEN_PATH + "/7.3/non_nominal")
+                    .content(loadJsonFromFile("/portal/pathogen/pathogen7_3DTO.json"))
+                    .headers(headers)
+                    .with(csrf()))
+            .andReturn();
+    mockMvc
+        .perform(asyncDispatch(asyncResult))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.status").value("Pending"));
+    assertThat(outbox.size()).isEqualTo(1);
+
+    stubFor(
+        WireMock.post(urlPathMatching(NES_OPERATION))
+            .willReturn(
+                okForContentType(
+                    "application/fhir+json", loadJsonFromFile("/nes/nes_response_OK.json"))));
+    awaitEmptyOutbox();
+
+    verify(
+        moreThanOrExactly(2),
+        postRequestedFor(urlPathMatching(NES_OPERATION))
+            .withHeader("Authorization", equalTo("Bearer " + token))
+            .withHeader("x-fhir-profile", equalTo("fhir-profile-snapshots")));
+  }
+
+  private void awaitEmptyOutbox() throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + 10_000;
+    while (outbox.size() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    assertThat(outbox.size()).isZero();
+  }
+}
@@ -0,0 +1,141 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NotificationOutboxTest {
+
+  private static final String KEY = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+  @TempDir private Path directory;
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+  @BeforeEach
+  void init() {
+    applicationProperties.setOutboxEnabled(true);
+    applicationProperties.setOutboxDirectory(directory.toString());
+    applicationProperties.setOutboxInstance("pod-b");
+    applicationProperties.setOutboxEncryptionKey(KEY);
+  }
+
+  @Test
+  void givenJournalOfGoneInstanceWhenStartedThenEntriesAreTakenOver() throws Exception {
+    final Path orphan = directory.resolve("outbox-pod-a.journal");
+    try (OutboxJournal journal = OutboxJournal.open(orphan, OutboxCipher.of(KEY))) {
+      journal.append(entry("1"));
+      journal.append(entry("2"));
+    }
+
+    final NotificationOutbox outbox = createOutbox();
+    try {
+      assertThat(outbox.size()).isEqualTo(2);
+      assertThat(outbox.next()).get().extracting(OutboxEntry::id).isEqualTo("1");
+      assertThat(orphan).doesNotExist();
+    } finally {
+      outbox.destroy();
+    }
+  }
+
+  @Test
+  void givenJournalOfRunningInstanceWhenStartedThenItIsLeftAlone() throws Exception {
+    final Path other = directory.resolve("outbox-pod-a.journal");
+    try (OutboxJournal journal = OutboxJournal.open(other, OutboxCipher.of(KEY))) {
+      journal.append(entry("1"));
+
+      final NotificationOutbox outbox = createOutbox();
+      try {
+        assertThat(outbox.size()).isZero();
+        assertThat(journal.size()).isEqualTo(1);
+      } finally {
+        outbox.destroy();
+      }
+    }
+  }
+
+  @Test
+  void givenPendingEntryWhenDeadLetteredThenMovedAndCounted() throws Exception {
+    final Path own = directory.resolve("outbox-pod-b.journal");
+    final OutboxEntry entry = entry("1");
+    try (OutboxJournal journal = OutboxJournal.open(own, OutboxCipher.of(KEY))) {
+      journal.append(entry);
+    }
+    final NotificationOutbox outbox = createOutbox();
+    try {
+      outbox.deadLetter(outbox.next().orElseThrow(), OutboxReplayer.REFUSED);
+
+      assertThat(outbox.size()).isZero();
+      assertThat(directory.resolve("dead-letter").resolve("1.journal")).exists();
+      assertThat(meterRegistry.get("ng.outbox.dead.letters").gauge().value()).isEqualTo(1);
+      assertThat(
+              meterRegistry
+                  .get("ng.outbox.dead.lettered")
+                  .tag("reason", OutboxReplayer.REFUSED)
+                  .counter()
+                  .count())
+          .isEqualTo(1);
+    } finally {
+      outbox.destroy();
+    }
+    try (OutboxJournal deadLetter =
+        OutboxJournal.open(
+            directory.resolve("dead-letter").resolve("1.journal"), OutboxCipher.of(KEY))) {
+      assertThat(deadLetter.first()).get().usingRecursiveComparison().isEqualTo(entry);
+    }
+  }
+
+  private NotificationOutbox createOutbox() throws IOException {
+    return new NotificationOutbox(
+        applicationProperties, mock(FhirBodyEncoder.class), meterRegistry);
+  }
+
+  private static OutboxEntry entry(String id) {
+    return new OutboxEntry(
+        id,
+        "http://nes/laboratory",
+        "$process-notification",
+        "token-" + id,
+        Map.of(),
+        "{\"resourceType\":\"Parameters\"}".getBytes(StandardCharsets.UTF_8),
+        Instant.now().truncatedTo(ChronoUnit.MILLIS));
+  }
+}
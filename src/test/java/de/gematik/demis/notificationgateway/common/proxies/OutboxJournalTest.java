@@ -0,0 +1,171 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OutboxJournalTest {
+
+  private static final OutboxCipher CIPHER =
+      OutboxCipher.of("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+
+  @TempDir private Path directory;
+
+  @Test
+  void givenPendingEntriesWhenReopenedThenEntriesAreRestoredInOrder() throws IOException {
+    final Path file = directory.resolve("outbox.journal");
+    final OutboxEntry first = entry("1");
+    final OutboxEntry second = entry("2");
+    final OutboxEntry third = entry("3");
+    try (OutboxJournal journal = OutboxJournal.open(file, CIPHER)) {
+      journal.append(first);
+      journal.append(second);
+      journal.append(third);
+      journal.acknowledge("2");
+    }
+
+    try (OutboxJournal journal = OutboxJournal.open(file, CIPHER)) {
+      assertThat(journal.size()).isEqualTo(2);
+      assertThat(journal.first()).get().usingRecursiveComparison().isEqualTo(first);
+      journal.acknowledge("1");
+      assertThat(journal.first()).get().usingRecursiveComparison().isEqualTo(third);
+    }
+  }
+
+  @Test
+  void givenTornRecordAtEndWhenReopenedThenRecordIsCutOff() throws IOException {
+    final Path file = directory.resolve("outbox.journal");
+    try (OutboxJournal journal = OutboxJournal.open(file, CIPHER)) {
+      journal.append(entry("1"));
+    }
+    final long validSize = Files.size(file);
+    Files.write(file, new byte[] {0, 0, 1, 0, 42, 42}, StandardOpenOption.APPEND);
+
+    try (OutboxJournal journal = OutboxJournal.open(file, CIPHER)) {
+      assertThat(journal.size()).isEqualTo(1);
+      journal.append(entry("2"));
+    }
+
+    assertThat(Files.size(file)).isGreaterThan(validSize);
+    try (OutboxJournal journal = OutboxJournal.open(file, CIPHER)) {
+      assertThat(journal.size()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void givenAllEntriesAcknowledgedThenFileIsEmpty() throws IOException {
+    final Path file = directory.resolve("outbox.journal");
+    try (OutboxJournal journal = OutboxJournal.open(file, CIPHER)) {
+      journal.append(entry("1"));
+      journal.append(entry("2"));
+      journal.acknowledge("1");
+      journal.acknowledge("2");
+      journal.acknowledge("unknown");
+
+      assertThat(journal.first()).isEmpty();
+    }
+    assertThat(Files.size(file)).isZero();
+  }
+
+  @Test
+  void givenEntryWhenAppendedThenTokenAndBodyAreEncryptedOnDisk() throws IOException {
+    final Path file = directory.resolve("outbox.journal");
+    try (OutboxJournal journal = OutboxJournal.open(file, CIPHER)) {
+      journal.append(entry("1"));
+    }
+
+    final String content = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+    assertThat(content).doesNotContain("token-1").doesNotContain("resourceType");
+  }
+
+  @Test
+  void givenOtherKeyWhenReopenedThenFails() throws IOException {
+    final Path file = directory.resolve("outbox.journal");
+    try (OutboxJournal journal = OutboxJournal.open(file, CIPHER)) {
+      journal.append(entry("1"));
+    }
+
+    assertThatThrownBy(
+            () ->
+                OutboxJournal.open(
+                    file, OutboxCipher.of("ZmVkY2JhOTg3NjU0MzIxMGZlZGNiYTk4NzY1NDMyMTA=")))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("outbox.encryption.key");
+  }
+
+  @Test
+  void givenOpenJournalWhenOpenedAgainThenInUse() throws IOException {
+    final Path file = directory.resolve("outbox.journal");
+    try (OutboxJournal ignored = OutboxJournal.open(file, CIPHER)) {
+      assertThat(OutboxJournal.openIfUnused(file, CIPHER)).isEmpty();
+      assertThatThrownBy(() -> OutboxJournal.open(file, CIPHER)).isInstanceOf(IOException.class);
+    }
+
+    try (OutboxJournal journal = OutboxJournal.openIfUnused(file, CIPHER).orElseThrow()) {
+      assertThat(journal.size()).isZero();
+    }
+  }
+
+  @Test
+  void givenExportedEntryWhenOpenedThenEntryIsPending() throws IOException {
+    final OutboxEntry entry = entry("1");
+    final Path deadLetter = directory.resolve("dead-letter").resolve("1.journal");
+    try (OutboxJournal journal = OutboxJournal.open(directory.resolve("outbox.journal"), CIPHER)) {
+      journal.append(entry);
+      journal.export(entry, deadLetter);
+    }
+
+    try (OutboxJournal journal = OutboxJournal.open(deadLetter, CIPHER)) {
+      assertThat(journal.first()).get().usingRecursiveComparison().isEqualTo(entry);
+    }
+  }
+
+  private static OutboxEntry entry(String id) {
+    return new OutboxEntry(
+        id,
+        "http://nes/laboratory",
+        "$process-notification",
+        "token-" + id,
+        Map.of("x-fhir-profile", "fhir-profile-snapshots"),
+        ("{\"resourceType\":\"Parameters\",\"id\":\"" + id + "\"}")
+            .getBytes(StandardCharsets.UTF_8),
+        Instant.now().truncatedTo(ChronoUnit.MILLIS));
+  }
+}
@@ -0,0 +1,216 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import ca.uhn.fhir.rest.server.exceptions.AuthenticationException;
+import ca.uhn.fhir.rest.server.exceptions.BaseServerResponseException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamDeliveryUnknownException;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxReplayerTest {
+
+  private static final OutboxEntry ENTRY = entry(Instant.now().plus(Duration.ofHours(1)));
+
+  @Mock private NotificationOutbox outbox;
+  @Mock private AsyncFhirOperationClient asyncOperationClient;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private final AtomicLong nanos = new AtomicLong();
+  private OutboxReplayer replayer;
+
+  @BeforeEach
+  void init() {
+    applicationProperties.setOutboxReplayBackoffInitialMilliseconds(1000);
+    applicationProperties.setOutboxReplayBackoffMaxMilliseconds(3000);
+    replayer =
+        new OutboxReplayer(
+            outbox,
+            asyncOperationClient,
+            new UpstreamCircuitBreaker(applicationProperties, meterRegistry),
+            applicationProperties,
+            meterRegistry,
+            nanos::get);
+  }
+
+  @Test
+  void givenUpstreamAvailableWhenReplayThenEntryIsForwardedAndAcknowledged() throws Exception {
+    when(outbox.next()).thenReturn(Optional.of(ENTRY));
+    when(asyncOperationClient.execute(
+            eq(ENTRY.url()), eq(ENTRY.operationName()), eq(ENTRY.body()), any(), any()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(new byte[0]));
+
+    assertThat(replayer.replayNext()).isTrue();
+
+    verify(outbox).acknowledge(ENTRY);
+    assertThat(meterRegistry.get("ng.outbox.replayed").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void givenUpstreamUnavailableWhenReplayThenBacksOffExponentially() throws Exception {
+    when(outbox.next()).thenReturn(Optional.of(ENTRY));
+    when(asyncOperationClient.execute(
+            eq(ENTRY.url()), eq(ENTRY.operationName()), eq(ENTRY.body()), any(), any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.failedFuture(serviceUnavailable()));
+
+    assertThat(replayer.replayNext()).isFalse();
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+    assertThat(replayer.replayNext()).isFalse();
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    assertThat(replayer.replayNext()).isFalse();
+    nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1999));
+    assertThat(replayer.replayNext()).isFalse();
+
+    verify(asyncOperationClient, times(2))
+        .execute(eq(ENTRY.url()), eq(ENTRY.operationName()), eq(ENTRY.body()), any(), any());
+    verify(outbox, never()).acknowledge(any());
+  }
+
+  @Test
+  void givenUpstreamRefusesWhenReplayThenEntryIsDeadLettered() throws Exception {
+    when(outbox.next()).thenReturn(Optional.of(ENTRY));
+    when(asyncOperationClient.execute(
+            eq(ENTRY.url()), eq(ENTRY.operationName()), eq(ENTRY.body()), any(), any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.failedFuture(new AuthenticationException("token expired")));
+
+    assertThat(replayer.replayNext()).isTrue();
+
+    verify(outbox).deadLetter(ENTRY, OutboxReplayer.REFUSED);
+    verify(outbox, never()).acknowledge(any());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {500, 502, 503, 504})
+  void givenServerErrorWhenReplayThenEntryIsDeadLetteredWithoutRetry(int status)
+      throws Exception {
+    when(outbox.next()).thenReturn(Optional.of(ENTRY));
+    when(asyncOperationClient.execute(
+            eq(ENTRY.url()), eq(ENTRY.operationName()), eq(ENTRY.body()), any(), any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.failedFuture(
+                    BaseServerResponseException.newInstance(status, "error")));
+
+    assertThat(replayer.replayNext()).isTrue();
+
+    verify(outbox).deadLetter(ENTRY, OutboxReplayer.DELIVERY_UNKNOWN);
+    verify(outbox, never()).acknowledge(any());
+  }
+
+  @Test
+  void givenNoResponseInTimeWhenReplayThenEntryIsDeadLetteredWithoutRetry() throws Exception {
+    when(outbox.next()).thenReturn(Optional.of(ENTRY));
+    when(asyncOperationClient.execute(
+            eq(ENTRY.url()), eq(ENTRY.operationName()), eq(ENTRY.body()), any(), any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.failedFuture(
+                    new UpstreamDeliveryUnknownException(
+                        "no response", new SocketTimeoutException())));
+
+    assertThat(replayer.replayNext()).isTrue();
+
+    verify(outbox).deadLetter(ENTRY, OutboxReplayer.DELIVERY_UNKNOWN);
+    verify(asyncOperationClient, times(1))
+        .execute(eq(ENTRY.url()), eq(ENTRY.operationName()), eq(ENTRY.body()), any(), any());
+  }
+
+  @Test
+  void givenExpiredTokenWhenReplayThenEntryIsDeadLetteredWithoutSending() throws Exception {
+    final OutboxEntry expired = entry(Instant.now().minusSeconds(1));
+    when(outbox.next()).thenReturn(Optional.of(expired));
+
+    assertThat(replayer.replayNext()).isTrue();
+
+    verify(outbox).deadLetter(expired, OutboxReplayer.TOKEN_EXPIRED);
+    verifyNoInteractions(asyncOperationClient);
+  }
+
+  @Test
+  void givenEmptyOutboxWhenReplayThenNothingIsSent() {
+    when(outbox.next()).thenReturn(Optional.empty());
+
+    assertThat(replayer.replayNext()).isFalse();
+
+    verifyNoInteractions(asyncOperationClient);
+  }
+
+  private static OutboxEntry entry(Instant tokenExpiresAt) {
+    return new OutboxEntry(
+        "outbox-id",
+        "http://nes/laboratory",
+        "$process-notification",
+        new PlainJWT(
+                new JWTClaimsSet.Builder().expirationTime(Date.from(tokenExpiresAt)).build())
+            .serialize(),
+        Map.of("x-fhir-profile", "fhir-profile-snapshots"),
+        "{\"resourceType\":\"Parameters\"}".getBytes(StandardCharsets.UTF_8),
+        Instant.now());
+  }
+
+  private static BaseServerResponseException serviceUnavailable() {
+    final BaseServerResponseException exception =
+        BaseServerResponseException.newInstance(503, "unavailable");
+    exception.addResponseHeader("Retry-After", "1");
+    return exception;
+  }
+}
@@ -0,0 +1,239 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ca.uhn.fhir.rest.client.exceptions.FhirClientConnectionException;
+import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
+import de.gematik.demis.notificationgateway.common.exceptions.UnreadableUpstreamResponseException;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamDeliveryUnknownException;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamUnavailableException;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamCircuitBreakerTest {
+
+  private static final String URL = "http://nes/laboratory";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private final AtomicLong nanos = new AtomicLong();
+  private UpstreamCircuitBreaker circuitBreaker;
+
+  @BeforeEach
+  void init() {
+    applicationProperties.setUpstreamCircuitBreakerEnabled(true);
+    applicationProperties.setUpstreamCircuitBreakerWindowSize(4);
+    applicationProperties.setUpstreamCircuitBreakerMinimumCalls(4);
+    applicationProperties.setUpstreamCircuitBreakerFailureRateThreshold(50);
+    applicationProperties.setUpstreamCircuitBreakerSlowCallRateThreshold(75);
+    applicationProperties.setUpstreamCircuitBreakerSlowCallDurationMilliseconds(1000);
+    applicationProperties.setUpstreamCircuitBreakerOpenDurationMilliseconds(30000);
+    applicationProperties.setUpstreamCircuitBreakerHalfOpenCalls(2);
+    circuitBreaker = new UpstreamCircuitBreaker(applicationProperties, meterRegistry, nanos::get);
+  }
+
+  @Test
+  void givenFailureRateReachedWhenExecuteThenFailsFastWithRetryAfter() {
+    open();
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    assertThatThrownBy(this::succeed)
+        .isInstanceOf(UpstreamUnavailableException.class)
+        .extracting("retryAfter")
+        .isEqualTo(Duration.ofSeconds(20));
+    assertThat(state()).isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get("ng.upstream.circuitbreaker.rejected")
+                .tag("upstream", URL)
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void givenFailuresBelowMinimumCallsWhenExecuteThenStaysClosed() {
+    fail();
+    fail();
+    fail();
+
+    assertThat(succeed()).isEqualTo("ok");
+    assertThat(circuitBreaker.snapshots().get(URL).state())
+        .isEqualTo(UpstreamCircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void givenClientErrorsWhenExecuteThenStaysClosed() {
+    for (int i = 0; i < 4; i++) {
+      fail(new UnprocessableEntityException("invalid"));
+    }
+
+    assertThat(circuitBreaker.snapshots().get(URL).failureRate()).isZero();
+    assertThat(state()).isZero();
+  }
+
+  @Test
+  void givenUnknownOutcomesWhenExecuteThenStaysClosed() {
+    for (int i = 0; i < 2; i++) {
+      fail(new UnreadableUpstreamResponseException("unreadable", new IOException("corrupt")));
+      fail(new UpstreamDeliveryUnknownException("no response", new SocketTimeoutException()));
+    }
+
+    assertThat(circuitBreaker.snapshots().get(URL).failureRate()).isZero();
+    assertThat(state()).isZero();
+  }
+
+  @Test
+  void givenOpenDurationElapsedWhenProbesSucceedThenCloses() {
+    open();
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+    CompletableFuture<String> firstProbe = new CompletableFuture<>();
+    CompletableFuture<String> secondProbe = new CompletableFuture<>();
+    circuitBreaker.executeAsync(URL, () -> firstProbe);
+    circuitBreaker.executeAsync(URL, () -> secondProbe);
+    assertThat(state()).isEqualTo(2);
+    assertThatThrownBy(() -> circuitBreaker.executeAsync(URL, CompletableFuture::new))
+        .isInstanceOf(UpstreamUnavailableException.class);
+
+    firstProbe.complete("ok");
+    secondProbe.complete("ok");
+
+    assertThat(state()).isZero();
+    assertThat(circuitBreaker.snapshots().get(URL).bufferedCalls()).isZero();
+  }
+
+  @Test
+  void givenHalfOpenWhenProbeFailsThenReopens() {
+    open();
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+
+    fail();
+
+    assertThat(state()).isEqualTo(1);
+    assertThatThrownBy(this::succeed)
+        .isInstanceOf(UpstreamUnavailableException.class)
+        .extracting("retryAfter")
+        .isEqualTo(Duration.ofSeconds(30));
+  }
+
+  @Test
+  void givenSlowCallRateReachedWhenExecuteThenOpens() {
+    for (int i = 0; i < 3; i++) {
+      slowCall();
+    }
+    assertThat(state()).isZero();
+
+    slowCall();
+
+    assertThat(state()).isEqualTo(1);
+    assertThat(circuitBreaker.snapshots().get(URL).slowCallRate()).isEqualTo(100);
+  }
+
+  @Test
+  void givenDisabledWhenExecuteThenNeverOpens() {
+    applicationProperties.setUpstreamCircuitBreakerEnabled(false);
+
+    for (int i = 0; i < 8; i++) {
+      fail();
+    }
+
+    assertThat(succeed()).isEqualTo("ok");
+    assertThat(circuitBreaker.snapshots()).isEmpty();
+  }
+
+  @Test
+  void givenOpenBreakerWhenReadEndpointThenStateIsShown() {
+    open();
+
+    assertThat(new CircuitBreakerEndpoint(circuitBreaker).circuitBreakers())
+        .containsOnlyKeys(URL)
+        .extractingByKey(URL)
+        .satisfies(
+            snapshot -> {
+              assertThat(snapshot.state()).isEqualTo(UpstreamCircuitBreaker.State.OPEN);
+              assertThat(snapshot.failureRate()).isEqualTo(50);
+              assertThat(snapshot.retryAfterSeconds()).isEqualTo(30);
+            });
+  }
+
+  private void open() {
+    assertThat(succeed()).isEqualTo("ok");
+    assertThat(succeed()).isEqualTo("ok");
+    fail();
+    fail();
+    assertThat(circuitBreaker.snapshots().get(URL).state())
+        .isEqualTo(UpstreamCircuitBreaker.State.OPEN);
+  }
+
+  private String succeed() {
+    return circuitBreaker.executeAsync(URL, () -> completedFuture("ok")).join();
+  }
+
+  private void slowCall() {
+    circuitBreaker
+        .executeAsync(
+            URL,
+            () -> {
+              nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+              return completedFuture("slow");
+            })
+        .join();
+  }
+
+  private void fail() {
+    fail(new FhirClientConnectionException("timeout"));
+  }
+
+  private void fail(Exception failure) {
+    CompletableFuture<String> call = new CompletableFuture<>();
+    CompletableFuture<String> result = circuitBreaker.executeAsync(URL, () -> call);
+    call.completeExceptionally(failure);
+    assertThat(result).isCompletedExceptionally();
+  }
+
+  private double state() {
+    return meterRegistry
+        .get("ng.upstream.circuitbreaker.state")
+        .tag("upstream", URL)
+        .gauge()
+        .value();
+  }
+}
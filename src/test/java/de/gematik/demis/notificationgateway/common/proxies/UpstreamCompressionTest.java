@@ -0,0 +1,125 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamCompressionTest {
+
+  private static final String URL = "http://nes/laboratory";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private UpstreamCompression compression;
+
+  @BeforeEach
+  void init() {
+    applicationProperties.setHttpCompressionRequestEnabled(true);
+    applicationProperties.setHttpCompressionRequestMinBytes(100);
+    compression = new UpstreamCompression(applicationProperties, meterRegistry);
+  }
+
+  @Test
+  void givenBodyBelowMinimumSizeWhenCompressRequestThenFalse() {
+    assertThat(compression.compressRequest(URL, 99)).isFalse();
+    assertThat(compression.compressRequest(URL, 100)).isTrue();
+  }
+
+  @Test
+  void givenRequestCompressionDisabledWhenCompressRequestThenFalse() {
+    applicationProperties.setHttpCompressionRequestEnabled(false);
+
+    assertThat(compression.compressRequest(URL, 10_000)).isFalse();
+  }
+
+  @Test
+  void givenRefusingUpstreamWhenCompressRequestThenFalseForThisUpstreamOnly() {
+    compression.refuseRequestCompression(URL);
+
+    assertThat(compression.compressRequest(URL, 10_000)).isFalse();
+    assertThat(compression.compressRequest("http://rps/bed-occupancy", 10_000)).isTrue();
+  }
+
+  @Test
+  void givenCompressedContentWhenDecompressThenOriginalBytes() throws IOException {
+    final byte[] original =
+        "{\"resourceType\":\"Parameters\"}".repeat(50).getBytes(StandardCharsets.UTF_8);
+    final ByteBuffer content = ByteBuffer.wrap(original).asReadOnlyBuffer();
+
+    final ByteBuffer compressed = compression.compress(content);
+    final byte[] bytes = new byte[compressed.remaining()];
+    compressed.get(bytes);
+
+    assertThat(bytes.length).isLessThan(original.length);
+    assertThat(content.remaining()).as("source buffer untouched").isEqualTo(original.length);
+    assertThat(compression.decompress(bytes, "GZIP")).isEqualTo(original);
+  }
+
+  @Test
+  void givenIdentityEncodingWhenDecompressThenSameBytes() throws IOException {
+    final byte[] body = "plain".getBytes(StandardCharsets.UTF_8);
+
+    assertThat(compression.decompress(body, null)).isSameAs(body);
+  }
+
+  @Test
+  void givenInvalidGzipWhenDecompressThenIoException() {
+    final byte[] body = "plain".getBytes(StandardCharsets.UTF_8);
+
+    assertThatThrownBy(() -> compression.decompress(body, "gzip")).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void givenTransfersWhenRecordThenBytesTaggedByEncoding() {
+    compression.recordSent(URL, "gzip", 300);
+    compression.recordSent(URL, null, 1000);
+    compression.recordReceived(URL, "GZIP", 50);
+
+    assertThat(bytes("ng.upstream.bytes.sent", "gzip")).isEqualTo(300);
+    assertThat(bytes("ng.upstream.bytes.sent", "identity")).isEqualTo(1000);
+    assertThat(bytes("ng.upstream.bytes.received", "gzip")).isEqualTo(50);
+  }
+
+  private double bytes(String name, String encoding) {
+    return meterRegistry
+        .get(name)
+        .tag("upstream", URL)
+        .tag("encoding", encoding)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,148 @@
+package de.gematik.demis.notificationgateway.common.proxies;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ca.uhn.fhir.rest.client.exceptions.FhirClientConnectionException;
+import ca.uhn.fhir.rest.server.exceptions.UnprocessableEntityException;
+import de.gematik.demis.notificationgateway.common.exceptions.UpstreamUnavailableException;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamConcurrencyLimiterTest {
+
+  private static final String URL = "http://nes/laboratory";
+  private static final String OPERATION = "$process-notification";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private UpstreamConcurrencyLimiter limiter;
+
+  @BeforeEach
+  void init() {
+    applicationProperties.setUpstreamLimitEnabled(true);
+    applicationProperties.setUpstreamLimitInitial(2);
+    applicationProperties.setUpstreamLimitMin(1);
+    applicationProperties.setUpstreamLimitMax(10);
+    applicationProperties.setUpstreamLimitBackoffRatio(0.5);
+    applicationProperties.setUpstreamLimitLatencyThresholdMilliseconds(10000);
+    applicationProperties.setUpstreamLimitRetryAfterSeconds(7);
+    limiter = new UpstreamConcurrencyLimiter(applicationProperties, meterRegistry);
+  }
+
+  @Test
+  void givenLimitExhaustedWhenExecuteAsyncThenRejectedWithRetryAfter() {
+    limiter.executeAsync(URL, OPERATION, CompletableFuture::new);
+    limiter.executeAsync(URL, OPERATION, CompletableFuture::new);
+
+    assertThatThrownBy(() -> limiter.executeAsync(URL, OPERATION, CompletableFuture::new))
+        .isInstanceOf(UpstreamUnavailableException.class)
+        .extracting("retryAfter")
+        .isEqualTo(Duration.ofSeconds(7));
+    assertThat(gauge("ng.upstream.concurrency.inflight")).isEqualTo(2);
+    assertThat(
+            meterRegistry
+                .get("ng.upstream.concurrency.rejected")
+                .tag("upstream", URL)
+                .tag("operation", OPERATION)
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void givenLimitExhaustedForOneUpstreamWhenExecuteOtherUpstreamThenAccepted() {
+    limiter.executeAsync(URL, OPERATION, CompletableFuture::new);
+    limiter.executeAsync(URL, OPERATION, CompletableFuture::new);
+
+    assertThat(
+            limiter
+                .executeAsync("http://rps/bedoccupancy", OPERATION, () -> completedFuture("ok"))
+                .join())
+        .isEqualTo("ok");
+  }
+
+  @Test
+  void givenFastCallsWhileUtilizedWhenCompletedThenLimitIncreases() {
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<String> second = new CompletableFuture<>();
+    limiter.executeAsync(URL, OPERATION, () -> first);
+    limiter.executeAsync(URL, OPERATION, () -> second);
+
+    first.complete("ok");
+    second.complete("ok");
+
+    assertThat(gauge("ng.upstream.concurrency.limit")).isEqualTo(4);
+    assertThat(gauge("ng.upstream.concurrency.inflight")).isZero();
+  }
+
+  @Test
+  void givenConnectionFailureWhenCompletedThenLimitDecreases() {
+    applicationProperties.setUpstreamLimitInitial(8);
+    CompletableFuture<String> call = new CompletableFuture<>();
+    limiter.executeAsync(URL, OPERATION, () -> call);
+
+    call.completeExceptionally(new FhirClientConnectionException("timeout"));
+
+    assertThat(gauge("ng.upstream.concurrency.limit")).isEqualTo(4);
+  }
+
+  @Test
+  void givenClientErrorWhenExecuteThenLimitIsNotDecreased() {
+    assertThat(
+            limiter.executeAsync(
+                URL, OPERATION, () -> failedFuture(new UnprocessableEntityException("invalid"))))
+        .isCompletedExceptionally();
+
+    assertThat(gauge("ng.upstream.concurrency.limit")).isEqualTo(3);
+    assertThat(gauge("ng.upstream.concurrency.inflight")).isZero();
+  }
+
+  @Test
+  void givenLimitDisabledWhenExecuteThenNoLimitApplies() {
+    applicationProperties.setUpstreamLimitEnabled(false);
+
+    for (int i = 0; i < 5; i++) {
+      limiter.executeAsync(URL, OPERATION, CompletableFuture::new);
+    }
+
+    assertThat(meterRegistry.find("ng.upstream.concurrency.limit").gauge()).isNull();
+  }
+
+  private double gauge(String name) {
+    return meterRegistry.get(name).tag("upstream", URL).tag("operation", OPERATION).gauge().value();
+  }
+}
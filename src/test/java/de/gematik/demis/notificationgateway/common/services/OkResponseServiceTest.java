@@ -28,15 +28,25 @@ package de.gematik.demis.notificationgateway.common.services;
  */
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.DataFormatException;
 import ca.uhn.fhir.parser.IParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.gematik.demis.notificationgateway.BaseTestUtils;
 import de.gematik.demis.notificationgateway.common.dto.OkResponse;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import org.hl7.fhir.r4.model.Parameters;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
 
 class OkResponseServiceTest implements BaseTestUtils {
 
@@ -145,4 +155,83 @@ class OkResponseServiceTest implements BaseTestUtils {
         .hasFieldOrPropertyWithValue("authorEmail", "demis@rki.de")
         .hasFieldOrPropertyWithValue("contentType", "application/pdf");
   }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "nes/nes_response_OK.json",
+        "rps_response_with_valueIdentifier.json",
+        "rps_response_without_ValueIdentifier.json",
+        "rps_response_without_ValueIdentifier_without_compositionId.json"
+      })
+  void givenResponseBodyWhenReadOkResponseThenStreamedResultEqualsParsedResult(String path)
+      throws IOException, URISyntaxException {
+    OkResponseService responseService = new OkResponseService();
+    OkResponse expected = responseService.buildOkResponse(createJsonOkParameters(path));
+    byte[] responseBody = getJsonContent(path).getBytes(StandardCharsets.UTF_8);
+
+    assertThat(OkResponseStreamingExtractor.extract(responseBody))
+        .get()
+        .usingRecursiveComparison()
+        .ignoringFields("receipt")
+        .isEqualTo(expected);
+    assertThat(responseService.readOkResponse(responseBody))
+        .usingRecursiveComparison()
+        .ignoringFields("receipt")
+        .isEqualTo(expected);
+  }
+
+  @Test
+  void givenBase64ReceiptWhenReadOkResponseThenReceiptIsDecodedOnDemand() throws Exception {
+    OkResponseService responseService = new OkResponseService();
+    byte[] responseBody =
+        getJsonContent("nes/nes_response_OK.json").getBytes(StandardCharsets.UTF_8);
+
+    OkResponse response = responseService.readOkResponse(responseBody);
+
+    assertThat(response).isInstanceOf(Base64ReceiptOkResponse.class);
+    assertThat(((Base64ReceiptOkResponse) response).base64Receipt()).isNotNull();
+    assertThat(pdfToText(response.getContent()))
+        .contains("Meldungs-ID " + response.getNotificationId());
+    assertThat(((Base64ReceiptOkResponse) response).base64Receipt()).isNull();
+  }
+
+  @Test
+  void givenUnexpectedLayoutWhenReadOkResponseThenFallsBackToFullParsing()
+      throws IOException, URISyntaxException {
+    String path = "nes/nes_response_OK.json";
+    ObjectNode tree = (ObjectNode) new ObjectMapper().readTree(getJsonContent(path));
+    JsonNode resourceType = tree.remove("resourceType");
+    tree.set("resourceType", resourceType);
+    byte[] responseBody = tree.toString().getBytes(StandardCharsets.UTF_8);
+    OkResponseService responseService = new OkResponseService();
+
+    assertThat(OkResponseStreamingExtractor.extract(responseBody)).isEmpty();
+    assertThat(responseService.readOkResponse(responseBody))
+        .usingRecursiveComparison()
+        .isEqualTo(responseService.buildOkResponse(createJsonOkParameters(path)));
+  }
+
+  @Test
+  void givenMalformedResponseBodyWhenReadOkResponseThenDataFormatException() {
+    OkResponseService responseService = new OkResponseService();
+    byte[] responseBody = "{\"resourceType\":\"Parameters\",".getBytes(StandardCharsets.UTF_8);
+
+    assertThatThrownBy(() -> responseService.readOkResponse(responseBody))
+        .isInstanceOf(DataFormatException.class);
+  }
+
+  @Test
+  void givenOutboxIdWhenPendingOkResponseThenAnsweredWithAccepted() {
+    OkResponse response = new OkResponseService().pendingOkResponse("outbox-id");
+
+    assertThat(response.getStatus()).isEqualTo("Pending");
+    assertThat(response.getTitle()).contains("outbox-id");
+    assertThat(response.getNotificationId()).isNull();
+    assertThat(response.getContent()).isNull();
+    assertThat(OkResponseService.toResponseEntity(response).getStatusCode())
+        .isEqualTo(HttpStatus.ACCEPTED);
+    assertThat(OkResponseService.toResponseEntity(new OkResponse()).getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+  }
 }
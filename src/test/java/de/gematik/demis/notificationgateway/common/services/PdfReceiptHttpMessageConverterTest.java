@@ -0,0 +1,92 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.gematik.demis.notificationgateway.BaseTestUtils;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class PdfReceiptHttpMessageConverterTest implements BaseTestUtils {
+
+  private final PdfReceiptHttpMessageConverter converter = new PdfReceiptHttpMessageConverter();
+
+  @Test
+  void shouldStreamDecodedBase64Receipt() throws IOException, URISyntaxException {
+    String path = "nes/nes_response_OK.json";
+    OkResponseService responseService = new OkResponseService();
+    OkResponse response =
+        responseService.readOkResponse(getJsonContent(path).getBytes(StandardCharsets.UTF_8));
+    byte[] expected = responseService.buildOkResponse(createJsonOkParameters(path)).getContent();
+    MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+    assertThat(converter.canWrite(response.getClass(), MediaType.APPLICATION_PDF)).isTrue();
+    converter.write(response, MediaType.APPLICATION_PDF, outputMessage);
+
+    assertThat(((Base64ReceiptOkResponse) response).base64Receipt()).isNotNull();
+    assertThat(outputMessage.getBodyAsBytes()).isEqualTo(expected);
+    assertThat(outputMessage.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PDF);
+    assertThat(outputMessage.getHeaders().getContentDisposition().getFilename())
+        .isEqualTo("7f562b87-f2c2-4e9d-b3fc-37f6b5dca3a5.pdf");
+  }
+
+  @Test
+  void shouldWriteDecodedContent() throws IOException {
+    byte[] content = "%PDF-1.5".getBytes(StandardCharsets.US_ASCII);
+    OkResponse response = new OkResponse().content(content);
+    MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+    converter.write(response, MediaType.APPLICATION_PDF, outputMessage);
+
+    assertThat(outputMessage.getBodyAsBytes()).isEqualTo(content);
+    assertThat(outputMessage.getHeaders().getContentDisposition().getFilename())
+        .isEqualTo("receipt.pdf");
+  }
+
+  @Test
+  void givenNoReceiptWhenWriteThenNotWritable() {
+    MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+    OkResponse response = new OkResponse();
+
+    assertThatThrownBy(() -> converter.write(response, MediaType.APPLICATION_PDF, outputMessage))
+        .isInstanceOf(HttpMessageNotWritableException.class);
+  }
+
+  @Test
+  void shouldNotReadAnything() {
+    assertThat(converter.canRead(OkResponse.class, MediaType.APPLICATION_PDF)).isFalse();
+  }
+}
@@ -0,0 +1,162 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.notificationgateway.common.constants.WebConstants.BED_OCCUPANCY_PATH;
+import static de.gematik.demis.notificationgateway.utils.FileUtils.loadJsonFromFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.gematik.demis.notificationgateway.BaseTestUtils;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.proxies.BundlePublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.NestedTestConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@ActiveProfiles("test")
+// resubmits the same notification, every request has to reach the mocked upstream
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "idempotency.enabled=false")
+class ReceiptContentNegotiationIT implements BaseTestUtils {
+
+  private static final String PATHOGEN_PATH = "/notification/pathogen/7.3/non_nominal";
+
+  @Autowired private ObjectMapper objectMapper;
+  @MockitoBean private BundlePublisher bundlePublisher;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void init(WebApplicationContext context) {
+    mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    when(bundlePublisher.postRequestAsync(any(), any(), any(), any(), any(), any(), any()))
+        .thenAnswer(respondWithJsonFile("nes/nes_response_OK.json"));
+    when(bundlePublisher.postRequestAsync(any(), any(), any(), any(), any(), any()))
+        .thenAnswer(respondWithJsonFile("nes/nes_response_OK.json"));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"application/json, text/plain, */*", "application/fhir+json", "*/*"})
+  void givenPdfResponseDisabledWhenPostWithUnchangedAcceptThen200Json(String accept)
+      throws Exception {
+    final MockHttpServletResponse response = postPathogen(accept);
+
+    assertThat(response.getStatus()).isEqualTo(OK.value());
+    assertThat(MediaType.parseMediaType(response.getContentType()).getSubtype()).endsWith("json");
+    final OkResponse okResponse =
+        objectMapper.readValue(response.getContentAsString(), OkResponse.class);
+    assertThat(okResponse.getContent()).isNotEmpty();
+  }
+
+  private MockHttpServletResponse postPathogen(String accept) throws Exception {
+    return perform(
+        PATHOGEN_PATH, "token", loadJsonFromFile("/portal/pathogen/specimenPrep.json"), accept);
+  }
+
+  private MockHttpServletResponse perform(String path, String token, String content, String accept)
+      throws Exception {
+    final HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(token);
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.setAccept(MediaType.parseMediaTypes(accept));
+    final MvcResult asyncResult =
+        mockMvc.perform(post(path).headers(headers).content(content).with(csrf())).andReturn();
+    return mockMvc.perform(asyncDispatch(asyncResult)).andReturn().getResponse();
+  }
+
+  @Nested
+  @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+  @ActiveProfiles("test")
+  @SpringBootTest(
+      webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+      properties = {"feature.flag.receipt-pdf-response=true", "idempotency.enabled=false"})
+  class PdfResponseEnabled {
+
+    @MockitoBean private BundlePublisher bundlePublisher;
+
+    @BeforeEach
+    void init(WebApplicationContext context) {
+      mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+      when(bundlePublisher.postRequestAsync(any(), any(), any(), any(), any(), any(), any()))
+          .thenAnswer(respondWithJsonFile("nes/nes_response_OK.json"));
+      when(bundlePublisher.postRequestAsync(any(), any(), any(), any(), any(), any()))
+          .thenAnswer(respondWithJsonFile("nes/nes_response_OK.json"));
+    }
+
+    @Test
+    void givenAcceptPdfWhenPostPathogenThenReceipt() throws Exception {
+      final MockHttpServletResponse response = postPathogen(MediaType.APPLICATION_PDF_VALUE);
+
+      assertThat(response.getStatus()).isEqualTo(OK.value());
+      assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_PDF_VALUE);
+      assertThat(pdfToText(response.getContentAsByteArray())).contains("Meldungs-ID");
+    }
+
+    @Test
+    void givenAcceptPdfWhenPostBedOccupancyRestrictedToJsonThenReceipt() throws Exception {
+      final MockHttpServletResponse response =
+          perform(
+              BED_OCCUPANCY_PATH,
+              EXPIRED_DEMIS_PORTAL_TOKEN_HOSPITAL,
+              getJsonContent("portal/bedoccupancy/report_content_max.json"),
+              MediaType.APPLICATION_PDF_VALUE);
+
+      assertThat(response.getStatus()).isEqualTo(OK.value());
+      assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_PDF_VALUE);
+    }
+
+    @Test
+    void givenUnchangedAcceptWhenPostPathogenThenJson() throws Exception {
+      final MockHttpServletResponse response = postPathogen("application/json, text/plain, */*");
+
+      assertThat(response.getStatus()).isEqualTo(OK.value());
+      assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+  }
+}
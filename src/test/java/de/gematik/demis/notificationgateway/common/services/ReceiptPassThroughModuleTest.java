@@ -0,0 +1,98 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.gematik.demis.notificationgateway.BaseTestUtils;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReceiptPassThroughModuleTest implements BaseTestUtils {
+
+  private static final String RESPONSE = "nes/nes_response_OK.json";
+
+  private final ObjectMapper passThroughMapper =
+      new ObjectMapper().registerModule(new ReceiptPassThroughModule());
+  private final ObjectMapper defaultMapper = new ObjectMapper();
+
+  private String upstreamBase64;
+  private Base64ReceiptOkResponse response;
+
+  @BeforeEach
+  void setUp() throws IOException, URISyntaxException {
+    String responseJson = getJsonContent(RESPONSE);
+    upstreamBase64 =
+        new ObjectMapper()
+            .readTree(responseJson)
+            .at("/parameter/0/resource/entry/3/resource/data")
+            .asText();
+    response =
+        (Base64ReceiptOkResponse)
+            new OkResponseService()
+                .readOkResponse(responseJson.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void shouldWriteUpstreamBase64WithoutDecoding() throws IOException {
+    ByteArrayOutputStream json = new ByteArrayOutputStream();
+    passThroughMapper.writeValue(json, response);
+
+    assertThat(response.base64Receipt()).isNotNull();
+    JsonNode tree = new ObjectMapper().readTree(json.toByteArray());
+    assertThat(tree.get("content").asText()).isEqualTo(upstreamBase64);
+    assertThat(tree.get("notificationId").asText()).isEqualTo(response.getNotificationId());
+  }
+
+  @Test
+  void shouldWriteUpstreamBase64WithCharacterBasedGenerator() throws IOException {
+    StringWriter json = new StringWriter();
+    passThroughMapper.writeValue(json, response);
+
+    assertThat(new ObjectMapper().readTree(json.toString()).get("content").asText())
+        .isEqualTo(upstreamBase64);
+  }
+
+  @Test
+  void shouldBeReadableLikeDefaultSerialization() throws IOException {
+    byte[] passThroughJson = passThroughMapper.writeValueAsBytes(response);
+    byte[] defaultJson = defaultMapper.writeValueAsBytes(response);
+
+    assertThat(defaultMapper.readValue(passThroughJson, OkResponse.class))
+        .usingRecursiveComparison()
+        .isEqualTo(defaultMapper.readValue(defaultJson, OkResponse.class));
+  }
+}
@@ -0,0 +1,224 @@
+package de.gematik.demis.notificationgateway.common.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.exceptions.HoneypotException;
+import de.gematik.demis.notificationgateway.common.exceptions.IdempotencyKeyReusedException;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.security.auth.message.AuthException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class SubmissionIdempotencyServiceTest {
+
+  private static final String OPERATION = "pathogen";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private final AtomicInteger submissions = new AtomicInteger();
+  private SubmissionIdempotencyService service;
+
+  @BeforeEach
+  void init() {
+    applicationProperties.setIdempotencyEnabled(true);
+    applicationProperties.setIdempotencyWindowSeconds(60);
+    applicationProperties.setIdempotencyCacheMaxBytes(1024 * 1024);
+    service = createService();
+  }
+
+  @Test
+  void givenConcurrentIdenticalSubmissionsWhenSubmitThenUpstreamIsCalledOnce() throws Exception {
+    final CompletableFuture<OkResponse> upstream = new CompletableFuture<>();
+    final HttpHeaders headers = headers("token");
+
+    final CompletableFuture<OkResponse> first =
+        service.submit(OPERATION, token(headers), headers, body("a", 1), () -> count(upstream));
+    final CompletableFuture<OkResponse> second =
+        service.submit(OPERATION, token(headers), headers, body("a", 1), () -> count(upstream));
+    final OkResponse response = new OkResponse();
+    upstream.complete(response);
+
+    assertThat(submissions).hasValue(1);
+    assertThat(first).isCompletedWithValue(response);
+    assertThat(second).isCompletedWithValue(response);
+    assertThat(meterRegistry.get("ng.idempotency.duplicates").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void givenAnsweredSubmissionWhenSameBodyWithOtherKeyOrderThenCachedResponse() throws Exception {
+    final HttpHeaders headers = headers("token");
+    final OkResponse response = new OkResponse();
+    service.submit(
+        OPERATION,
+        token(headers),
+        headers,
+        Map.of("a", 1, "b", 2),
+        () -> count(CompletableFuture.completedFuture(response)));
+
+    final CompletableFuture<OkResponse> retry =
+        service.submit(
+            OPERATION,
+            token(headers),
+            headers,
+            new TreeMap<>(Map.of("b", 2, "a", 1)),
+            () -> count(CompletableFuture.completedFuture(new OkResponse())));
+
+    assertThat(submissions).hasValue(1);
+    assertThat(retry).isCompletedWithValue(response);
+  }
+
+  @Test
+  void givenIdempotencyKeyWhenSameBodyThenCachedResponse() throws Exception {
+    final HttpHeaders headers = headers("token");
+    headers.set(SubmissionIdempotencyService.IDEMPOTENCY_KEY_HEADER, "key-1");
+    final OkResponse response = new OkResponse();
+    service.submit(
+        OPERATION,
+        token(headers),
+        headers,
+        body("a", 1),
+        () -> count(CompletableFuture.completedFuture(response)));
+
+    final CompletableFuture<OkResponse> retry =
+        service.submit(OPERATION, token(headers), headers, body("a", 1), this::answer);
+
+    assertThat(submissions).hasValue(1);
+    assertThat(retry).isCompletedWithValue(response);
+  }
+
+  @Test
+  void givenIdempotencyKeyWhenBodyDiffersThenRefused() throws Exception {
+    final HttpHeaders headers = headers("token");
+    headers.set(SubmissionIdempotencyService.IDEMPOTENCY_KEY_HEADER, "key-1");
+    final CompletableFuture<OkResponse> upstream = new CompletableFuture<>();
+    service.submit(OPERATION, token(headers), headers, body("a", 1), () -> count(upstream));
+
+    assertThatThrownBy(
+            () -> service.submit(OPERATION, token(headers), headers, body("a", 2), this::answer))
+        .isInstanceOf(IdempotencyKeyReusedException.class);
+    upstream.complete(new OkResponse());
+    assertThatThrownBy(
+            () -> service.submit(OPERATION, token(headers), headers, body("a", 2), this::answer))
+        .isInstanceOf(IdempotencyKeyReusedException.class);
+
+    assertThat(submissions).hasValue(1);
+  }
+
+  @Test
+  void givenOtherTokenOrOperationWhenSubmitThenUpstreamIsCalledAgain() throws Exception {
+    final HttpHeaders headers = headers("token");
+    final HttpHeaders otherHeaders = headers("other-token");
+
+    service.submit(OPERATION, token(headers), headers, body("a", 1), this::answer);
+    service.submit(OPERATION, token(otherHeaders), otherHeaders, body("a", 1), this::answer);
+    service.submit("disease", token(headers), headers, body("a", 1), this::answer);
+
+    assertThat(submissions).hasValue(3);
+  }
+
+  @Test
+  void givenFailedSubmissionWhenRetriedThenUpstreamIsCalledAgain() throws Exception {
+    final HttpHeaders headers = headers("token");
+    final CompletableFuture<OkResponse> failed =
+        service.submit(
+            OPERATION,
+            token(headers),
+            headers,
+            body("a", 1),
+            () -> count(CompletableFuture.failedFuture(new IllegalStateException("upstream"))));
+
+    assertThat(failed).isCompletedExceptionally();
+    assertThatThrownBy(
+            () ->
+                service.submit(
+                    OPERATION,
+                    token(headers),
+                    headers,
+                    body("a", 1),
+                    () -> {
+                      submissions.incrementAndGet();
+                      throw new HoneypotException();
+                    }))
+        .isInstanceOf(HoneypotException.class);
+    service.submit(OPERATION, token(headers), headers, body("a", 1), this::answer);
+
+    assertThat(submissions).hasValue(3);
+  }
+
+  @Test
+  void givenDisabledWhenSubmitTwiceThenUpstreamIsCalledTwice() throws Exception {
+    applicationProperties.setIdempotencyEnabled(false);
+    service = createService();
+    final HttpHeaders headers = headers("token");
+
+    service.submit(OPERATION, token(headers), headers, body("a", 1), this::answer);
+    service.submit(OPERATION, token(headers), headers, body("a", 1), this::answer);
+
+    assertThat(submissions).hasValue(2);
+  }
+
+  private SubmissionIdempotencyService createService() {
+    return new SubmissionIdempotencyService(
+        applicationProperties, new ObjectMapper(), meterRegistry);
+  }
+
+  private CompletableFuture<OkResponse> answer() {
+    return count(CompletableFuture.completedFuture(new OkResponse()));
+  }
+
+  private CompletableFuture<OkResponse> count(CompletableFuture<OkResponse> result) {
+    submissions.incrementAndGet();
+    return result;
+  }
+
+  private static Map<String, Object> body(String key, int value) {
+    return Map.of(key, value);
+  }
+
+  private static HttpHeaders headers(String token) {
+    final HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(token);
+    return headers;
+  }
+
+  private static Token token(HttpHeaders headers) throws AuthException {
+    return Token.of(headers);
+  }
+}
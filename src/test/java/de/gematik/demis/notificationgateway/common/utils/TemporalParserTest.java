@@ -0,0 +1,119 @@
+package de.gematik.demis.notificationgateway.common.utils;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import ca.uhn.fhir.model.api.TemporalPrecisionEnum;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.hl7.fhir.r4.model.DateType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TemporalParserTest {
+
+  private static Date legacy(String text, String pattern) throws ParseException {
+    final SimpleDateFormat parser = new SimpleDateFormat(pattern);
+    parser.setLenient(false);
+    return parser.parse(text);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "24.01.2024,dd.MM.yyyy,DAY",
+    "2024-01-24,yyyy-MM-dd,DAY",
+    "29.02.2024,dd.MM.yyyy,DAY",
+    "01.2024,MM.yyyy,MONTH",
+    "2024-01,yyyy-MM,MONTH"
+  })
+  void givenDateWhenParseThenSameValueAsSimpleDateFormat(
+      String text, String pattern, TemporalPrecisionEnum precision) throws ParseException {
+    final DateType date = TemporalParser.parseDate(text);
+    assertThat(date.getValue()).isEqualTo(legacy(text, pattern));
+    assertThat(date.getPrecision()).isEqualTo(precision);
+  }
+
+  @Test
+  void givenYearWhenParseThenYearPrecision() {
+    final DateType date = TemporalParser.parseDate("1998");
+    assertThat(date.getPrecision()).isEqualTo(TemporalPrecisionEnum.YEAR);
+    assertThat(date.getValueAsString()).isEqualTo("1998");
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {"abcd", "2024-1x", "13.2024", "2024-13", "30.02.2024", "2024-02-30", "2024/01/24"})
+  void givenUnsupportedDateWhenParseThenIllegalArgument(String text) {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> TemporalParser.parseDate(text))
+        .withMessage("Unsupported date format: " + text);
+  }
+
+  @Test
+  void givenGermanDateTimeWhenParseThenSameValueAsSimpleDateFormat() throws ParseException {
+    final DateTimeType dateTime = TemporalParser.parseGermanDateTime("24.05.2001 13:45");
+    assertThat(dateTime.getValue()).isEqualTo(legacy("24.05.2001 13:45", "dd.MM.yyyy HH:mm"));
+    assertThat(dateTime.getPrecision()).isEqualTo(TemporalPrecisionEnum.SECOND);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2024", "2024-01", "24.01.2024"})
+  void givenDateWhenToDateTimeThenSameTextAndPrecision(String text) {
+    final DateType date = TemporalParser.parseDate(text);
+    final DateTimeType dateTime = TemporalParser.toDateTime(date);
+    assertThat(dateTime.getValueAsString()).isEqualTo(date.getValueAsString());
+    assertThat(dateTime.getPrecision()).isEqualTo(date.getPrecision());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2024-01-24", "2024-01", "2024"})
+  void givenIsoDateWhenParseIsoDateTimeThenLikeHapi(String text) {
+    final DateTimeType expected = new DateTimeType(text);
+    final DateTimeType actual = TemporalParser.parseIsoDateTime(text);
+    assertThat(actual.getValueAsString()).isEqualTo(expected.getValueAsString());
+    assertThat(actual.getPrecision()).isEqualTo(expected.getPrecision());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"15:45", "13:45:11", "13:45:11.5", "13:45:11.500"})
+  void givenTimeWhenCheckThenAccepted(String text) {
+    assertThat(TemporalParser.checkTime(text)).isEqualTo(text);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"foobar", "24:00", "13:77", "13:45:77", "13:45:32.1234", "1:45"})
+  void givenInvalidTimeWhenCheckThenIllegalArgument(String text) {
+    assertThatIllegalArgumentException().isThrownBy(() -> TemporalParser.checkTime(text));
+  }
+}
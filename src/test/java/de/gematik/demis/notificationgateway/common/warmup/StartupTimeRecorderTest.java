@@ -0,0 +1,106 @@
+package de.gematik.demis.notificationgateway.common.warmup;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+class StartupTimeRecorderTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final StartupTimeRecorder recorder = new StartupTimeRecorder(meterRegistry);
+  private final AsyncController controller = new AsyncController();
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void init() {
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).addInterceptors(recorder).build();
+  }
+
+  @Test
+  void givenAsyncRequestWhenStartedThenNothingIsRecordedBeforeItCompletes() throws Exception {
+    final MvcResult started = start();
+    assertThat(meterRegistry.find("ng.startup.first.success").timer()).isNull();
+
+    controller.pending.complete(ResponseEntity.ok("receipt"));
+    mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+    assertThat(meterRegistry.get("ng.startup.first.success").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void givenFailuresAndSuccessesWhenCompletedThenOnlyFirstSuccessIsRecorded() throws Exception {
+    complete(ResponseEntity.unprocessableEntity().body("invalid"), HttpStatus.UNPROCESSABLE_ENTITY);
+    assertThat(meterRegistry.find("ng.startup.first.success").timer()).isNull();
+
+    complete(ResponseEntity.ok("receipt"), HttpStatus.OK);
+    complete(ResponseEntity.ok("receipt"), HttpStatus.OK);
+
+    assertThat(meterRegistry.get("ng.startup.first.success").timer().count()).isEqualTo(1);
+  }
+
+  private MvcResult start() throws Exception {
+    return mockMvc
+        .perform(post("/notification/pathogen"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+  }
+
+  private void complete(ResponseEntity<String> response, HttpStatus expected) throws Exception {
+    controller.pending = new CompletableFuture<>();
+    final MvcResult started = start();
+    controller.pending.complete(response);
+    mockMvc.perform(asyncDispatch(started)).andExpect(status().is(expected.value()));
+  }
+
+  @RestController
+  static class AsyncController {
+
+    private CompletableFuture<ResponseEntity<String>> pending = new CompletableFuture<>();
+
+    @PostMapping("/notification/pathogen")
+    CompletableFuture<ResponseEntity<String>> post() {
+      return pending;
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package de.gematik.demis.notificationgateway.common.warmup;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.gematik.demis.notificationgateway.FeatureFlags;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.properties.NESProperties;
+import de.gematik.demis.notificationgateway.common.properties.RPSProperties;
+import de.gematik.demis.notificationgateway.common.proxies.BundlePublisher;
+import de.gematik.demis.notificationgateway.common.services.OkResponseService;
+import de.gematik.demis.notificationgateway.domain.bedoccupancy.fhir.ReportBundleCreationService;
+import de.gematik.demis.notificationgateway.domain.disease.fhir.DiseaseNotificationBundleCreationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import org.hl7.fhir.r4.model.Bundle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+
+  private static final int ITERATIONS = 2;
+
+  @Mock private DiseaseNotificationBundleCreationService diseaseBundleCreationService;
+  @Mock private ReportBundleCreationService reportBundleCreationService;
+  @Mock private BundlePublisher bundlePublisher;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private StartupWarmup warmup;
+
+  @BeforeEach
+  void init() throws Exception {
+    final ApplicationProperties applicationProperties = new ApplicationProperties();
+    applicationProperties.setWarmupIterations(ITERATIONS);
+    applicationProperties.setWarmupTimeoutSeconds(5);
+    lenient()
+        .when(diseaseBundleCreationService.createBundle(any(), any()))
+        .thenReturn(new Bundle());
+    lenient().when(reportBundleCreationService.createReportBundle(any())).thenReturn(new Bundle());
+    warmup =
+        new StartupWarmup(
+            applicationProperties,
+            FeatureFlags.builder().build(),
+            new ObjectMapper().findAndRegisterModules(),
+            diseaseBundleCreationService,
+            reportBundleCreationService,
+            bundlePublisher,
+            new OkResponseService(),
+            meterRegistry,
+            mock(ConfigurableApplicationContext.class));
+  }
+
+  @Test
+  void givenUpstreamStandInWhenRunThenAllNotificationTypesAreSentPerIteration() {
+    when(bundlePublisher.warmUp(any(), anyString(), anyString(), any()))
+        .thenReturn(CompletableFuture.completedFuture(new OkResponse()));
+
+    warmup.run(new DefaultApplicationArguments());
+
+    verify(bundlePublisher, times(2 * ITERATIONS))
+        .warmUp(any(), anyString(), eq(NESProperties.OPERATION_NAME), any());
+    verify(bundlePublisher, times(ITERATIONS))
+        .warmUp(any(), anyString(), eq(RPSProperties.OPERATION_NAME), any());
+    verify(bundlePublisher).releaseWarmUp(anyString());
+    assertThat(meterRegistry.get("ng.warmup").tag("outcome", "success").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void givenFailingPublisherWhenRunThenStartupContinues() {
+    when(bundlePublisher.warmUp(any(), anyString(), anyString(), any()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("stand-in down")));
+
+    assertThatNoException().isThrownBy(() -> warmup.run(new DefaultApplicationArguments()));
+
+    verify(bundlePublisher).releaseWarmUp(anyString());
+
+    assertThat(meterRegistry.get("ng.warmup").tag("outcome", "failure").timer().count())
+        .isEqualTo(1);
+  }
+}
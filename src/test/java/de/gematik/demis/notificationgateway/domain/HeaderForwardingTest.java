@@ -33,6 +33,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static de.gematik.demis.notificationgateway.common.constants.WebConstants.PATHOGEN_PATH;
 import static de.gematik.demis.notificationgateway.utils.FileUtils.loadJsonFromFile;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -46,6 +47,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -81,14 +83,15 @@ class HeaderForwardingTest {
     headers.set("x-fhir-profile", "fhir-profile-snapshots");
 
     Assertions.assertNotNull(jsonContent);
-    mockMvc
-        .perform(
-            post(PATHOGEN_PATH + "/7.3/non_nominal")
-                .content(jsonContent)
-                .headers(headers)
-                .with(csrf()))
-        .andReturn()
-        .getResponse();
+    final MvcResult asyncResult =
+        mockMvc
+            .perform(
+                post(PATHOGEN_PATH + "/7.3/non_nominal")
+                    .content(jsonContent)
+                    .headers(headers)
+                    .with(csrf()))
+            .andReturn();
+    mockMvc.perform(asyncDispatch(asyncResult)).andReturn().getResponse();
 
     WireMock.verify(
         1,
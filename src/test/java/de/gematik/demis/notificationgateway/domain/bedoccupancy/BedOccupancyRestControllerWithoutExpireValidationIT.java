@@ -37,6 +37,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_ACCEPTABLE;
 import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -63,6 +64,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -87,22 +89,28 @@ class BedOccupancyRestControllerWithoutExpireValidationIT implements BaseTestUti
     HttpHeaders clientHeaders = new HttpHeaders();
     clientHeaders.setContentType(MediaType.APPLICATION_JSON);
     clientHeaders.setBearerAuth(EXPIRED_DEMIS_PORTAL_TOKEN_HOSPITAL);
-    when(bundlePublisher.postRequest(any(), any(), any(), any(), any()))
-        .thenReturn(createJsonOkParameters("nes/nes_response_OK.json"));
+    when(bundlePublisher.postRequestAsync(any(), any(), any(), any(), any(), any()))
+        .thenAnswer(respondWithJsonFile("nes/nes_response_OK.json"));
 
-    final MockHttpServletResponse response =
+    final MvcResult asyncResult =
         this.mockMvc
             .perform(post(BED_OCCUPANCY_PATH).content(getJsonContent(path)).headers(clientHeaders))
-            .andReturn()
-            .getResponse();
+            .andReturn();
+    final MockHttpServletResponse response =
+        this.mockMvc.perform(asyncDispatch(asyncResult)).andReturn().getResponse();
 
     assertThat(response).isNotNull();
     assertThat(response.getStatus()).isEqualTo(OK.value());
     assertThat(response.getContentType()).contains("application/json");
 
     Mockito.verify(bundlePublisher, times(1))
-        .postRequest(
-            any(Bundle.class), any(String.class), any(String.class), any(Token.class), any());
+        .postRequestAsync(
+            any(Bundle.class),
+            any(String.class),
+            any(String.class),
+            any(Token.class),
+            any(),
+            any());
   }
 
   @ParameterizedTest
@@ -141,8 +149,13 @@ class BedOccupancyRestControllerWithoutExpireValidationIT implements BaseTestUti
         .hasFieldOrPropertyWithValue("message", expectedMessage);
 
     Mockito.verify(bundlePublisher, Mockito.never())
-        .postRequest(
-            any(Bundle.class), any(String.class), any(String.class), any(Token.class), any());
+        .postRequestAsync(
+            any(Bundle.class),
+            any(String.class),
+            any(String.class),
+            any(Token.class),
+            any(),
+            any());
   }
 
   @Test
@@ -173,7 +186,12 @@ class BedOccupancyRestControllerWithoutExpireValidationIT implements BaseTestUti
         .isNullOrEmpty();
 
     Mockito.verify(bundlePublisher, Mockito.never())
-        .postRequest(
-            any(Bundle.class), any(String.class), any(String.class), any(Token.class), any());
+        .postRequestAsync(
+            any(Bundle.class),
+            any(String.class),
+            any(String.class),
+            any(Token.class),
+            any(),
+            any());
   }
 }
@@ -37,11 +37,14 @@ import static de.gematik.demis.notificationgateway.common.constants.FhirConstant
 import static de.gematik.demis.notificationgateway.common.constants.FhirConstants.SYSTEM_LOINC;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import de.gematik.demis.notificationgateway.common.constants.FhirConstants;
 import de.gematik.demis.notificationgateway.common.dto.BedOccupancy;
+import de.gematik.demis.notificationgateway.common.dto.BedOccupancyNotifierFacility;
 import de.gematik.demis.notificationgateway.common.dto.FacilityAddressInfo;
 import de.gematik.demis.notificationgateway.utils.FileUtils;
 import jakarta.validation.Valid;
@@ -49,6 +52,7 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.function.Function;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.hl7.fhir.r4.model.Address;
 import org.hl7.fhir.r4.model.Bundle;
@@ -435,4 +439,28 @@ class ReportBundleCreationServiceTest {
     assertTrue(addressToCheck.hasPostalCode());
     assertEquals(addressInfo.getZip(), addressToCheck.getPostalCode());
   }
+
+  @Test
+  void givenLocationsOfSameFacilityWhenNotifierRolesThenBuiltOnce() throws JsonProcessingException {
+    final BedOccupancy first =
+        FileUtils.createBedOccupancy("portal/bedoccupancy/report_content_max.json");
+    final BedOccupancy second =
+        FileUtils.createBedOccupancy("portal/bedoccupancy/report_content_max.json");
+    second.getNotifierFacility().setLocationID("772557");
+    final BedOccupancy otherFacility =
+        FileUtils.createBedOccupancy("portal/bedoccupancy/report_content_max.json");
+    otherFacility.getNotifierFacility().getFacilityInfo().setInstitutionName("Andere Klinik");
+
+    final Function<BedOccupancyNotifierFacility, PractitionerRole> notifierRoles =
+        reportBundleCreationService.notifierRoles();
+    final PractitionerRole role = notifierRoles.apply(first.getNotifierFacility());
+
+    assertSame(role, notifierRoles.apply(second.getNotifierFacility()));
+    assertNotSame(role, notifierRoles.apply(otherFacility.getNotifierFacility()));
+
+    final Bundle bundle = reportBundleCreationService.createReportBundle(second, role);
+    final Composition composition = (Composition) bundle.getEntryFirstRep().getResource();
+    assertEquals("772557", composition.getSubject().getIdentifier().getValue());
+    assertSame(role, composition.getAuthorFirstRep().getResource());
+  }
 }
@@ -0,0 +1,161 @@
+package de.gematik.demis.notificationgateway.domain.bedoccupancy.service;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.gematik.demis.notificationgateway.FeatureFlags;
+import de.gematik.demis.notificationgateway.common.dto.BedOccupancy;
+import de.gematik.demis.notificationgateway.common.dto.BedOccupancyNotifierFacility;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.exceptions.BadRequestException;
+import de.gematik.demis.notificationgateway.common.exceptions.ErrorResponseController;
+import de.gematik.demis.notificationgateway.common.exceptions.HoneypotException;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import de.gematik.demis.notificationgateway.domain.bedoccupancy.fhir.ReportBundleCreationService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hl7.fhir.r4.model.PractitionerRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class BedOccupancyBulkServiceTest {
+
+  private final BedOccupancyService bedOccupancyService = mock(BedOccupancyService.class);
+  private final ReportBundleCreationService bundleCreationService =
+      mock(ReportBundleCreationService.class);
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private final PractitionerRole notifierRole = new PractitionerRole();
+  private final MockHttpServletRequest request = new MockHttpServletRequest();
+  private final Token token = mock(Token.class);
+  private BedOccupancyBulkService bulkService;
+
+  @BeforeEach
+  void init() {
+    applicationProperties.setBedOccupancyBulkMaxReports(5);
+    applicationProperties.setBedOccupancyBulkParallelism(2);
+    when(bundleCreationService.notifierRoles()).thenReturn(facility -> notifierRole);
+    bulkService =
+        new BedOccupancyBulkService(
+            bedOccupancyService,
+            bundleCreationService,
+            new ErrorResponseController(new ObjectMapper(), mock(FeatureFlags.class)),
+            applicationProperties);
+  }
+
+  @AfterEach
+  void close() {
+    bulkService.destroy();
+  }
+
+  @Test
+  void givenFailingLocationWhenHandleBedOccupanciesThenAggregatedInRequestOrder()
+      throws Exception {
+    final List<BedOccupancy> reports = List.of(report("1"), report("honeypot"), report("3"));
+    when(bedOccupancyService.handleBedOccupancy(any(), same(token), same(notifierRole), any()))
+        .thenAnswer(invocation -> respond(invocation.getArgument(0, BedOccupancy.class)));
+
+    final BedOccupancyBulkResult result =
+        bulkService.handleBedOccupancies(reports, token, request).get(10, TimeUnit.SECONDS);
+
+    assertThat(result.total()).isEqualTo(3);
+    assertThat(result.succeeded()).isEqualTo(2);
+    assertThat(result.failed()).isEqualTo(1);
+    assertThat(result.reports())
+        .extracting(BedOccupancyBulkResult.Report::locationID)
+        .containsExactly("1", "honeypot", "3");
+    assertThat(result.reports())
+        .extracting(BedOccupancyBulkResult.Report::statusCode)
+        .containsExactly(200, 406, 200);
+    assertThat(result.reports().get(0).response().getNotificationId()).isEqualTo("1");
+    assertThat(result.reports().get(1).error()).isNotNull();
+  }
+
+  @Test
+  void givenManyLocationsWhenHandleBedOccupanciesThenParallelismLimited() throws Exception {
+    final List<BedOccupancy> reports =
+        List.of(report("1"), report("2"), report("3"), report("4"), report("5"));
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+    when(bedOccupancyService.handleBedOccupancy(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              return CompletableFuture.supplyAsync(
+                  () -> {
+                    inFlight.decrementAndGet();
+                    return new OkResponse();
+                  },
+                  CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+            });
+
+    final BedOccupancyBulkResult result =
+        bulkService.handleBedOccupancies(reports, token, request).get(10, TimeUnit.SECONDS);
+
+    assertThat(result.succeeded()).isEqualTo(5);
+    assertThat(maxInFlight).hasValueLessThanOrEqualTo(2);
+  }
+
+  @Test
+  void givenTooManyLocationsWhenHandleBedOccupanciesThenBadRequest() {
+    final List<BedOccupancy> reports =
+        List.of(report("1"), report("2"), report("3"), report("4"), report("5"), report("6"));
+
+    assertThatThrownBy(() -> bulkService.handleBedOccupancies(reports, token, request))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  private static CompletableFuture<OkResponse> respond(BedOccupancy bedOccupancy) {
+    final String locationID = bedOccupancy.getNotifierFacility().getLocationID();
+    if ("honeypot".equals(locationID)) {
+      throw new HoneypotException();
+    }
+    final OkResponse response = new OkResponse();
+    response.setNotificationId(locationID);
+    return CompletableFuture.completedFuture(response);
+  }
+
+  private static BedOccupancy report(String locationID) {
+    final BedOccupancyNotifierFacility notifierFacility = new BedOccupancyNotifierFacility();
+    notifierFacility.setLocationID(locationID);
+    final BedOccupancy bedOccupancy = new BedOccupancy();
+    bedOccupancy.setNotifierFacility(notifierFacility);
+    return bedOccupancy;
+  }
+}
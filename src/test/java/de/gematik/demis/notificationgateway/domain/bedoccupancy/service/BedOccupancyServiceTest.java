@@ -28,6 +28,7 @@ package de.gematik.demis.notificationgateway.domain.bedoccupancy.service;
  */
 
 import static de.gematik.demis.notificationgateway.common.constants.MessageConstants.CONTENT_NOT_ACCEPTED;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -43,10 +44,11 @@ import de.gematik.demis.notificationgateway.common.proxies.BundlePublisher;
 import de.gematik.demis.notificationgateway.common.services.OkResponseService;
 import de.gematik.demis.notificationgateway.common.utils.Token;
 import de.gematik.demis.notificationgateway.domain.bedoccupancy.fhir.ReportBundleCreationService;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.ThrowableAssert;
 import org.hl7.fhir.r4.model.Bundle;
-import org.hl7.fhir.r4.model.Parameters;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -80,18 +82,22 @@ class BedOccupancyServiceTest {
 
     Bundle t = new Bundle();
     String url = "someUrl";
-    Parameters result = new Parameters();
+    byte[] responseBody = "{}".getBytes(StandardCharsets.UTF_8);
     OkResponse expectedResponse = new OkResponse();
 
     when(bundleCreationServiceMock.createReportBundle(bedOccupancy)).thenReturn(t);
     when(rpsPropertiesMock.bedOccupancyUrl()).thenReturn(url);
-    when(bundlePublisherMock.postRequest(
-            eq(t), eq(url), eq(RPSProperties.OPERATION_NAME), any(), any()))
-        .thenReturn(result);
-    when(okResponseServiceMock.buildOkResponse(result)).thenReturn(expectedResponse);
+    when(bundlePublisherMock.postRequestAsync(
+            eq(t), eq(url), eq(RPSProperties.OPERATION_NAME), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              Function<byte[], OkResponse> responseReader = invocation.getArgument(5);
+              return completedFuture(responseReader.apply(responseBody));
+            });
+    when(okResponseServiceMock.readOkResponse(responseBody)).thenReturn(expectedResponse);
 
     // use handleBedOccupancy method
-    OkResponse okResponse = bedOccupancyService.handleBedOccupancy(bedOccupancy, token);
+    OkResponse okResponse = bedOccupancyService.handleBedOccupancy(bedOccupancy, token).join();
 
     assertThat(okResponse).isEqualTo(expectedResponse);
   }
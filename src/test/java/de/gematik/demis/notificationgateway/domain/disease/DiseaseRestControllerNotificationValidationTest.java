@@ -63,7 +63,7 @@ class DiseaseRestControllerNotificationValidationTest {
   private static void createController() {
 
     final var validator = Validation.buildDefaultValidatorFactory().getValidator();
-    controller = new DiseaseRestController(validator, null);
+    controller = new DiseaseRestController(validator, null, null, null);
   }
 
   @AfterAll
@@ -27,14 +27,20 @@ package de.gematik.demis.notificationgateway.domain.disease;
  * #L%
  */
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.gematik.demis.notificationgateway.common.dto.DiseaseNotification;
 import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.jobs.NotificationJobService;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.services.SubmissionIdempotencyService;
 import de.gematik.demis.notificationgateway.utils.FileUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.Validator;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -49,16 +55,21 @@ class DiseaseRestControllerTest {
   @Mock private DiseaseNotificationService notificationService;
   @Mock private Validator validator;
   @Mock private HttpHeaders headers;
+  @Mock private NotificationJobService jobService;
+  private final SubmissionIdempotencyService idempotencyService =
+      new SubmissionIdempotencyService(
+          new ApplicationProperties(), new ObjectMapper(), new SimpleMeterRegistry());
   private DiseaseRestController controller;
 
   @Test
   void addDiseaseNotification_shouldSucceed() throws Exception {
-    controller = new DiseaseRestController(validator, notificationService);
+    controller =
+        new DiseaseRestController(validator, notificationService, idempotencyService, jobService);
 
     DiseaseNotification diseaseNotification =
         FileUtils.createDiseaseNotification("portal/disease/notification-formly-input.json");
     when(this.notificationService.sendNotification(eq(diseaseNotification), any(), any()))
-        .thenReturn(new OkResponse());
+        .thenReturn(completedFuture(new OkResponse()));
     when(headers.get("Authorization")).thenReturn(List.of("Bearer " + "token"));
 
     this.controller.addDiseaseNotification(diseaseNotification, headers);
@@ -67,13 +78,14 @@ class DiseaseRestControllerTest {
 
   @Test
   void addDiseaseNotificationFollowUp_shouldSucceed() throws Exception {
-    controller = new DiseaseRestController(validator, notificationService);
+    controller =
+        new DiseaseRestController(validator, notificationService, idempotencyService, jobService);
 
     DiseaseNotification diseaseNotification =
         FileUtils.createDiseaseNotification(
             "portal/disease/notification-formly-input-followup.json");
     when(this.notificationService.sendNotification(eq(diseaseNotification), any(), any()))
-        .thenReturn(new OkResponse());
+        .thenReturn(completedFuture(new OkResponse()));
     when(headers.get("Authorization")).thenReturn(List.of("Bearer " + "token"));
 
     this.controller.addDiseaseNotification(diseaseNotification, headers);
@@ -82,12 +94,13 @@ class DiseaseRestControllerTest {
 
   @Test
   void send7_3_non_nominal_shouldSucceed() throws Exception {
-    controller = new DiseaseRestController(validator, notificationService);
+    controller =
+        new DiseaseRestController(validator, notificationService, idempotencyService, jobService);
 
     DiseaseNotification diseaseNotification =
         FileUtils.createDiseaseNotification("portal/disease/73.notifications/input/disease_1.json");
     when(this.notificationService.sendNotification(eq(diseaseNotification), any(), any()))
-        .thenReturn(new OkResponse());
+        .thenReturn(completedFuture(new OkResponse()));
     when(headers.get("Authorization")).thenReturn(List.of("Bearer " + "token"));
 
     this.controller.send7_3_non_nominal(diseaseNotification, headers);
@@ -96,12 +109,13 @@ class DiseaseRestControllerTest {
 
   @Test
   void send7_3_anonymous_shouldSucceed() throws Exception {
-    controller = new DiseaseRestController(validator, notificationService);
+    controller =
+        new DiseaseRestController(validator, notificationService, idempotencyService, jobService);
 
     DiseaseNotification diseaseNotification =
         FileUtils.createDiseaseNotification("portal/disease/73.notifications/input/disease_1.json");
     when(this.notificationService.sendNotification(eq(diseaseNotification), any(), any()))
-        .thenReturn(new OkResponse());
+        .thenReturn(completedFuture(new OkResponse()));
     when(headers.get("Authorization")).thenReturn(List.of("Bearer " + "token"));
 
     this.controller.send7_3_anonymous(diseaseNotification, headers);
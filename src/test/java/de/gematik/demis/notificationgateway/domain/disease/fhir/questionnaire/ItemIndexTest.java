@@ -0,0 +1,93 @@
+package de.gematik.demis.notificationgateway.domain.disease.fhir.questionnaire;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseAnswer;
+import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseItem;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ItemIndexTest {
+
+  private static QuestionnaireResponseItem item(String linkId, String value) {
+    final QuestionnaireResponseAnswer answer = new QuestionnaireResponseAnswer();
+    answer.setValueString(value);
+    final QuestionnaireResponseItem item = new QuestionnaireResponseItem();
+    item.setLinkId(linkId);
+    item.setAnswer(List.of(answer));
+    return item;
+  }
+
+  private static ItemIndex index(QuestionnaireResponseItem... subItems) {
+    final QuestionnaireResponseItem item = new QuestionnaireResponseItem();
+    item.setLinkId("Organization");
+    item.setItem(List.of(subItems));
+    return ItemIndex.of(item);
+  }
+
+  @Test
+  void givenExactLinkIdWhenFindThenExactItemEvenIfAnotherContainsIt() {
+    final ItemIndex index = index(item("facilityName", "facility"), item("name", "exact"));
+    assertThat(index.getAnswer("name").getValueString()).isEqualTo("exact");
+  }
+
+  @Test
+  void givenDuplicateLinkIdsWhenFindThenFirstItem() {
+    final ItemIndex index = index(item("city", "first"), item("city", "second"));
+    assertThat(index.getAnswer("city").getValueString()).isEqualTo("first");
+  }
+
+  @Test
+  void givenPartialLinkIdWhenFindThenFirstItemContainingIt() {
+    final ItemIndex index = index(item("address.street", "street"), item("address.city", "city"));
+    assertThat(index.findAnswer("city"))
+        .map(QuestionnaireResponseAnswer::getValueString)
+        .contains("city");
+  }
+
+  @Test
+  void givenMissingLinkIdWhenFindThenEmptyAndGetThrows() {
+    final ItemIndex index = index(item("street", "street"));
+    assertThat(index.find("email")).isEmpty();
+    assertThat(index.findIndex("email")).isEmpty();
+    assertThatThrownBy(() -> index.get("email"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Item not found: email");
+  }
+
+  @Test
+  void givenItemWithoutSubItemsWhenFindThenEmpty() {
+    final QuestionnaireResponseItem item = new QuestionnaireResponseItem();
+    item.setLinkId("telecom");
+    item.setItem(null);
+    assertThat(ItemIndex.of(item).find("phone")).isEmpty();
+  }
+}
@@ -0,0 +1,91 @@
+package de.gematik.demis.notificationgateway.domain.disease.fhir.questionnaire.answer;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import de.gematik.demis.notificationgateway.common.dto.CodeDisplay;
+import de.gematik.demis.notificationgateway.common.dto.QuestionnaireResponseAnswer;
+import org.hl7.fhir.r4.model.DateType;
+import org.hl7.fhir.r4.model.StringType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class AnswerSlotTest {
+
+  private final Answers answers = new AnswersFactory().get();
+
+  @Test
+  void givenDateAndDateTimeWhenClassifyThenDate() {
+    final QuestionnaireResponseAnswer answer = new QuestionnaireResponseAnswer();
+    answer.setValueDateTime("01.02.2024 10:15");
+    answer.setValueDate("2024-02-01");
+
+    assertThat(AnswerSlot.of(answer)).isEqualTo(AnswerSlot.DATE);
+    assertThat(answers.createFhirAnswer(answer).object().getValue()).isInstanceOf(DateType.class);
+  }
+
+  @Test
+  void givenStringAndCodingWhenClassifyThenString() {
+    final QuestionnaireResponseAnswer answer = new QuestionnaireResponseAnswer();
+    final CodeDisplay coding = new CodeDisplay();
+    coding.setSystem("system");
+    coding.setCode("code");
+    answer.setValueCoding(coding);
+    answer.setValueString("text");
+
+    assertThat(AnswerSlot.of(answer)).isEqualTo(AnswerSlot.STRING);
+    assertThat(answers.createFhirAnswer(answer).object().getValue())
+        .isInstanceOf(StringType.class);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", " "})
+  void givenBlankStringsWhenClassifyThenNone(String blank) {
+    final QuestionnaireResponseAnswer answer = new QuestionnaireResponseAnswer();
+    answer.setValueString(blank);
+    answer.setValueDate(blank);
+    answer.setValueTime(blank);
+
+    assertThat(AnswerSlot.of(answer)).isEqualTo(AnswerSlot.NONE);
+    assertThat(answers.containsValue(answer)).isFalse();
+    assertThat(answers.createFhirAnswer(answer).object().hasValue()).isFalse();
+  }
+
+  @Test
+  void givenInvalidTimeWhenCreateFhirAnswerThenIllegalArgument() {
+    final QuestionnaireResponseAnswer answer = new QuestionnaireResponseAnswer();
+    answer.setValueTime("25:00");
+
+    assertThat(AnswerSlot.of(answer)).isEqualTo(AnswerSlot.TIME);
+    final FhirAnswer fhirAnswer = answers.createFhirAnswer(answer);
+    assertThatThrownBy(fhirAnswer::object).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -46,8 +46,6 @@ public final class AnswersFactory implements Supplier<Answers> {
 
   @Override
   public Answers get() {
-    final Answers answers = new Answers(this.featureFlags);
-    answers.createDataTypesList();
-    return answers;
+    return new Answers(this.featureFlags);
   }
 }
@@ -33,6 +33,7 @@ import static de.gematik.demis.notificationgateway.utils.FileUtils.loadJsonFromF
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.http.HttpStatus.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -56,6 +57,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.EnabledIf;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @Slf4j
 @AutoConfigureMockMvc
@@ -86,12 +88,13 @@ class PathogenRestControllerE2eIT implements BaseTestUtils {
     final String jsonContent =
         loadJsonFromFile("/portal/pathogen/Regression-pathogen-test-diagnosticChanges.json");
     assert jsonContent != null;
-    final MockHttpServletResponse response =
+    final MvcResult asyncResult =
         this.mockMvc
             .perform(
                 post(PATHOGEN_PATH + "/7_1").headers(headers).content(jsonContent).with(csrf()))
-            .andReturn()
-            .getResponse();
+            .andReturn();
+    final MockHttpServletResponse response =
+        this.mockMvc.perform(asyncDispatch(asyncResult)).andReturn().getResponse();
 
     assertThat(response).isNotNull();
     assertThat(response.getStatus()).isEqualTo(OK.value());
@@ -37,6 +37,7 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_ACCEPTABLE;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 import ca.uhn.fhir.context.FhirContext;
@@ -67,6 +68,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -96,20 +98,21 @@ class PathogenRestControllerIT implements BaseTestUtils {
       headers.setBearerAuth("token");
       headers.setContentType(MediaType.APPLICATION_JSON);
 
-      when(bundlePublisher.postRequest(any(), any(), any(), any(), any()))
-          .thenReturn(createJsonOkParameters("nes/nes_response_OK.json"));
+      when(bundlePublisher.postRequestAsync(any(), any(), any(), any(), any(), any(), any()))
+          .thenAnswer(respondWithJsonFile("nes/nes_response_OK.json"));
 
       final String jsonContent = loadJsonFromFile("/portal/pathogen/specimenPrep.json");
       assert jsonContent != null;
-      final MockHttpServletResponse response =
+      final MvcResult asyncResult =
           this.mockMvc
               .perform(
                   post("/notification/pathogen/7.3/non_nominal")
                       .headers(headers)
                       .content(jsonContent)
                       .with(csrf()))
-              .andReturn()
-              .getResponse();
+              .andReturn();
+      final MockHttpServletResponse response =
+          this.mockMvc.perform(asyncDispatch(asyncResult)).andReturn().getResponse();
 
       assertThat(response).isNotNull();
       assertThat(response.getStatus()).isEqualTo(OK.value());
@@ -215,20 +218,21 @@ class PathogenRestControllerIT implements BaseTestUtils {
       headers.setBearerAuth("token");
       headers.setContentType(MediaType.APPLICATION_JSON);
 
-      when(bundlePublisher.postRequest(any(), any(), any(), any(), any()))
-          .thenReturn(createJsonOkParameters("nes/nes_response_OK.json"));
+      when(bundlePublisher.postRequestAsync(any(), any(), any(), any(), any(), any(), any()))
+          .thenAnswer(respondWithJsonFile("nes/nes_response_OK.json"));
 
       final String jsonContent = loadJsonFromFile("/portal/pathogen/pathogen7_3DTO.json");
       assert jsonContent != null;
-      final MockHttpServletResponse response =
+      final MvcResult asyncResult =
           this.mockMvc
               .perform(
                   post(PATHOGEN_PATH + "/7.3/non_nominal")
                       .headers(headers)
                       .content(jsonContent)
                       .with(csrf()))
-              .andReturn()
-              .getResponse();
+              .andReturn();
+      final MockHttpServletResponse response =
+          this.mockMvc.perform(asyncDispatch(asyncResult)).andReturn().getResponse();
 
       assertThat(response).isNotNull();
       assertThat(response.getStatus()).isEqualTo(OK.value());
@@ -244,9 +248,10 @@ class PathogenRestControllerIT implements BaseTestUtils {
       String pdfText = pdfToText(okResponse.getContent());
       assertThat(pdfText).isNotBlank().contains("Meldungs-ID " + okResponse.getNotificationId());
 
-      // Capture the Bundle passed to the postRequest method
+      // Capture the Bundle passed to the postRequestAsync method
       ArgumentCaptor<Bundle> bundleCaptor = ArgumentCaptor.forClass(Bundle.class);
-      verify(bundlePublisher).postRequest(bundleCaptor.capture(), any(), any(), any(), any());
+      verify(bundlePublisher)
+          .postRequestAsync(bundleCaptor.capture(), any(), any(), any(), any(), any(), any());
 
       // Convert the captured Bundle to JSON
       Bundle capturedBundle = bundleCaptor.getValue();
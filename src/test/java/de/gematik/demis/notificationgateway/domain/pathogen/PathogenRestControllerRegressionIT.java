@@ -36,6 +36,7 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.NOT_ACCEPTABLE;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -59,6 +60,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -82,16 +84,17 @@ class PathogenRestControllerRegressionIT implements BaseTestUtils {
     headers.setBearerAuth("token");
     headers.setContentType(MediaType.APPLICATION_JSON);
 
-    when(bundlePublisher.postRequest(any(), any(), any(), any(), any()))
-        .thenReturn(createJsonOkParameters("nes/nes_response_OK.json"));
+    when(bundlePublisher.postRequestAsync(any(), any(), any(), any(), any(), any(), any()))
+        .thenAnswer(respondWithJsonFile("nes/nes_response_OK.json"));
 
     final String jsonContent = loadJsonFromFile("/portal/pathogen/specimenPrep.json");
     assert jsonContent != null;
-    final MockHttpServletResponse response =
+    final MvcResult asyncResult =
         this.mockMvc
             .perform(post(PATHOGEN_PATH).headers(headers).content(jsonContent).with(csrf()))
-            .andReturn()
-            .getResponse();
+            .andReturn();
+    final MockHttpServletResponse response =
+        this.mockMvc.perform(asyncDispatch(asyncResult)).andReturn().getResponse();
 
     assertThat(response).isNotNull();
     assertThat(response.getStatus()).isEqualTo(OK.value());
@@ -27,26 +27,54 @@ package de.gematik.demis.notificationgateway.domain.pathogen;
  * #L%
  */
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
 import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
 import de.gematik.demis.notificationgateway.common.enums.NotificationType;
+import de.gematik.demis.notificationgateway.common.jobs.NotificationJobService;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.services.SubmissionIdempotencyService;
 import de.gematik.demis.notificationgateway.common.utils.Token;
+import de.gematik.demis.notificationgateway.domain.pathogen.services.PathogenBatchService;
 import de.gematik.demis.notificationgateway.domain.pathogen.services.PathogenSendService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.security.auth.message.AuthException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 @ExtendWith(MockitoExtension.class)
 class PathogenRestControllerTest {
   @Mock private PathogenSendService pathogenSendService;
+  @Mock private PathogenBatchService pathogenBatchService;
+  @Mock private NotificationJobService jobService;
 
-  @InjectMocks private PathogenRestController pathogenRestController;
+  private PathogenRestController pathogenRestController;
+
+  @BeforeEach
+  void createController() {
+    final ApplicationProperties applicationProperties = new ApplicationProperties();
+    applicationProperties.setIdempotencyEnabled(false);
+    pathogenRestController =
+        new PathogenRestController(
+            pathogenSendService,
+            new SubmissionIdempotencyService(
+                applicationProperties, new ObjectMapper(), new SimpleMeterRegistry()),
+            pathogenBatchService,
+            jobService);
+  }
 
   @Test
   void shouldUseProcessPortalNotificationDataMethod() throws AuthException {
@@ -54,11 +82,29 @@ class PathogenRestControllerTest {
     PathogenTest pathogenTest = new PathogenTest();
     org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
     headers.add("Authorization", "Bearer your-valid-token");
+    OkResponse okResponse = new OkResponse();
+    when(pathogenSendService.processPortalNotificationData(any(), any(), any()))
+        .thenReturn(completedFuture(okResponse));
 
-    pathogenRestController.send(pathogenTest, headers);
+    assertThat(pathogenRestController.send(pathogenTest, headers))
+        .isCompletedWithValueMatching(response -> response.getBody() == okResponse);
 
     verify(pathogenSendService)
         .processPortalNotificationData(
             eq(pathogenTest), any(Token.class), eq(NotificationType.NOMINAL));
   }
+
+  @Test
+  void shouldSubmitBatchWithNotificationTypeOfEndpoint() throws Exception {
+    HttpHeaders headers = new HttpHeaders();
+    headers.add("Authorization", "Bearer your-valid-token");
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setContent("[]".getBytes());
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+    when(pathogenBatchService.submit(
+            any(), any(Token.class), eq(NotificationType.ANONYMOUS), eq(request)))
+        .thenReturn(emitter);
+
+    assertThat(pathogenRestController.sendBatch7_3_anonymous(headers, request)).isSameAs(emitter);
+  }
 }
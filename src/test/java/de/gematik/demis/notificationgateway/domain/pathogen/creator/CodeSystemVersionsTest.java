@@ -0,0 +1,75 @@
+package de.gematik.demis.notificationgateway.domain.pathogen.creator;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.notificationgateway.domain.pathogen.creator.ObservationCreator.SNOMED_CT_URL;
+import static de.gematik.demis.notificationgateway.domain.pathogen.creator.ObservationCreator.SNOMED_CT_VERSION_FALLBACK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
+import de.gematik.demis.notificationgateway.common.dto.StaticSystemVersion;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CodeSystemVersionsTest {
+
+  @Test
+  void shouldFallBackWithoutVersions() {
+    assertThat(CodeSystemVersions.of(new PathogenTest())).isSameAs(CodeSystemVersions.NONE);
+    assertThat(CodeSystemVersions.of(Map.of())).isSameAs(CodeSystemVersions.NONE);
+    assertThat(CodeSystemVersions.orNone(null).snomedVersion())
+        .isEqualTo(SNOMED_CT_VERSION_FALLBACK);
+  }
+
+  @Test
+  void shouldResolveVersionsOfPathogenTest() {
+    final PathogenTest pathogenTest = new PathogenTest();
+    pathogenTest.setStaticSystemVersions(
+        List.of(
+            staticSystemVersion(SNOMED_CT_URL, "snomedVersion"),
+            staticSystemVersion("http://loinc.org", "2.79")));
+
+    final CodeSystemVersions versions = CodeSystemVersions.of(pathogenTest);
+
+    assertThat(versions.snomedVersion()).isEqualTo("snomedVersion");
+    assertThat(versions.versions()).containsEntry("http://loinc.org", "2.79").hasSize(2);
+  }
+
+  @Test
+  void shouldNotFallBackIfOnlyOtherSystemsAreGiven() {
+    assertThat(CodeSystemVersions.of(Map.of("http://loinc.org", "2.79")).snomedVersion()).isNull();
+  }
+
+  private static StaticSystemVersion staticSystemVersion(String system, String version) {
+    final StaticSystemVersion staticSystemVersion = new StaticSystemVersion();
+    staticSystemVersion.setSystem(system);
+    staticSystemVersion.setVersion(version);
+    return staticSystemVersion;
+  }
+}
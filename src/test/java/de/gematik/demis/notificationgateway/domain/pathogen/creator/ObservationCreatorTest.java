@@ -451,7 +451,11 @@ class ObservationCreatorTest {
 
       List<Observation> observations =
           ObservationCreator.createObservationsForResistances(
-              List.of(resistanceDTO), patient, specimen, "PathogenCode", versionMap);
+              List.of(resistanceDTO),
+              patient,
+              specimen,
+              "PathogenCode",
+              CodeSystemVersions.of(versionMap));
 
       assertThat(observations).hasSize(1);
       Observation observation = observations.getFirst();
@@ -654,7 +658,11 @@ class ObservationCreatorTest {
 
       List<Observation> observations =
           ObservationCreator.createObservationsForResistanceGenes(
-              List.of(resistanceGeneDTO), patient, specimen, "PathogenCode", versionMap);
+              List.of(resistanceGeneDTO),
+              patient,
+              specimen,
+              "PathogenCode",
+              CodeSystemVersions.of(versionMap));
 
       assertThat(observations).hasSize(1);
       Observation observation = observations.getFirst();
@@ -759,7 +767,7 @@ class ObservationCreatorTest {
               patient,
               specimen,
               notificationCategory,
-              versionMap);
+              CodeSystemVersions.of(versionMap));
 
       assertThat(observations).hasSize(1);
       Observation observation = observations.getFirst();
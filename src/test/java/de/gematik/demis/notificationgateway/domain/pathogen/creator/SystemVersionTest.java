@@ -0,0 +1,55 @@
+package de.gematik.demis.notificationgateway.domain.pathogen.creator;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SystemVersionTest {
+
+  @Test
+  void shouldParseSystemWithVersion() {
+    assertThat(SystemVersion.parse("http://snomed.info/sct|20241115"))
+        .isEqualTo(new SystemVersion("http://snomed.info/sct", "20241115"));
+  }
+
+  @Test
+  void shouldParseSystemWithoutVersion() {
+    assertThat(SystemVersion.parse("http://snomed.info/sct"))
+        .isEqualTo(new SystemVersion("http://snomed.info/sct", null));
+    assertThat(SystemVersion.parse("http://loinc.org|"))
+        .isEqualTo(new SystemVersion("http://loinc.org", null));
+  }
+
+  @Test
+  void shouldIgnoreFurtherSegments() {
+    assertThat(SystemVersion.parse("http://loinc.org|2.79|extra"))
+        .isEqualTo(new SystemVersion("http://loinc.org", "2.79"));
+  }
+}
@@ -0,0 +1,207 @@
+package de.gematik.demis.notificationgateway.domain.pathogen.services;
+
+/*-
+ * #%L
+ * DEMIS Notification-Gateway
+ * %%
+ * Copyright (C) 2025 - 2026 gematik GmbH
+ * %%
+ * Licensed under the EUPL, Version 1.2 or - as soon they will be approved by the
+ * European Commission – subsequent versions of the EUPL (the "Licence").
+ * You may not use this work except in compliance with the Licence.
+ *
+ * You find a copy of the Licence in the "Licence" file or at
+ * https://joinup.ec.europa.eu/collection/eupl/eupl-text-eupl-12
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the Licence is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either expressed or implied.
+ * In case of changes by gematik find details in the "Readme" file.
+ *
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ *
+ * *******
+ *
+ * For additional notes and disclaimer from gematik and in case of changes by gematik,
+ * find details in the "Readme" file.
+ * #L%
+ */
+
+import static de.gematik.demis.notificationgateway.common.enums.NotificationType.NOMINAL;
+import static de.gematik.demis.notificationgateway.utils.FileUtils.loadJsonFromFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.gematik.demis.notificationgateway.FeatureFlags;
+import de.gematik.demis.notificationgateway.common.dto.OkResponse;
+import de.gematik.demis.notificationgateway.common.dto.PathogenTest;
+import de.gematik.demis.notificationgateway.common.exceptions.BadRequestException;
+import de.gematik.demis.notificationgateway.common.exceptions.ErrorResponseController;
+import de.gematik.demis.notificationgateway.common.properties.ApplicationProperties;
+import de.gematik.demis.notificationgateway.common.utils.Token;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+class PathogenBatchServiceTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private final PathogenSendService sendService = mock(PathogenSendService.class);
+  private final Validator validator = mock(Validator.class);
+  private final ApplicationProperties applicationProperties = new ApplicationProperties();
+  private PathogenBatchService batchService;
+  private MockMvc mockMvc;
+  private ObjectNode pathogenTest;
+
+  @BeforeEach
+  void init() throws Exception {
+    applicationProperties.setPathogenBatchMaxItems(3);
+    applicationProperties.setPathogenBatchParallelism(2);
+    applicationProperties.setPathogenBatchTimeoutSeconds(10);
+    batchService =
+        new PathogenBatchService(
+            sendService,
+            validator,
+            objectMapper,
+            new ErrorResponseController(objectMapper, mock(FeatureFlags.class)),
+            applicationProperties);
+    mockMvc = MockMvcBuilders.standaloneSetup(new BatchController(batchService)).build();
+    pathogenTest =
+        (ObjectNode)
+            objectMapper.readTree(loadJsonFromFile("/portal/pathogen/pathogen-test.json"));
+    when(sendService.processPortalNotificationData(any(), any(), eq(NOMINAL), any()))
+        .thenAnswer(invocation -> respond(invocation.getArgument(0, PathogenTest.class)));
+  }
+
+  @AfterEach
+  void close() {
+    batchService.destroy();
+  }
+
+  @Test
+  void givenArrayWithFailingItemWhenSubmitThenResultPerItemInInputOrder() throws Exception {
+    final String body =
+        objectMapper.writeValueAsString(List.of(item("slow"), item("fail"), item("fast")));
+
+    final List<JsonNode> results = submit(body, MediaType.APPLICATION_JSON);
+
+    assertThat(results).extracting(r -> r.get("index").asInt()).containsExactly(0, 1, 2);
+    assertThat(results).extracting(r -> r.get("statusCode").asInt()).containsExactly(200, 400, 200);
+    assertThat(results.get(0).at("/response/notificationId").asText()).isEqualTo("slow");
+    assertThat(results.get(1).at("/error/message").asText()).isEqualTo("rejected fail");
+    assertThat(results.get(2).at("/response/notificationId").asText()).isEqualTo("fast");
+  }
+
+  @Test
+  void givenNdjsonWhenSubmitThenResultPerLine() throws Exception {
+    final String body = item("fast") + "\n" + item("slow") + "\n";
+
+    final List<JsonNode> results = submit(body, MediaType.APPLICATION_NDJSON);
+
+    assertThat(results)
+        .extracting(r -> r.at("/response/notificationId").asText())
+        .containsExactly("fast", "slow");
+  }
+
+  @Test
+  void givenMalformedItemWhenSubmitThenBadRequestAndBatchEnds() throws Exception {
+    final String body = "[" + item("fast") + ", {\"pathogen\": ]";
+
+    final List<JsonNode> results = submit(body, MediaType.APPLICATION_JSON);
+
+    assertThat(results).extracting(r -> r.get("statusCode").asInt()).containsExactly(200, 400);
+    assertThat(results.get(1).get("index").asInt()).isEqualTo(1);
+  }
+
+  @Test
+  void givenMoreItemsThanMaximumWhenSubmitThenBadRequestAfterMaximum() throws Exception {
+    final String body =
+        Stream.of("fast", "fast", "fast", "fast").map(this::item).reduce("", (a, b) -> a + b);
+
+    final List<JsonNode> results = submit(body, MediaType.APPLICATION_NDJSON);
+
+    assertThat(results)
+        .extracting(r -> r.get("statusCode").asInt())
+        .containsExactly(200, 200, 200, 400);
+    assertThat(results.get(3).at("/error/message").asText())
+        .isEqualTo("Batch exceeds the maximum of 3 items");
+  }
+
+  private String item(String pathogen) {
+    return pathogenTest.deepCopy().put("pathogen", pathogen).toString();
+  }
+
+  private List<JsonNode> submit(String body, MediaType contentType) throws Exception {
+    final MvcResult started =
+        mockMvc
+            .perform(post("/batch").contentType(contentType).content(body))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    started.getAsyncResult(TimeUnit.SECONDS.toMillis(10));
+    return started
+        .getResponse()
+        .getContentAsString()
+        .lines()
+        .map(
+            line -> {
+              try {
+                return objectMapper.readTree(line);
+              } catch (IOException e) {
+                throw new IllegalStateException(e);
+              }
+            })
+        .toList();
+  }
+
+  private static CompletableFuture<OkResponse> respond(PathogenTest pathogenTest) {
+    final String pathogen = pathogenTest.getPathogen();
+    return switch (pathogen) {
+      case "fail" ->
+          CompletableFuture.failedFuture(
+              new CompletionException(new BadRequestException("rejected " + pathogen)));
+      case "slow" ->
+          CompletableFuture.supplyAsync(
+              () -> okResponse(pathogen),
+              CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+      default -> CompletableFuture.completedFuture(okResponse(pathogen));
+    };
+  }
+
+  private static OkResponse okResponse(String notificationId) {
+    final OkResponse response = new OkResponse();
+    response.setNotificationId(notificationId);
+    return response;
+  }
+
+  @RestController
+  private record BatchController(PathogenBatchService batchService) {
+
+    @PostMapping("/batch")
+    ResponseBodyEmitter batch(HttpServletRequest request) throws IOException {
+      return batchService.submit(request.getInputStream(), mock(Token.class), NOMINAL, request);
+    }
+  }
+}
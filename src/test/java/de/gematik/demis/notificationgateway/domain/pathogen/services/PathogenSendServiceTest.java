@@ -99,8 +99,8 @@ class PathogenSendServiceTest implements BaseTestUtils {
   }
 
   private void mockPostResponse() throws Exception {
-    when(bundlePublisher.postRequest(any(), any(), any(), any(), any()))
-        .thenReturn(createJsonOkParameters("nes/nes_response_OK.json"));
+    when(bundlePublisher.postRequestAsync(any(), any(), any(), any(), any(), any(), any()))
+        .thenAnswer(respondWithJsonFile("nes/nes_response_OK.json"));
     when(nesProperties.laboratoryUrl()).thenReturn(random.nextAlphabetic(10));
   }
 
@@ -109,7 +109,8 @@ class PathogenSendServiceTest implements BaseTestUtils {
     mockPostResponse();
     PathogenTest pathogenTest = objectMapper.readValue(jsonContent, PathogenTest.class);
 
-    final OkResponse response = service.processPortalNotificationData(pathogenTest, token, NOMINAL);
+    final OkResponse response =
+        service.processPortalNotificationData(pathogenTest, token, NOMINAL).join();
 
     Assertions.assertThat(response)
         .isNotNull()